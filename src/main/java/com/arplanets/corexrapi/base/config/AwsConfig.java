@@ -2,12 +2,15 @@ package com.arplanets.corexrapi.base.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.iotdataplane.IotDataPlaneClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
@@ -38,7 +41,11 @@ public class AwsConfig {
                 .build();
     }
 
+    /**
+     * inmemory profile 改用 InMemoryDynamoDbConfig 的記憶體實作 (位於測試程式碼，不會打包進正式 jar)。
+     */
     @Bean
+    @Profile("!inmemory")
     public DynamoDbClient dynamoDbClient() {
         return DynamoDbClient.builder()
                 .region(Region.of(awsRegion))
@@ -47,6 +54,21 @@ public class AwsConfig {
                 .build();
     }
 
+    /**
+     * 非阻塞的 DynamoDB client，僅在啟用 order.async.enabled 時建立。
+     */
+    @Bean
+    @Profile("!inmemory")
+    @ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+    public DynamoDbAsyncClient dynamoDbAsyncClient() {
+        log.info("Start DynamoDB Async Client");
+        return DynamoDbAsyncClient.builder()
+                .region(Region.of(awsRegion))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .build();
+    }
+
     @Bean
     public SqsClient sqsClient() {
         return SqsClient.builder()
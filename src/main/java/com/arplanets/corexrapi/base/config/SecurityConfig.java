@@ -21,6 +21,7 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.context.request.async.WebAsyncManagerIntegrationFilter;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.springframework.security.config.Customizer.withDefaults;
@@ -41,6 +42,18 @@ public class SecurityConfig {
     @Value("${order.access-token.trusted-issuers}")
     private List<String> trustedIssuers;
 
+    @Value("${order.access-token.verified-cache.maximum-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    @Value("${order.access-token.jwks.refresh-interval-seconds:300}")
+    private long jwksRefreshIntervalSeconds;
+
+    @Value("${order.access-token.jwks.min-refresh-interval-seconds:30}")
+    private long jwksMinRefreshIntervalSeconds;
+
+    @Value("${order.access-token.jwks.fetch-timeout-ms:5000}")
+    private long jwksFetchTimeoutMs;
+
     @Value("${server.servlet.custom.context-path:}")
     private String contextPath;
 
@@ -145,7 +158,10 @@ public class SecurityConfig {
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        return new MultiIssuerJwtDecoder(trustedIssuers);
+        return new MultiIssuerJwtDecoder(trustedIssuers, verifiedTokenCacheSize,
+                Duration.ofSeconds(jwksRefreshIntervalSeconds),
+                Duration.ofSeconds(jwksMinRefreshIntervalSeconds),
+                Duration.ofMillis(jwksFetchTimeoutMs));
     }
 
 
@@ -0,0 +1,20 @@
+package com.arplanets.corexrapi.base.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    // 串流報表可能需要較長時間，預設 10 分鐘
+    @Value("${server.async.request-timeout-ms:600000}")
+    private long requestTimeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(requestTimeoutMs);
+    }
+}
@@ -0,0 +1,116 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.exception.enums.PermissionDeniedErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 管理 API 權限檢查結果的快取，key 為 (組織, 使用者 uuid, Live Sight)。
+ * <p>
+ * 組織、成員、Live Sight 的驗證結果合併為一筆，允許或拒絕 (含拒絕的錯誤碼) 都會快取，
+ * 重複的請求只需查詢一次。同一節點上 Live Sight 建立時立即移除相關的結果。
+ * <p>
+ * 組織與成員由其他服務維護，這裡收不到異動通知，只依存活時間更新：
+ * 組織停用或成員移除後，最長在 security.access-decision.ttl-seconds 加上
+ * orgDetails / orgMemberDetails 快取的存活時間後失去權限。
+ * 查無組織 (_001) 或非組織成員 (_003) 的拒絕與 {@link NegativeResultCache} 相同，
+ * 最長只保留 cache.negative.external-ttl-seconds，剛建立的組織或剛加入的成員不會被擋太久；設為 0 則不快取。
+ */
+@Component
+public class AccessDecisionCache {
+
+    public static final String CACHE_NAME = "accessDecisions";
+
+    // 依其他系統建立的組織與成員判斷的拒絕，無法在資料建立時移除
+    private static final Set<PermissionDeniedErrorCode> EXTERNAL_DENIALS =
+            EnumSet.of(PermissionDeniedErrorCode._001, PermissionDeniedErrorCode._003);
+
+    private final CacheManager cacheManager;
+    private final Cache<Key, Decision> cache;
+    private final long ttlNanos;
+    private final long externalDenialTtlNanos;
+
+    public AccessDecisionCache(
+            CacheManager cacheManager,
+            @Value("${security.access-decision.maximum-size:10000}") long maximumSize,
+            @Value("${security.access-decision.ttl-seconds:30}") long ttlSeconds,
+            @Value("${cache.negative.external-ttl-seconds:5}") long externalTtlSeconds) {
+
+        this.cacheManager = cacheManager;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.externalDenialTtlNanos = Math.min(ttlNanos, Duration.ofSeconds(externalTtlSeconds).toNanos());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new DecisionExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void register() {
+        // 註冊到 CacheManager，讓統計資料與其他快取一起檢視
+        if (cacheManager instanceof CaffeineCacheManager caffeineCacheManager) {
+            caffeineCacheManager.registerCustomCache(CACHE_NAME, (Cache<Object, Object>) (Cache<?, ?>) cache);
+        }
+    }
+
+    /**
+     * 取得權限檢查結果，快取中沒有才呼叫 evaluator。evaluator 拋出例外時不會快取。
+     */
+    public Decision get(String orgId, String uuid, String liveSightId, Supplier<Decision> evaluator) {
+        return cache.get(new Key(orgId, uuid, liveSightId), key -> evaluator.get());
+    }
+
+    public void invalidateLiveSight(String liveSightId) {
+        cache.asMap().keySet().removeIf(key -> liveSightId.equals(key.liveSightId()));
+    }
+
+    private long ttlNanos(Decision decision) {
+        return EXTERNAL_DENIALS.contains(decision.deniedCode()) ? externalDenialTtlNanos : ttlNanos;
+    }
+
+    private record Key(String orgId, String uuid, String liveSightId) {
+    }
+
+    private class DecisionExpiry implements Expiry<Key, Decision> {
+
+        @Override
+        public long expireAfterCreate(Key key, Decision decision, long currentTime) {
+            return ttlNanos(decision);
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Decision decision, long currentTime, long currentDuration) {
+            return ttlNanos(decision);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Decision decision, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * @param deniedCode 拒絕時的錯誤碼，允許時為 null
+     */
+    public record Decision(PermissionDeniedErrorCode deniedCode) {
+
+        public static final Decision ALLOWED = new Decision(null);
+
+        public boolean isAllowed() {
+            return deniedCode == null;
+        }
+    }
+}
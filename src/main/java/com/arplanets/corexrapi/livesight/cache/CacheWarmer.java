@@ -0,0 +1,186 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.mapper.LiveSightMapper;
+import com.arplanets.corexrapi.livesight.mapper.OrgMapper;
+import com.arplanets.corexrapi.livesight.mapper.ServiceOrgMemberMapper;
+import com.arplanets.corexrapi.livesight.model.po.LiveSightPo;
+import com.arplanets.corexrapi.livesight.model.po.Org;
+import com.arplanets.corexrapi.livesight.model.po.ServiceOrgMember;
+import com.arplanets.corexrapi.livesight.repository.LiveSightRepository;
+import com.arplanets.corexrapi.livesight.repository.OrgRepository;
+import com.arplanets.corexrapi.livesight.repository.ServiceOrgMemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.arplanets.corexrapi.livesight.service.impl.DynamoDbLiveSightServiceImpl.LIVE_SIGHT_CACHE;
+import static com.arplanets.corexrapi.livesight.service.impl.OrgServiceImpl.ORG_CACHE;
+import static com.arplanets.corexrapi.livesight.service.impl.ServiceOrgMemberServiceImpl.ORG_MEMBER_CACHE;
+
+/**
+ * 啟動時預載快取，讓新節點加入負載平衡前就已有常用資料。
+ * <p>
+ * 在內嵌 web server 開始接受連線之前執行 (SmartLifecycle phase 較小)：
+ * 先取得最近更新的 Live Sight，再同時載入其組織、組織中最近更新的成員、方案與標準方案。
+ * 整體時間以 cache.warm-up.budget-seconds 為上限，超過時不再等待，尚未完成的部分由請求時載入；
+ * 預載失敗只記錄警告，不影響啟動。
+ */
+@Component
+@ConditionalOnProperty(name = "cache.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmer implements SmartLifecycle {
+
+    // 內嵌 web server 的 phase 接近 Integer.MAX_VALUE，需在其之前完成
+    private static final int PHASE = 0;
+
+    @Value("${cache.warm-up.budget-seconds:20}")
+    private long budgetSeconds;
+
+    @Value("${cache.warm-up.max-live-sights:500}")
+    private int maxLiveSights;
+
+    @Value("${cache.warm-up.max-members:2000}")
+    private int maxMembers;
+
+    @Value("${cache.warm-up.parallelism:4}")
+    private int parallelism;
+
+    private final CacheManager cacheManager;
+    private final PlanCache planCache;
+    private final LiveSightRepository liveSightRepository;
+    private final OrgRepository orgRepository;
+    private final ServiceOrgMemberRepository serviceOrgMemberRepository;
+    private final LiveSightMapper liveSightMapper;
+    private final OrgMapper orgMapper;
+    private final ServiceOrgMemberMapper serviceOrgMemberMapper;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(budgetSeconds);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            warmUp(executor, deadline);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up exceeded budget of {}s, remaining entries will be loaded on demand", budgetSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("Cache warm-up failed, entries will be loaded on demand", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void warmUp(ExecutorService executor, long deadline)
+            throws InterruptedException, ExecutionException, TimeoutException {
+
+        long start = System.nanoTime();
+        List<LiveSightPo> liveSights = CompletableFuture
+                .supplyAsync(() -> liveSightRepository.findRecentlyUpdated(maxLiveSights), executor)
+                .get(remaining(deadline), TimeUnit.NANOSECONDS);
+
+        Cache liveSightCache = cacheManager.getCache(LIVE_SIGHT_CACHE);
+        liveSights.forEach(liveSight -> liveSightCache.put(liveSight.getLiveSightId(),
+                liveSightMapper.liveSightPoToLiveSightDto(liveSight)));
+
+        Set<String> orgIds = liveSights.stream()
+                .map(LiveSightPo::getOrgId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        AtomicInteger orgs = new AtomicInteger();
+        AtomicInteger members = new AtomicInteger();
+        AtomicInteger plans = new AtomicInteger();
+
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        if (!orgIds.isEmpty()) {
+            tasks.add(CompletableFuture.runAsync(() -> orgs.set(warmUpOrgs(orgIds)), executor));
+            tasks.add(CompletableFuture.runAsync(() -> members.set(warmUpMembers(orgIds)), executor));
+        }
+
+        // 方案由 PlanCache 自己的執行緒載入
+        for (LiveSightPo liveSight : liveSights) {
+            tasks.add(planCache.getAsync(liveSight.getLiveSightId()).thenAccept(p -> plans.incrementAndGet()));
+            tasks.add(planCache.getStandardPlanAsync(liveSight.getLiveSightId()));
+        }
+
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .get(remaining(deadline), TimeUnit.NANOSECONDS);
+
+        log.info("Cache warm-up finished in {}ms: liveSights={}, orgs={}, members={}, planSets={}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                liveSights.size(), orgs.get(), members.get(), plans.get());
+    }
+
+    private int warmUpOrgs(Set<String> orgIds) {
+        Cache orgCache = cacheManager.getCache(ORG_CACHE);
+        List<Org> activeOrgs = orgRepository.findByOrgIdInAndActiveTrueAndDeletedAtIsNull(orgIds);
+
+        activeOrgs.forEach(org -> orgCache.put(org.getOrgId(), orgMapper.orgPoToOrgDto(org)));
+        return activeOrgs.size();
+    }
+
+    private int warmUpMembers(Set<String> orgIds) {
+        Cache memberCache = cacheManager.getCache(ORG_MEMBER_CACHE);
+        List<ServiceOrgMember> recentMembers = serviceOrgMemberRepository.findByOrgIdInAndActiveTrueAndDeletedAtIsNull(
+                orgIds, PageRequest.of(0, maxMembers, Sort.by(Sort.Direction.DESC, "updatedAt")));
+
+        // key 與 ServiceOrgMemberServiceImpl.findByOrgIdAndUuid 的 @Cacheable 相同
+        recentMembers.forEach(member -> memberCache.put(member.getOrgId() + ":" + member.getUuid(),
+                serviceOrgMemberMapper.serviceOrgMemberPoToServiceOrgMemberDto(member)));
+        return recentMembers.size();
+    }
+
+    private long remaining(long deadline) throws TimeoutException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new TimeoutException();
+        }
+        return remaining;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
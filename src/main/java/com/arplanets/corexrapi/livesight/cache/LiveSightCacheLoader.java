@@ -0,0 +1,39 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.mapper.LiveSightMapper;
+import com.arplanets.corexrapi.livesight.repository.LiveSightRepository;
+import com.arplanets.corexrapi.livesight.service.impl.DynamoDbLiveSightServiceImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * liveSightDetails 的 loader，與 LiveSightService.getLiveSight 相同。
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveSightCacheLoader implements NamedCacheLoader {
+
+    private final LiveSightRepository liveSightRepository;
+    private final LiveSightMapper liveSightMapper;
+    private final NegativeResultCache negativeResultCache;
+
+    @Override
+    public String cacheName() {
+        return DynamoDbLiveSightServiceImpl.LIVE_SIGHT_CACHE;
+    }
+
+    @Override
+    public Object load(Object key) {
+        String liveSightId = (String) key;
+        if (negativeResultCache.isMissing(cacheName(), liveSightId)) {
+            return null;
+        }
+
+        return liveSightRepository.findById(liveSightId)
+                .map(liveSightMapper::liveSightPoToLiveSightDto)
+                .orElseGet(() -> {
+                    negativeResultCache.markMissing(cacheName(), liveSightId);
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,13 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+/**
+ * 以 @Cacheable 使用的快取的 loader，讓 CacheConfig 建立 LoadingCache，可設定 refreshAfterWrite 在背景重新載入。
+ * <p>
+ * 載入結果須與對應的 @Cacheable 方法回傳值相同；查無資料時回傳 null，不會被快取，改由方法本身拋出例外。
+ */
+public interface NamedCacheLoader extends CacheLoader<Object, Object> {
+
+    String cacheName();
+}
@@ -0,0 +1,98 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.service.impl.OrgServiceImpl;
+import com.arplanets.corexrapi.livesight.service.impl.ServiceOrgMemberServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 查無資料的結果快取，放在組織、成員、Live Sight 查詢之前。
+ * <p>
+ * 查無資料時服務會拋出例外，@Cacheable 不會快取，已移除的成員、已刪除的組織或錯誤的 namespace 每次都會查詢資料庫。
+ * 這裡以較短的存活時間記住查無的 key，期間內直接視為不存在。
+ * <p>
+ * Live Sight 由本服務建立，同一節點上建立時立即移除，使用 cache.negative.ttl-seconds。
+ * 組織與成員由其他系統建立，本服務無法得知，剛建立的組織或剛加入的成員在 cache.negative.external-ttl-seconds 內
+ * 仍會被視為不存在，因此使用更短的存活時間，只擋下短時間內的重複查詢；設為 0 則不快取組織與成員的查無結果。
+ */
+@Component
+public class NegativeResultCache {
+
+    public static final String CACHE_NAME = "negativeLookups";
+
+    // 資料由其他系統建立、無法在建立時移除的查詢
+    private static final Set<String> EXTERNAL_CACHES = Set.of(OrgServiceImpl.ORG_CACHE, ServiceOrgMemberServiceImpl.ORG_MEMBER_CACHE);
+
+    // value 為該筆的存活時間 (ns)
+    private final Cache<String, Long> cache;
+    private final long ttlNanos;
+    private final long externalTtlNanos;
+
+    public NegativeResultCache(
+            @Value("${cache.negative.maximum-size:10000}") long maximumSize,
+            @Value("${cache.negative.ttl-seconds:30}") long ttlSeconds,
+            @Value("${cache.negative.external-ttl-seconds:5}") long externalTtlSeconds) {
+
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.externalTtlNanos = Duration.ofSeconds(externalTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TtlExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 由 CacheConfig 註冊到 CacheManager，讓統計資料與其他快取一起檢視；cache loader 也依賴此類別，不能反過來注入 CacheManager。
+     */
+    @SuppressWarnings("unchecked")
+    public Cache<Object, Object> getNativeCache() {
+        return (Cache<Object, Object>) (Cache<?, ?>) cache;
+    }
+
+    /**
+     * @param cacheName 原本查詢使用的快取名稱，用來區分不同查詢的 key
+     */
+    public boolean isMissing(String cacheName, String key) {
+        return cache.getIfPresent(key(cacheName, key)) != null;
+    }
+
+    public void markMissing(String cacheName, String key) {
+        long ttl = EXTERNAL_CACHES.contains(cacheName) ? externalTtlNanos : ttlNanos;
+        if (ttl > 0) {
+            cache.put(key(cacheName, key), ttl);
+        }
+    }
+
+    public void invalidate(String cacheName, String key) {
+        cache.invalidate(key(cacheName, key));
+    }
+
+    private String key(String cacheName, String key) {
+        return cacheName + ":" + key;
+    }
+
+    private static class TtlExpiry implements Expiry<String, Long> {
+
+        @Override
+        public long expireAfterCreate(String key, Long ttlNanos, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Long ttlNanos, long currentTime, long currentDuration) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Long ttlNanos, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 訂單讀取的本機快取，主要用於前台輪詢 fetch_status。
+ * <p>
+ * 依訂單狀態決定存活時間：PENDING、ACTIVATED、REDEEMED 與 COMPLETED 仍可能被更新 (COMPLETED 可再作廢)，
+ * 只保留數秒；只有 VOIDED 不會再變動，可保留較久。
+ * <p>
+ * 同一節點上的 update 在寫入前後都會呼叫 {@link #invalidate}。每次失效會遞增該訂單的寫入序號，
+ * 載入前記下序號，寫回快取時序號已變動就放棄寫入，避免與 update 同時進行的讀取把舊資料放回快取。
+ */
+@Component
+@Slf4j
+public class OrderNearCache {
+
+    public static final String CACHE_NAME = "orderNearCache";
+
+    // 寫入序號以 orderId 的 hash 分段，不同訂單落在同一段只會讓快取少寫入幾次
+    private static final int WRITE_STAMP_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+    private final Cache<String, OrderPo> cache;
+    private final AtomicLongArray writeStamps = new AtomicLongArray(WRITE_STAMP_STRIPES);
+
+    public OrderNearCache(
+            CacheManager cacheManager,
+            @Value("${order.near-cache.maximum-size:10000}") long maximumSize,
+            @Value("${order.near-cache.pending-ttl-seconds:2}") long pendingTtlSeconds,
+            @Value("${order.near-cache.activated-ttl-seconds:2}") long activatedTtlSeconds,
+            @Value("${order.near-cache.redeemed-ttl-seconds:5}") long redeemedTtlSeconds,
+            @Value("${order.near-cache.completed-ttl-seconds:5}") long completedTtlSeconds,
+            @Value("${order.near-cache.terminal-ttl-seconds:300}") long terminalTtlSeconds) {
+
+        this.cacheManager = cacheManager;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new StatusExpiry(
+                        Duration.ofSeconds(pendingTtlSeconds).toNanos(),
+                        Duration.ofSeconds(activatedTtlSeconds).toNanos(),
+                        Duration.ofSeconds(redeemedTtlSeconds).toNanos(),
+                        Duration.ofSeconds(completedTtlSeconds).toNanos(),
+                        Duration.ofSeconds(terminalTtlSeconds).toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void register() {
+        // 註冊到 CacheManager，讓統計資料與其他快取一起檢視
+        if (cacheManager instanceof CaffeineCacheManager caffeineCacheManager) {
+            caffeineCacheManager.registerCustomCache(CACHE_NAME, (Cache<Object, Object>) (Cache<?, ?>) cache);
+        }
+    }
+
+    /**
+     * 取得訂單，快取中沒有才呼叫 loader。查無訂單不會被快取。
+     */
+    public Optional<OrderPo> get(String orderId, OrderProjection projection, Supplier<Optional<OrderPo>> loader) {
+        String key = key(orderId, projection);
+
+        OrderPo cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long stamp = writeStamp(orderId);
+        Optional<OrderPo> loaded = loader.get();
+        loaded.ifPresent(order -> put(orderId, projection, order, stamp));
+
+        return loaded;
+    }
+
+    /**
+     * 只讀取快取，不觸發載入；供非同步流程先查快取、未命中再送出非同步查詢。
+     */
+    public Optional<OrderPo> getIfPresent(String orderId, OrderProjection projection) {
+        return Optional.ofNullable(cache.getIfPresent(key(orderId, projection)));
+    }
+
+    /**
+     * 取得訂單目前的寫入序號，需在送出查詢前呼叫，並於查詢完成後傳給 {@link #put}。
+     */
+    public long writeStamp(String orderId) {
+        return writeStamps.get(stripe(orderId));
+    }
+
+    /**
+     * 寫入查詢結果；查詢期間該訂單曾被失效 (寫入序號已變動) 時不寫入。
+     */
+    public void put(String orderId, OrderProjection projection, OrderPo order, long stamp) {
+        if (orderId == null || order == null) {
+            return;
+        }
+        // 在 key 的鎖內比對序號：invalidate 先遞增序號再移除 key，兩者必有一方看到另一方的結果
+        int stripe = stripe(orderId);
+        cache.asMap().compute(key(orderId, projection),
+                (key, existing) -> writeStamps.get(stripe) == stamp ? order : existing);
+    }
+
+    /**
+     * 遞增寫入序號並移除該訂單所有 projection 的快取，update 前後各呼叫一次。
+     */
+    public void invalidate(String orderId) {
+        if (orderId == null) {
+            return;
+        }
+        writeStamps.incrementAndGet(stripe(orderId));
+        for (OrderProjection projection : OrderProjection.values()) {
+            cache.invalidate(key(orderId, projection));
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Scheduled(fixedDelayString = "${order.near-cache.stats-log-interval-ms:300000}")
+    public void logStats() {
+        CacheStats stats = cache.stats();
+        log.info("Order near cache stats: size={}, hits={}, misses={}, evictions={}, hitRate={}",
+                cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                String.format("%.3f", stats.hitRate()));
+    }
+
+    private int stripe(String orderId) {
+        return Math.floorMod(orderId.hashCode(), WRITE_STAMP_STRIPES);
+    }
+
+    private String key(String orderId, OrderProjection projection) {
+        return projection.name() + ":" + orderId;
+    }
+
+    private record StatusExpiry(long pendingNanos, long activatedNanos, long redeemedNanos, long completedNanos,
+                                long terminalNanos)
+            implements Expiry<String, OrderPo> {
+
+        @Override
+        public long expireAfterCreate(String key, OrderPo order, long currentTime) {
+            return ttl(order.getOrderStatus());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, OrderPo order, long currentTime, long currentDuration) {
+            return ttl(order.getOrderStatus());
+        }
+
+        @Override
+        public long expireAfterRead(String key, OrderPo order, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long ttl(OrderStatus status) {
+            if (status == null) {
+                return pendingNanos;
+            }
+            return switch (status) {
+                case PENDING -> pendingNanos;
+                case ACTIVATED -> activatedNanos;
+                case REDEEMED -> redeemedNanos;
+                case COMPLETED -> completedNanos;
+                case VOIDED -> terminalNanos;
+            };
+        }
+    }
+}
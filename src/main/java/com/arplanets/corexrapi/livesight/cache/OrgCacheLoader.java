@@ -0,0 +1,39 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.mapper.OrgMapper;
+import com.arplanets.corexrapi.livesight.repository.OrgRepository;
+import com.arplanets.corexrapi.livesight.service.impl.OrgServiceImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * orgDetails 的 loader，與 OrgService.findByOrgId 相同。
+ */
+@Component
+@RequiredArgsConstructor
+public class OrgCacheLoader implements NamedCacheLoader {
+
+    private final OrgRepository orgRepository;
+    private final OrgMapper orgMapper;
+    private final NegativeResultCache negativeResultCache;
+
+    @Override
+    public String cacheName() {
+        return OrgServiceImpl.ORG_CACHE;
+    }
+
+    @Override
+    public Object load(Object key) {
+        String orgId = (String) key;
+        if (negativeResultCache.isMissing(cacheName(), orgId)) {
+            return null;
+        }
+
+        return orgRepository.findByOrgIdAndActiveTrueAndDeletedAtIsNull(orgId)
+                .map(orgMapper::orgPoToOrgDto)
+                .orElseGet(() -> {
+                    negativeResultCache.markMissing(cacheName(), orgId);
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,44 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.mapper.ServiceOrgMemberMapper;
+import com.arplanets.corexrapi.livesight.repository.ServiceOrgMemberRepository;
+import com.arplanets.corexrapi.livesight.service.impl.ServiceOrgMemberServiceImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * orgMemberDetails 的 loader，與 ServiceOrgMemberService.findByOrgIdAndUuid 相同。
+ */
+@Component
+@RequiredArgsConstructor
+public class OrgMemberCacheLoader implements NamedCacheLoader {
+
+    private final ServiceOrgMemberRepository serviceOrgMemberRepository;
+    private final ServiceOrgMemberMapper serviceOrgMemberMapper;
+    private final NegativeResultCache negativeResultCache;
+
+    @Override
+    public String cacheName() {
+        return ServiceOrgMemberServiceImpl.ORG_MEMBER_CACHE;
+    }
+
+    /**
+     * key 為 orgId + ':' + uuid，uuid 不含 ':'。
+     */
+    @Override
+    public Object load(Object key) {
+        String cacheKey = (String) key;
+        int separator = cacheKey.lastIndexOf(':');
+        if (separator < 0 || negativeResultCache.isMissing(cacheName(), cacheKey)) {
+            return null;
+        }
+
+        return serviceOrgMemberRepository.findByOrgIdAndUuidAndActiveTrueAndDeletedAtIsNull(
+                        cacheKey.substring(0, separator), cacheKey.substring(separator + 1))
+                .map(serviceOrgMemberMapper::serviceOrgMemberPoToServiceOrgMemberDto)
+                .orElseGet(() -> {
+                    negativeResultCache.markMissing(cacheName(), cacheKey);
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,300 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.mapper.PlanMapper;
+import com.arplanets.corexrapi.livesight.model.dto.PlanDto;
+import com.arplanets.corexrapi.livesight.model.po.PlanPo;
+import com.arplanets.corexrapi.livesight.repository.PlanAsyncRepository;
+import com.arplanets.corexrapi.livesight.repository.PlanRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 方案快取，取代原本套用全域設定的 @Cacheable("planFromLiveSight")。包含三份快取：
+ * <ul>
+ *     <li>planFromLiveSight：Live Sight 的完整方案列表，供管理後台與批次驗證使用</li>
+ *     <li>planById：單一方案，供訂單建立、兌換時只取需要的方案</li>
+ *     <li>standardPlanId：Live Sight 的一般方案 planId，沒有一般方案也會快取</li>
+ * </ul>
+ * 寫入超過 refresh-after-write 後的第一次讀取仍回傳舊值，同時在背景重新載入，熱門的 key 不會因過期而同步查詢；
+ * 超過 expire-after-write 未被讀取才會移除。同一個 key 同時未命中時只會有一個載入在進行，其餘呼叫等待同一個結果。
+ * 同一節點上方案建立、更新成功後直接更新快取內容，不需等待重新載入。
+ */
+@Component
+@Slf4j
+public class PlanCache {
+
+    public static final String CACHE_NAME = "planFromLiveSight";
+    public static final String PLAN_CACHE_NAME = "planById";
+    public static final String STANDARD_PLAN_CACHE_NAME = "standardPlanId";
+
+    private final CacheManager cacheManager;
+    private final PlanRepository planRepository;
+    private final ObjectProvider<PlanAsyncRepository> planAsyncRepository;
+    private final PlanMapper planMapper;
+    private final ThreadPoolExecutor loaderExecutor;
+    private final AsyncLoadingCache<String, Map<String, PlanDto>> cache;
+    // 查無方案時 loader 回傳 null，不會被快取
+    private final AsyncLoadingCache<String, PlanDto> planCache;
+    private final AsyncLoadingCache<String, Optional<String>> standardPlanIdCache;
+
+    public PlanCache(
+            CacheManager cacheManager,
+            PlanRepository planRepository,
+            ObjectProvider<PlanAsyncRepository> planAsyncRepository,
+            PlanMapper planMapper,
+            @Value("${plan.cache.maximum-size:1000}") long maximumSize,
+            @Value("${plan.cache.plan-maximum-size:10000}") long planMaximumSize,
+            @Value("${plan.cache.refresh-after-write-seconds:20}") long refreshAfterWriteSeconds,
+            @Value("${plan.cache.expire-after-write-seconds:120}") long expireAfterWriteSeconds,
+            @Value("${plan.cache.loader-pool-size:4}") int loaderPoolSize) {
+
+        this.cacheManager = cacheManager;
+        this.planRepository = planRepository;
+        this.planAsyncRepository = planAsyncRepository;
+        this.planMapper = planMapper;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.loaderExecutor = new ThreadPoolExecutor(
+                loaderPoolSize,
+                loaderPoolSize,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "plan-cache-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.loaderExecutor.allowCoreThreadTimeOut(true);
+
+        Duration refreshAfterWrite = Duration.ofSeconds(refreshAfterWriteSeconds);
+        Duration expireAfterWrite = Duration.ofSeconds(expireAfterWriteSeconds);
+
+        this.cache = newBuilder(maximumSize, refreshAfterWrite, expireAfterWrite)
+                .buildAsync((liveSightId, executor) -> load(
+                        asyncRepository -> asyncRepository.listByLiveSightId(liveSightId),
+                        () -> planRepository.listByLiveSightId(liveSightId))
+                        .thenApply(planMapper::planPosToPlanMap));
+
+        this.planCache = newBuilder(planMaximumSize, refreshAfterWrite, expireAfterWrite)
+                .buildAsync((planId, executor) -> load(
+                        asyncRepository -> asyncRepository.findById(planId),
+                        () -> planRepository.findById(planId))
+                        .thenApply(plan -> plan.map(planMapper::planePoToPlaneDto).orElse(null)));
+
+        this.standardPlanIdCache = newBuilder(maximumSize, refreshAfterWrite, expireAfterWrite)
+                .buildAsync((liveSightId, executor) -> load(
+                        asyncRepository -> asyncRepository.findStandardByLiveSightId(liveSightId),
+                        () -> planRepository.findStandardByLiveSightId(liveSightId))
+                        .thenApply(plan -> {
+                            // 一般方案順便放入單一方案快取，之後以 planId 取得時不需再讀取
+                            plan.ifPresent(po -> planCache.put(po.getPlanId(),
+                                    CompletableFuture.completedFuture(planMapper.planePoToPlaneDto(po))));
+                            return plan.map(PlanPo::getPlanId);
+                        }));
+    }
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void register() {
+        // 註冊到 CacheManager，讓統計資料與其他快取一起檢視
+        if (cacheManager instanceof CaffeineCacheManager caffeineCacheManager) {
+            caffeineCacheManager.registerCustomCache(CACHE_NAME, (AsyncCache<Object, Object>) (AsyncCache<?, ?>) cache);
+            caffeineCacheManager.registerCustomCache(PLAN_CACHE_NAME, (AsyncCache<Object, Object>) (AsyncCache<?, ?>) planCache);
+            caffeineCacheManager.registerCustomCache(STANDARD_PLAN_CACHE_NAME, (AsyncCache<Object, Object>) (AsyncCache<?, ?>) standardPlanIdCache);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdownNow();
+    }
+
+    /**
+     * 取得 Live Sight 的方案，key 為 planId，一般方案另以 "standard" 為 key。載入失敗時拋出原本的例外。
+     */
+    public Map<String, PlanDto> get(String liveSightId) {
+        return join(cache.get(liveSightId));
+    }
+
+    /**
+     * 非同步流程使用，未命中時不佔用呼叫端執行緒。
+     */
+    public CompletableFuture<Map<String, PlanDto>> getAsync(String liveSightId) {
+        return cache.get(liveSightId);
+    }
+
+    /**
+     * 以 planId 取得單一啟用中的方案。
+     */
+    public Optional<PlanDto> getPlan(String planId) {
+        return Optional.ofNullable(join(planCache.get(planId)));
+    }
+
+    public CompletableFuture<Optional<PlanDto>> getPlanAsync(String planId) {
+        return planCache.get(planId).thenApply(Optional::ofNullable);
+    }
+
+    /**
+     * 取得 Live Sight 的一般方案：先取得 planId，再由單一方案快取取得內容。
+     */
+    public Optional<PlanDto> getStandardPlan(String liveSightId) {
+        return join(standardPlanIdCache.get(liveSightId)).flatMap(this::getPlan);
+    }
+
+    public CompletableFuture<Optional<PlanDto>> getStandardPlanAsync(String liveSightId) {
+        return standardPlanIdCache.get(liveSightId)
+                .thenCompose(planId -> planId.isPresent()
+                        ? getPlanAsync(planId.get())
+                        : CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    /**
+     * 新建立的方案加入已快取的列表與單一方案快取；列表尚未快取則不處理，下次讀取時再載入。
+     */
+    public void putCreated(String liveSightId, List<PlanPo> plans) {
+        if (plans.isEmpty()) {
+            return;
+        }
+
+        cache.synchronous().asMap().computeIfPresent(liveSightId, (key, cached) -> {
+            Map<String, PlanDto> planMap = new HashMap<>(cached);
+            planMap.putAll(planMapper.planPosToPlanMap(plans));
+            return planMap;
+        });
+
+        for (PlanPo plan : plans) {
+            planCache.put(plan.getPlanId(), CompletableFuture.completedFuture(planMapper.planePoToPlaneDto(plan)));
+            if (Boolean.TRUE.equals(plan.getStandard())) {
+                standardPlanIdCache.put(liveSightId, CompletableFuture.completedFuture(Optional.of(plan.getPlanId())));
+            }
+        }
+    }
+
+    /**
+     * 更新後的欄位套用到已快取的方案；列表中找不到的方案無法補齊其餘欄位，改為移除整個 Live Sight 的快取。
+     */
+    public void putUpdated(String liveSightId, List<PlanPo> plans) {
+        if (plans.isEmpty()) {
+            return;
+        }
+
+        cache.synchronous().asMap().computeIfPresent(liveSightId, (key, cached) -> {
+            Map<String, PlanDto> planMap = new HashMap<>(cached);
+
+            for (PlanPo plan : plans) {
+                PlanDto stored = planMap.get(plan.getPlanId());
+                if (stored == null) {
+                    return null;
+                }
+
+                PlanDto updated = applyUpdate(stored, plan);
+                planMap.put(updated.getPlanId(), updated);
+                if (Boolean.TRUE.equals(updated.getStandard())) {
+                    planMap.put("standard", updated);
+                }
+            }
+
+            return planMap;
+        });
+
+        for (PlanPo plan : plans) {
+            planCache.synchronous().asMap().computeIfPresent(plan.getPlanId(), (key, stored) -> applyUpdate(stored, plan));
+        }
+    }
+
+    public void invalidate(String liveSightId) {
+        cache.synchronous().invalidate(liveSightId);
+        standardPlanIdCache.synchronous().invalidate(liveSightId);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Scheduled(fixedDelayString = "${plan.cache.stats-log-interval-ms:300000}")
+    public void logStats() {
+        logStats(CACHE_NAME, cache);
+        logStats(PLAN_CACHE_NAME, planCache);
+        logStats(STANDARD_PLAN_CACHE_NAME, standardPlanIdCache);
+    }
+
+    private void logStats(String name, AsyncLoadingCache<?, ?> asyncCache) {
+        CacheStats stats = asyncCache.synchronous().stats();
+        log.info("Plan cache {} stats: size={}, hits={}, misses={}, loads={}, loadFailures={}, hitRate={}",
+                name, asyncCache.synchronous().estimatedSize(), stats.hitCount(), stats.missCount(), stats.loadCount(),
+                stats.loadFailureCount(), String.format("%.3f", stats.hitRate()));
+    }
+
+    private Caffeine<Object, Object> newBuilder(long maximumSize, Duration refreshAfterWrite, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(loaderExecutor)
+                .recordStats();
+    }
+
+    /**
+     * 首次載入與背景重新載入共用；有非同步 repository 時不佔用執行緒等待 DynamoDB。
+     */
+    private <T> CompletableFuture<T> load(Function<PlanAsyncRepository, CompletableFuture<T>> asyncLoader, Supplier<T> loader) {
+        PlanAsyncRepository asyncRepository = planAsyncRepository.getIfAvailable();
+        if (asyncRepository != null) {
+            return asyncLoader.apply(asyncRepository);
+        }
+
+        return CompletableFuture.supplyAsync(loader, loaderExecutor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 更新只會寫入有值的欄位，與 repository 的 update 相同
+    private PlanDto applyUpdate(PlanDto stored, PlanPo plan) {
+        return PlanDto.builder()
+                .planId(stored.getPlanId())
+                .planName(plan.getPlanName() != null ? plan.getPlanName() : stored.getPlanName())
+                .liveSightId(stored.getLiveSightId())
+                .expiry(plan.getExpiry() != null ? plan.getExpiry() : stored.getExpiry())
+                .standard(stored.getStandard())
+                .createdAt(stored.getCreatedAt())
+                .createdBy(stored.getCreatedBy())
+                .updatedAt(plan.getUpdatedAt() != null ? plan.getUpdatedAt() : stored.getUpdatedAt())
+                .updatedBy(plan.getUpdatedBy() != null ? plan.getUpdatedBy() : stored.getUpdatedBy())
+                .deletedAt(stored.getDeletedAt())
+                .build();
+    }
+}
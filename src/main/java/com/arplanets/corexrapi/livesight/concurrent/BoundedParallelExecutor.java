@@ -0,0 +1,116 @@
+package com.arplanets.corexrapi.livesight.concurrent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * 以有限的平行度處理一批工作，結果順序與輸入相同。
+ * <p>
+ * 呼叫端執行緒本身也會參與處理，背景執行緒只是協助；因此即使執行緒池已滿或巢狀呼叫，
+ * 呼叫端仍能獨自完成所有工作，不會互相等待而卡住。
+ */
+@Component
+@Slf4j
+public class BoundedParallelExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public BoundedParallelExecutor(@Value("${order.batch.executor-pool-size:16}") int poolSize) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(poolSize * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "order-batch-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 以最多 parallelism 個執行緒 (含呼叫端) 對每個項目執行 task，回傳與輸入順序相同的結果。
+     * 任一項目拋出例外時，會在所有已開始的項目結束後拋出第一個例外。
+     */
+    public <T, R> List<R> map(List<T> items, int parallelism, Function<T, R> task) {
+        int size = items.size();
+
+        if (size == 0) {
+            return List.of();
+        }
+
+        if (size == 1 || parallelism <= 1) {
+            return items.stream().map(task).toList();
+        }
+
+        Object[] results = new Object[size];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(size);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < size) {
+                try {
+                    if (failure.get() == null) {
+                        results[index] = task.apply(items.get(index));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+
+        int helpers = Math.min(parallelism, size) - 1;
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // 執行緒池已滿，由呼叫端處理剩餘項目
+                log.warn("Order batch executor is saturated, remaining items run on caller thread");
+                break;
+            }
+        }
+
+        worker.run();
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Batch execution interrupted");
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (error instanceof Error e) {
+            throw e;
+        } else if (error != null) {
+            throw new CompletionException(error);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> list = (List<R>) Arrays.asList(results);
+        return list;
+    }
+}
@@ -1,32 +1,106 @@
 package com.arplanets.corexrapi.livesight.config;
 
+import com.arplanets.corexrapi.livesight.cache.NamedCacheLoader;
+import com.arplanets.corexrapi.livesight.cache.NegativeResultCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
 
+/**
+ * 每個快取各自的 Caffeine 規格，以 cache.specs.&lt;快取名稱&gt; 設定 (CaffeineSpec 格式)，例如：
+ * <pre>
+ * cache.specs.orgMemberDetails=maximumSize=50000,expireAfterWrite=1m,refreshAfterWrite=30s
+ * cache.specs.liveSightDetails=maximumSize=5000,expireAfterWrite=30m,refreshAfterWrite=5m,softValues
+ * </pre>
+ * 沒有設定的快取使用 cache.default-spec。所有快取都會開啟 recordStats。
+ * 放寬 orgDetails、orgMemberDetails 的 expireAfterWrite 會同時延長組織停用、成員移除後仍可存取的時間。
+ * refreshAfterWrite 需要該快取有對應的 {@link NamedCacheLoader}，背景重新載入時使用；沒有 loader 時啟動失敗。
+ * <p>
+ * planFromLiveSight、orderNearCache、negativeLookups 等自行建立的快取不使用這裡的設定，請參考各自的類別。
+ */
 @Configuration
 @EnableCaching
+@Slf4j
 public class CacheConfig {
 
+    // 未個別設定的快取，與原本的全域設定相同
+    @Value("${cache.default-spec:initialCapacity=10,maximumSize=100,expireAfterWrite=1m}")
+    private String defaultSpec;
+
+    // 組織與成員由其他服務維護，停用或移除後需在 1 分鐘內失去權限，存活時間與原本的全域設定相同，
+    // 只放大容量並在到期前背景更新；Live Sight 建立後不會再修改，可保留較久
+    private static final Map<String, String> DEFAULT_SPECS = Map.of(
+            "orgDetails", "maximumSize=1000,expireAfterWrite=1m,refreshAfterWrite=30s",
+            "orgMemberDetails", "maximumSize=20000,expireAfterWrite=1m,refreshAfterWrite=30s",
+            "liveSightDetails", "maximumSize=5000,expireAfterWrite=30m,refreshAfterWrite=5m");
+
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(Environment environment, ObjectProvider<NamedCacheLoader> cacheLoaders,
+                                     NegativeResultCache negativeResultCache) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+        cacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+
+        Map<String, NamedCacheLoader> loaders = new HashMap<>();
+        cacheLoaders.orderedStream().forEach(loader -> loaders.put(loader.cacheName(), loader));
+
+        Map<String, String> specs = new LinkedHashMap<>(DEFAULT_SPECS);
+        Binder.get(environment)
+                .bind("cache.specs", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of())
+                .forEach((name, spec) -> specs.put(canonicalName(name, specs, loaders), spec));
+
+        specs.forEach((name, spec) -> {
+            registerCache(cacheManager, name, spec, loaders.get(name));
+            log.info("Cache {} configured with spec [{}]", name, spec);
+        });
+
+        // 查無資料的快取有自己的存活時間設定 (cache.negative.*)，只註冊以檢視統計資料
+        cacheManager.registerCustomCache(NegativeResultCache.CACHE_NAME, negativeResultCache.getNativeCache());
+
         return cacheManager;
     }
 
-    // 定義 Caffeine 的緩存策略
-    private Caffeine<Object, Object> caffeineCacheBuilder() {
-        return Caffeine.newBuilder()
-                .initialCapacity(10) // 初始容量
-                .maximumSize(100) // 最大容量
-                // 數據在指定時間後過期（從寫入或上次訪問算起）
-                .expireAfterWrite(1, TimeUnit.MINUTES); // 例如：10分鐘後過期
+    /**
+     * 環境變數或 kebab-case 設定的 key 會與快取名稱大小寫不同，對應回既有的快取名稱。
+     */
+    private String canonicalName(String name, Map<String, String> specs, Map<String, NamedCacheLoader> loaders) {
+        String normalized = name.replace("-", "");
+        return Stream.concat(specs.keySet().stream(), loaders.keySet().stream())
+                .filter(known -> known.equalsIgnoreCase(normalized))
+                .findFirst()
+                .orElse(name);
     }
 
+    private void registerCache(CaffeineCacheManager cacheManager, String name, String spec, NamedCacheLoader loader) {
+        CaffeineSpec caffeineSpec = CaffeineSpec.parse(spec);
+        Caffeine<Object, Object> builder = Caffeine.from(caffeineSpec).recordStats();
+
+        // key 為字串，weakKeys 以 identity 比對會永遠查不到
+        if (spec.contains("weakKeys")) {
+            throw new IllegalStateException("Cache " + name + " must not use weakKeys");
+        }
+
+        if (loader != null) {
+            cacheManager.registerCustomCache(name, builder.build(loader));
+        } else if (spec.contains("refreshAfterWrite")) {
+            throw new IllegalStateException("Cache " + name + " uses refreshAfterWrite but has no NamedCacheLoader");
+        } else {
+            cacheManager.registerCustomCache(name, builder.build());
+        }
+    }
 }
@@ -6,6 +6,7 @@ import com.arplanets.corexrapi.livesight.log.filter.InitRequestContextFilter;
 import com.arplanets.corexrapi.livesight.log.filter.LoggingFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,6 +20,9 @@ public class LogConfig {
     private final ObjectMapper objectMapper;
     private final LogContext logContext;
 
+    @Value("${order.async.enabled:false}")
+    private boolean asyncEnabled;
+
 
     @Bean
     public AuditLogProducer auditLogProducer() {
@@ -32,7 +36,7 @@ public class LogConfig {
 
     @Bean
     public LoggingFilter loggingFilter() {
-        return new LoggingFilter(auditLogProducer(), logContext);
+        return new LoggingFilter(auditLogProducer(), logContext, asyncEnabled);
     }
 
     @Bean
@@ -0,0 +1,75 @@
+package com.arplanets.corexrapi.livesight.controller;
+
+import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderCreateRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderFetchStatusRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderRedeemRequest;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderCreateResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderRedeemResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderStatusResponse;
+import com.arplanets.corexrapi.livesight.service.OrderAsyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 訂單 API 的非阻塞版本，路徑與 ApiOrderController 相同，啟用 order.async.enabled 時取代之。
+ */
+@RestController
+@RequestMapping("/live-sight/api/order")
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name = "訂單", description = "訂單 API")
+public class AsyncApiOrderController {
+
+    private final OrderAsyncService orderAsyncService;
+    private final OrderMapper orderMapper;
+
+    @PostMapping(value = "/create", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "建立訂單")
+    @PreAuthorize("@permissionChecker.checkOrderCreatePermission(#orderRequest.namespace, #orderRequest.planId)")
+    public CompletableFuture<ResponseEntity<OrderCreateResponse>> createOrder(@RequestBody @Valid OrderCreateRequest orderRequest, HttpServletRequest request) {
+        return orderAsyncService.createOrder(
+                request,
+                orderRequest.getProductId(),
+                orderRequest.getNamespace(),
+                orderRequest.getAuthType(),
+                orderRequest.getAuthTypeId(),
+                orderRequest.getSalt(),
+                orderRequest.getPlanId())
+                .thenApply(result -> ResponseEntity.ok(orderMapper.orderDtoToOrderCreateResponse(result)));
+    }
+
+    @PostMapping(value = "/fetch_status", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "查詢訂單狀態")
+    public CompletableFuture<ResponseEntity<OrderStatusResponse>> fetchStatus(@RequestBody @Valid OrderFetchStatusRequest request) {
+        return orderAsyncService.getOrderStatus(
+                request.getProductId(),
+                request.getOrderId(),
+                request.getSalt())
+                .thenApply(result -> ResponseEntity.ok(orderMapper.orderDtoToOrderStatusResponse(result)));
+    }
+
+    @PostMapping(value = "/redeem", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "領取訂單")
+    public CompletableFuture<ResponseEntity<OrderRedeemResponse>> redeem(@RequestBody @Valid OrderRedeemRequest orderRequest, HttpServletRequest request) {
+        return orderAsyncService.redeemOrder(
+                request,
+                orderRequest.getProductId(),
+                orderRequest.getOrderId(),
+                orderRequest.getRedeemCode())
+                .thenApply(result -> ResponseEntity.ok(orderMapper.orderDtoToOrderRedeemResponse(result)));
+    }
+}
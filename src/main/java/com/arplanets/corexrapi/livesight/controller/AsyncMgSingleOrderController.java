@@ -0,0 +1,107 @@
+package com.arplanets.corexrapi.livesight.controller;
+
+import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderActivateRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderInfoRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderReturnRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderVoidRequest;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderActivateResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderInfoResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderReturnResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderVoidResponse;
+import com.arplanets.corexrapi.livesight.service.OrderAsyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * (後台) 單筆訂單的查詢與狀態變更的非阻塞版本，路徑與 MgSingleOrderController 相同。
+ * 等待 DynamoDB 回應時不佔用 servlet 執行緒。
+ */
+@RestController
+@RequestMapping("/live-sight/mg/api/order")
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name="(後台) 訂單 API", description = "(後台) 訂單 API")
+public class AsyncMgSingleOrderController {
+
+    private final OrderMapper orderMapper;
+    private final OrderAsyncService orderAsyncService;
+
+    @PostMapping(value = "/info", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "查詢訂單資訊", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#request.orgId, #authentication, #request.namespace)")
+    public CompletableFuture<ResponseEntity<OrderInfoResponse>> getOrderInfo(@RequestBody @Valid OrderInfoRequest request, Authentication authentication) {
+        return orderAsyncService.getOrder(
+                request.getProductId(),
+                request.getOrgId(),
+                request.getNamespace(),
+                request.getOrderId())
+                .thenApply(result -> ResponseEntity.ok(orderMapper.orderDtoToOrderInfoResponse(result)));
+    }
+
+    @PostMapping(value = "/activate", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "開通訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
+    public CompletableFuture<ResponseEntity<OrderActivateResponse>> activateOrder(@RequestBody @Valid OrderActivateRequest orderRequest, Authentication authentication, HttpServletRequest request) {
+        return orderAsyncService.activateOrder(
+                request,
+                orderRequest.getProductId(),
+                orderRequest.getOrgId(),
+                orderRequest.getNamespace(),
+                orderRequest.getOrderId(),
+                orderRequest.getTags(),
+                getUsername(authentication))
+                .thenApply(result -> ResponseEntity.ok(orderMapper.orderDtoToOrderActivateResponse(result)));
+    }
+
+    @PostMapping(value = "/void", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "作廢訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
+    public CompletableFuture<ResponseEntity<OrderVoidResponse>> voidOrder(@RequestBody @Valid OrderVoidRequest orderRequest, Authentication authentication, HttpServletRequest request) {
+        return orderAsyncService.voidOrder(
+                request,
+                orderRequest.getProductId(),
+                orderRequest.getOrgId(),
+                orderRequest.getNamespace(),
+                orderRequest.getOrderId(),
+                getUsername(authentication))
+                .thenApply(result -> ResponseEntity.ok(orderMapper.orderDtoToOrderVoidResponse(result)));
+    }
+
+    @PostMapping(value = "/return", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "歸還訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
+    public CompletableFuture<ResponseEntity<OrderReturnResponse>> returnOrder(@RequestBody @Valid OrderReturnRequest orderRequest, Authentication authentication, HttpServletRequest request) {
+        return orderAsyncService.returnOrder(
+                request,
+                orderRequest.getProductId(),
+                orderRequest.getOrgId(),
+                orderRequest.getNamespace(),
+                orderRequest.getOrderId(),
+                getUsername(authentication))
+                .thenApply(result -> ResponseEntity.ok(orderMapper.orderDtoToOrderReturnResponse(result)));
+    }
+
+    private String getUsername(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            return jwt.getClaimAsString("username");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.arplanets.corexrapi.livesight.controller;
+
+import com.arplanets.corexrapi.livesight.model.dto.res.CacheStatsResponse;
+import com.arplanets.corexrapi.livesight.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/live-sight/mg/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "快取 API", description = "本機快取狀態")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping(value = "/stats", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "查詢各快取的命中率、載入時間與淘汰次數", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<CacheStatsResponse>> stats() {
+        return ResponseEntity.ok(cacheStatsService.listCacheStats());
+    }
+}
@@ -1,17 +1,23 @@
 package com.arplanets.corexrapi.livesight.controller;
 
 import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
+import com.arplanets.corexrapi.livesight.model.bo.OrderBulkResult;
+import com.arplanets.corexrapi.livesight.model.bo.OrderLookupResult;
 import com.arplanets.corexrapi.livesight.model.dto.OrderDto;
 import com.arplanets.corexrapi.livesight.model.dto.req.*;
 import com.arplanets.corexrapi.livesight.model.dto.res.*;
+import com.arplanets.corexrapi.livesight.model.eunms.ReportFormat;
+import com.arplanets.corexrapi.livesight.report.OrderReportWriter;
 import com.arplanets.corexrapi.livesight.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,8 +27,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/live-sight/mg/api/order")
@@ -33,18 +44,37 @@ public class MgOrderController {
 
     private final OrderMapper orderMapper;
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
 
-    @PostMapping(value = "/info", produces = {MediaType.APPLICATION_JSON_VALUE})
-    @Operation(summary = "查詢訂單資訊", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(value = "/batch_info", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "批次查詢訂單資訊", security = @SecurityRequirement(name = "bearerAuth"))
     @PreAuthorize("@permissionChecker.checkOrderPermission(#request.orgId, #authentication, #request.namespace)")
-    public ResponseEntity<OrderInfoResponse> getOrderInfo(@RequestBody @Valid OrderInfoRequest request, Authentication authentication) {
-        OrderDto result = orderService.getOrder(
+    public ResponseEntity<OrderBatchInfoResponse> getOrderBatchInfo(@RequestBody @Valid OrderBatchInfoRequest request, Authentication authentication) {
+        // 權限只需對 namespace 檢查一次，各訂單是否屬於該 namespace 由 service 逐筆判斷
+        List<OrderLookupResult> results = orderService.getOrders(
                 request.getProductId(),
                 request.getOrgId(),
                 request.getNamespace(),
-                request.getOrderId());
-
-        return ResponseEntity.ok(orderMapper.orderDtoToOrderInfoResponse(result));
+                request.getOrderIds());
+
+        List<OrderBatchInfoItemResponse> items = results.stream()
+                .map(result -> OrderBatchInfoItemResponse.builder()
+                        .orderId(result.getOrderId())
+                        .found(result.isFound())
+                        .order(result.isFound() ? orderMapper.orderDtoToOrderInfoResponse(result.getOrder()) : null)
+                        .errorCode(result.getErrorCode() != null ? result.getErrorCode().description() : null)
+                        .reason(result.getErrorCode() != null ? result.getErrorCode().message() : null)
+                        .build())
+                .toList();
+
+        int foundCount = (int) items.stream().filter(OrderBatchInfoItemResponse::isFound).count();
+
+        return ResponseEntity.ok(OrderBatchInfoResponse.builder()
+                .items(items)
+                .totalCount(items.size())
+                .foundCount(foundCount)
+                .notFoundCount(items.size() - foundCount)
+                .build());
     }
 
     @PostMapping(value = "/list", produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -79,70 +109,122 @@ public class MgOrderController {
 
     }
 
-    @PostMapping(value = "/activate", produces = {MediaType.APPLICATION_JSON_VALUE})
-    @Operation(summary = "開通訂單", security = @SecurityRequirement(name = "bearerAuth"))
-    @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
-    public ResponseEntity<OrderActivateResponse> activateOrder(@RequestBody @Valid OrderActivateRequest orderRequest, Authentication authentication, HttpServletRequest request) {
+    @PostMapping(value = "/reports/stream")
+    @Operation(summary = "串流匯出訂單列表 (NDJSON / CSV)", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#request.orgId, #authentication, #request.namespace)")
+    public ResponseEntity<StreamingResponseBody> streamOrderReport(@RequestBody @Valid OrderReportExportRequest request, Authentication authentication) {
+
+        ReportFormat format = Optional.ofNullable(request.getFormat()).orElse(ReportFormat.NDJSON);
+        boolean gzip = Boolean.TRUE.equals(request.getGzip());
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            OrderReportWriter writer = OrderReportWriter.of(format, target, objectMapper);
+
+            writer.writeHeader();
+
+            // 每取得一頁即轉換並寫出，不在記憶體中累積整份報表
+            orderService.exportOrder(
+                    request.getProductId(),
+                    request.getOrgId(),
+                    request.getNamespace(),
+                    request.getFilters(),
+                    page -> writer.writePage(page.stream().map(orderMapper::orderDtoToOrderListResponse).toList()));
+
+            writer.finish();
+
+            if (target instanceof GZIPOutputStream gzipOutputStream) {
+                gzipOutputStream.finish();
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getMediaType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("orders." + format.getExtension())
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
 
-        String username = null;
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
 
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-            username = jwt.getClaimAsString("username");
-        }
+    @PostMapping(value = "/bulk_activate", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "批次開通訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
+    public ResponseEntity<OrderBulkUpdateResponse<OrderActivateResponse>> bulkActivateOrders(@RequestBody @Valid OrderBulkActivateRequest orderRequest, Authentication authentication) {
 
-        OrderDto result = orderService.activateOrder(
-                request,
+        List<OrderBulkResult> results = orderService.activateOrders(
                 orderRequest.getProductId(),
                 orderRequest.getOrgId(),
                 orderRequest.getNamespace(),
-                orderRequest.getOrderId(),
+                orderRequest.getOrderIds(),
                 orderRequest.getTags(),
-                username);
+                getUsername(authentication));
 
-        return ResponseEntity.ok(orderMapper.orderDtoToOrderActivateResponse(result));
+        return ResponseEntity.ok(toBulkUpdateResponse(results, orderMapper::orderDtoToOrderActivateResponse));
     }
 
-    @PostMapping(value = "/void", produces = {MediaType.APPLICATION_JSON_VALUE})
-    @Operation(summary = "作廢訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(value = "/bulk_void", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "批次作廢訂單", security = @SecurityRequirement(name = "bearerAuth"))
     @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
-    public ResponseEntity<OrderVoidResponse> voidOrder(@RequestBody @Valid OrderVoidRequest orderRequest, Authentication authentication, HttpServletRequest request) {
-        String username = null;
-
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-            username = jwt.getClaimAsString("username");
-        }
+    public ResponseEntity<OrderBulkUpdateResponse<OrderVoidResponse>> bulkVoidOrders(@RequestBody @Valid OrderBulkRequest orderRequest, Authentication authentication) {
 
-        OrderDto result = orderService.voidOrder(
-                request,
+        List<OrderBulkResult> results = orderService.voidOrders(
                 orderRequest.getProductId(),
                 orderRequest.getOrgId(),
                 orderRequest.getNamespace(),
-                orderRequest.getOrderId(),
-                username);
-
-        return ResponseEntity.ok(orderMapper.orderDtoToOrderVoidResponse(result));
+                orderRequest.getOrderIds(),
+                getUsername(authentication));
 
+        return ResponseEntity.ok(toBulkUpdateResponse(results, orderMapper::orderDtoToOrderVoidResponse));
     }
 
-    @PostMapping(value = "/return", produces = {MediaType.APPLICATION_JSON_VALUE})
-    @Operation(summary = "歸還訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(value = "/bulk_return", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "批次歸還訂單", security = @SecurityRequirement(name = "bearerAuth"))
     @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
-    public ResponseEntity<OrderReturnResponse> returnOrder(@RequestBody @Valid OrderReturnRequest orderRequest, Authentication authentication, HttpServletRequest request) {
-        String username = null;
+    public ResponseEntity<OrderBulkUpdateResponse<OrderReturnResponse>> bulkReturnOrders(@RequestBody @Valid OrderBulkRequest orderRequest, Authentication authentication) {
 
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-            username = jwt.getClaimAsString("username");
-        }
-
-        OrderDto result = orderService.returnOrder(
-                request,
+        List<OrderBulkResult> results = orderService.returnOrders(
                 orderRequest.getProductId(),
                 orderRequest.getOrgId(),
                 orderRequest.getNamespace(),
-                orderRequest.getOrderId(),
-                username
-        );
+                orderRequest.getOrderIds(),
+                getUsername(authentication));
+
+        return ResponseEntity.ok(toBulkUpdateResponse(results, orderMapper::orderDtoToOrderReturnResponse));
+    }
+
+    private String getUsername(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            return jwt.getClaimAsString("username");
+        }
+        return null;
+    }
 
-        return ResponseEntity.ok(orderMapper.orderDtoToOrderReturnResponse(result));
+    private <T> OrderBulkUpdateResponse<T> toBulkUpdateResponse(List<OrderBulkResult> results, Function<OrderDto, T> mapper) {
+        List<T> successItems = results.stream()
+                .filter(OrderBulkResult::isSuccess)
+                .map(result -> mapper.apply(result.getOrder()))
+                .toList();
+
+        List<OrderBulkFailedResponse> failedItems = results.stream()
+                .filter(result -> !result.isSuccess())
+                .map(result -> OrderBulkFailedResponse.builder()
+                        .orderId(result.getOrderId())
+                        .errorCode(result.getErrorCode() != null ? result.getErrorCode().description() : null)
+                        .reason(result.getReason())
+                        .build())
+                .toList();
+
+        return OrderBulkUpdateResponse.<T>builder()
+                .successItems(successItems)
+                .failedItems(failedItems)
+                .totalCount(results.size())
+                .successCount(successItems.size())
+                .failedCount(failedItems.size())
+                .allSuccess(failedItems.isEmpty())
+                .build();
     }
 }
@@ -0,0 +1,126 @@
+package com.arplanets.corexrapi.livesight.controller;
+
+import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
+import com.arplanets.corexrapi.livesight.model.dto.OrderDto;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderActivateRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderInfoRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderReturnRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderVoidRequest;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderActivateResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderInfoResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderReturnResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderVoidResponse;
+import com.arplanets.corexrapi.livesight.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * (後台) 單筆訂單的查詢與狀態變更；啟用 order.async.enabled 時改由 AsyncMgSingleOrderController 提供。
+ * <p>
+ * 各 endpoint 與原本 MgOrderController 中的相同，只是搬到可依設定停用的 controller，
+ * 非同步版本才能使用相同的路徑；批次、列表與報表仍在 MgOrderController。
+ */
+@RestController
+@RequestMapping("/live-sight/mg/api/order")
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Tag(name="(後台) 訂單 API", description = "(後台) 訂單 API")
+public class MgSingleOrderController {
+
+    private final OrderMapper orderMapper;
+    private final OrderService orderService;
+
+    @PostMapping(value = "/info", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "查詢訂單資訊", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#request.orgId, #authentication, #request.namespace)")
+    public ResponseEntity<OrderInfoResponse> getOrderInfo(@RequestBody @Valid OrderInfoRequest request, Authentication authentication) {
+        OrderDto result = orderService.getOrder(
+                request.getProductId(),
+                request.getOrgId(),
+                request.getNamespace(),
+                request.getOrderId());
+
+        return ResponseEntity.ok(orderMapper.orderDtoToOrderInfoResponse(result));
+    }
+
+    @PostMapping(value = "/activate", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "開通訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
+    public ResponseEntity<OrderActivateResponse> activateOrder(@RequestBody @Valid OrderActivateRequest orderRequest, Authentication authentication, HttpServletRequest request) {
+
+        String username = null;
+
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            username = jwt.getClaimAsString("username");
+        }
+
+        OrderDto result = orderService.activateOrder(
+                request,
+                orderRequest.getProductId(),
+                orderRequest.getOrgId(),
+                orderRequest.getNamespace(),
+                orderRequest.getOrderId(),
+                orderRequest.getTags(),
+                username);
+
+        return ResponseEntity.ok(orderMapper.orderDtoToOrderActivateResponse(result));
+    }
+
+    @PostMapping(value = "/void", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "作廢訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
+    public ResponseEntity<OrderVoidResponse> voidOrder(@RequestBody @Valid OrderVoidRequest orderRequest, Authentication authentication, HttpServletRequest request) {
+        String username = null;
+
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            username = jwt.getClaimAsString("username");
+        }
+
+        OrderDto result = orderService.voidOrder(
+                request,
+                orderRequest.getProductId(),
+                orderRequest.getOrgId(),
+                orderRequest.getNamespace(),
+                orderRequest.getOrderId(),
+                username);
+
+        return ResponseEntity.ok(orderMapper.orderDtoToOrderVoidResponse(result));
+
+    }
+
+    @PostMapping(value = "/return", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "歸還訂單", security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("@permissionChecker.checkOrderPermission(#orderRequest.orgId, #authentication, #orderRequest.namespace)")
+    public ResponseEntity<OrderReturnResponse> returnOrder(@RequestBody @Valid OrderReturnRequest orderRequest, Authentication authentication, HttpServletRequest request) {
+        String username = null;
+
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            username = jwt.getClaimAsString("username");
+        }
+
+        OrderDto result = orderService.returnOrder(
+                request,
+                orderRequest.getProductId(),
+                orderRequest.getOrgId(),
+                orderRequest.getNamespace(),
+                orderRequest.getOrderId(),
+                username
+        );
+
+        return ResponseEntity.ok(orderMapper.orderDtoToOrderReturnResponse(result));
+    }
+}
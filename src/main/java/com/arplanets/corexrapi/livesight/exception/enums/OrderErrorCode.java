@@ -13,7 +13,12 @@ public enum OrderErrorCode implements BusinessExceptionDisplay {
     _018("1.訂單不存在 或 2.Product ID 無權操作此訂單 或 3.已過期 或 4.訂單狀態不為 ACTIVATED 或 5.redeem_code 驗證失敗"),
     _019("1.訂單不存在 或 2.Product ID 無權操作此訂單 符 3.或訂單狀態不為 REDEEMED 或 4.namespace 無權操作此訂單"),
     _020("訂單驗證失敗"),
-    _021("namespace 無權操作此訂單");
+    _021("namespace 無權操作此訂單"),
+    _022("訂單狀態不為 PENDING"),
+    _023("訂單狀態不為 ACTIVATED"),
+    _024("訂單狀態不為 REDEEMED"),
+    _025("訂單已作廢"),
+    _026("redeem_code 驗證失敗");
 
     private final String message;
 
@@ -20,6 +20,8 @@ public class LoggingFilter extends OncePerRequestFilter {
 
     private final AuditLogProducer auditLogProducer;
     private final LogContext logContext;
+    // order.async.enabled：只有非阻塞的 controller 需要在 async dispatch 記錄
+    private final boolean asyncDispatchEnabled;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -27,10 +29,22 @@ public class LoggingFilter extends OncePerRequestFilter {
         try {
             filterChain.doFilter(request, response);
         } finally {
-            LogMessage logMessage = logContext.buildAuditMessage();
+            // 非同步處理尚未完成時回應還沒產生，等 async dispatch 再記錄
+            if (!asyncDispatchEnabled || !isAsyncStarted(request)) {
+                LogMessage logMessage = logContext.buildAuditMessage();
 
-            // 發送日誌到 AuditLogProducer，由它負責批次處理和發送到 SQS
-            auditLogProducer.queueLog(logMessage);
+                // 發送日誌到 AuditLogProducer，由它負責批次處理和發送到 SQS
+                auditLogProducer.queueLog(logMessage);
+            }
         }
     }
+
+    /**
+     * 非同步的 controller 在 async dispatch 時才有最終的狀態與回應內容，因此啟用時該次 dispatch 也要經過此 filter；
+     * 未啟用時與原本相同，只在第一次 dispatch 記錄。
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return !asyncDispatchEnabled;
+    }
 }
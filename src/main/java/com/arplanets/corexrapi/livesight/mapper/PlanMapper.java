@@ -6,10 +6,33 @@ import com.arplanets.corexrapi.livesight.model.dto.res.PlanUpdateResponse;
 import com.arplanets.corexrapi.livesight.model.po.PlanPo;
 import org.mapstruct.Mapper;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Mapper(componentModel = "spring")
 public interface PlanMapper {
 
     PlanDto planePoToPlaneDto(PlanPo plane);
     PlanCreateResponse planPoToPlanCreateResponse(PlanPo plane);
     PlanUpdateResponse planPoToPlanUpdateResponse(PlanPo plane);
+
+    /**
+     * 以 plan_id 為 key 的方案表，Standard 方案另以 "standard" 為 key 存放。
+     */
+    default Map<String, PlanDto> planPosToPlanMap(List<PlanPo> plans) {
+        Map<String, PlanDto> planMap = new HashMap<>(plans.size() + 1);
+
+        for (PlanPo plan : plans) {
+            PlanDto dto = planePoToPlaneDto(plan);
+
+            planMap.put(dto.getPlanId(), dto);
+
+            if (Boolean.TRUE.equals(dto.getStandard())) {
+                planMap.put("standard", dto);
+            }
+        }
+
+        return planMap;
+    }
 }
@@ -0,0 +1,24 @@
+package com.arplanets.corexrapi.livesight.model.bo;
+
+import com.arplanets.corexrapi.livesight.exception.enums.BusinessExceptionDisplay;
+import com.arplanets.corexrapi.livesight.model.dto.OrderDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OrderBulkResult {
+
+    private String orderId;
+    private OrderDto order;
+    private BusinessExceptionDisplay errorCode;
+    private String reason;
+
+    public boolean isSuccess() {
+        return order != null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.arplanets.corexrapi.livesight.model.bo;
+
+import com.arplanets.corexrapi.livesight.log.LogMessage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.core.SdkBytes;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OrderIotMessage {
+
+    private String topicPath;
+    private SdkBytes payload;
+    private LogMessage logMessage;
+}
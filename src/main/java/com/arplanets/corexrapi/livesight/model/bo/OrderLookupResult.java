@@ -0,0 +1,23 @@
+package com.arplanets.corexrapi.livesight.model.bo;
+
+import com.arplanets.corexrapi.livesight.exception.enums.OrderErrorCode;
+import com.arplanets.corexrapi.livesight.model.dto.OrderDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OrderLookupResult {
+
+    private String orderId;
+    private OrderDto order;
+    private OrderErrorCode errorCode;
+
+    public boolean isFound() {
+        return order != null;
+    }
+}
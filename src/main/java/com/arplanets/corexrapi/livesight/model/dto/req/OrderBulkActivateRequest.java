@@ -0,0 +1,17 @@
+package com.arplanets.corexrapi.livesight.model.dto.req;
+
+import com.arplanets.corexrapi.livesight.model.validation.AllowedTags;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class OrderBulkActivateRequest extends OrderBulkRequest {
+
+    @Schema(description = "標籤，套用至所有訂單", example = "[\"pr\"]")
+    @AllowedTags
+    private List<String> tags;
+}
@@ -0,0 +1,27 @@
+package com.arplanets.corexrapi.livesight.model.dto.req;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class OrderBulkRequest extends OrderRequestBase {
+
+    @Schema(description = "組織 ID", example = "arplanet")
+    @NotBlank(message = "org_id 不可為空")
+    @JsonProperty("org_id")
+    private String orgId;
+
+    @Schema(description = "訂單 ID 列表", example = "[\"order_0052cc4a-8cdf-4d5c-9aeb-b155bdb10369\"]")
+    @NotEmpty(message = "order_ids 不可為空")
+    @Size(max = 100, message = "order_ids 最多 100 筆")
+    @JsonProperty("order_ids")
+    private List<@NotBlank(message = "order_id 不可為空") String> orderIds;
+}
@@ -0,0 +1,18 @@
+package com.arplanets.corexrapi.livesight.model.dto.req;
+
+import com.arplanets.corexrapi.livesight.model.eunms.ReportFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class OrderReportExportRequest extends OrderReportRequest {
+
+    @Schema(description = "匯出格式: NDJSON, CSV (預設 NDJSON)", example = "NDJSON")
+    private ReportFormat format;
+
+    @Schema(description = "是否以 gzip 壓縮輸出", example = "false")
+    private Boolean gzip;
+}
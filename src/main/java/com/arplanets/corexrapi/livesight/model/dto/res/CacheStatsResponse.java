@@ -0,0 +1,51 @@
+package com.arplanets.corexrapi.livesight.model.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsResponse {
+
+    @Schema(description = "快取名稱", example = "orgMemberDetails")
+    @JsonProperty("cache_name")
+    private String cacheName;
+
+    @Schema(description = "目前的項目數 (估計值)")
+    @JsonProperty("estimated_size")
+    private Long estimatedSize;
+
+    @Schema(description = "命中次數")
+    @JsonProperty("hit_count")
+    private Long hitCount;
+
+    @Schema(description = "未命中次數")
+    @JsonProperty("miss_count")
+    private Long missCount;
+
+    @Schema(description = "命中率 (0 ~ 1)")
+    @JsonProperty("hit_rate")
+    private Double hitRate;
+
+    @Schema(description = "載入成功次數")
+    @JsonProperty("load_success_count")
+    private Long loadSuccessCount;
+
+    @Schema(description = "載入失敗次數")
+    @JsonProperty("load_failure_count")
+    private Long loadFailureCount;
+
+    @Schema(description = "平均載入時間 (毫秒)")
+    @JsonProperty("average_load_millis")
+    private Double averageLoadMillis;
+
+    @Schema(description = "被容量或過期淘汰的次數")
+    @JsonProperty("eviction_count")
+    private Long evictionCount;
+}
@@ -0,0 +1,33 @@
+package com.arplanets.corexrapi.livesight.model.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBatchInfoResponse {
+
+    @JsonProperty("items")
+    @Schema(description = "訂單列表，順序與查詢的 order_ids 相同")
+    private List<OrderBatchInfoItemResponse> items;
+
+    @JsonProperty("total_count")
+    @Schema(description = "總筆數")
+    private int totalCount;
+
+    @JsonProperty("found_count")
+    @Schema(description = "查得筆數")
+    private int foundCount;
+
+    @JsonProperty("not_found_count")
+    @Schema(description = "查無筆數")
+    private int notFoundCount;
+}
@@ -0,0 +1,26 @@
+package com.arplanets.corexrapi.livesight.model.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBulkFailedResponse {
+
+    @Schema(description = "訂單 ID", example = "order_0052cc4a-8cdf-4d5c-9aeb-b155bdb10369")
+    @JsonProperty("order_id")
+    private String orderId;
+
+    @Schema(description = "錯誤代碼", example = "OrderErrorCode_017")
+    @JsonProperty("error_code")
+    private String errorCode;
+
+    @Schema(description = "失敗原因")
+    private String reason;
+}
@@ -0,0 +1,41 @@
+package com.arplanets.corexrapi.livesight.model.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBulkUpdateResponse<T> {
+
+    @JsonProperty("success_items")
+    @Schema(description = "修改成功訂單列表")
+    private List<T> successItems;
+
+    @JsonProperty("failed_items")
+    @Schema(description = "修改失敗訂單列表")
+    private List<OrderBulkFailedResponse> failedItems;
+
+    @JsonProperty("total_count")
+    @Schema(description = "總筆數")
+    private int totalCount;
+
+    @JsonProperty("success_count")
+    @Schema(description = "成功筆數")
+    private int successCount;
+
+    @JsonProperty("failed_count")
+    @Schema(description = "失敗筆數")
+    private int failedCount;
+
+    @JsonProperty("all_success")
+    @Schema(description = "全部成功")
+    private boolean allSuccess;
+}
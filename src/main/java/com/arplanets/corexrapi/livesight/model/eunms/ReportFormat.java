@@ -0,0 +1,18 @@
+package com.arplanets.corexrapi.livesight.model.eunms;
+
+import lombok.Getter;
+
+@Getter
+public enum ReportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),  // 每行一筆 JSON
+    CSV("text/csv", "csv");                     // 逗號分隔
+
+    private final String mediaType;
+    private final String extension;
+
+    ReportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+}
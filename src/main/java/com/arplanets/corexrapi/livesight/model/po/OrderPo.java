@@ -1,5 +1,6 @@
 package com.arplanets.corexrapi.livesight.model.po;
 
+import com.arplanets.corexrapi.livesight.model.dto.Expiry;
 import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,6 +39,8 @@ public class OrderPo {
     private String activatedBy;
     private String redeemCode;
     private List<String> tags;
+    // 建立時的方案效期設定快照，expireMode 為 null 表示使用系統 Default 過期時間
+    private Expiry expiryPolicy;
 
     private ZonedDateTime redeemedAt;
     private String accessToken;
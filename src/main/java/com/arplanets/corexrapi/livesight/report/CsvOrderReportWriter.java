@@ -0,0 +1,82 @@
+package com.arplanets.corexrapi.livesight.report;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderListResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class CsvOrderReportWriter implements OrderReportWriter {
+
+    private static final String HEADER = "order_id,order_status,auth_type_id,created_at,activated_by,expired_at,tags";
+    private static final String TAG_SEPARATOR = "|";
+
+    private final Writer writer;
+
+    public CsvOrderReportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeHeader() {
+        try {
+            writer.write(HEADER);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("寫入 CSV 報表失敗", e);
+        }
+    }
+
+    @Override
+    public void writePage(List<OrderListResponse> page) {
+        try {
+            for (OrderListResponse order : page) {
+                writeCell(order.getOrderId(), false);
+                writeCell(order.getOrderStatus() != null ? order.getOrderStatus().name() : null, true);
+                writeCell(order.getAuthTypeId(), true);
+                writeCell(DateTimeConverter.toFormattedString(order.getCreatedAt()), true);
+                writeCell(order.getActivatedBy(), true);
+                writeCell(DateTimeConverter.toFormattedString(order.getExpiredAt()), true);
+                writeCell(order.getTags() != null ? String.join(TAG_SEPARATOR, order.getTags()) : null, true);
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("寫入 CSV 報表失敗", e);
+        }
+    }
+
+    @Override
+    public void finish() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("寫入 CSV 報表失敗", e);
+        }
+    }
+
+    private void writeCell(String value, boolean withSeparator) throws IOException {
+        if (withSeparator) {
+            writer.write(',');
+        }
+
+        if (value == null) {
+            return;
+        }
+
+        // 含有逗號、引號或換行時需以雙引號包住，並將引號重複一次
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+    }
+}
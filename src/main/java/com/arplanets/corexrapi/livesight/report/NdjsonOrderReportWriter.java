@@ -0,0 +1,51 @@
+package com.arplanets.corexrapi.livesight.report;
+
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderListResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+public class NdjsonOrderReportWriter implements OrderReportWriter {
+
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final OutputStream outputStream;
+    private final ObjectWriter objectWriter;
+
+    public NdjsonOrderReportWriter(OutputStream outputStream, ObjectMapper objectMapper) {
+        this.outputStream = new BufferedOutputStream(outputStream);
+        this.objectWriter = objectMapper.writerFor(OrderListResponse.class);
+    }
+
+    @Override
+    public void writeHeader() {
+        // NDJSON 沒有標頭
+    }
+
+    @Override
+    public void writePage(List<OrderListResponse> page) {
+        try {
+            for (OrderListResponse order : page) {
+                outputStream.write(objectWriter.writeValueAsBytes(order));
+                outputStream.write(LINE_SEPARATOR);
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("寫入 NDJSON 報表失敗", e);
+        }
+    }
+
+    @Override
+    public void finish() {
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("寫入 NDJSON 報表失敗", e);
+        }
+    }
+}
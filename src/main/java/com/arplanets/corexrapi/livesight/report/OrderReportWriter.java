@@ -0,0 +1,27 @@
+package com.arplanets.corexrapi.livesight.report;
+
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderListResponse;
+import com.arplanets.corexrapi.livesight.model.eunms.ReportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 將訂單報表逐頁寫入輸出串流，每一頁寫完即 flush，不保留已輸出的資料。
+ */
+public interface OrderReportWriter {
+
+    void writeHeader();
+
+    void writePage(List<OrderListResponse> page);
+
+    void finish();
+
+    static OrderReportWriter of(ReportFormat format, OutputStream outputStream, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> new NdjsonOrderReportWriter(outputStream, objectMapper);
+            case CSV -> new CsvOrderReportWriter(outputStream);
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.arplanets.corexrapi.livesight.repository;
+
+import com.arplanets.corexrapi.livesight.model.po.LiveSightPo;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface LiveSightAsyncRepository {
+
+    CompletableFuture<Optional<LiveSightPo>> findById(String liveSightId);
+}
@@ -2,6 +2,7 @@ package com.arplanets.corexrapi.livesight.repository;
 
 import com.arplanets.corexrapi.livesight.model.po.LiveSightPo;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface LiveSightRepository {
@@ -11,4 +12,9 @@ public interface LiveSightRepository {
     LiveSightPo update(LiveSightPo liveSightPo);
 
     Optional<LiveSightPo> findById(String liveSightId);
+
+    /**
+     * 最近更新的 Live Sight，依 updated_at 由新到舊，最多 limit 筆。需要掃描整張表，只用於啟動時預載快取。
+     */
+    List<LiveSightPo> findRecentlyUpdated(int limit);
 }
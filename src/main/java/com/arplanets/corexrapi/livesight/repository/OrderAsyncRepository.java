@@ -0,0 +1,20 @@
+package com.arplanets.corexrapi.livesight.repository;
+
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 以 DynamoDbAsyncClient 實作的訂單存取，不佔用呼叫端執行緒等待回應。
+ * <p>
+ * 例外與同步版本相同 (OrderApiException、DataAccessException)，由 future 以例外完成。
+ */
+public interface OrderAsyncRepository {
+
+    CompletableFuture<OrderPo> create(OrderPo order);
+
+    CompletableFuture<Optional<OrderPo>> findById(String orderId, OrderProjection projection);
+
+    CompletableFuture<OrderPo> update(OrderPo order);
+}
@@ -0,0 +1,47 @@
+package com.arplanets.corexrapi.livesight.repository;
+
+import java.util.List;
+
+/**
+ * 訂單讀取時需要的欄位組合，對應各 API 實際使用到的欄位。
+ * 除了 FULL 以外都不會讀取 access_token 等大型欄位。
+ */
+public enum OrderProjection {
+
+    // 後台訂單列表、報表 (service_type_id、created_at 用於產生分頁 key)
+    LIST(List.of("order_id", "order_status", "auth_type_id", "created_at", "activated_by", "expired_at", "tags",
+            "service_type_id")),
+
+    // 後台訂單資訊
+    INFO(List.of("order_id", "namespace", "product_id", "service_type", "service_type_id", "auth_type", "auth_type_id",
+            "user_browser", "user_OS", "user_device_type", "order_status", "created_at", "activated_at", "activated_by",
+            "tags", "redeemed_at", "voided_at", "voided_by", "returned_at", "returned_by", "expired_at", "updated_at")),
+
+    // 前台查詢訂單狀態
+    STATUS(List.of("order_id", "plan_id", "order_status", "auth_type_id", "created_at", "expired_at", "redeem_code",
+            "tags", "product_id", "verification_code")),
+
+    // 兌換訂單 (產生 Access Token 所需欄位與建立時的效期設定快照)
+    REDEEM(List.of("order_id", "product_id", "service_type", "service_type_id", "plan_id", "auth_type", "auth_type_id",
+            "tags", "expiry_policy")),
+
+    // 驗證 Access Token
+    TOKEN_VERIFY(List.of("order_id", "order_status")),
+
+    // 完整資料
+    FULL(List.of());
+
+    private final List<String> attributeNames;
+
+    OrderProjection(List<String> attributeNames) {
+        this.attributeNames = attributeNames;
+    }
+
+    public List<String> getAttributeNames() {
+        return attributeNames;
+    }
+
+    public boolean isFull() {
+        return attributeNames.isEmpty();
+    }
+}
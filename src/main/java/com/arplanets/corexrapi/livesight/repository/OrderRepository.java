@@ -5,19 +5,48 @@ import com.arplanets.corexrapi.livesight.model.dto.res.PageResult;
 import com.arplanets.corexrapi.livesight.model.po.OrderPo;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface OrderRepository {
 
     OrderPo create(OrderPo order);
 
-    Optional<OrderPo> findById(String orderId);
+    default Optional<OrderPo> findById(String orderId) {
+        return findById(orderId, OrderProjection.FULL);
+    }
+
+    Optional<OrderPo> findById(String orderId, OrderProjection projection);
+
+    default List<Optional<OrderPo>> findAllById(Collection<String> orderIds) {
+        return findAllById(orderIds, OrderProjection.FULL);
+    }
+
+    /**
+     * 批次查詢訂單，回傳順序與輸入相同；查無資料的訂單以 Optional.empty() 表示。
+     */
+    List<Optional<OrderPo>> findAllById(Collection<String> orderIds, OrderProjection projection);
 
     OrderPo update(OrderPo order);
 
-    PageResult<OrderPo> pageByServiceTypeId(String serviceTypeId, ZonedDateTime startDate, ZonedDateTime endDate, Integer pageSize, String lastEvaluatedKey);
+    default PageResult<OrderPo> pageByServiceTypeId(String serviceTypeId, ZonedDateTime startDate, ZonedDateTime endDate, Integer pageSize, String lastEvaluatedKey) {
+        return pageByServiceTypeId(serviceTypeId, startDate, endDate, pageSize, lastEvaluatedKey, OrderProjection.FULL);
+    }
+
+    PageResult<OrderPo> pageByServiceTypeId(String serviceTypeId, ZonedDateTime startDate, ZonedDateTime endDate, Integer pageSize, String lastEvaluatedKey, OrderProjection projection);
+
+    default List<OrderPo> listByServiceTypeId(String serviceTypeId, OrderFilterRequest filters) {
+        return listByServiceTypeId(serviceTypeId, filters, OrderProjection.FULL);
+    }
+
+    List<OrderPo> listByServiceTypeId(String serviceTypeId, OrderFilterRequest filters, OrderProjection projection);
+
+    default void streamByServiceTypeId(String serviceTypeId, OrderFilterRequest filters, Consumer<List<OrderPo>> pageConsumer) {
+        streamByServiceTypeId(serviceTypeId, filters, OrderProjection.FULL, pageConsumer);
+    }
 
-    List<OrderPo> listByServiceTypeId(String serviceTypeId, OrderFilterRequest filters);
+    void streamByServiceTypeId(String serviceTypeId, OrderFilterRequest filters, OrderProjection projection, Consumer<List<OrderPo>> pageConsumer);
 
 }
@@ -0,0 +1,14 @@
+package com.arplanets.corexrapi.livesight.repository;
+
+import com.arplanets.corexrapi.livesight.model.po.PlanPo;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface PlanAsyncRepository {
+
+    CompletableFuture<List<PlanPo>> listByLiveSightId(String liveSightId);
+    CompletableFuture<Optional<PlanPo>> findById(String planId);
+    CompletableFuture<Optional<PlanPo>> findStandardByLiveSightId(String liveSightId);
+}
@@ -8,9 +8,10 @@ import java.util.Optional;
 public interface PlanRepository {
 
     PlanPo create(PlanPo plan);
-    List<PlanPo> createWithTransaction(List<PlanPo> plans);
+    List<PlanWriteFailure> createWithTransaction(List<PlanPo> plans);
     PlanPo update(PlanPo plan);
-    List<PlanPo> updateWithTransaction(List<PlanPo> plans);
+    List<PlanWriteFailure> updateWithTransaction(List<PlanPo> plans);
     List<PlanPo> listByLiveSightId(String liveSightId);
-    Optional<PlanPo> findById(String planeId);
+    Optional<PlanPo> findById(String planId);
+    Optional<PlanPo> findStandardByLiveSightId(String liveSightId);
 }
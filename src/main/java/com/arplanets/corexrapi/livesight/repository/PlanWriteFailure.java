@@ -0,0 +1,22 @@
+package com.arplanets.corexrapi.livesight.repository;
+
+import com.arplanets.corexrapi.livesight.model.po.PlanPo;
+
+/**
+ * 批次交易寫入中未寫入的方案。
+ *
+ * @param plan    未寫入的方案
+ * @param code    DynamoDB CancellationReason 的 code，例如 ConditionalCheckFailed、TransactionConflict；交易以外的錯誤為 null
+ * @param message 錯誤訊息
+ */
+public record PlanWriteFailure(PlanPo plan, String code, String message) {
+
+    public static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+
+    /**
+     * 條件檢查失敗為確定的結果 (建立時已存在、更新時不存在)，重試也不會成功。
+     */
+    public boolean isConditionalCheckFailed() {
+        return CONDITIONAL_CHECK_FAILED.equals(code);
+    }
+}
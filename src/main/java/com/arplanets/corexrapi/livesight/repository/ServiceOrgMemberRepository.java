@@ -1,11 +1,16 @@
 package com.arplanets.corexrapi.livesight.repository;
 
 import com.arplanets.corexrapi.livesight.model.po.ServiceOrgMember;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ServiceOrgMemberRepository extends JpaRepository<ServiceOrgMember, Long> {
 
     Optional<ServiceOrgMember> findByOrgIdAndUuidAndActiveTrueAndDeletedAtIsNull(String orgId, String uuid);
+
+    List<ServiceOrgMember> findByOrgIdInAndActiveTrueAndDeletedAtIsNull(Collection<String> orgIds, Pageable pageable);
 }
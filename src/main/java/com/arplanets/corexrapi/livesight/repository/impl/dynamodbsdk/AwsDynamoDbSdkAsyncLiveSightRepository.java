@@ -0,0 +1,61 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.corexrapi.livesight.model.po.LiveSightPo;
+import com.arplanets.corexrapi.livesight.repository.LiveSightAsyncRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Repository
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AwsDynamoDbSdkAsyncLiveSightRepository implements LiveSightAsyncRepository {
+
+    @Value("${aws.live.sight.table.name}")
+    private String tableName;
+
+    private static final String PK_ATTRIBUTE_NAME = "pk";
+    private static final String SK_ATTRIBUTE_NAME = "sk";
+    private static final String SK_VALUE = "info";
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    @Override
+    public CompletableFuture<Optional<LiveSightPo>> findById(String liveSightId) {
+        GetItemRequest getItemRequest = GetItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(PK_ATTRIBUTE_NAME, AttributeValue.builder().s(liveSightId).build(),
+                        SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build()))
+                .build();
+
+        return dynamoDbAsyncClient.getItem(getItemRequest)
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        throw new DataAccessResourceFailureException("Error fetching item from DynamoDB", cause);
+                    }
+
+                    if (!response.hasItem()) {
+                        return Optional.empty();
+                    }
+
+                    Map<String, AttributeValue> item = response.item();
+                    return Optional.of(LiveSightPo.builder()
+                            .liveSightId(item.get("live_sight_id") != null ? item.get("live_sight_id").s() : null)
+                            .orgId(item.get("org_id") != null ? item.get("org_id").s() : null)
+                            .build());
+                });
+    }
+}
@@ -0,0 +1,123 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.corexrapi.livesight.exception.OrderApiException;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderAsyncRepository;
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 訂單的非同步存取，item 編碼與狀態轉換與同步版本共用 OrderItemCodec、OrderTransition。
+ * <p>
+ * 回應由 SDK 的 async response 執行緒完成，後續的 thenApply 等階段也在該執行緒執行，
+ * 因此不可在回呼中使用 request scope 的 Logger。
+ */
+@Repository
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AwsDynamoDbSdkAsyncOrderRepositoryImpl implements OrderAsyncRepository {
+
+    @Value("${aws.live.sight.authorization.table.name}")
+    private String tableName;
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    @Override
+    public CompletableFuture<OrderPo> create(OrderPo order) {
+
+        // 依欄位對照表產生 item
+        PutItemRequest putItemRequest = PutItemRequest.builder()
+                .tableName(tableName)
+                .item(OrderItemCodec.encode(order))
+                .build();
+
+        return dynamoDbAsyncClient.putItem(putItemRequest)
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw translate(error, "Failed to added item to DynamoDB");
+                    }
+                    return order;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<OrderPo>> findById(String orderId, OrderProjection projection) {
+
+        GetItemRequest.Builder requestBuilder = GetItemRequest.builder()
+                .tableName(tableName)
+                .key(OrderItemCodec.key(orderId));
+
+        // 只讀取需要的欄位
+        OrderItemCodec.Projection itemProjection = OrderItemCodec.projection(projection);
+        if (itemProjection != null) {
+            requestBuilder.projectionExpression(itemProjection.expression())
+                    .expressionAttributeNames(itemProjection.names());
+        }
+
+        return dynamoDbAsyncClient.getItem(requestBuilder.build())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw translate(error, "Error fetching item from DynamoDB");
+                    }
+                    return response.hasItem()
+                            ? Optional.of(OrderItemCodec.decode(response.item(), projection))
+                            : Optional.empty();
+                });
+    }
+
+    @Override
+    public CompletableFuture<OrderPo> update(OrderPo order) {
+        // 檢查 order 物件本身是否為 null
+        if (order == null || order.getOrderId() == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Order and OrderId must not be null."));
+        }
+
+        // 依目標狀態取得狀態轉換
+        OrderTransition transition = OrderTransition.of(order.getOrderStatus());
+        if (transition == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unsupported order status transition: " + order.getOrderStatus()));
+        }
+
+        return dynamoDbAsyncClient.updateItem(transition.toRequest(tableName, order))
+                .handle((response, error) -> {
+                    if (error == null) {
+                        // ALL_NEW 回傳更新後的完整訂單
+                        return transition.toResult(order, response.attributes());
+                    }
+
+                    // 條件檢查失敗時依 ALL_OLD 的舊資料判斷原因
+                    if (unwrap(error) instanceof ConditionalCheckFailedException e) {
+                        throw new OrderApiException(transition.diagnose(order, e));
+                    }
+                    throw translate(error, "Error updating item in DynamoDB");
+                });
+    }
+
+    private RuntimeException translate(Throwable error, String message) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof DynamoDbException || cause instanceof SdkClientException) {
+            return new DataAccessResourceFailureException(message, cause);
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new CompletionException(cause);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
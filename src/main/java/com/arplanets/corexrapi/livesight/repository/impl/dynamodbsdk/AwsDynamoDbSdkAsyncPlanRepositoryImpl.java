@@ -0,0 +1,130 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.corexrapi.livesight.model.po.PlanPo;
+import com.arplanets.corexrapi.livesight.repository.PlanAsyncRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Repository
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AwsDynamoDbSdkAsyncPlanRepositoryImpl implements PlanAsyncRepository {
+
+    @Value("${aws.plan.table.name}")
+    private String tableName;
+
+    @Value("${aws.plan.live-sight-index.enabled:true}")
+    private boolean liveSightIndexEnabled;
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    /**
+     * 以 live_sight_id GSI 查詢，逐頁串接直到沒有下一頁；關閉 aws.plan.live-sight-index.enabled 時改用 scan。
+     */
+    @Override
+    public CompletableFuture<List<PlanPo>> listByLiveSightId(String liveSightId) {
+        return nextPage(liveSightId, null, new ArrayList<>());
+    }
+
+    /**
+     * 以主鍵讀取啟用中的方案，已停用或刪除的方案視為不存在。
+     */
+    @Override
+    public CompletableFuture<Optional<PlanPo>> findById(String planId) {
+        return dynamoDbAsyncClient.getItem(PlanItemCodec.getByIdRequest(tableName, planId))
+                .exceptionally(error -> {
+                    throw new DataAccessResourceFailureException("Error getting plan from DynamoDB", unwrap(error));
+                })
+                .thenApply(response -> response.hasItem() && PlanItemCodec.isActive(response.item())
+                        ? Optional.of(PlanItemCodec.decode(response.item()))
+                        : Optional.empty());
+    }
+
+    /**
+     * Live Sight 的一般方案，逐頁讀到第一筆符合的方案為止。
+     */
+    @Override
+    public CompletableFuture<Optional<PlanPo>> findStandardByLiveSightId(String liveSightId) {
+        return nextStandardPage(liveSightId, null);
+    }
+
+    private CompletableFuture<Optional<PlanPo>> nextStandardPage(String liveSightId, Map<String, AttributeValue> exclusiveStartKey) {
+        CompletableFuture<Page> page = liveSightIndexEnabled
+                ? queryPage(PlanItemCodec.standardByLiveSightIdQuery(tableName, liveSightId), exclusiveStartKey)
+                : scanPage(PlanItemCodec.standardByLiveSightIdScan(tableName, liveSightId), exclusiveStartKey);
+
+        return page
+                .exceptionally(error -> {
+                    throw new DataAccessResourceFailureException("Error reading plans from DynamoDB", unwrap(error));
+                })
+                .thenCompose(response -> {
+                    if (!response.items().isEmpty()) {
+                        return CompletableFuture.completedFuture(Optional.of(PlanItemCodec.decode(response.items().get(0))));
+                    }
+
+                    if (response.lastEvaluatedKey() != null && !response.lastEvaluatedKey().isEmpty()) {
+                        return nextStandardPage(liveSightId, response.lastEvaluatedKey());
+                    }
+                    return CompletableFuture.completedFuture(Optional.<PlanPo>empty());
+                });
+    }
+
+    private CompletableFuture<List<PlanPo>> nextPage(String liveSightId, Map<String, AttributeValue> exclusiveStartKey, List<PlanPo> plans) {
+        CompletableFuture<Page> page = liveSightIndexEnabled
+                ? queryPage(PlanItemCodec.activeByLiveSightIdQuery(tableName, liveSightId), exclusiveStartKey)
+                : scanPage(PlanItemCodec.activeByLiveSightIdScan(tableName, liveSightId), exclusiveStartKey);
+
+        return page
+                .exceptionally(error -> {
+                    throw new DataAccessResourceFailureException("Error reading plans from DynamoDB", unwrap(error));
+                })
+                .thenCompose(response -> {
+                    response.items().forEach(item -> plans.add(PlanItemCodec.decode(item)));
+
+                    if (response.lastEvaluatedKey() != null && !response.lastEvaluatedKey().isEmpty()) {
+                        return nextPage(liveSightId, response.lastEvaluatedKey(), plans);
+                    }
+                    return CompletableFuture.completedFuture(plans);
+                });
+    }
+
+    private CompletableFuture<Page> queryPage(QueryRequest.Builder requestBuilder, Map<String, AttributeValue> exclusiveStartKey) {
+        if (exclusiveStartKey != null) {
+            requestBuilder.exclusiveStartKey(exclusiveStartKey);
+        }
+
+        return dynamoDbAsyncClient.query(requestBuilder.build())
+                .thenApply(response -> new Page(response.items(), response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null));
+    }
+
+    private CompletableFuture<Page> scanPage(ScanRequest.Builder requestBuilder, Map<String, AttributeValue> exclusiveStartKey) {
+        if (exclusiveStartKey != null) {
+            requestBuilder.exclusiveStartKey(exclusiveStartKey);
+        }
+
+        return dynamoDbAsyncClient.scan(requestBuilder.build())
+                .thenApply(response -> new Page(response.items(), response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private record Page(List<Map<String, AttributeValue>> items, Map<String, AttributeValue> lastEvaluatedKey) {}
+}
@@ -14,10 +14,13 @@ import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.stream.Collectors;
 
 
@@ -190,6 +193,63 @@ public class AwsDynamoDbSdkLiveSightRepository implements LiveSightRepository {
         return Optional.empty();
     }
 
+    @Override
+    public List<LiveSightPo> findRecentlyUpdated(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        // 只保留最新的 limit 筆，堆頂為其中最舊的一筆
+        Comparator<LiveSightPo> byUpdatedAt = Comparator.comparing(LiveSightPo::getUpdatedAt,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        PriorityQueue<LiveSightPo> recent = new PriorityQueue<>(byUpdatedAt);
+        Map<String, AttributeValue> exclusiveStartKey = null;
+
+        do {
+            ScanRequest.Builder requestBuilder = ScanRequest.builder()
+                    .tableName(tableName)
+                    .filterExpression("#sk = :sk")
+                    .projectionExpression("#live_sight_id, #org_id, #updated_at")
+                    .expressionAttributeNames(Map.of(
+                            "#sk", SK_ATTRIBUTE_NAME,
+                            "#live_sight_id", "live_sight_id",
+                            "#org_id", "org_id",
+                            "#updated_at", "updated_at"))
+                    .expressionAttributeValues(Map.of(":sk", AttributeValue.builder().s(SK_VALUE).build()));
+            if (exclusiveStartKey != null) {
+                requestBuilder.exclusiveStartKey(exclusiveStartKey);
+            }
+
+            ScanResponse response;
+            try {
+                response = dynamoDbClient.scan(requestBuilder.build());
+            } catch (DynamoDbException e) {
+                throw new DataAccessResourceFailureException("Error scanning items from DynamoDB", e);
+            }
+
+            for (Map<String, AttributeValue> item : response.items()) {
+                if (!item.containsKey("live_sight_id")) {
+                    continue;
+                }
+
+                recent.add(LiveSightPo.builder()
+                        .liveSightId(item.get("live_sight_id").s())
+                        .orgId(item.get("org_id") != null ? item.get("org_id").s() : null)
+                        .updatedAt(item.get("updated_at") != null ? DateTimeConverter.fromFormattedString(item.get("updated_at").s()) : null)
+                        .build());
+                if (recent.size() > limit) {
+                    recent.poll();
+                }
+            }
+
+            exclusiveStartKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+        } while (exclusiveStartKey != null && !exclusiveStartKey.isEmpty());
+
+        List<LiveSightPo> result = new ArrayList<>(recent);
+        result.sort(byUpdatedAt.reversed());
+        return result;
+    }
+
     private AttributeValue toAttributeValue(Expiry expiry) {
         if (expiry == null) {
             throw new IllegalArgumentException("Expiry configuration cannot be null");
@@ -1,15 +1,13 @@
 package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
 
+import com.arplanets.corexrapi.livesight.concurrent.BoundedParallelExecutor;
 import com.arplanets.corexrapi.livesight.exception.OrderApiException;
-import com.arplanets.corexrapi.livesight.exception.enums.OrderErrorCode;
-import com.arplanets.corexrapi.livesight.model.dto.req.DateRangeRequest;
 import com.arplanets.corexrapi.livesight.model.dto.req.OrderFilterRequest;
 import com.arplanets.corexrapi.livesight.model.dto.res.PageResult;
-import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
 import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
 import com.arplanets.corexrapi.livesight.repository.OrderRepository;
 import com.arplanets.commons.utils.DateTimeConverter;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,10 +21,11 @@ import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
-import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Repository
@@ -39,46 +38,33 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
 
     private final DynamoDbClient dynamoDbClient;
     private final ObjectMapper objectMapper;
+    private final TimeSlicedQueryExecutor timeSlicedQueryExecutor;
+    private final BoundedParallelExecutor boundedParallelExecutor;
 
-    private static final String PK_ATTRIBUTE_NAME = "pk";
-    private static final String SK_ATTRIBUTE_NAME = "sk";
-    private static final String SK_VALUE = "info";
+    @Value("${order.batch-get.parallelism:4}")
+    private int batchGetParallelism;
+
+    @Value("${order.batch-get.max-retries:5}")
+    private int batchGetMaxRetries;
+
+    @Value("${order.batch-get.base-backoff-ms:50}")
+    private long batchGetBaseBackoffMs;
+
+    @Value("${order.batch-get.max-backoff-ms:1000}")
+    private long batchGetMaxBackoffMs;
+
+    // BatchGetItem 單次最多 100 個 key
+    private static final int BATCH_GET_MAX_KEYS = 100;
+
+    private static final String PK_ATTRIBUTE_NAME = OrderItemCodec.PK_ATTRIBUTE_NAME;
+    private static final String SK_ATTRIBUTE_NAME = OrderItemCodec.SK_ATTRIBUTE_NAME;
+    private static final String SK_VALUE = OrderItemCodec.SK_VALUE;
 
     @Override
     public OrderPo create(OrderPo order) {
 
-        Map<String, AttributeValue> item = new HashMap<>();
-        // id
-        item.put(PK_ATTRIBUTE_NAME, AttributeValue.builder().s(order.getOrderId()).build());
-        item.put(SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build());
-        // 專案資訊
-        item.put("order_id", AttributeValue.builder().s(order.getOrderId()).build());
-        item.put("namespace", AttributeValue.builder().s(order.getNamespace()).build());
-        item.put("product_id", AttributeValue.builder().s(order.getProductId()).build());
-        item.put("service_type", AttributeValue.builder().s(order.getServiceType()).build());
-        item.put("service_type_id", AttributeValue.builder().s(order.getServiceTypeId()).build());
-
-        if (order.getPlanId() != null) {
-            item.put("plan_id", AttributeValue.builder().s(order.getPlanId()).build());
-        }
-
-        // 訂單狀態
-        item.put("order_status", AttributeValue.builder().s(order.getOrderStatus().name()).build());
-        // 使用者資訊
-        item.put("auth_type", AttributeValue.builder().s(order.getAuthType()).build());
-        item.put("auth_type_id", AttributeValue.builder().s(order.getAuthTypeId()).build());
-        item.put("user_browser", AttributeValue.builder().s(order.getUserBrowser()).build());
-        item.put("user_device_type", AttributeValue.builder().s(order.getUserDeviceType()).build());
-        item.put("user_OS", AttributeValue.builder().s(order.getUserOs()).build());
-        // 訂單建立資訊
-        item.put("created_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(order.getCreatedAt())).build());
-        item.put("verification_code", AttributeValue.builder().s(order.getVerificationCode()).build());
-        // 過期資訊
-        item.put("expired_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(order.getExpiredAt())).build());
-        // 更新資訊
-        item.put("updated_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(order.getUpdatedAt())).build());
-        // ttl 資訊
-        item.put("TTL", AttributeValue.builder().n(String.valueOf(order.getTtl().toEpochSecond())).build());
+        // 依欄位對照表產生 item
+        Map<String, AttributeValue> item = OrderItemCodec.encode(order);
 
         PutItemRequest putItemRequest = PutItemRequest.builder()
                 .tableName(tableName)
@@ -94,13 +80,21 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
     }
 
     @Override
-    public Optional<OrderPo> findById(String orderId) {
+    public Optional<OrderPo> findById(String orderId, OrderProjection projection) {
 
-        GetItemRequest getItemRequest = GetItemRequest.builder()
+        GetItemRequest.Builder requestBuilder = GetItemRequest.builder()
                 .tableName(tableName)
                 .key(Map.of(PK_ATTRIBUTE_NAME, AttributeValue.builder().s(orderId).build(),
-                        SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build()))
-                .build();
+                        SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build()));
+
+        // 只讀取需要的欄位
+        OrderItemCodec.Projection itemProjection = OrderItemCodec.projection(projection);
+        if (itemProjection != null) {
+            requestBuilder.projectionExpression(itemProjection.expression())
+                    .expressionAttributeNames(itemProjection.names());
+        }
+
+        GetItemRequest getItemRequest = requestBuilder.build();
 
         GetItemResponse response;
         try {
@@ -110,41 +104,95 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
         }
 
         if (response.hasItem()) {
-            Map<String, AttributeValue> item = response.item();
-            return Optional.of(OrderPo.builder()
-                    .orderId(item.get("order_id") != null ? item.get("order_id").s() : null)
-                    .orderStatus(item.get("order_status") != null ? OrderStatus.toOrderStatus(item.get("order_status").s()) : null)
-                    .namespace(item.get("namespace") != null ? item.get("namespace").s() : null)
-                    .productId(item.get("product_id") != null ? item.get("product_id").s() : null)
-                    .serviceType(item.get("service_type") != null ? item.get("service_type").s() : null)
-                    .serviceTypeId(item.get("service_type_id") != null ? item.get("service_type_id").s() : null)
-                    .planId(item.get("plan_id") != null ? item.get("plan_id").s() : null)
-                    .authType(item.get("auth_type") != null ? item.get("auth_type").s() : null)
-                    .authTypeId(item.get("auth_type_id") != null ? item.get("auth_type_id").s() : null)
-                    .userBrowser(item.get("user_browser") != null ? item.get("user_browser").s() : null)
-                    .userOs(item.get("user_OS") != null ? item.get("user_OS").s() : null)
-                    .userDeviceType(item.get("user_device_type") != null ? item.get("user_device_type").s() : null)
-                    .createdAt(item.get("created_at") != null ? DateTimeConverter.fromFormattedString(item.get("created_at").s()) : null)
-                    .verificationCode(item.get("verification_code") != null ? item.get("verification_code").s() : null)
-                    .activatedAt(item.get("activated_at") != null ? DateTimeConverter.fromFormattedString(item.get("activated_at").s()) : null)
-                    .activatedBy(item.get("activated_by") != null ? item.get("activated_by").s() : null)
-                    .redeemCode(item.get("redeem_code") != null ? item.get("redeem_code").s() : null)
-                    .tags(item.get("tags") != null ? mapAttributeValueListToStringList(item.get("tags").l()) : null)
-                    .redeemedAt(item.get("redeemed_at") != null ? DateTimeConverter.fromFormattedString(item.get("redeemed_at").s()) : null)
-                    .accessToken(item.get("access_token") != null ? item.get("access_token").s() : null)
-                    .voidedAt(item.get("voided_at") != null ? DateTimeConverter.fromFormattedString(item.get("voided_at").s()) : null)
-                    .voidedBy(item.get("voided_by") != null ? item.get("voided_by").s() : null)
-                    .returnedAt(item.get("returned_at") != null ? DateTimeConverter.fromFormattedString(item.get("returned_at").s()) : null)
-                    .returnedBy(item.get("returned_by") != null ? item.get("returned_by").s() : null)
-                    .expiredAt(item.get("expired_at") != null ? DateTimeConverter.fromFormattedString(item.get("expired_at").s()) : null)
-                    .updatedAt(item.get("updated_at") != null ? DateTimeConverter.fromFormattedString(item.get("updated_at").s()) : null)
-                    .ttl(item.get("TTL") != null ? DateTimeConverter.fromEpochSecondToZonedDateTime(item.get("TTL").n()) : null)
-                    .build());
+            return Optional.of(OrderItemCodec.decode(response.item(), projection));
         }
 
         return Optional.empty();
     }
 
+    @Override
+    public List<Optional<OrderPo>> findAllById(Collection<String> orderIds, OrderProjection projection) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        // 去除重複的訂單 ID，並切成每 100 個一組
+        List<String> distinctIds = orderIds.stream().filter(StringUtils::hasText).distinct().toList();
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i += BATCH_GET_MAX_KEYS) {
+            chunks.add(distinctIds.subList(i, Math.min(i + BATCH_GET_MAX_KEYS, distinctIds.size())));
+        }
+
+        // 各組並行查詢
+        OrderItemCodec.Projection itemProjection = OrderItemCodec.projection(projection);
+        List<List<OrderPo>> chunkResults = boundedParallelExecutor.map(chunks, batchGetParallelism,
+                chunk -> batchGetChunk(chunk, projection, itemProjection));
+
+        Map<String, OrderPo> found = new HashMap<>(distinctIds.size() * 2);
+        chunkResults.forEach(orders -> orders.forEach(order -> found.put(order.getOrderId(), order)));
+
+        // 依輸入順序回傳，查無資料以 empty 表示
+        List<Optional<OrderPo>> results = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            results.add(Optional.ofNullable(orderId != null ? found.get(orderId) : null));
+        }
+
+        return results;
+    }
+
+    private List<OrderPo> batchGetChunk(List<String> orderIds, OrderProjection projection, OrderItemCodec.Projection itemProjection) {
+        List<Map<String, AttributeValue>> keys = orderIds.stream()
+                .map(orderId -> Map.of(PK_ATTRIBUTE_NAME, AttributeValue.builder().s(orderId).build(),
+                        SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build()))
+                .toList();
+
+        KeysAndAttributes.Builder keysBuilder = KeysAndAttributes.builder().keys(keys);
+
+        // 只讀取需要的欄位
+        if (itemProjection != null) {
+            keysBuilder.projectionExpression(itemProjection.expression())
+                    .expressionAttributeNames(itemProjection.names());
+        }
+
+        Map<String, KeysAndAttributes> requestItems = Map.of(tableName, keysBuilder.build());
+        List<OrderPo> orders = new ArrayList<>(orderIds.size());
+
+        for (int attempt = 0; ; attempt++) {
+            BatchGetItemResponse response;
+            try {
+                response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder().requestItems(requestItems).build());
+            } catch (DynamoDbException e) {
+                throw new DataAccessResourceFailureException("Error batch fetching items from DynamoDB", e);
+            }
+
+            response.responses().getOrDefault(tableName, List.of())
+                    .forEach(item -> orders.add(OrderItemCodec.decode(item, projection)));
+
+            // 未處理的 key 以指數退避重試
+            if (!response.hasUnprocessedKeys() || response.unprocessedKeys().isEmpty()) {
+                return orders;
+            }
+
+            if (attempt >= batchGetMaxRetries) {
+                throw new DataAccessResourceFailureException("Unprocessed keys remain after " + attempt + " retries of BatchGetItem");
+            }
+
+            requestItems = response.unprocessedKeys();
+            sleepBackoff(attempt);
+        }
+    }
+
+    private void sleepBackoff(int attempt) {
+        long ceiling = Math.min(batchGetMaxBackoffMs, batchGetBaseBackoffMs << Math.min(attempt, 16));
+        try {
+            // full jitter，避免同時重試的請求再次撞在一起
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while retrying BatchGetItem", e);
+        }
+    }
+
     @Override
     public OrderPo update(OrderPo order) {
         // 檢查 order 物件本身是否為 null
@@ -152,168 +200,30 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
             throw new IllegalArgumentException("Order and OrderId must not be null.");
         }
 
-        StringBuilder updateExpression = new StringBuilder("SET ");
-        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-
-        Optional.ofNullable(order.getOrderStatus()).ifPresent(s -> {
-            updateExpression.append("order_status = :val_order_status, ");
-            expressionAttributeValues.put(":val_order_status", AttributeValue.builder().s(s.name()).build());
-        });
-
-        Optional.ofNullable(order.getVerificationCode()).ifPresent(s -> {
-            updateExpression.append("verification_code = :val_verification_code, ");
-            expressionAttributeValues.put(":val_verification_code", AttributeValue.builder().s(s).build());
-        });
-
-        Optional.ofNullable(order.getActivatedAt()).ifPresent(s -> {
-            updateExpression.append("activated_at = :val_activated_at, ");
-            expressionAttributeValues.put(":val_activated_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(s)).build());
-        });
-
-        Optional.ofNullable(order.getActivatedBy()).ifPresent(s -> {
-            updateExpression.append("activated_by = :val_activated_by, ");
-            expressionAttributeValues.put(":val_activated_by", AttributeValue.builder().s(s).build());
-        });
-
-        Optional.ofNullable(order.getRedeemCode()).ifPresent(s -> {
-            updateExpression.append("redeem_code = :val_redeem_code, ");
-            expressionAttributeValues.put(":val_redeem_code", AttributeValue.builder().s(s).build());
-        });
-
-        Optional.ofNullable(order.getRedeemedAt()).ifPresent(s -> {
-            updateExpression.append("redeemed_at = :val_redeemed_at, ");
-            expressionAttributeValues.put(":val_redeemed_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(s)).build());
-        });
-
-        Optional.ofNullable(order.getAccessToken()).ifPresent(s -> {
-            updateExpression.append("access_token = :val_access_token, ");
-            expressionAttributeValues.put(":val_access_token", AttributeValue.builder().s(s).build());
-        });
-
-        Optional.ofNullable(order.getVoidedAt()).ifPresent(s -> {
-            updateExpression.append("voided_at = :val_voided_at, ");
-            expressionAttributeValues.put(":val_voided_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(s)).build());
-        });
-
-        Optional.ofNullable(order.getVoidedBy()).ifPresent(s -> {
-            updateExpression.append("voided_by = :val_voided_by, ");
-            expressionAttributeValues.put(":val_voided_by", AttributeValue.builder().s(s).build());
-        });
-
-        Optional.ofNullable(order.getReturnedAt()).ifPresent(s -> {
-            updateExpression.append("returned_at = :val_returned_at, ");
-            expressionAttributeValues.put(":val_returned_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(s)).build());
-        });
-
-        Optional.ofNullable(order.getReturnedBy()).ifPresent(s -> {
-                updateExpression.append("returned_by = :val_returned_by, ");
-                expressionAttributeValues.put(":val_returned_by", AttributeValue.builder().s(s).build());
-        });
-
-        Optional.ofNullable(order.getExpiredAt()).ifPresent(s -> {
-            updateExpression.append("expired_at = :val_expired_at, ");
-            expressionAttributeValues.put(":val_expired_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(s)).build());
-        });
-
-        Optional.ofNullable(order.getTags()).ifPresent(tags -> {
-            List<AttributeValue> tagList = tags.stream()
-                    .filter(Objects::nonNull)
-                    .map(string -> AttributeValue.builder().s(string).build())
-                    .toList();
+        // 依目標狀態取得狀態轉換
+        OrderTransition transition = OrderTransition.of(order.getOrderStatus());
+        if (transition == null) {
+            throw new IllegalArgumentException("Unsupported order status transition: " + order.getOrderStatus());
+        }
 
-            if (!tagList.isEmpty()) {
-                updateExpression.append("tags = :val_tags, ");
-                expressionAttributeValues.put(":val_tags", AttributeValue.builder().l(tagList).build());
-            }
-        });
-
-        // 如果沒有任何欄位要更新，則直接返回，避免發送無效請求
-        if (expressionAttributeValues.isEmpty()) {
-            return order;
-        }
-
-        Optional.ofNullable(order.getUpdatedAt()).ifPresent(s -> {
-            updateExpression.append("updated_at = :val_updated_at, ");
-            expressionAttributeValues.put(":val_updated_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(s)).build());
-        });
-
-        // 移除 updateExpression 最後多出來的 ", "
-        updateExpression.setLength(updateExpression.length() - 2);
-
-        String conditionExpression = null;
-        if (order.getOrderStatus() == OrderStatus.VOIDED) {
-            conditionExpression = "order_status <> :expectedStatus AND product_id = :expectedProductId AND namespace = :expectedNamespace AND attribute_exists(order_id)";
-            // 驗證 status
-            expressionAttributeValues.put(":expectedStatus", AttributeValue.builder().s(OrderStatus.VOIDED.name()).build());
-            // 驗證 ProductId
-            expressionAttributeValues.put(":expectedProductId", AttributeValue.builder().s(order.getProductId()).build());
-            // 驗證 namespace
-            expressionAttributeValues.put(":expectedNamespace", AttributeValue.builder().s(order.getNamespace()).build());
-        } else if (order.getOrderStatus() == OrderStatus.ACTIVATED) {
-            conditionExpression = "order_status = :expectedStatus AND product_id = :expectedProductId AND namespace = :expectedNamespace AND expired_at > :now AND attribute_exists(order_id)";
-            // 驗證 status
-            expressionAttributeValues.put(":expectedStatus", AttributeValue.builder().s(OrderStatus.PENDING.name()).build());
-            // 驗證 Product ID
-            expressionAttributeValues.put(":expectedProductId", AttributeValue.builder().s(order.getProductId()).build());
-            // 驗證 namespace
-            expressionAttributeValues.put(":expectedNamespace", AttributeValue.builder().s(order.getNamespace()).build());
-            // 驗證效期
-            expressionAttributeValues.put(":now", AttributeValue.builder().s(DateTimeConverter.toFormattedString(order.getUpdatedAt())).build());
-        } else if (order.getOrderStatus() == OrderStatus.REDEEMED) {
-            conditionExpression = "order_status = :expectedStatus AND expired_at > :now AND attribute_exists(order_id) AND redeem_code = :redeemCode AND product_id = :expectedProductId";
-            // 驗證 Redeem Code
-            expressionAttributeValues.put(":redeemCode", AttributeValue.builder().s(order.getRedeemCode()).build());
-            // 驗證 status
-            expressionAttributeValues.put(":expectedStatus", AttributeValue.builder().s(OrderStatus.ACTIVATED.name()).build());
-            // 驗證 Product ID
-            expressionAttributeValues.put(":expectedProductId", AttributeValue.builder().s(order.getProductId()).build());
-            // 驗證效期
-            expressionAttributeValues.put(":now", AttributeValue.builder().s(DateTimeConverter.toFormattedString(order.getUpdatedAt())).build());
-        } else if (order.getOrderStatus() == OrderStatus.COMPLETED) {
-            conditionExpression = "order_status = :expectedStatus AND product_id = :expectedProductId AND namespace = :expectedNamespace AND attribute_exists(order_id)";
-            // 驗證 status
-            expressionAttributeValues.put(":expectedStatus", AttributeValue.builder().s(OrderStatus.REDEEMED.name()).build());
-            // 驗證 ProductId
-            expressionAttributeValues.put(":expectedProductId", AttributeValue.builder().s(order.getProductId()).build());
-            // 驗證 namespace
-            expressionAttributeValues.put(":expectedNamespace", AttributeValue.builder().s(order.getNamespace()).build());
-        }
-
-
-        UpdateItemRequest updateItemRequest = UpdateItemRequest.builder()
-                .tableName(tableName)
-                .key(Map.of(PK_ATTRIBUTE_NAME, AttributeValue.builder().s(order.getOrderId()).build(),
-                        SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build()))
-                .updateExpression(updateExpression.toString())
-                .conditionExpression(conditionExpression)
-                .expressionAttributeValues(expressionAttributeValues)
-                .returnValues(ReturnValue.ALL_NEW)
-                .build();
+        // SET 子句與條件式皆已預先產生，這裡只綁定參數值
+        UpdateItemRequest updateItemRequest = transition.toRequest(tableName, order);
 
+        UpdateItemResponse response;
         try {
-            UpdateItemResponse response = dynamoDbClient.updateItem(updateItemRequest);
-            order = mapToOrderPo(response.attributes());
+            response = dynamoDbClient.updateItem(updateItemRequest);
         } catch (ConditionalCheckFailedException e) {
-            if (order.getOrderStatus() == OrderStatus.VOIDED) {
-                throw new OrderApiException(OrderErrorCode._016);
-            } else if (order.getOrderStatus() == OrderStatus.ACTIVATED) {
-                throw new OrderApiException(OrderErrorCode._017);
-            } else if (order.getOrderStatus() == OrderStatus.REDEEMED) {
-                throw new OrderApiException(OrderErrorCode._018);
-            } else if (order.getOrderStatus() == OrderStatus.COMPLETED) {
-                throw new OrderApiException(OrderErrorCode._019);
-            } else {
-                throw new OrderApiException(OrderErrorCode._020);
-            }
+            throw new OrderApiException(transition.diagnose(order, e));
         } catch (DynamoDbException e) {
             throw new DataAccessResourceFailureException("Error updating item in DynamoDB: {}", e);
         }
 
-        return order;
+        // ALL_NEW 回傳更新後的完整訂單
+        return transition.toResult(order, response.attributes());
     }
 
     @Override
-    public PageResult<OrderPo> pageByServiceTypeId(String serviceTypeId, ZonedDateTime startDate, ZonedDateTime endDate, Integer pageSize, String lastEvaluatedKey) {
+    public PageResult<OrderPo> pageByServiceTypeId(String serviceTypeId, ZonedDateTime startDate, ZonedDateTime endDate, Integer pageSize, String lastEvaluatedKey, OrderProjection projection) {
         String keyConditionExpression = buildKeyCondition(startDate, endDate);
         Map<String, AttributeValue> expressionAttributeValues = initAttributeValue(serviceTypeId, startDate, endDate);
 
@@ -326,6 +236,12 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
                 // 取多一筆數量，為了判斷有沒有下一筆
                 .limit(pageSize + 1);
 
+        // 只讀取需要的欄位
+        OrderItemCodec.Projection itemProjection = OrderItemCodec.projection(projection);
+        if (itemProjection != null) {
+            requestBuilder.projectionExpression(itemProjection.expression())
+                    .expressionAttributeNames(itemProjection.names());
+        }
 
         Map<String, AttributeValue> lastEvaluatedKeyMap = deserializeKey(lastEvaluatedKey);
 
@@ -337,7 +253,7 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
 
         // 4. 處理查詢結果
         List<OrderPo> orders = response.items().stream()
-                .map(this::mapToOrderPo)
+                .map(item -> OrderItemCodec.decode(item, projection))
                 .collect(Collectors.toList());
 
         // 如果回傳數量 > 原始查詢數量 就是有下一筆
@@ -359,32 +275,53 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
     }
 
     @Override
-    public List<OrderPo> listByServiceTypeId(String serviceTypeId, OrderFilterRequest filters) {
+    public List<OrderPo> listByServiceTypeId(String serviceTypeId, OrderFilterRequest filters, OrderProjection projection) {
         List<OrderPo> allOrders = new ArrayList<>();
-        boolean hasMorePage = true;
 
+        // 逐頁取得結果並加入最終結果
+        streamByServiceTypeId(serviceTypeId, filters, projection, allOrders::addAll);
+
+        return allOrders;
+    }
+
+    @Override
+    public void streamByServiceTypeId(String serviceTypeId, OrderFilterRequest filters, OrderProjection projection, Consumer<List<OrderPo>> pageConsumer) {
         // 取得 start_date 和 end_date
         ZonedDateTime startDate = filters.getCreatedAt() != null ? filters.getCreatedAt().getStartDate() : null;
         ZonedDateTime endDate = filters.getCreatedAt() != null ? filters.getCreatedAt().getEndDate() : null;
 
+        // 產生額外查詢條件，所有片段共用
+        OrderFilterPlan.FilterExpression filterParts = buildFilterExpression(filters);
+
+        // 將 created_at 區間切成多個片段並行查詢，結果依片段由新到舊輸出
+        List<TimeSlicedQueryExecutor.TimeSlice> slices = timeSlicedQueryExecutor.split(startDate, endDate);
+
+        timeSlicedQueryExecutor.execute(slices,
+                (slice, consumer) -> querySlice(serviceTypeId, slice.startDate(), slice.endDate(), filterParts, projection, consumer),
+                pageConsumer);
+    }
+
+    private void querySlice(String serviceTypeId, ZonedDateTime startDate, ZonedDateTime endDate, OrderFilterPlan.FilterExpression filterParts, OrderProjection projection, Consumer<List<OrderPo>> pageConsumer) {
+        boolean hasMorePage = true;
+
         // 使用 start_date 和 end_date 產生基本的高效查詢條件
         String keyConditionExpression = buildKeyCondition(startDate, endDate);
         Map<String, AttributeValue> expressionAttributeValues = initAttributeValue(serviceTypeId, startDate, endDate);
 
-        // 產生額外查詢條件
-        Map<String, Object> filterParts = buildFilterExpression(filters);
-
         // 取得額外條件
-        String filterExpression = (String) filterParts.get("expression");
+        String filterExpression = filterParts.expression();
 
-        // 取得所有參數名稱
-        @SuppressWarnings("unchecked")
-        Map<String, String> expressionAttributeNames = (Map<String, String>) filterParts.get("names");
+        // 取得所有參數名稱 (篩選條件與 projection 共用)
+        Map<String, String> expressionAttributeNames = filterParts.names();
+
+        OrderItemCodec.Projection itemProjection = OrderItemCodec.projection(projection);
+        if (itemProjection != null) {
+            expressionAttributeNames = new HashMap<>(expressionAttributeNames);
+            expressionAttributeNames.putAll(itemProjection.names());
+        }
 
         // 取得所有的參數值
-        @SuppressWarnings("unchecked")
-        Map<String, AttributeValue> filterExpressionValues = (Map<String, AttributeValue>) filterParts.get("values");
-        expressionAttributeValues.putAll(filterExpressionValues);
+        expressionAttributeValues.putAll(filterParts.values());
 
         Map<String, AttributeValue> exclusiveStartKey = null;
 
@@ -412,16 +349,21 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
                 requestBuilder.filterExpression(filterExpression);
             }
 
+            // 只讀取需要的欄位
+            if (itemProjection != null) {
+                requestBuilder.projectionExpression(itemProjection.expression());
+            }
+
             // 送出查詢
             QueryResponse response = sendQuery(requestBuilder.build());
 
             // 取得結果
             List<OrderPo> currentOrders = response.items().stream()
-                    .map(this::mapToOrderPo)
+                    .map(item -> OrderItemCodec.decode(item, projection))
                     .toList();
 
-            // 加入最終結果
-            allOrders.addAll(currentOrders);
+            // 每取得一頁就交給呼叫端處理，不在此累積所有結果
+            pageConsumer.accept(currentOrders);
 
             // 設定是否要繼續查詢
             if (response.lastEvaluatedKey() != null && !response.lastEvaluatedKey().isEmpty()) {
@@ -430,9 +372,6 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
                 hasMorePage = false;
             }
         }
-
-
-        return allOrders;
     }
 
     private String buildKeyCondition(ZonedDateTime startDate, ZonedDateTime endDate) {
@@ -458,55 +397,13 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
         }
     }
 
-    private Map<String, Object> buildFilterExpression(OrderFilterRequest filters) {
+    private OrderFilterPlan.FilterExpression buildFilterExpression(OrderFilterRequest filters) {
         if (filters == null) {
-            return Map.of("expression", "", "names", Map.of(), "values", Map.of());
-        }
-
-        ExpressionContext context = new ExpressionContext();
-
-        Class<? extends OrderFilterRequest> clazz = filters.getClass();
-
-        for (Field field : clazz.getDeclaredFields()) {
-            try {
-                field.setAccessible(true);
-
-                Object fieldValue = field.get(filters);
-
-                String fieldName = getJsonFieldName(field);
-
-                if ("created_at".equals(fieldName)) continue;
-
-                if (fieldValue instanceof DateRangeRequest range) {
-                    handleDateRange(context, fieldName, range);
-                } else if ("tags".equals(fieldName) && fieldValue instanceof List) {
-                    handleTags(context, fieldName, (List<?>) fieldValue);
-                } else if (fieldValue != null) {
-                    handleSingleValue(context, fieldName, fieldValue);
-                }
-            } catch (IllegalAccessException e) {
-                log.error("無法訪問屬性: {}", e.getMessage());
-            } finally {
-                field.setAccessible(false);
-            }
+            return OrderFilterPlan.EMPTY;
         }
 
-        return Map.of(
-                "expression", context.expressionBuilder.toString(),
-                "names", context.expressionAttributeNames,
-                "values", context.expressionAttributeValues
-        );
-
-    }
-
-    private String getJsonFieldName(Field field) {
-        if (field.isAnnotationPresent(JsonProperty.class)) {
-            String jsonName = field.getAnnotation(JsonProperty.class).value();
-            if (!jsonName.isEmpty()) {
-                return jsonName;
-            }
-        }
-        return field.getName();
+        // 篩選計畫每個類別只編譯一次，這裡只綁定參數值
+        return OrderFilterPlan.of(filters.getClass()).bind(filters);
     }
 
     private Map<String, AttributeValue> initAttributeValue(String serviceTypeId, ZonedDateTime startDate, ZonedDateTime endDate) {
@@ -525,53 +422,19 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
         return expressionAttributeValues;
     }
 
-    private OrderPo mapToOrderPo(Map<String, AttributeValue> item) {
-        return OrderPo.builder()
-                .orderId(Optional.ofNullable(item.get("order_id")).map(AttributeValue::s).orElse(null))
-                .namespace(Optional.ofNullable(item.get("namespace")).map(AttributeValue::s).orElse(null))
-                .productId(Optional.ofNullable(item.get("product_id")).map(AttributeValue::s).orElse(null))
-                .serviceType(Optional.ofNullable(item.get("service_type")).map(AttributeValue::s).orElse(null))
-                .serviceTypeId(Optional.ofNullable(item.get("service_type_id")).map(AttributeValue::s).orElse(null))
-                .planId(Optional.ofNullable(item.get("plan_id")).map(AttributeValue::s).orElse(null))
-                .authType(Optional.ofNullable(item.get("auth_type")).map(AttributeValue::s).orElse(null))
-                .authTypeId(Optional.ofNullable(item.get("auth_type_id")).map(AttributeValue::s).orElse(null))
-                .userBrowser(Optional.ofNullable(item.get("user_browser")).map(AttributeValue::s).orElse(null))
-                .userOs(Optional.ofNullable(item.get("user_OS")).map(AttributeValue::s).orElse(null))
-                .userDeviceType(Optional.ofNullable(item.get("user_device_type")).map(AttributeValue::s).orElse(null))
-                .orderStatus(item.get("order_status") != null ? OrderStatus.toOrderStatus(item.get("order_status").s()) : null)
-                .createdAt(item.get("created_at") != null ? DateTimeConverter.fromFormattedString(item.get("created_at").s()) : null)
-                .verificationCode(item.get("verification_code") != null ? item.get("verification_code").s() : null)
-                .activatedAt(item.get("activated_at") != null ? DateTimeConverter.fromFormattedString(item.get("activated_at").s()) : null)
-                .activatedBy(item.get("activated_by") != null ? item.get("activated_by").s() : null)
-                .redeemCode(item.get("redeem_code") != null ? item.get("redeem_code").s() : null)
-                .tags(item.get("tags") != null ? mapAttributeValueListToStringList(item.get("tags").l()) : null)
-                .redeemedAt(item.get("redeemed_at") != null ? DateTimeConverter.fromFormattedString(item.get("redeemed_at").s()) : null)
-                .accessToken(item.get("access_token") != null ? item.get("access_token").s() : null)
-                .voidedAt(item.get("voided_at") != null ? DateTimeConverter.fromFormattedString(item.get("voided_at").s()) : null)
-                .voidedBy(item.get("voided_by") != null ? item.get("voided_by").s() : null)
-                .returnedAt(item.get("returned_at") != null ? DateTimeConverter.fromFormattedString(item.get("returned_at").s()) : null)
-                .returnedBy(item.get("returned_by") != null ? item.get("returned_by").s() : null)
-                .expiredAt(item.get("expired_at") != null ? DateTimeConverter.fromFormattedString(item.get("expired_at").s()) : null)
-                .updatedAt(item.get("updated_at") != null ? DateTimeConverter.fromFormattedString(item.get("updated_at").s()) : null)
-                .ttl(item.get("TTL") != null ? DateTimeConverter.fromEpochSecondToZonedDateTime(item.get("TTL").n()) : null)
-                .build();
-    }
-
-    private List<String> mapAttributeValueListToStringList(List<AttributeValue> avList) {
-        if (avList == null) {
-            return null;
-        }
-        return avList.stream()
-                .map(AttributeValue::s)
-                .collect(Collectors.toList());
-    }
-
     private Map<String, AttributeValue> deserializeKey(String lastEvaluatedKey) {
         if (!StringUtils.hasText(lastEvaluatedKey)) {
             return null;
         }
         try {
-            byte[] decodedBytes = Base64.getUrlDecoder().decode(lastEvaluatedKey);
+            byte[] decodedBytes = OrderCursorCodec.decodeBase64(lastEvaluatedKey);
+
+            // 新版二進位 cursor
+            if (OrderCursorCodec.isBinary(decodedBytes)) {
+                return OrderCursorCodec.decode(decodedBytes);
+            }
+
+            // 舊版 Base64 JSON cursor，保留給已發出的分頁 token
             String jsonKey = new String(decodedBytes, StandardCharsets.UTF_8);
 
             // 1. 先反序列化為一個簡單的、Jackson 可理解的 Map 結構
@@ -648,6 +511,12 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
             return null;
         }
 
+        // 固定的 GSI 分頁 key 使用二進位 cursor
+        String cursor = OrderCursorCodec.encode(key);
+        if (cursor != null) {
+            return cursor;
+        }
+
         try {
             Map<String, Map<String, Object>> serializableKey = key.entrySet().stream()
                     .collect(Collectors.toMap(
@@ -727,121 +596,4 @@ public class AwsDynamoDbSdkOrderRepositoryImpl implements OrderRepository {
         return keyMap;
     }
 
-    private void handleDateRange(ExpressionContext context, String fieldName, DateRangeRequest range) {
-        ZonedDateTime start = range.getStartDate();
-        ZonedDateTime end = range.getEndDate();
-
-        if (start == null && end == null) return;
-
-        String nameAlias = "#" + fieldName + context.index;
-        String startAlias = ":" + fieldName + "Start" + context.index;
-        String endAlias = ":" + fieldName + "End" + context.index;
-
-        String expression;
-
-        if (start != null && end != null) {
-            expression = nameAlias + " BETWEEN " + startAlias + " AND " + endAlias;
-            context.expressionAttributeValues.put(startAlias, AttributeValue.builder().s(DateTimeConverter.toFormattedString(start)).build());
-            context.expressionAttributeValues.put(endAlias, AttributeValue.builder().s(DateTimeConverter.toFormattedString(end)).build());
-        } else if (start != null) {
-            expression = nameAlias + " >= " + startAlias;
-            context.expressionAttributeValues.put(startAlias, AttributeValue.builder().s(DateTimeConverter.toFormattedString(start)).build());
-        } else { // end != null
-            expression = nameAlias + " <= " + endAlias;
-            context.expressionAttributeValues.put(endAlias, AttributeValue.builder().s(DateTimeConverter.toFormattedString(end)).build());
-        }
-
-        if (!context.expressionBuilder.isEmpty()) {
-            context.expressionBuilder.append(" AND ");
-        }
-
-        context.expressionBuilder.append(expression);
-        context.expressionAttributeNames.put(nameAlias, fieldName);
-        context.index++;
-
-    }
-
-    private void handleTags(ExpressionContext context, String fieldName, List<?> rawList) {
-        if (rawList.isEmpty() || !(rawList.get(0) instanceof String)) {
-            return;
-        }
-
-        @SuppressWarnings("unchecked")
-        List<String> tagList = (List<String>) rawList;
-
-        String nameAlias = "#" + fieldName + context.index;
-        context.expressionAttributeNames.put(nameAlias, fieldName);
-
-        // 2. 構建 tags 的子表達式
-        StringBuilder tagsSubExpression = new StringBuilder();
-        int innerIndex = 0;
-
-        for (String tag : tagList) {
-            String tagValueAlias = ":" + fieldName + "Val" + context.index + "_" + innerIndex;
-
-            if (!tagsSubExpression.isEmpty()) {
-                tagsSubExpression.append(" AND ");
-            }
-
-            // 語法：contains(#tags5, :tagsVal5_0)
-            tagsSubExpression.append("contains(").append(nameAlias).append(", ").append(tagValueAlias).append(")");
-
-            context.expressionAttributeValues.put(tagValueAlias, AttributeValue.builder().s(tag).build());
-            innerIndex++;
-        }
-
-        // 3. 加入主表達式
-        if (!context.expressionBuilder.isEmpty()) {
-            context.expressionBuilder.append(" AND ");
-        }
-        context.expressionBuilder.append("(").append(tagsSubExpression).append(")");
-
-        context.index++;
-
-    }
-
-    private void handleSingleValue(ExpressionContext context, String fieldName, Object fieldValue) {
-        if (fieldValue instanceof String s && s.isBlank()) {
-            return;
-        }
-
-        String nameAlias = "#" + fieldName + context.index;
-        String valueAlias = ":" + fieldName + "Val" + context.index;
-        AttributeValue value = null;
-
-        if (fieldValue instanceof String s) {
-            value = AttributeValue.builder().s(s).build();
-        } else if (fieldValue instanceof OrderStatus status) {
-            value = AttributeValue.builder().s(status.name()).build();
-        } else if (fieldValue instanceof Number) {
-            value = AttributeValue.builder().n(fieldValue.toString()).build();
-        } else if (fieldValue instanceof Boolean) {
-            value = AttributeValue.builder().bool((Boolean) fieldValue).build();
-        }
-
-        if (value != null) {
-            String expression = nameAlias + " = " + valueAlias;
-            context.appendCondition(nameAlias, fieldName, expression, value, valueAlias);
-        }
-
-    }
-
-    private static class ExpressionContext {
-        StringBuilder expressionBuilder = new StringBuilder();
-        Map<String, String> expressionAttributeNames = new HashMap<>();
-        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-        int index = 0;
-
-        // 封裝 AND 連接和 index 遞增邏輯
-        private void appendCondition(String nameAlias, String fieldName, String expression, AttributeValue value, String valueAlias) {
-            if (!expressionBuilder.isEmpty()) {
-                expressionBuilder.append(" AND ");
-            }
-            expressionBuilder.append(expression);
-            expressionAttributeNames.put(nameAlias, fieldName);
-            expressionAttributeValues.put(valueAlias, value);
-            index++;
-        }
-    }
-
 }
@@ -3,9 +3,9 @@ package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
 import com.arplanets.commons.utils.DateTimeConverter;
 import com.arplanets.corexrapi.livesight.model.dto.Expiry;
 import com.arplanets.corexrapi.livesight.model.eunms.ExpireMode;
-import com.arplanets.corexrapi.livesight.model.eunms.PeriodUnit;
 import com.arplanets.corexrapi.livesight.model.po.PlanPo;
 import com.arplanets.corexrapi.livesight.repository.PlanRepository;
+import com.arplanets.corexrapi.livesight.repository.PlanWriteFailure;
 import com.google.common.collect.Lists;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,7 +18,7 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Repository
 @RequiredArgsConstructor
@@ -28,9 +28,15 @@ public class AwsDynamoDbSdkPlanRepositoryImpl implements PlanRepository {
     @Value("${aws.plan.table.name}")
     private String tableName;
 
+    @Value("${aws.plan.live-sight-index.enabled:true}")
+    private boolean liveSightIndexEnabled;
+
     private static final String PK_ATTRIBUTE_NAME = "pk";
     private static final String SK_ATTRIBUTE_NAME = "sk";
     private static final String SK_VALUE = "info";
+    private static final int TRANSACTION_MAX_ITEMS = 100;
+    private static final int TRANSACTION_MAX_ATTEMPTS = 3;
+    private static final String CANCELLATION_NONE = "None";
 
     private final DynamoDbClient dynamoDbClient;
 
@@ -57,40 +63,19 @@ public class AwsDynamoDbSdkPlanRepositoryImpl implements PlanRepository {
     }
 
     @Override
-    public List<PlanPo> createWithTransaction(List<PlanPo> plans) {
+    public List<PlanWriteFailure> createWithTransaction(List<PlanPo> plans) {
         if (CollectionUtils.isEmpty(plans)) {
             throw new DataAccessResourceFailureException("No item to be created.");
         }
 
-        List<PlanPo> failedPartitions = new ArrayList<>();
-
-        // 每 100 筆為一個 Transaction 分區
-        Lists.partition(plans, 100).forEach(partition -> {
-            try {
-                List<TransactWriteItem> actions = partition.stream()
-                        .map(plan -> TransactWriteItem.builder()
-                                .put(Put.builder()
-                                        .tableName(tableName)
-                                        .item(buildItemMap(plan))
-                                        .conditionExpression("attribute_not_exists(#pk)")
-                                        .expressionAttributeNames(Map.of("#pk", PK_ATTRIBUTE_NAME))
-                                        .build())
-                                .build())
-                        .toList();
-
-                dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder()
-                        .transactItems(actions)
-                        .build());
-            } catch (TransactionCanceledException e) {
-                log.warn("Transaction 分區寫入失敗，原因: {}，將由 Service 進行降級檢查", e.getMessage());
-                failedPartitions.addAll(partition);
-            } catch (Exception e) {
-                log.error("Transaction 發生非預期錯誤", e);
-                failedPartitions.addAll(partition);
-            }
-        });
-
-        return failedPartitions; // 回傳所有在 Transaction 中沒能成功寫入的 PO
+        return writeWithTransaction(plans, plan -> TransactWriteItem.builder()
+                .put(Put.builder()
+                        .tableName(tableName)
+                        .item(buildItemMap(plan))
+                        .conditionExpression("attribute_not_exists(#pk)")
+                        .expressionAttributeNames(Map.of("#pk", PK_ATTRIBUTE_NAME))
+                        .build())
+                .build());
     }
 
     @Override
@@ -99,42 +84,12 @@ public class AwsDynamoDbSdkPlanRepositoryImpl implements PlanRepository {
             throw new DataAccessResourceFailureException("No item to be updated.");
         }
 
-        StringBuilder updateExpression = new StringBuilder("SET ");
-        Map<String, String> expressionAttributeNames = new HashMap<>();
-        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-
-        Optional.ofNullable(plan.getPlanName()).ifPresent(s -> {
-            updateExpression.append("#plan_name = :val_plan_name, ");
-            expressionAttributeNames.put("#plan_name", "plan_name");
-            expressionAttributeValues.put(":val_plan_name", AttributeValue.builder().s(s).build());
-        });
-
-        if (plan.getExpiry() != null) {
-            updateExpression.append("#expiry = :val_expiry, ");
-            expressionAttributeNames.put("#expiry", "expiry");
-            expressionAttributeValues.put(":val_plan_name", getExpiry(plan.getExpiry()));
-            expressionAttributeValues.put(":val_expiry", getExpiry(plan.getExpiry()));
-        }
-
-        if (expressionAttributeValues.isEmpty()) {
+        if (plan.getPlanName() == null && plan.getExpiry() == null) {
             throw new DataAccessResourceFailureException("No item to be updated.");
         }
 
-        Optional.ofNullable(plan.getUpdatedAt()).ifPresent(s -> {
-            updateExpression.append("updated_at = :val_updated_at, ");
-            expressionAttributeValues.put(":val_updated_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(s)).build());
-        });
-
-        Optional.ofNullable(plan.getUpdatedBy()).ifPresent(s -> {
-            updateExpression.append("updated_by = :val_updated_by, ");
-            expressionAttributeValues.put(":val_updated_by", AttributeValue.builder().s(s).build());
-        });
-
-        updateExpression.setLength(updateExpression.length() - 2);
-
-        String conditionExpression = "#live_sight_id=:val_live_sight_id";
-        expressionAttributeNames.put("#live_sight_id", "live_sight_id");
-        expressionAttributeValues.put(":orgId", AttributeValue.builder().s(plan.getLiveSightId()).build());
+        // 與交易更新共用同一份 SET 子句與條件式
+        UpdateSpec spec = generateUpdateSpec(plan);
 
         try {
             UpdateItemResponse response = dynamoDbClient.updateItem(
@@ -142,10 +97,10 @@ public class AwsDynamoDbSdkPlanRepositoryImpl implements PlanRepository {
                             .tableName(tableName)
                             .key(Map.of(PK_ATTRIBUTE_NAME, AttributeValue.builder().s(plan.getPlanId()).build(),
                                     SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build()))
-                            .updateExpression(updateExpression.toString())
-                            .conditionExpression(conditionExpression)
-                            .expressionAttributeNames(expressionAttributeNames)
-                            .expressionAttributeValues(expressionAttributeValues)
+                            .updateExpression(spec.updateExpression)
+                            .conditionExpression(spec.conditionExpression)
+                            .expressionAttributeNames(spec.expressionAttributeNames)
+                            .expressionAttributeValues(spec.expressionAttributeValues)
                             .returnValues(ReturnValue.ALL_NEW)
                             .build());
 
@@ -158,102 +113,165 @@ public class AwsDynamoDbSdkPlanRepositoryImpl implements PlanRepository {
     }
 
     @Override
-    public List<PlanPo> updateWithTransaction(List<PlanPo> plans) {
+    public List<PlanWriteFailure> updateWithTransaction(List<PlanPo> plans) {
         if (CollectionUtils.isEmpty(plans)) {
             throw new DataAccessResourceFailureException("No item to be updated.");
         }
 
-        List<PlanPo> failedPartitions = new ArrayList<>();
-
-        // 每 100 筆為一個 Transaction 分區
-        Lists.partition(plans, 100).forEach(partition -> {
-            try {
-                List<TransactWriteItem> actions = partition.stream()
-                        .map(plan -> TransactWriteItem.builder()
-                                .update(buildUpdateAction(plan))
-                                .build())
-                        .toList();
-
-                dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder()
-                        .transactItems(actions)
-                        .build());
-            } catch (TransactionCanceledException e) {
-                log.warn("Transaction 分區寫入失敗，原因: {}，將由 Service 進行降級檢查", e.getMessage());
-                failedPartitions.addAll(partition);
-            } catch (Exception e) {
-                log.error("Transaction 發生非預期錯誤", e);
-                failedPartitions.addAll(partition);
+        return writeWithTransaction(plans, plan -> TransactWriteItem.builder()
+                .update(buildUpdateAction(plan))
+                .build());
+    }
+
+    /**
+     * 每 100 筆為一個 Transaction 分區寫入，回傳未寫入的方案。
+     * <p>
+     * 交易被取消時整個分區都不會寫入，但 CancellationReasons 與動作順序相同，只有實際失敗的項目 code 不是 None；
+     * 這些項目連同原因回傳，其餘項目再以交易重送，不交由 Service 逐筆寫入。
+     */
+    private List<PlanWriteFailure> writeWithTransaction(List<PlanPo> plans, Function<PlanPo, TransactWriteItem> toAction) {
+        List<PlanWriteFailure> failures = new ArrayList<>();
+
+        for (List<PlanPo> partition : Lists.partition(plans, TRANSACTION_MAX_ITEMS)) {
+            List<PlanPo> pending = partition;
+
+            for (int attempt = 0; attempt < TRANSACTION_MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+                try {
+                    dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder()
+                            .transactItems(pending.stream().map(toAction).toList())
+                            .build());
+                    pending = List.of();
+                } catch (TransactionCanceledException e) {
+                    log.warn("Transaction 分區寫入失敗，原因: {}", e.getMessage());
+                    pending = collectCancelled(pending, e, failures);
+                } catch (Exception e) {
+                    log.error("Transaction 發生非預期錯誤", e);
+                    pending.forEach(plan -> failures.add(new PlanWriteFailure(plan, null, e.getMessage())));
+                    pending = List.of();
+                }
             }
-        });
-        return failedPartitions;
+
+            // 重送次數用盡仍未寫入，交由 Service 降級處理
+            pending.forEach(plan -> failures.add(new PlanWriteFailure(plan, null, "Transaction retry attempts exhausted")));
+        }
+
+        return failures;
     }
 
-    // 暫時!!!!!!!!!!!!!!!!!
+    /**
+     * 依 CancellationReasons 將失敗項目加入 failures，回傳未失敗、可再以交易重送的項目。
+     */
+    private List<PlanPo> collectCancelled(List<PlanPo> pending, TransactionCanceledException e, List<PlanWriteFailure> failures) {
+        List<CancellationReason> reasons = e.hasCancellationReasons() ? e.cancellationReasons() : List.of();
+
+        // 沒有可對應的原因時無法判斷是哪一筆，整批視為失敗
+        if (reasons.size() != pending.size()) {
+            pending.forEach(plan -> failures.add(new PlanWriteFailure(plan, null, e.getMessage())));
+            return List.of();
+        }
+
+        List<PlanPo> retry = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            CancellationReason reason = reasons.get(i);
+            if (reason.code() == null || CANCELLATION_NONE.equals(reason.code())) {
+                retry.add(pending.get(i));
+            } else {
+                failures.add(new PlanWriteFailure(pending.get(i), reason.code(), reason.message()));
+            }
+        }
+
+        // 所有項目都是 None 表示取消原因不在項目本身，避免無限重送
+        if (retry.size() == pending.size()) {
+            retry.forEach(plan -> failures.add(new PlanWriteFailure(plan, null, e.getMessage())));
+            return List.of();
+        }
+
+        return retry;
+    }
+
+    /**
+     * 以 live_sight_id GSI 查詢並讀完所有分頁；GSI 尚未建立完成的環境可關閉 aws.plan.live-sight-index.enabled 改用 scan。
+     */
     @Override
     public List<PlanPo> listByLiveSightId(String liveSightId) {
-        Map<String, String> expressionAttributeNames = new HashMap<>();
-        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        List<PlanPo> plans = new ArrayList<>();
+        Map<String, AttributeValue> exclusiveStartKey = null;
 
-        // 將所有過濾條件放入 FilterExpression
-        String filterExpression = "#live_sight_id = :val_live_sight_id AND #is_active = :val_active AND attribute_not_exists(#deleted_at)";
+        do {
+            Page page = liveSightIndexEnabled
+                    ? queryPage(PlanItemCodec.activeByLiveSightIdQuery(tableName, liveSightId), exclusiveStartKey)
+                    : scanPage(PlanItemCodec.activeByLiveSightIdScan(tableName, liveSightId), exclusiveStartKey);
 
-        expressionAttributeNames.put("#live_sight_id", "live_sight_id");
-        expressionAttributeNames.put("#is_active", "is_active");
-        expressionAttributeNames.put("#deleted_at", "deleted_at");
+            page.items().forEach(item -> plans.add(mapToPlanPo(item)));
+            exclusiveStartKey = page.lastEvaluatedKey();
+        } while (exclusiveStartKey != null && !exclusiveStartKey.isEmpty());
 
-        expressionAttributeValues.put(":val_live_sight_id", AttributeValue.builder().s(liveSightId).build());
-        expressionAttributeValues.put(":val_active", AttributeValue.builder().n("1").build());
+        return plans;
+    }
 
-        // 使用 scan 掃描全表並過濾
-        ScanResponse response = dynamoDbClient.scan(ScanRequest.builder()
-                .tableName(tableName)
-                .filterExpression(filterExpression)
-                .expressionAttributeNames(expressionAttributeNames)
-                .expressionAttributeValues(expressionAttributeValues)
-                .build());
+    /**
+     * Live Sight 的一般方案，讀到第一筆符合的方案為止。
+     */
+    @Override
+    public Optional<PlanPo> findStandardByLiveSightId(String liveSightId) {
+        Map<String, AttributeValue> exclusiveStartKey = null;
+
+        do {
+            Page page = liveSightIndexEnabled
+                    ? queryPage(PlanItemCodec.standardByLiveSightIdQuery(tableName, liveSightId), exclusiveStartKey)
+                    : scanPage(PlanItemCodec.standardByLiveSightIdScan(tableName, liveSightId), exclusiveStartKey);
 
-        return response.items().stream()
-                .map(this::mapToPlanPo)
-                .collect(Collectors.toList());
+            if (!page.items().isEmpty()) {
+                return Optional.of(mapToPlanPo(page.items().get(0)));
+            }
+            exclusiveStartKey = page.lastEvaluatedKey();
+        } while (exclusiveStartKey != null && !exclusiveStartKey.isEmpty());
+
+        return Optional.empty();
     }
 
-//    @Override
-//    public List<PlanPo> listByLiveSightId(String liveSightId) {
-//        Map<String, String> expressionAttributeNames = new HashMap<>();
-//        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-//
-//        String keyConditionExpression = "#live_sight_id = :val_live_sight_id";
-//
-//        String filterExpression = "#is_active = :val_active AND attribute_not_exists(#deleted_at)";
-//
-//        expressionAttributeNames.put("#live_sight_id", "live_sight_id");
-//        expressionAttributeNames.put("#is_active", "is_active");
-//        expressionAttributeNames.put("#deleted_at", "deleted_at");
-//
-//        expressionAttributeValues.put(":val_live_sight_id", AttributeValue.builder().s(liveSightId).build());
-//        expressionAttributeValues.put(":val_active", AttributeValue.builder().n("1").build());
-//
-//
-//
-//        QueryResponse response = sendQuery(QueryRequest.builder()
-//                .tableName(tableName)
-//                .indexName("live_sight_id-created_at-index")
-//                .keyConditionExpression(keyConditionExpression)
-//                .filterExpression(filterExpression)
-//                .expressionAttributeNames(expressionAttributeNames)
-//                .expressionAttributeValues(expressionAttributeValues)
-//                .scanIndexForward(false)
-//                .build());
-//
-//        return response.items().stream()
-//                .map(this::mapToPlanPo)
-//                .collect(Collectors.toList());
-//    }
+    private Page queryPage(QueryRequest.Builder requestBuilder, Map<String, AttributeValue> exclusiveStartKey) {
+        if (exclusiveStartKey != null) {
+            requestBuilder.exclusiveStartKey(exclusiveStartKey);
+        }
 
+        try {
+            QueryResponse response = dynamoDbClient.query(requestBuilder.build());
+            return new Page(response.items(), response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null);
+        } catch (DynamoDbException e) {
+            throw new DataAccessResourceFailureException("Error querying plans from DynamoDB", e);
+        }
+    }
+
+    private Page scanPage(ScanRequest.Builder requestBuilder, Map<String, AttributeValue> exclusiveStartKey) {
+        if (exclusiveStartKey != null) {
+            requestBuilder.exclusiveStartKey(exclusiveStartKey);
+        }
+
+        try {
+            ScanResponse response = dynamoDbClient.scan(requestBuilder.build());
+            return new Page(response.items(), response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null);
+        } catch (DynamoDbException e) {
+            throw new DataAccessResourceFailureException("Error scanning plans from DynamoDB", e);
+        }
+    }
 
+    /**
+     * 以主鍵讀取啟用中的方案，已停用或刪除的方案視為不存在。
+     */
     @Override
-    public Optional<PlanPo> findById(String planeId) {
-        return Optional.empty();
+    public Optional<PlanPo> findById(String planId) {
+        try {
+            GetItemResponse response = dynamoDbClient.getItem(PlanItemCodec.getByIdRequest(tableName, planId));
+
+            if (!response.hasItem() || !PlanItemCodec.isActive(response.item())) {
+                return Optional.empty();
+            }
+
+            return Optional.of(mapToPlanPo(response.item()));
+        } catch (DynamoDbException e) {
+            throw new DataAccessResourceFailureException("Error getting plan from DynamoDB", e);
+        }
     }
 
     private Update buildUpdateAction(PlanPo plan) {
@@ -343,35 +361,7 @@ public class AwsDynamoDbSdkPlanRepositoryImpl implements PlanRepository {
     }
 
     private PlanPo mapToPlanPo(Map<String, AttributeValue> item) {
-        return PlanPo.builder()
-                .planId(Optional.ofNullable(item.get("plan_id")).map(AttributeValue::s).orElse(null))
-                .planName(Optional.ofNullable(item.get("plan_name")).map(AttributeValue::s).orElse(null))
-                .liveSightId(Optional.ofNullable(item.get("live_sight_id")).map(AttributeValue::s).orElse(null))
-                .expiry(fromAttributeValue(item.get("expiry")))
-                .standard(Optional.ofNullable(item.get("is_standard"))
-                        .map(attr -> "1".equals(attr.n()))
-                        .orElse(false))
-                .createdBy(item.get("created_by") != null ? item.get("created_by").s() : null )
-                .createdAt(item.get("created_at") != null ? DateTimeConverter.fromFormattedString(item.get("created_at").s()) : null)
-                .updatedBy(item.get("updated_by") != null ? item.get("updated_by").s() : null )
-                .updatedAt(item.get("updated_at") != null ? DateTimeConverter.fromFormattedString(item.get("updated_at").s()) : null)
-                .build();
-    }
-
-    private Expiry fromAttributeValue(AttributeValue av) {
-        if (av == null || av.m() == null || av.m().isEmpty()) {
-            return null;
-        }
-
-        Map<String, AttributeValue> m = av.m();
-
-        return Expiry.builder()
-                .expireMode(m.containsKey("expire_mode") ? ExpireMode.valueOf(m.get("expire_mode").s()) : null)
-                .duration(m.containsKey("duration") ? Long.parseLong(m.get("duration").n()) : null)
-                .periodUnit(m.containsKey("period_unit") ? PeriodUnit.valueOf(m.get("period_unit").s()) : null )
-                .fixedAt(m.containsKey("fixed_at") ? DateTimeConverter.fromFormattedString(m.get("fixed_at").s()) : null)
-                .build();
-
+        return PlanItemCodec.decode(item);
     }
 
     private UpdateSpec generateUpdateSpec(PlanPo plan) {
@@ -414,16 +404,7 @@ public class AwsDynamoDbSdkPlanRepositoryImpl implements PlanRepository {
         return new UpdateSpec(updateExpression.toString(), conditionExpression, names, values);
     }
 
-    private QueryResponse sendQuery(QueryRequest request) {
-        try {
-            return dynamoDbClient.query(request);
-        } catch (DynamoDbException e) {
-            log.error("查詢 DynamoDB 失敗: {}", e.getMessage());
-            throw new RuntimeException("查詢訂單列表失敗。", e);
-        }
-    }
-
-
+    private record Page(List<Map<String, AttributeValue>> items, Map<String, AttributeValue> lastEvaluatedKey) {}
 
     private record UpdateSpec(String updateExpression, String conditionExpression,
                               Map<String, String> expressionAttributeNames,
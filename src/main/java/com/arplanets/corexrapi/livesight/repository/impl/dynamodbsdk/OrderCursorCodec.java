@@ -0,0 +1,314 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 訂單列表分頁 cursor 的二進位編碼。
+ * <p>
+ * GSI 分頁 key 固定為 pk、sk、service_type_id、created_at，因此不需要保存欄位名稱與型別：
+ * <pre>
+ * [version][flags][pk][sk][service_type_id][created_at]
+ * </pre>
+ * UUID 以 16 bytes 保存，created_at 以 varint 的 epoch 秒數與奈秒保存，無法壓縮的值則以 varint 長度 + UTF-8 保存。
+ * 結果以不補齊的 Base64 URL 編碼輸出。
+ */
+public final class OrderCursorCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final String PK = "pk";
+    private static final String SK = "sk";
+    private static final String SERVICE_TYPE_ID = "service_type_id";
+    private static final String CREATED_AT = "created_at";
+
+    private static final String ORDER_ID_PREFIX = "order_";
+
+    private static final int HAS_PK = 1;
+    private static final int PK_UUID = 1 << 1;
+    private static final int SK_DEFAULT = 1 << 2;
+    private static final int HAS_SERVICE_TYPE_ID = 1 << 3;
+    private static final int SERVICE_TYPE_ID_UUID = 1 << 4;
+    private static final int HAS_CREATED_AT = 1 << 5;
+    private static final int CREATED_AT_EPOCH = 1 << 6;
+    private static final int HAS_SK = 1 << 7;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private OrderCursorCodec() {
+    }
+
+    /**
+     * 判斷 cursor 是否為二進位格式 (舊格式為 Base64 編碼的 JSON，解碼後第一個 byte 為 '{')。
+     */
+    public static boolean isBinary(byte[] decoded) {
+        return decoded.length > 0 && decoded[0] == VERSION;
+    }
+
+    public static byte[] decodeBase64(String cursor) {
+        return DECODER.decode(cursor);
+    }
+
+    /**
+     * 編碼分頁 key；若 key 含有非預期的欄位或型別則回傳 null，由呼叫端改用舊格式。
+     */
+    public static String encode(Map<String, AttributeValue> key) {
+        int flags = 0;
+
+        for (Map.Entry<String, AttributeValue> entry : key.entrySet()) {
+            String name = entry.getKey();
+            if (!PK.equals(name) && !SK.equals(name) && !SERVICE_TYPE_ID.equals(name) && !CREATED_AT.equals(name)) {
+                return null;
+            }
+            if (entry.getValue() == null || entry.getValue().s() == null) {
+                return null;
+            }
+        }
+
+        String pk = stringValue(key, PK);
+        String sk = stringValue(key, SK);
+        String serviceTypeId = stringValue(key, SERVICE_TYPE_ID);
+        String createdAt = stringValue(key, CREATED_AT);
+
+        UUID pkUuid = null;
+        if (pk != null) {
+            flags |= HAS_PK;
+            if (pk.startsWith(ORDER_ID_PREFIX)) {
+                pkUuid = parseUuid(pk.substring(ORDER_ID_PREFIX.length()));
+                if (pkUuid != null) {
+                    flags |= PK_UUID;
+                }
+            }
+        }
+
+        if (sk != null) {
+            flags |= HAS_SK;
+            if (OrderItemCodec.SK_VALUE.equals(sk)) {
+                flags |= SK_DEFAULT;
+            }
+        }
+
+        UUID serviceTypeUuid = null;
+        if (serviceTypeId != null) {
+            flags |= HAS_SERVICE_TYPE_ID;
+            serviceTypeUuid = parseUuid(serviceTypeId);
+            if (serviceTypeUuid != null) {
+                flags |= SERVICE_TYPE_ID_UUID;
+            }
+        }
+
+        ZonedDateTime createdAtTime = null;
+        if (createdAt != null) {
+            flags |= HAS_CREATED_AT;
+            createdAtTime = OrderItemCodec.parseDateTime(createdAt);
+            // 必須能還原成完全相同的字串才使用數值格式
+            if (createdAtTime != null && createdAt.equals(DateTimeConverter.toFormattedString(createdAtTime))) {
+                flags |= CREATED_AT_EPOCH;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(48);
+        out.write(VERSION);
+        out.write(flags);
+
+        if ((flags & HAS_PK) != 0) {
+            if ((flags & PK_UUID) != 0) {
+                writeUuid(out, pkUuid);
+            } else {
+                writeString(out, pk);
+            }
+        }
+
+        if ((flags & HAS_SK) != 0 && (flags & SK_DEFAULT) == 0) {
+            writeString(out, sk);
+        }
+
+        if ((flags & HAS_SERVICE_TYPE_ID) != 0) {
+            if ((flags & SERVICE_TYPE_ID_UUID) != 0) {
+                writeUuid(out, serviceTypeUuid);
+            } else {
+                writeString(out, serviceTypeId);
+            }
+        }
+
+        if ((flags & HAS_CREATED_AT) != 0) {
+            if ((flags & CREATED_AT_EPOCH) != 0) {
+                writeVarLong(out, zigZag(createdAtTime.toEpochSecond()));
+                writeVarLong(out, createdAtTime.getNano());
+            } else {
+                writeString(out, createdAt);
+            }
+        }
+
+        return ENCODER.encodeToString(out.toByteArray());
+    }
+
+    /**
+     * 將二進位 cursor 還原為 DynamoDB 分頁 key。
+     */
+    public static Map<String, AttributeValue> decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+
+        if (reader.readByte() != VERSION) {
+            throw new IllegalArgumentException("Unsupported cursor version");
+        }
+
+        int flags = reader.readByte() & 0xFF;
+        Map<String, AttributeValue> key = new HashMap<>(8);
+
+        if ((flags & HAS_PK) != 0) {
+            String pk = (flags & PK_UUID) != 0
+                    ? ORDER_ID_PREFIX + reader.readUuid()
+                    : reader.readString();
+            key.put(PK, AttributeValue.builder().s(pk).build());
+        }
+
+        if ((flags & HAS_SK) != 0) {
+            String sk = (flags & SK_DEFAULT) != 0 ? OrderItemCodec.SK_VALUE : reader.readString();
+            key.put(SK, AttributeValue.builder().s(sk).build());
+        }
+
+        if ((flags & HAS_SERVICE_TYPE_ID) != 0) {
+            String serviceTypeId = (flags & SERVICE_TYPE_ID_UUID) != 0
+                    ? reader.readUuid().toString()
+                    : reader.readString();
+            key.put(SERVICE_TYPE_ID, AttributeValue.builder().s(serviceTypeId).build());
+        }
+
+        if ((flags & HAS_CREATED_AT) != 0) {
+            String createdAt;
+            if ((flags & CREATED_AT_EPOCH) != 0) {
+                long epochSecond = unZigZag(reader.readVarLong());
+                long nanos = reader.readVarLong();
+                createdAt = DateTimeConverter.toFormattedString(
+                        ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanos), ZoneOffset.UTC));
+            } else {
+                createdAt = reader.readString();
+            }
+            key.put(CREATED_AT, AttributeValue.builder().s(createdAt).build());
+        }
+
+        if (reader.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected trailing bytes in cursor");
+        }
+
+        return key;
+    }
+
+    private static String stringValue(Map<String, AttributeValue> key, String name) {
+        AttributeValue value = key.get(name);
+        return value != null ? value.s() : null;
+    }
+
+    private static UUID parseUuid(String value) {
+        // 只接受標準小寫格式，確保還原後字串完全相同
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeUuid(ByteArrayOutputStream out, UUID uuid) {
+        writeLong(out, uuid.getMostSignificantBits());
+        writeLong(out, uuid.getLeastSignificantBits());
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private byte readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated cursor");
+            }
+            return bytes[position++];
+        }
+
+        private long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        private UUID readUuid() {
+            return new UUID(readLong(), readLong());
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in cursor");
+        }
+
+        private String readString() {
+            long length = readVarLong();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated cursor");
+            }
+            String value = new String(bytes, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+
+        private boolean hasRemaining() {
+            return position < bytes.length;
+        }
+    }
+}
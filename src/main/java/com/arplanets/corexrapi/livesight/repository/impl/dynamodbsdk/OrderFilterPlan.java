@@ -0,0 +1,332 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.model.dto.req.DateRangeRequest;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 篩選條件的查詢計畫。
+ * <p>
+ * 每個篩選類別只在第一次使用時反射一次，將欄位轉為 MethodHandle 並預先產生別名與條件片段；
+ * 之後每次查詢只需讀取欄位值並綁定參數。完整的條件字串與參數名稱依「哪些欄位有值」的組合快取。
+ */
+public final class OrderFilterPlan {
+
+    private static final String CREATED_AT = "created_at";
+    private static final String TAGS = "tags";
+    private static final int PRE_RENDERED_TAG_ALIASES = 16;
+    private static final int MAX_CACHED_TAGS = 64;
+    private static final int MAX_CACHED_SHAPES = 1024;
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<OrderFilterPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected OrderFilterPlan computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    public static final FilterExpression EMPTY = new FilterExpression("", Map.of(), Map.of());
+
+    private final FieldPlan[] fields;
+    private final boolean cacheable;
+    private final Map<Long, RenderedShape> shapes = new ConcurrentHashMap<>();
+
+    private OrderFilterPlan(FieldPlan[] fields) {
+        this.fields = fields;
+        long tagsFields = Arrays.stream(fields).filter(field -> field.kind == FieldKind.TAGS).count();
+        // 每個欄位佔 2 bits，tags 數量放在第 40 bit 之後
+        this.cacheable = fields.length <= 20 && tagsFields <= 1;
+    }
+
+    public static OrderFilterPlan of(Class<?> filterType) {
+        return PLANS.get(filterType);
+    }
+
+    /**
+     * 綁定篩選值，回傳條件字串、參數名稱與參數值。
+     */
+    public FilterExpression bind(Object filters) {
+        if (filters == null) {
+            return EMPTY;
+        }
+
+        Object[] values = new Object[fields.length];
+        long shape = 0;
+        int tagCount = 0;
+
+        // 讀取欄位值並計算組合
+        for (int i = 0; i < fields.length; i++) {
+            FieldPlan field = fields[i];
+            Object value = field.read(filters);
+            int code = field.shapeCode(value);
+
+            if (code != 0) {
+                values[i] = value;
+                shape |= (long) code << (i * 2);
+                if (field.kind == FieldKind.TAGS) {
+                    tagCount = ((List<?>) value).size();
+                }
+            }
+        }
+
+        if (shape == 0) {
+            return EMPTY;
+        }
+
+        RenderedShape rendered;
+        if (cacheable && tagCount <= MAX_CACHED_TAGS) {
+            long key = shape | ((long) tagCount << 40);
+            rendered = shapes.get(key);
+            if (rendered == null) {
+                rendered = render(shape, values);
+                if (shapes.size() < MAX_CACHED_SHAPES) {
+                    shapes.putIfAbsent(key, rendered);
+                }
+            }
+        } else {
+            rendered = render(shape, values);
+        }
+
+        // 只綁定參數值
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            int code = (int) (shape >>> (i * 2)) & 0b11;
+            if (code != 0) {
+                fields[i].bind(code, values[i], attributeValues);
+            }
+        }
+
+        return new FilterExpression(rendered.expression, rendered.names, attributeValues);
+    }
+
+    private RenderedShape render(long shape, Object[] values) {
+        StringBuilder expression = new StringBuilder();
+        Map<String, String> names = new HashMap<>();
+
+        for (int i = 0; i < fields.length; i++) {
+            int code = (int) (shape >>> (i * 2)) & 0b11;
+            if (code == 0) {
+                continue;
+            }
+
+            if (!expression.isEmpty()) {
+                expression.append(" AND ");
+            }
+
+            FieldPlan field = fields[i];
+            expression.append(field.fragment(code, values[i]));
+            names.put(field.nameAlias, field.fieldName);
+        }
+
+        return new RenderedShape(expression.toString(), Map.copyOf(names));
+    }
+
+    private static OrderFilterPlan compile(Class<?> filterType) {
+        List<FieldPlan> plans = new ArrayList<>();
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(filterType, MethodHandles.lookup());
+
+            for (Field field : filterType.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+
+                String fieldName = getJsonFieldName(field);
+
+                // created_at 已經是 GSI 的 sort key 條件
+                if (CREATED_AT.equals(fieldName)) {
+                    continue;
+                }
+
+                FieldKind kind;
+                if (DateRangeRequest.class.isAssignableFrom(field.getType())) {
+                    kind = FieldKind.DATE_RANGE;
+                } else if (TAGS.equals(fieldName) && List.class.isAssignableFrom(field.getType())) {
+                    kind = FieldKind.TAGS;
+                } else {
+                    kind = FieldKind.SINGLE;
+                }
+
+                MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                plans.add(new FieldPlan(fieldName, kind, getter, plans.size()));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("無法建立篩選條件計畫: " + filterType.getName(), e);
+        }
+
+        if (plans.size() > 32) {
+            throw new IllegalStateException("篩選欄位過多，無法建立篩選條件計畫: " + filterType.getName());
+        }
+
+        return new OrderFilterPlan(plans.toArray(new FieldPlan[0]));
+    }
+
+    private static String getJsonFieldName(Field field) {
+        if (field.isAnnotationPresent(JsonProperty.class)) {
+            String jsonName = field.getAnnotation(JsonProperty.class).value();
+            if (!jsonName.isEmpty()) {
+                return jsonName;
+            }
+        }
+        return field.getName();
+    }
+
+    public record FilterExpression(String expression, Map<String, String> names, Map<String, AttributeValue> values) {
+    }
+
+    private record RenderedShape(String expression, Map<String, String> names) {
+    }
+
+    private enum FieldKind {
+        DATE_RANGE, TAGS, SINGLE
+    }
+
+    private static final class FieldPlan {
+
+        // DATE_RANGE: 1 = 只有開始, 2 = 只有結束, 3 = 區間；其他類型: 1 = 有值
+        private static final int START_ONLY = 1;
+        private static final int END_ONLY = 2;
+        private static final int BETWEEN = 3;
+
+        private final String fieldName;
+        private final FieldKind kind;
+        private final MethodHandle getter;
+
+        private final String nameAlias;
+        private final String valueAlias;
+        private final String startAlias;
+        private final String endAlias;
+        private final String[] tagAliases;
+
+        private final String equalsFragment;
+        private final String startFragment;
+        private final String endFragment;
+        private final String betweenFragment;
+
+        private FieldPlan(String fieldName, FieldKind kind, MethodHandle getter, int index) {
+            this.fieldName = fieldName;
+            this.kind = kind;
+            this.getter = getter;
+
+            this.nameAlias = "#" + fieldName + index;
+            this.valueAlias = ":" + fieldName + "Val" + index;
+            this.startAlias = ":" + fieldName + "Start" + index;
+            this.endAlias = ":" + fieldName + "End" + index;
+
+            this.tagAliases = new String[kind == FieldKind.TAGS ? PRE_RENDERED_TAG_ALIASES : 0];
+            for (int i = 0; i < tagAliases.length; i++) {
+                tagAliases[i] = valueAlias + "_" + i;
+            }
+
+            this.equalsFragment = nameAlias + " = " + valueAlias;
+            this.startFragment = nameAlias + " >= " + startAlias;
+            this.endFragment = nameAlias + " <= " + endAlias;
+            this.betweenFragment = nameAlias + " BETWEEN " + startAlias + " AND " + endAlias;
+        }
+
+        private Object read(Object filters) {
+            try {
+                return (Object) getter.invokeExact(filters);
+            } catch (Throwable e) {
+                throw new IllegalStateException("無法讀取篩選欄位: " + fieldName, e);
+            }
+        }
+
+        private int shapeCode(Object value) {
+            if (value == null) {
+                return 0;
+            }
+
+            return switch (kind) {
+                case DATE_RANGE -> {
+                    DateRangeRequest range = (DateRangeRequest) value;
+                    int code = 0;
+                    if (range.getStartDate() != null) code |= START_ONLY;
+                    if (range.getEndDate() != null) code |= END_ONLY;
+                    yield code;
+                }
+                case TAGS -> {
+                    List<?> list = (List<?>) value;
+                    yield !list.isEmpty() && list.get(0) instanceof String ? 1 : 0;
+                }
+                case SINGLE -> {
+                    if (value instanceof String s) {
+                        yield s.isBlank() ? 0 : 1;
+                    }
+                    yield value instanceof OrderStatus || value instanceof Number || value instanceof Boolean ? 1 : 0;
+                }
+            };
+        }
+
+        private String fragment(int code, Object value) {
+            return switch (kind) {
+                case DATE_RANGE -> code == BETWEEN ? betweenFragment : code == START_ONLY ? startFragment : endFragment;
+                case SINGLE -> equalsFragment;
+                case TAGS -> {
+                    int size = ((List<?>) value).size();
+                    StringBuilder tags = new StringBuilder("(");
+                    for (int i = 0; i < size; i++) {
+                        if (i > 0) {
+                            tags.append(" AND ");
+                        }
+                        tags.append("contains(").append(nameAlias).append(", ").append(tagAlias(i)).append(")");
+                    }
+                    yield tags.append(")").toString();
+                }
+            };
+        }
+
+        private void bind(int code, Object value, Map<String, AttributeValue> attributeValues) {
+            switch (kind) {
+                case DATE_RANGE -> {
+                    DateRangeRequest range = (DateRangeRequest) value;
+                    if ((code & START_ONLY) != 0) {
+                        attributeValues.put(startAlias, dateTime(range.getStartDate()));
+                    }
+                    if ((code & END_ONLY) != 0) {
+                        attributeValues.put(endAlias, dateTime(range.getEndDate()));
+                    }
+                }
+                case TAGS -> {
+                    List<?> tags = (List<?>) value;
+                    for (int i = 0; i < tags.size(); i++) {
+                        attributeValues.put(tagAlias(i), AttributeValue.builder().s((String) tags.get(i)).build());
+                    }
+                }
+                case SINGLE -> attributeValues.put(valueAlias, single(value));
+            }
+        }
+
+        private String tagAlias(int i) {
+            return i < tagAliases.length ? tagAliases[i] : valueAlias + "_" + i;
+        }
+
+        private static AttributeValue dateTime(ZonedDateTime value) {
+            return AttributeValue.builder().s(DateTimeConverter.toFormattedString(value)).build();
+        }
+
+        private static AttributeValue single(Object value) {
+            if (value instanceof String s) {
+                return AttributeValue.builder().s(s).build();
+            } else if (value instanceof OrderStatus status) {
+                return AttributeValue.builder().s(status.name()).build();
+            } else if (value instanceof Number) {
+                return AttributeValue.builder().n(value.toString()).build();
+            }
+            return AttributeValue.builder().bool((Boolean) value).build();
+        }
+    }
+}
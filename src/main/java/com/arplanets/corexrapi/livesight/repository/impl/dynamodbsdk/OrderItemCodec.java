@@ -0,0 +1,391 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.model.dto.Expiry;
+import com.arplanets.corexrapi.livesight.model.eunms.ExpireMode;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.eunms.PeriodUnit;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 訂單 DynamoDB item 與 OrderPo 之間的轉換。
+ * <p>
+ * 欄位對照表在類別載入時建立一次，解碼時只走訪 item 的每個 entry 一次並直接呼叫 setter，
+ * 不再逐欄位 item.get(...) 也不建立 Optional；時間欄位以固定格式快速解析，格式不符時才退回 DateTimeConverter。
+ */
+public final class OrderItemCodec {
+
+    public static final String PK_ATTRIBUTE_NAME = "pk";
+    public static final String SK_ATTRIBUTE_NAME = "sk";
+    public static final String SK_VALUE = "info";
+
+    private static final AttributeValue SK_ATTRIBUTE_VALUE = AttributeValue.builder().s(SK_VALUE).build();
+
+    /**
+     * 訂單欄位對照表。encoder 為 null 的欄位不會在建立訂單時寫入。
+     */
+    public enum OrderAttribute {
+
+        ORDER_ID("order_id", (o, v) -> o.setOrderId(v.s()), o -> string(o.getOrderId())),
+        NAMESPACE("namespace", (o, v) -> o.setNamespace(v.s()), o -> string(o.getNamespace())),
+        PRODUCT_ID("product_id", (o, v) -> o.setProductId(v.s()), o -> string(o.getProductId())),
+        SERVICE_TYPE("service_type", (o, v) -> o.setServiceType(v.s()), o -> string(o.getServiceType())),
+        SERVICE_TYPE_ID("service_type_id", (o, v) -> o.setServiceTypeId(v.s()), o -> string(o.getServiceTypeId())),
+        PLAN_ID("plan_id", (o, v) -> o.setPlanId(v.s()), o -> o.getPlanId() != null ? string(o.getPlanId()) : null),
+        ORDER_STATUS("order_status", (o, v) -> o.setOrderStatus(toOrderStatus(v.s())), o -> string(o.getOrderStatus().name())),
+        AUTH_TYPE("auth_type", (o, v) -> o.setAuthType(v.s()), o -> string(o.getAuthType())),
+        AUTH_TYPE_ID("auth_type_id", (o, v) -> o.setAuthTypeId(v.s()), o -> string(o.getAuthTypeId())),
+        USER_BROWSER("user_browser", (o, v) -> o.setUserBrowser(v.s()), o -> string(o.getUserBrowser())),
+        USER_DEVICE_TYPE("user_device_type", (o, v) -> o.setUserDeviceType(v.s()), o -> string(o.getUserDeviceType())),
+        USER_OS("user_OS", (o, v) -> o.setUserOs(v.s()), o -> string(o.getUserOs())),
+        CREATED_AT("created_at", (o, v) -> o.setCreatedAt(parseDateTime(v.s())), o -> dateTime(o.getCreatedAt())),
+        VERIFICATION_CODE("verification_code", (o, v) -> o.setVerificationCode(v.s()), o -> string(o.getVerificationCode())),
+        ACTIVATED_AT("activated_at", (o, v) -> o.setActivatedAt(parseDateTime(v.s())), null),
+        ACTIVATED_BY("activated_by", (o, v) -> o.setActivatedBy(v.s()), null),
+        REDEEM_CODE("redeem_code", (o, v) -> o.setRedeemCode(v.s()), null),
+        TAGS("tags", (o, v) -> o.setTags(toStringList(v.l())), null),
+        EXPIRY_POLICY("expiry_policy", (o, v) -> o.setExpiryPolicy(toExpiryPolicy(v.m())), o -> encodeExpiryPolicy(o.getExpiryPolicy())),
+        REDEEMED_AT("redeemed_at", (o, v) -> o.setRedeemedAt(parseDateTime(v.s())), null),
+        ACCESS_TOKEN("access_token", (o, v) -> o.setAccessToken(v.s()), null),
+        VOIDED_AT("voided_at", (o, v) -> o.setVoidedAt(parseDateTime(v.s())), null),
+        VOIDED_BY("voided_by", (o, v) -> o.setVoidedBy(v.s()), null),
+        RETURNED_AT("returned_at", (o, v) -> o.setReturnedAt(parseDateTime(v.s())), null),
+        RETURNED_BY("returned_by", (o, v) -> o.setReturnedBy(v.s()), null),
+        EXPIRED_AT("expired_at", (o, v) -> o.setExpiredAt(parseDateTime(v.s())), o -> dateTime(o.getExpiredAt())),
+        UPDATED_AT("updated_at", (o, v) -> o.setUpdatedAt(parseDateTime(v.s())), o -> dateTime(o.getUpdatedAt())),
+        TTL("TTL", (o, v) -> o.setTtl(DateTimeConverter.fromEpochSecondToZonedDateTime(v.n())), o -> number(o.getTtl().toEpochSecond()));
+
+        private final String attributeName;
+        private final BiConsumer<OrderPo, AttributeValue> decoder;
+        private final Function<OrderPo, AttributeValue> encoder;
+
+        OrderAttribute(String attributeName, BiConsumer<OrderPo, AttributeValue> decoder, Function<OrderPo, AttributeValue> encoder) {
+            this.attributeName = attributeName;
+            this.decoder = decoder;
+            this.encoder = encoder;
+        }
+
+        public String attributeName() {
+            return attributeName;
+        }
+    }
+
+    private static final Map<String, OrderAttribute> ATTRIBUTES_BY_NAME;
+    private static final OrderAttribute[] ENCODED_ATTRIBUTES;
+    private static final Map<String, OrderStatus> STATUS_BY_NAME;
+    private static final Map<OrderProjection, Projection> PROJECTIONS;
+
+    static {
+        Map<String, OrderAttribute> byName = new HashMap<>();
+        List<OrderAttribute> encoded = new ArrayList<>();
+        for (OrderAttribute attribute : OrderAttribute.values()) {
+            byName.put(attribute.attributeName, attribute);
+            if (attribute.encoder != null) {
+                encoded.add(attribute);
+            }
+        }
+        ATTRIBUTES_BY_NAME = byName;
+        ENCODED_ATTRIBUTES = encoded.toArray(new OrderAttribute[0]);
+
+        Map<String, OrderStatus> statuses = new HashMap<>();
+        for (OrderStatus status : OrderStatus.values()) {
+            statuses.put(status.name(), status);
+        }
+        STATUS_BY_NAME = statuses;
+
+        // 預先產生各 projection 的 ProjectionExpression 與欄位清單
+        Map<OrderProjection, Projection> projections = new EnumMap<>(OrderProjection.class);
+        for (OrderProjection projection : OrderProjection.values()) {
+            projections.put(projection, compileProjection(projection));
+        }
+        PROJECTIONS = projections;
+    }
+
+    /**
+     * 已產生的 ProjectionExpression。所有欄位都以 #別名 表示，避免 namespace、TTL 等保留字。
+     */
+    public record Projection(String expression, Map<String, String> names, OrderAttribute[] attributes) {
+    }
+
+    private OrderItemCodec() {
+    }
+
+    /**
+     * 訂單的主鍵 (pk = order_id, sk = info)。
+     */
+    public static Map<String, AttributeValue> key(String orderId) {
+        return Map.of(PK_ATTRIBUTE_NAME, AttributeValue.builder().s(orderId).build(),
+                SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build());
+    }
+
+    /**
+     * 將 DynamoDB item 轉為 OrderPo，未知的欄位 (如 pk、sk) 會被忽略。
+     */
+    public static OrderPo decode(Map<String, AttributeValue> item) {
+        OrderPo order = new OrderPo();
+
+        for (Map.Entry<String, AttributeValue> entry : item.entrySet()) {
+            OrderAttribute attribute = ATTRIBUTES_BY_NAME.get(entry.getKey());
+            if (attribute != null && entry.getValue() != null) {
+                attribute.decoder.accept(order, entry.getValue());
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * 只解碼 projection 內的欄位；FULL 則解碼所有欄位。
+     */
+    public static OrderPo decode(Map<String, AttributeValue> item, OrderProjection projection) {
+        if (projection == null || projection.isFull()) {
+            return decode(item);
+        }
+
+        OrderPo order = new OrderPo();
+
+        for (OrderAttribute attribute : PROJECTIONS.get(projection).attributes()) {
+            AttributeValue value = item.get(attribute.attributeName);
+            if (value != null) {
+                attribute.decoder.accept(order, value);
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * 取得 projection 對應的 ProjectionExpression，FULL 回傳 null (讀取完整 item)。
+     */
+    public static Projection projection(OrderProjection projection) {
+        if (projection == null || projection.isFull()) {
+            return null;
+        }
+        return PROJECTIONS.get(projection);
+    }
+
+    private static Projection compileProjection(OrderProjection projection) {
+        if (projection.isFull()) {
+            return new Projection(null, Map.of(), OrderAttribute.values());
+        }
+
+        StringJoiner expression = new StringJoiner(", ");
+        Map<String, String> names = new HashMap<>();
+        List<OrderAttribute> attributes = new ArrayList<>();
+
+        for (String attributeName : projection.getAttributeNames()) {
+            OrderAttribute attribute = ATTRIBUTES_BY_NAME.get(attributeName);
+            if (attribute == null) {
+                throw new IllegalStateException("Unknown order attribute in projection " + projection + ": " + attributeName);
+            }
+
+            String alias = "#" + attributeName;
+            expression.add(alias);
+            names.put(alias, attributeName);
+            attributes.add(attribute);
+        }
+
+        return new Projection(expression.toString(), Map.copyOf(names), attributes.toArray(new OrderAttribute[0]));
+    }
+
+    /**
+     * 將 OrderPo 轉為建立訂單時寫入的 DynamoDB item。
+     */
+    public static Map<String, AttributeValue> encode(OrderPo order) {
+        Map<String, AttributeValue> item = new HashMap<>(ENCODED_ATTRIBUTES.length * 2);
+
+        // id
+        item.put(PK_ATTRIBUTE_NAME, string(order.getOrderId()));
+        item.put(SK_ATTRIBUTE_NAME, SK_ATTRIBUTE_VALUE);
+
+        for (OrderAttribute attribute : ENCODED_ATTRIBUTES) {
+            AttributeValue value = attribute.encoder.apply(order);
+            if (value != null) {
+                item.put(attribute.attributeName, value);
+            }
+        }
+
+        return item;
+    }
+
+    /**
+     * 解析 DateTimeConverter 寫入的 ISO_OFFSET_DATE_TIME 字串 (例如 2025-01-01T10:00:00.123+08:00)。
+     * 只處理固定位置的格式，其餘情況交給 DateTimeConverter。
+     */
+    public static ZonedDateTime parseDateTime(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        int length = text.length();
+        if (length < 20 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return DateTimeConverter.fromFormattedString(text);
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        int second = digits(text, 17, 19);
+
+        if ((year | month | day | hour | minute | second) < 0) {
+            return DateTimeConverter.fromFormattedString(text);
+        }
+
+        // 小數秒 (0 ~ 9 位)
+        int pos = 19;
+        int nano = 0;
+        if (text.charAt(pos) == '.') {
+            int fractionStart = ++pos;
+            while (pos < length && pos - fractionStart < 9 && isDigit(text.charAt(pos))) {
+                nano = nano * 10 + (text.charAt(pos) - '0');
+                pos++;
+            }
+            int fractionDigits = pos - fractionStart;
+            if (fractionDigits == 0) {
+                return DateTimeConverter.fromFormattedString(text);
+            }
+            for (int i = fractionDigits; i < 9; i++) {
+                nano *= 10;
+            }
+        }
+
+        ZoneOffset offset = parseOffset(text, pos);
+        if (offset == null) {
+            return DateTimeConverter.fromFormattedString(text);
+        }
+
+        try {
+            return ZonedDateTime.of(year, month, day, hour, minute, second, nano, offset);
+        } catch (RuntimeException e) {
+            return DateTimeConverter.fromFormattedString(text);
+        }
+    }
+
+    private static ZoneOffset parseOffset(String text, int pos) {
+        int remaining = text.length() - pos;
+
+        if (remaining == 1 && text.charAt(pos) == 'Z') {
+            return ZoneOffset.UTC;
+        }
+
+        if (remaining != 6 || text.charAt(pos + 3) != ':') {
+            return null;
+        }
+
+        char sign = text.charAt(pos);
+        if (sign != '+' && sign != '-') {
+            return null;
+        }
+
+        int hours = digits(text, pos + 1, pos + 3);
+        int minutes = digits(text, pos + 4, pos + 6);
+        if ((hours | minutes) < 0 || hours > 18 || minutes > 59) {
+            return null;
+        }
+
+        int totalSeconds = hours * 3600 + minutes * 60;
+        // ZoneOffset 會快取以 15 分鐘為單位的 offset，不會重複建立
+        return ZoneOffset.ofTotalSeconds(sign == '-' ? -totalSeconds : totalSeconds);
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static OrderStatus toOrderStatus(String value) {
+        if (value == null) {
+            return null;
+        }
+        OrderStatus status = STATUS_BY_NAME.get(value);
+        return status != null ? status : OrderStatus.toOrderStatus(value);
+    }
+
+    /**
+     * 將效期設定快照轉為 Map 欄位；未設定效期模式時寫入空的 Map，表示使用系統 Default 過期時間。
+     */
+    public static AttributeValue encodeExpiryPolicy(Expiry expiry) {
+        if (expiry == null) {
+            return null;
+        }
+
+        Map<String, AttributeValue> map = new HashMap<>(4);
+        if (expiry.getExpireMode() != null) {
+            map.put("expire_mode", string(expiry.getExpireMode().name()));
+        }
+        if (expiry.getDuration() != null) {
+            map.put("duration", number(expiry.getDuration()));
+        }
+        if (expiry.getPeriodUnit() != null) {
+            map.put("period_unit", string(expiry.getPeriodUnit().name()));
+        }
+        if (expiry.getFixedAt() != null) {
+            map.put("fixed_at", dateTime(expiry.getFixedAt()));
+        }
+
+        return AttributeValue.builder().m(map).build();
+    }
+
+    private static Expiry toExpiryPolicy(Map<String, AttributeValue> map) {
+        if (map == null) {
+            return null;
+        }
+
+        AttributeValue expireMode = map.get("expire_mode");
+        AttributeValue duration = map.get("duration");
+        AttributeValue periodUnit = map.get("period_unit");
+        AttributeValue fixedAt = map.get("fixed_at");
+
+        return Expiry.builder()
+                .expireMode(expireMode != null ? ExpireMode.valueOf(expireMode.s()) : null)
+                .duration(duration != null ? Long.parseLong(duration.n()) : null)
+                .periodUnit(periodUnit != null ? PeriodUnit.valueOf(periodUnit.s()) : null)
+                .fixedAt(fixedAt != null ? parseDateTime(fixedAt.s()) : null)
+                .build();
+    }
+
+    private static List<String> toStringList(List<AttributeValue> values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> result = new ArrayList<>(values.size());
+        for (AttributeValue value : values) {
+            result.add(value.s());
+        }
+        return result;
+    }
+
+    private static AttributeValue string(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    private static AttributeValue dateTime(ZonedDateTime value) {
+        return AttributeValue.builder().s(DateTimeConverter.toFormattedString(value)).build();
+    }
+
+    private static AttributeValue number(long value) {
+        return AttributeValue.builder().n(String.valueOf(value)).build();
+    }
+}
@@ -0,0 +1,312 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.exception.enums.OrderErrorCode;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 訂單狀態轉換表。
+ * <p>
+ * 每個轉換在載入時預先產生所有可能的 SET 子句 (依哪些欄位有值的組合) 與條件式，
+ * 更新時只需綁定參數值。成功時以 ALL_NEW 取回完整資料，
+ * 條件檢查失敗時依 ALL_OLD 回傳的舊資料判斷確切原因，不需再讀取一次。
+ */
+public enum OrderTransition {
+
+    // PENDING → ACTIVATED
+    ACTIVATE(OrderStatus.ACTIVATED, OrderStatus.PENDING, false,
+            true, true, false,
+            ReturnValue.ALL_NEW, OrderErrorCode._022, OrderErrorCode._017,
+            List.of(field("activated_at", o -> dateTime(o.getActivatedAt())),
+                    field("activated_by", o -> string(o.getActivatedBy())),
+                    field("redeem_code", o -> string(o.getRedeemCode())),
+                    field("tags", o -> tags(o.getTags())),
+                    field("expired_at", o -> dateTime(o.getExpiredAt())))),
+
+    // ACTIVATED → REDEEMED
+    REDEEM(OrderStatus.REDEEMED, OrderStatus.ACTIVATED, false,
+            false, true, true,
+            ReturnValue.ALL_NEW, OrderErrorCode._023, OrderErrorCode._018,
+            List.of(field("redeemed_at", o -> dateTime(o.getRedeemedAt())),
+                    field("access_token", o -> string(o.getAccessToken())),
+                    field("expired_at", o -> dateTime(o.getExpiredAt())))),
+
+    // 任何非 VOIDED 狀態 → VOIDED
+    VOID(OrderStatus.VOIDED, OrderStatus.VOIDED, true,
+            true, false, false,
+            ReturnValue.ALL_NEW, OrderErrorCode._025, OrderErrorCode._016,
+            List.of(field("voided_at", o -> dateTime(o.getVoidedAt())),
+                    field("voided_by", o -> string(o.getVoidedBy())))),
+
+    // REDEEMED → COMPLETED
+    RETURN(OrderStatus.COMPLETED, OrderStatus.REDEEMED, false,
+            true, false, false,
+            ReturnValue.ALL_NEW, OrderErrorCode._024, OrderErrorCode._019,
+            List.of(field("returned_at", o -> dateTime(o.getReturnedAt())),
+                    field("returned_by", o -> string(o.getReturnedBy()))));
+
+    private static final Map<OrderStatus, OrderTransition> BY_TARGET_STATUS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        for (OrderTransition transition : values()) {
+            BY_TARGET_STATUS.put(transition.targetStatus, transition);
+        }
+    }
+
+    private final OrderStatus targetStatus;
+    private final OrderStatus expectedStatus;
+    private final boolean excludeExpectedStatus;
+    private final boolean checkNamespace;
+    private final boolean checkExpiry;
+    private final boolean checkRedeemCode;
+    private final ReturnValue returnValue;
+    private final OrderErrorCode statusErrorCode;
+    private final OrderErrorCode fallbackErrorCode;
+    private final UpdateField[] fields;
+    private final String conditionExpression;
+    private final String[] updateExpressions;
+    private final AttributeValue targetStatusValue;
+    private final AttributeValue expectedStatusValue;
+
+    OrderTransition(OrderStatus targetStatus, OrderStatus expectedStatus, boolean excludeExpectedStatus,
+                    boolean checkNamespace, boolean checkExpiry, boolean checkRedeemCode,
+                    ReturnValue returnValue, OrderErrorCode statusErrorCode, OrderErrorCode fallbackErrorCode,
+                    List<UpdateField> fields) {
+        this.targetStatus = targetStatus;
+        this.expectedStatus = expectedStatus;
+        this.excludeExpectedStatus = excludeExpectedStatus;
+        this.checkNamespace = checkNamespace;
+        this.checkExpiry = checkExpiry;
+        this.checkRedeemCode = checkRedeemCode;
+        this.returnValue = returnValue;
+        this.statusErrorCode = statusErrorCode;
+        this.fallbackErrorCode = fallbackErrorCode;
+        this.fields = fields.toArray(new UpdateField[0]);
+        this.targetStatusValue = AttributeValue.builder().s(targetStatus.name()).build();
+        this.expectedStatusValue = AttributeValue.builder().s(expectedStatus.name()).build();
+        this.conditionExpression = renderCondition();
+
+        // 預先產生每一種欄位組合的 SET 子句
+        this.updateExpressions = new String[1 << this.fields.length];
+        for (int mask = 0; mask < updateExpressions.length; mask++) {
+            updateExpressions[mask] = renderUpdate(mask);
+        }
+    }
+
+    /**
+     * 依訂單的目標狀態取得對應的轉換，不支援的狀態回傳 null。
+     */
+    public static OrderTransition of(OrderStatus targetStatus) {
+        return targetStatus != null ? BY_TARGET_STATUS.get(targetStatus) : null;
+    }
+
+    public ReturnValue getReturnValue() {
+        return returnValue;
+    }
+
+    public String getConditionExpression() {
+        return conditionExpression;
+    }
+
+    public OrderErrorCode getFallbackErrorCode() {
+        return fallbackErrorCode;
+    }
+
+    /**
+     * 綁定參數值，回傳預先產生的 SET 子句與參數。
+     */
+    public BoundUpdate bind(OrderPo order) {
+        Map<String, AttributeValue> values = new HashMap<>(16);
+        int mask = 0;
+
+        // 只更新有值的欄位
+        for (int i = 0; i < fields.length; i++) {
+            AttributeValue value = fields[i].value.apply(order);
+            if (value != null) {
+                mask |= 1 << i;
+                values.put(fields[i].valueAlias, value);
+            }
+        }
+
+        values.put(":val_order_status", targetStatusValue);
+
+        AttributeValue updatedAt = dateTime(order.getUpdatedAt());
+        if (updatedAt != null) {
+            values.put(":val_updated_at", updatedAt);
+        }
+
+        // 條件參數
+        values.put(":expectedStatus", expectedStatusValue);
+        values.put(":expectedProductId", string(order.getProductId()));
+        if (checkNamespace) {
+            values.put(":expectedNamespace", string(order.getNamespace()));
+        }
+        if (checkExpiry) {
+            values.put(":now", updatedAt);
+        }
+        if (checkRedeemCode) {
+            values.put(":redeemCode", string(order.getRedeemCode()));
+        }
+
+        String updateExpression = updatedAt != null
+                ? updateExpressions[mask] + ", updated_at = :val_updated_at"
+                : updateExpressions[mask];
+
+        return new BoundUpdate(updateExpression, values);
+    }
+
+    /**
+     * 產生條件式更新請求，同步與非同步 repository 共用。
+     */
+    public UpdateItemRequest toRequest(String tableName, OrderPo order) {
+        // SET 子句與條件式皆已預先產生，這裡只綁定參數值
+        BoundUpdate boundUpdate = bind(order);
+
+        return UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(OrderItemCodec.key(order.getOrderId()))
+                .updateExpression(boundUpdate.updateExpression())
+                .conditionExpression(conditionExpression)
+                .expressionAttributeValues(boundUpdate.values())
+                .returnValues(returnValue)
+                // 條件檢查失敗時回傳舊資料，用來判斷確切原因
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+    }
+
+    /**
+     * 以更新後的資料產生結果，識別欄位缺少時由請求補上。
+     * <p>
+     * 作廢與退貨的回應及 IoT payload 需要 auth_type_id、created_at、expired_at、tags 等未更新的欄位，
+     * 所以所有轉換都使用 ALL_NEW；改用 UPDATED_NEW 的轉換只能用在不需要其他欄位的地方。
+     */
+    public OrderPo toResult(OrderPo requested, Map<String, AttributeValue> attributes) {
+        OrderPo result = OrderItemCodec.decode(attributes);
+
+        if (result.getOrderId() == null) {
+            result.setOrderId(requested.getOrderId());
+        }
+        if (result.getNamespace() == null) {
+            result.setNamespace(requested.getNamespace());
+        }
+        if (result.getProductId() == null) {
+            result.setProductId(requested.getProductId());
+        }
+
+        return result;
+    }
+
+    /**
+     * 依條件檢查失敗的例外判斷失敗原因。
+     */
+    public OrderErrorCode diagnose(OrderPo requested, ConditionalCheckFailedException e) {
+        return diagnose(requested, e.hasItem() ? OrderItemCodec.decode(e.item()) : null);
+    }
+
+    /**
+     * 依條件檢查失敗時回傳的舊資料判斷失敗原因。
+     *
+     * @param requested 要寫入的訂單
+     * @param current   ALL_OLD 回傳的舊資料，訂單不存在時為 null
+     */
+    public OrderErrorCode diagnose(OrderPo requested, OrderPo current) {
+        if (current == null || current.getOrderId() == null) {
+            return OrderErrorCode._004;
+        }
+
+        if (!Objects.equals(requested.getProductId(), current.getProductId())) {
+            return OrderErrorCode._006;
+        }
+
+        if (checkNamespace && !Objects.equals(requested.getNamespace(), current.getNamespace())) {
+            return OrderErrorCode._021;
+        }
+
+        boolean statusMatched = excludeExpectedStatus
+                ? current.getOrderStatus() != expectedStatus
+                : current.getOrderStatus() == expectedStatus;
+        if (!statusMatched) {
+            return statusErrorCode;
+        }
+
+        if (checkExpiry && (current.getExpiredAt() == null || !current.getExpiredAt().isAfter(requested.getUpdatedAt()))) {
+            return OrderErrorCode._015;
+        }
+
+        if (checkRedeemCode && !Objects.equals(requested.getRedeemCode(), current.getRedeemCode())) {
+            return OrderErrorCode._026;
+        }
+
+        // 判斷不出原因 (例如判斷前資料又被修改)，沿用原本的錯誤代碼
+        return fallbackErrorCode;
+    }
+
+    private String renderCondition() {
+        StringJoiner condition = new StringJoiner(" AND ");
+        condition.add(excludeExpectedStatus ? "order_status <> :expectedStatus" : "order_status = :expectedStatus");
+        condition.add("product_id = :expectedProductId");
+        if (checkNamespace) {
+            condition.add("namespace = :expectedNamespace");
+        }
+        if (checkExpiry) {
+            condition.add("expired_at > :now");
+        }
+        if (checkRedeemCode) {
+            condition.add("redeem_code = :redeemCode");
+        }
+        condition.add("attribute_exists(order_id)");
+        return condition.toString();
+    }
+
+    private String renderUpdate(int mask) {
+        StringJoiner update = new StringJoiner(", ", "SET ", "");
+        update.add("order_status = :val_order_status");
+        for (int i = 0; i < fields.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                update.add(fields[i].attributeName + " = " + fields[i].valueAlias);
+            }
+        }
+        return update.toString();
+    }
+
+    private static UpdateField field(String attributeName, Function<OrderPo, AttributeValue> value) {
+        return new UpdateField(attributeName, ":val_" + attributeName, value);
+    }
+
+    private static AttributeValue string(String value) {
+        return value != null ? AttributeValue.builder().s(value).build() : null;
+    }
+
+    private static AttributeValue dateTime(ZonedDateTime value) {
+        return value != null ? AttributeValue.builder().s(DateTimeConverter.toFormattedString(value)).build() : null;
+    }
+
+    private static AttributeValue tags(List<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+
+        List<AttributeValue> tagList = tags.stream()
+                .filter(Objects::nonNull)
+                .map(tag -> AttributeValue.builder().s(tag).build())
+                .toList();
+
+        return tagList.isEmpty() ? null : AttributeValue.builder().l(tagList).build();
+    }
+
+    public record BoundUpdate(String updateExpression, Map<String, AttributeValue> values) {
+    }
+
+    private record UpdateField(String attributeName, String valueAlias, Function<OrderPo, AttributeValue> value) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.model.dto.Expiry;
+import com.arplanets.corexrapi.livesight.model.eunms.ExpireMode;
+import com.arplanets.corexrapi.livesight.model.eunms.PeriodUnit;
+import com.arplanets.corexrapi.livesight.model.po.PlanPo;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 方案 item 的解碼與查詢條件，同步與非同步 repository 共用。
+ */
+public final class PlanItemCodec {
+
+    /**
+     * 以 live_sight_id 為 partition key、created_at 為 sort key 的 GSI (projection: ALL)。
+     */
+    public static final String LIVE_SIGHT_INDEX_NAME = "live_sight_id-created_at-index";
+
+    private static final String ACTIVE_BY_LIVE_SIGHT_KEY_CONDITION = "#live_sight_id = :val_live_sight_id";
+
+    private static final String ACTIVE_FILTER = "#is_active = :val_active AND attribute_not_exists(#deleted_at)";
+
+    private static final String ACTIVE_BY_LIVE_SIGHT_FILTER = ACTIVE_BY_LIVE_SIGHT_KEY_CONDITION + " AND " + ACTIVE_FILTER;
+
+    private static final String STANDARD_FILTER = ACTIVE_FILTER + " AND #is_standard = :val_standard";
+
+    private static final Map<String, String> ACTIVE_BY_LIVE_SIGHT_NAMES = Map.of(
+            "#live_sight_id", "live_sight_id",
+            "#is_active", "is_active",
+            "#deleted_at", "deleted_at");
+
+    private static final Map<String, String> STANDARD_BY_LIVE_SIGHT_NAMES = Map.of(
+            "#live_sight_id", "live_sight_id",
+            "#is_active", "is_active",
+            "#deleted_at", "deleted_at",
+            "#is_standard", "is_standard");
+
+    private static final String PK_ATTRIBUTE_NAME = "pk";
+    private static final String SK_ATTRIBUTE_NAME = "sk";
+    private static final String SK_VALUE = "info";
+
+    private PlanItemCodec() {
+    }
+
+    /**
+     * 以 GSI 查詢 Live Sight 底下啟用中的方案，新建立的在前。
+     */
+    public static QueryRequest.Builder activeByLiveSightIdQuery(String tableName, String liveSightId) {
+        return QueryRequest.builder()
+                .tableName(tableName)
+                .indexName(LIVE_SIGHT_INDEX_NAME)
+                .keyConditionExpression(ACTIVE_BY_LIVE_SIGHT_KEY_CONDITION)
+                .filterExpression(ACTIVE_FILTER)
+                .expressionAttributeNames(ACTIVE_BY_LIVE_SIGHT_NAMES)
+                .expressionAttributeValues(activeByLiveSightIdValues(liveSightId))
+                .scanIndexForward(false);
+    }
+
+    /**
+     * 以 scan 過濾出 Live Sight 底下啟用中的方案，僅供 GSI 建立完成前使用 (aws.plan.live-sight-index.enabled=false)。
+     */
+    public static ScanRequest.Builder activeByLiveSightIdScan(String tableName, String liveSightId) {
+        return ScanRequest.builder()
+                .tableName(tableName)
+                .filterExpression(ACTIVE_BY_LIVE_SIGHT_FILTER)
+                .expressionAttributeNames(ACTIVE_BY_LIVE_SIGHT_NAMES)
+                .expressionAttributeValues(activeByLiveSightIdValues(liveSightId));
+    }
+
+    /**
+     * 以 GSI 查詢 Live Sight 的一般方案。filter 在讀取後才套用，單頁可能沒有結果，須讀到有結果或沒有下一頁為止。
+     */
+    public static QueryRequest.Builder standardByLiveSightIdQuery(String tableName, String liveSightId) {
+        return QueryRequest.builder()
+                .tableName(tableName)
+                .indexName(LIVE_SIGHT_INDEX_NAME)
+                .keyConditionExpression(ACTIVE_BY_LIVE_SIGHT_KEY_CONDITION)
+                .filterExpression(STANDARD_FILTER)
+                .expressionAttributeNames(STANDARD_BY_LIVE_SIGHT_NAMES)
+                .expressionAttributeValues(standardByLiveSightIdValues(liveSightId))
+                .scanIndexForward(false);
+    }
+
+    /**
+     * 以 scan 過濾出 Live Sight 的一般方案，僅供 GSI 建立完成前使用。
+     */
+    public static ScanRequest.Builder standardByLiveSightIdScan(String tableName, String liveSightId) {
+        return ScanRequest.builder()
+                .tableName(tableName)
+                .filterExpression(ACTIVE_BY_LIVE_SIGHT_KEY_CONDITION + " AND " + STANDARD_FILTER)
+                .expressionAttributeNames(STANDARD_BY_LIVE_SIGHT_NAMES)
+                .expressionAttributeValues(standardByLiveSightIdValues(liveSightId));
+    }
+
+    /**
+     * 以主鍵讀取單一方案，是否啟用需再以 {@link #isActive(Map)} 判斷。
+     */
+    public static GetItemRequest getByIdRequest(String tableName, String planId) {
+        return GetItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(
+                        PK_ATTRIBUTE_NAME, AttributeValue.builder().s(planId).build(),
+                        SK_ATTRIBUTE_NAME, AttributeValue.builder().s(SK_VALUE).build()))
+                .build();
+    }
+
+    /**
+     * 與查詢列表的 filter 相同：is_active = 1 且沒有 deleted_at。
+     */
+    public static boolean isActive(Map<String, AttributeValue> item) {
+        AttributeValue active = item.get("is_active");
+        return active != null && "1".equals(active.n()) && !item.containsKey("deleted_at");
+    }
+
+    private static Map<String, AttributeValue> standardByLiveSightIdValues(String liveSightId) {
+        Map<String, AttributeValue> values = new HashMap<>(activeByLiveSightIdValues(liveSightId));
+        values.put(":val_standard", AttributeValue.builder().n("1").build());
+        return values;
+    }
+
+    private static Map<String, AttributeValue> activeByLiveSightIdValues(String liveSightId) {
+        return Map.of(
+                ":val_live_sight_id", AttributeValue.builder().s(liveSightId).build(),
+                ":val_active", AttributeValue.builder().n("1").build());
+    }
+
+    public static PlanPo decode(Map<String, AttributeValue> item) {
+        return PlanPo.builder()
+                .planId(Optional.ofNullable(item.get("plan_id")).map(AttributeValue::s).orElse(null))
+                .planName(Optional.ofNullable(item.get("plan_name")).map(AttributeValue::s).orElse(null))
+                .liveSightId(Optional.ofNullable(item.get("live_sight_id")).map(AttributeValue::s).orElse(null))
+                .expiry(decodeExpiry(item.get("expiry")))
+                .standard(Optional.ofNullable(item.get("is_standard"))
+                        .map(attr -> "1".equals(attr.n()))
+                        .orElse(false))
+                .createdBy(item.get("created_by") != null ? item.get("created_by").s() : null )
+                .createdAt(item.get("created_at") != null ? DateTimeConverter.fromFormattedString(item.get("created_at").s()) : null)
+                .updatedBy(item.get("updated_by") != null ? item.get("updated_by").s() : null )
+                .updatedAt(item.get("updated_at") != null ? DateTimeConverter.fromFormattedString(item.get("updated_at").s()) : null)
+                .build();
+    }
+
+    public static Expiry decodeExpiry(AttributeValue av) {
+        if (av == null || av.m() == null || av.m().isEmpty()) {
+            return null;
+        }
+
+        Map<String, AttributeValue> m = av.m();
+
+        return Expiry.builder()
+                .expireMode(m.containsKey("expire_mode") ? ExpireMode.valueOf(m.get("expire_mode").s()) : null)
+                .duration(m.containsKey("duration") ? Long.parseLong(m.get("duration").n()) : null)
+                .periodUnit(m.containsKey("period_unit") ? PeriodUnit.valueOf(m.get("period_unit").s()) : null )
+                .fixedAt(m.containsKey("fixed_at") ? DateTimeConverter.fromFormattedString(m.get("fixed_at").s()) : null)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * 方案 GSI (live_sight_id-created_at-index) 的資料遷移。
+ * <p>
+ * GSI 建立時 DynamoDB 會自動回填既有 item，但缺少 key 屬性的 item 不會進入索引，改用 GSI 查詢後便查不到。
+ * 啟用 aws.plan.live-sight-index.backfill 時，啟動後掃描整張表一次：
+ * 缺少 created_at 的方案以 updated_at (沒有則以目前時間) 補上；缺少 live_sight_id 的方案無法推得，只列出 pk。
+ * 確認沒有遺漏後即可關閉此設定。
+ */
+@Component
+@ConditionalOnProperty(name = "aws.plan.live-sight-index.backfill", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class PlanLiveSightIndexBackfill implements ApplicationRunner {
+
+    @Value("${aws.plan.table.name}")
+    private String tableName;
+
+    private static final String PK_ATTRIBUTE_NAME = "pk";
+    private static final String SK_ATTRIBUTE_NAME = "sk";
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Taipei");
+
+    private final DynamoDbClient dynamoDbClient;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int scanned = 0;
+        int backfilled = 0;
+        int missingLiveSight = 0;
+        Map<String, AttributeValue> exclusiveStartKey = null;
+
+        do {
+            ScanRequest.Builder requestBuilder = ScanRequest.builder()
+                    .tableName(tableName)
+                    .filterExpression("attribute_not_exists(#created_at) OR attribute_not_exists(#live_sight_id)")
+                    .projectionExpression("#pk, #sk, #live_sight_id, #created_at, #updated_at")
+                    .expressionAttributeNames(Map.of(
+                            "#pk", PK_ATTRIBUTE_NAME,
+                            "#sk", SK_ATTRIBUTE_NAME,
+                            "#live_sight_id", "live_sight_id",
+                            "#created_at", "created_at",
+                            "#updated_at", "updated_at"));
+            if (exclusiveStartKey != null) {
+                requestBuilder.exclusiveStartKey(exclusiveStartKey);
+            }
+
+            ScanResponse response = dynamoDbClient.scan(requestBuilder.build());
+            scanned += response.scannedCount();
+
+            for (Map<String, AttributeValue> item : response.items()) {
+                if (!item.containsKey("live_sight_id")) {
+                    missingLiveSight++;
+                    log.warn("Plan {} has no live_sight_id and cannot be indexed", item.get(PK_ATTRIBUTE_NAME).s());
+                    continue;
+                }
+
+                if (!item.containsKey("created_at") && backfillCreatedAt(item)) {
+                    backfilled++;
+                }
+            }
+
+            exclusiveStartKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+        } while (exclusiveStartKey != null && !exclusiveStartKey.isEmpty());
+
+        log.info("Plan live_sight_id index backfill finished: scanned={}, backfilled created_at={}, missing live_sight_id={}",
+                scanned, backfilled, missingLiveSight);
+    }
+
+    private boolean backfillCreatedAt(Map<String, AttributeValue> item) {
+        AttributeValue createdAt = item.containsKey("updated_at")
+                ? item.get("updated_at")
+                : AttributeValue.builder().s(DateTimeConverter.toFormattedString(ZonedDateTime.now(ZONE_ID))).build();
+
+        try {
+            dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                    .tableName(tableName)
+                    .key(Map.of(
+                            PK_ATTRIBUTE_NAME, item.get(PK_ATTRIBUTE_NAME),
+                            SK_ATTRIBUTE_NAME, item.get(SK_ATTRIBUTE_NAME)))
+                    .updateExpression("SET #created_at = :val_created_at")
+                    .conditionExpression("attribute_exists(#pk) AND attribute_not_exists(#created_at)")
+                    .expressionAttributeNames(Map.of("#pk", PK_ATTRIBUTE_NAME, "#created_at", "created_at"))
+                    .expressionAttributeValues(Map.of(":val_created_at", createdAt))
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            // 掃描後已被寫入或刪除
+            return false;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 將 created_at 區間切成多個時間片段，並行查詢 GSI 後依 created_at 由新到舊依序輸出。
+ * <p>
+ * 片段依時間由新到舊排列，呼叫端執行緒依序消化每個片段：
+ * 若片段尚未被背景執行緒開始，呼叫端直接自行查詢；否則從該片段的有界佇列取出已預取的頁面。
+ * 因此輸出順序與單一 scanIndexForward(false) 查詢相同，且每個片段最多只預取固定頁數。
+ */
+@Component
+@Slf4j
+public class TimeSlicedQueryExecutor {
+
+    private static final long OFFER_TIMEOUT_MS = 200;
+
+    @Value("${order.report.slice-count:8}")
+    private int sliceCount;
+
+    @Value("${order.report.concurrency:4}")
+    private int concurrency;
+
+    @Value("${order.report.prefetch-pages:2}")
+    private int prefetchPages;
+
+    @Value("${order.report.min-slice-seconds:3600}")
+    private long minSliceSeconds;
+
+    private final ExecutorService executor;
+
+    public TimeSlicedQueryExecutor(@Value("${order.report.executor-pool-size:16}") int poolSize) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(poolSize * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "order-report-slice-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ((ThreadPoolExecutor) this.executor).allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 依設定的片段數切割 [startDate, endDate]，回傳由新到舊排列的片段；
+     * 區間不完整或太短時只回傳一個片段。
+     */
+    public List<TimeSlice> split(ZonedDateTime startDate, ZonedDateTime endDate) {
+        if (startDate == null || endDate == null || !endDate.isAfter(startDate) || sliceCount <= 1) {
+            return List.of(new TimeSlice(startDate, endDate));
+        }
+
+        long totalSeconds = Duration.between(startDate, endDate).getSeconds();
+        int count = (int) Math.min(sliceCount, Math.max(1, totalSeconds / Math.max(1, minSliceSeconds)));
+
+        if (count <= 1) {
+            return List.of(new TimeSlice(startDate, endDate));
+        }
+
+        long step = totalSeconds / count;
+        List<TimeSlice> slices = new ArrayList<>(count);
+
+        // 切點取整到秒，片段之間以「下一片段起點 - 1ns」銜接，BETWEEN 為閉區間所以不會重疊也不會遺漏
+        ZonedDateTime sliceEnd = endDate;
+        for (int i = count - 1; i >= 0; i--) {
+            ZonedDateTime sliceStart = i == 0
+                    ? startDate
+                    : startDate.plusSeconds(step * i).truncatedTo(ChronoUnit.SECONDS);
+
+            slices.add(new TimeSlice(sliceStart, sliceEnd));
+            sliceEnd = sliceStart.minusNanos(1);
+        }
+
+        return slices;
+    }
+
+    /**
+     * 並行執行所有片段的查詢，並依片段順序將每一頁交給 pageConsumer。
+     *
+     * @param slices       由新到舊排列的片段
+     * @param sliceQuery   查詢單一片段，並逐頁交給傳入的 Consumer
+     * @param pageConsumer 接收結果頁面，呼叫順序與片段順序一致
+     */
+    public void execute(List<TimeSlice> slices,
+                        BiConsumer<TimeSlice, Consumer<List<OrderPo>>> sliceQuery,
+                        Consumer<List<OrderPo>> pageConsumer) {
+
+        if (slices.size() <= 1 || concurrency <= 1) {
+            slices.forEach(slice -> sliceQuery.accept(slice, pageConsumer));
+            return;
+        }
+
+        List<SliceTask> tasks = slices.stream()
+                .map(slice -> new SliceTask(slice, sliceQuery, Math.max(1, prefetchPages)))
+                .toList();
+
+        try {
+            // 呼叫端處理第一個片段，同時預先送出其後 concurrency - 1 個片段
+            for (int i = 1; i < Math.min(concurrency, tasks.size()); i++) {
+                submit(tasks.get(i));
+            }
+
+            for (int i = 0; i < tasks.size(); i++) {
+                SliceTask task = tasks.get(i);
+
+                if (task.claim()) {
+                    // 尚未開始，直接在呼叫端執行並輸出
+                    sliceQuery.accept(task.slice, pageConsumer);
+                } else {
+                    task.drainTo(pageConsumer);
+                }
+
+                // 維持同時最多 concurrency 個片段在執行
+                int next = i + concurrency;
+                if (next < tasks.size()) {
+                    submit(tasks.get(next));
+                }
+            }
+        } finally {
+            tasks.forEach(SliceTask::cancel);
+        }
+    }
+
+    private void submit(SliceTask task) {
+        try {
+            executor.execute(task::runInBackground);
+        } catch (RejectedExecutionException e) {
+            // 執行緒池已滿，留給呼叫端輪到時自行查詢
+            log.warn("Order report slice executor is saturated, slice will run on caller thread: {}", task.slice);
+        }
+    }
+
+    public record TimeSlice(ZonedDateTime startDate, ZonedDateTime endDate) {
+    }
+
+    private record SlicePage(List<OrderPo> orders, Throwable error, boolean last) {
+    }
+
+    private static class SliceTask {
+
+        private final TimeSlice slice;
+        private final BiConsumer<TimeSlice, Consumer<List<OrderPo>>> sliceQuery;
+        private final BlockingQueue<SlicePage> queue;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private volatile boolean cancelled = false;
+
+        private SliceTask(TimeSlice slice, BiConsumer<TimeSlice, Consumer<List<OrderPo>>> sliceQuery, int capacity) {
+            this.slice = slice;
+            this.sliceQuery = sliceQuery;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void runInBackground() {
+            if (!claim()) {
+                return;
+            }
+
+            try {
+                sliceQuery.accept(slice, orders -> put(new SlicePage(orders, null, false)));
+                put(new SlicePage(List.of(), null, true));
+            } catch (CancellationException e) {
+                // 呼叫端已放棄此報表
+            } catch (Throwable e) {
+                put(new SlicePage(List.of(), e, true));
+            }
+        }
+
+        private void put(SlicePage page) {
+            try {
+                while (!queue.offer(page, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    if (cancelled) {
+                        throw new CancellationException("Order report slice cancelled");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Order report slice interrupted");
+            }
+        }
+
+        private void drainTo(Consumer<List<OrderPo>> pageConsumer) {
+            try {
+                while (true) {
+                    SlicePage page = queue.take();
+
+                    if (page.error() != null) {
+                        if (page.error() instanceof RuntimeException runtimeException) {
+                            throw runtimeException;
+                        }
+                        throw new IllegalStateException("查詢訂單列表失敗。", page.error());
+                    }
+
+                    if (!page.orders().isEmpty()) {
+                        pageConsumer.accept(page.orders());
+                    }
+
+                    if (page.last()) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Order report interrupted");
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            claimed.set(true);
+            queue.clear();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.arplanets.corexrapi.livesight.exception.PermissionDeniedException;
 import com.arplanets.corexrapi.livesight.exception.enums.PermissionDeniedErrorCode;
 import com.arplanets.corexrapi.livesight.model.dto.LiveSightDto;
 import com.arplanets.corexrapi.livesight.model.dto.PlanDto;
+import com.arplanets.corexrapi.livesight.security.permission.LiveSightAccessValidator;
 import com.arplanets.corexrapi.livesight.service.LiveSightService;
 import com.arplanets.corexrapi.livesight.service.OrgService;
 import com.arplanets.corexrapi.livesight.service.PlanService;
@@ -16,7 +17,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import java.util.Map;
+import java.util.Optional;
 
 
 @Component("permissionChecker")
@@ -28,6 +29,7 @@ public class PermissionChecker {
     private final OrgService orgService;
     private final LiveSightService liveSightService;
     private final PlanService planService;
+    private final LiveSightAccessValidator liveSightAccessValidator;
     public static final String LIVE_SIGHT_NAME = "livesight";
 
     public boolean checkLiveSightCreatePermission(String orgId, Authentication authentication) {
@@ -44,49 +46,24 @@ public class PermissionChecker {
     }
 
     public boolean checkLiveSightUpdatePermission(String orgId, String liveSightId, Authentication authentication) {
-        // 驗證組織
-        validateOrg(orgId);
-
-        // 取得 UUID
-        String uuid = extractUuid(authentication);
-
-        // 驗證使用者是否在該組織
-        validateMemberInOrg(orgId, uuid);
-
-        // 驗證 Live Sight
-        LiveSightDto liveSight = validateLiveSight(liveSightId);
-
-        // 驗證 Live Sight  是否在該組織
-        validateLiveSightInOrg(orgId, liveSight);
+        // 驗證組織、使用者是否在該組織、Live Sight 是否在該組織
+        liveSightAccessValidator.validate(orgId, findUuid(authentication), liveSightId);
 
         return true;
     }
 
     public boolean checkOrderPermission(String orgId, Authentication authentication, String namespace) {
-        // 驗證組織
-        validateOrg(orgId);
-
-        // 取得 UUID
-        String uuid = extractUuid(authentication);
-
-        // 驗證使用者是否在該組織
-        validateMemberInOrg(orgId, uuid);
-
-        log.info("namespace={}", namespace);
-        String liveSightId = extractUuid(namespace);
+        String liveSightId = extractLiveSightId(namespace);
+        log.debug("namespace={}, liveSightId={}", namespace, liveSightId);
 
-        log.info("liveSightId={}", liveSightId);
-        // 驗證 Live Sight
-        LiveSightDto liveSight = validateLiveSight(liveSightId);
-
-        // 驗證 Live Sight  是否在該組織
-        validateLiveSightInOrg(orgId, liveSight);
+        // 驗證組織、使用者是否在該組織、Live Sight 是否在該組織
+        liveSightAccessValidator.validate(orgId, findUuid(authentication), liveSightId);
 
         return true;
     }
 
     public boolean checkOrderCreatePermission(String namespace, String planId) {
-        String liveSightId = extractUuid(namespace);
+        String liveSightId = extractLiveSightId(namespace);
 
         // 驗證 Live Sight
         LiveSightDto liveSight = validateLiveSight(liveSightId);
@@ -101,11 +78,7 @@ public class PermissionChecker {
     }
 
     private String extractUuid(Authentication authentication) {
-        String uuid = null;
-
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-            uuid = jwt.getClaimAsString("username");
-        }
+        String uuid = findUuid(authentication);
 
         if (!StringUtils.hasText(uuid)) {
             throw new PermissionDeniedException(PermissionDeniedErrorCode._002);
@@ -114,6 +87,14 @@ public class PermissionChecker {
         return uuid;
     }
 
+    private String findUuid(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            return jwt.getClaimAsString("username");
+        }
+
+        return null;
+    }
+
     private void validateOrg(String orgId) {
         try {
             orgService.findByOrgId(orgId);
@@ -144,29 +125,27 @@ public class PermissionChecker {
         }
     }
 
-    private void validateLiveSightInOrg(String accessOrgId, LiveSightDto liveSight) {
-        if (!accessOrgId.equals(liveSight.getOrgId())) {
-            throw new PermissionDeniedException(PermissionDeniedErrorCode._005);
-        }
-    }
-
-    private String extractUuid(String namespace) {
+    /**
+     * 取出 namespace 中 livesight 下一段的 ID，例如 corexr.livesight.{liveSightId}。
+     */
+    private String extractLiveSightId(String namespace) {
         if (namespace == null || namespace.isEmpty()) {
             return null;
         }
 
-        String[] parts = namespace.split("\\.");
+        int start = 0;
+        while (start < namespace.length()) {
+            int end = namespace.indexOf('.', start);
+            if (end < 0) {
+                return null;
+            }
 
-        int livesightIndex = -1;
-        for (int i = 0; i < parts.length; i++) {
-            if (LIVE_SIGHT_NAME.equals(parts[i])) {
-                livesightIndex = i;
-                break;
+            if (end - start == LIVE_SIGHT_NAME.length() && namespace.startsWith(LIVE_SIGHT_NAME, start)) {
+                int next = namespace.indexOf('.', end + 1);
+                return namespace.substring(end + 1, next < 0 ? namespace.length() : next);
             }
-        }
 
-        if (livesightIndex != -1 && livesightIndex + 1 < parts.length) {
-            return parts[livesightIndex + 1];
+            start = end + 1;
         }
 
         return null;
@@ -177,9 +156,13 @@ public class PermissionChecker {
             return;
         }
 
-        Map<String, PlanDto> plans = planService.findByLiveSightId(liveSightId);
-        if (!plans.containsKey(planId) || "standard".equals(planId)) {
+        if ("standard".equals(planId)) {
             throw new PermissionDeniedException(PermissionDeniedErrorCode._011);
-        };
+        }
+
+        Optional<PlanDto> plan = planService.findById(planId);
+        if (plan.isEmpty() || !liveSightId.equals(plan.get().getLiveSightId())) {
+            throw new PermissionDeniedException(PermissionDeniedErrorCode._011);
+        }
     }
 }
@@ -0,0 +1,123 @@
+package com.arplanets.corexrapi.livesight.security.jwt;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 單一 issuer 的 JWK Set，保存在記憶體中，只由背景執行緒下載更新。
+ * <p>
+ * 驗證 token 時只讀取目前的 JWK Set，不會等待下載。找不到對應的 key (例如 key rotation 後的新 kid) 時，
+ * 排程一次背景更新，兩次更新之間至少間隔 minRefreshInterval；下載失敗或內容為空時保留上一次成功的結果。
+ */
+@Slf4j
+class JwkSetSource implements JWKSource<SecurityContext> {
+
+    private final String issuer;
+    private final URI jwkSetUri;
+    private final HttpClient httpClient;
+    private final Duration fetchTimeout;
+    private final long minRefreshIntervalNanos;
+    private final Executor refreshExecutor;
+
+    private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>(new JWKSet());
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private volatile long lastRefreshAt;
+
+    JwkSetSource(String issuer, String jwkSetUri, HttpClient httpClient, Duration fetchTimeout,
+                 Duration minRefreshInterval, Executor refreshExecutor) {
+        this.issuer = issuer;
+        this.jwkSetUri = URI.create(jwkSetUri);
+        this.httpClient = httpClient;
+        this.fetchTimeout = fetchTimeout;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.lastRefreshAt = System.nanoTime() - minRefreshIntervalNanos;
+    }
+
+    String getJwkSetUri() {
+        return jwkSetUri.toString();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> keys = jwkSelector.select(jwkSet.get());
+        if (keys.isEmpty()) {
+            requestRefresh();
+        }
+        return keys;
+    }
+
+    /**
+     * 在背景更新，不等待結果。距離上次更新未滿最短間隔或已有排程中的更新時忽略。
+     */
+    void requestRefresh() {
+        if (System.nanoTime() - lastRefreshAt < minRefreshIntervalNanos || !refreshPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshPending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshPending.set(false);
+        }
+    }
+
+    /**
+     * 下載 JWK Set，成功時取代目前的內容。
+     *
+     * @return 是否更新成功
+     */
+    boolean refresh() {
+        lastRefreshAt = System.nanoTime();
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(jwkSetUri)
+                    .timeout(fetchTimeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Unexpected status " + response.statusCode());
+            }
+
+            JWKSet fetched = JWKSet.parse(response.body());
+            if (fetched.getKeys().isEmpty()) {
+                throw new IOException("JWK Set has no keys");
+            }
+
+            jwkSet.set(fetched);
+            log.debug("JWK Set of issuer {} refreshed, keys={}", issuer, fetched.getKeys().size());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("Failed to refresh JWK Set of issuer {} from {}, keeping {} cached keys",
+                    issuer, jwkSetUri, jwkSet.get().getKeys().size(), e);
+            return false;
+        }
+    }
+}
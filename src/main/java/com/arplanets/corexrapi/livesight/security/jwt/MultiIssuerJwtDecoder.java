@@ -1,27 +1,161 @@
 package com.arplanets.corexrapi.livesight.security.jwt;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.oauth2.jwt.*;
 
+import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
-@RequiredArgsConstructor
+/**
+ * 依 token 的 issuer 選擇對應的 JwtDecoder。
+ * <p>
+ * 管理端會以同一個 token 連續呼叫多次，驗證成功的 Jwt 以 token 的 SHA-256 為 key 快取到 exp 為止，
+ * 同一節點上每個 token 只需驗證一次簽章。命中快取時仍以與完整驗證相同的規則檢查 exp，
+ * token 過期後不會因快取而繼續有效。沒有 exp 的 token 與驗證失敗的結果不快取。
+ * <p>
+ * 所有信任的 issuer 的 JWK Set 在啟動時 (web server 接受連線前) 下載，之後每 refreshInterval 在背景更新，
+ * 遇到未知的 kid 時也會在背景更新；請求執行緒不會等待 JWK Set 下載，詳見 {@link JwkSetSource}。
+ */
 @Slf4j
-public class MultiIssuerJwtDecoder implements JwtDecoder {
+public class MultiIssuerJwtDecoder implements JwtDecoder, SmartLifecycle {
 
-    private final ConcurrentMap<String, JwtDecoder> decoders = new ConcurrentHashMap<>();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 內嵌 web server 的 phase 接近 Integer.MAX_VALUE，需在其之前完成
+    private static final int PHASE = 0;
+
+    private final Map<String, JwtDecoder> decoders = new HashMap<>();
+
+    private final Map<String, JwkSetSource> jwkSetSources = new HashMap<>();
 
     private final List<String> trustedIssuers;
 
+    private final Cache<String, Jwt> verifiedTokens;
+
+    private final JwtTimestampValidator timestampValidator;
+
+    private final ScheduledExecutorService refreshScheduler;
+
+    private final Duration refreshInterval;
+
+    private final Duration fetchTimeout;
+
+    private volatile boolean running;
+
+    public MultiIssuerJwtDecoder(List<String> trustedIssuers, long verifiedTokenCacheSize,
+                                 Duration refreshInterval, Duration minRefreshInterval, Duration fetchTimeout) {
+        this(trustedIssuers, verifiedTokenCacheSize, refreshInterval, minRefreshInterval, fetchTimeout, Clock.systemUTC());
+    }
+
+    MultiIssuerJwtDecoder(List<String> trustedIssuers, long verifiedTokenCacheSize, Duration refreshInterval,
+                          Duration minRefreshInterval, Duration fetchTimeout, Clock clock) {
+        this.trustedIssuers = trustedIssuers;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new TokenExpiry(clock))
+                .build();
+        // 與 NimbusJwtDecoder 預設的 JwtTimestampValidator 相同 (允許 60 秒時間誤差)
+        this.timestampValidator = new JwtTimestampValidator();
+        this.timestampValidator.setClock(clock);
+        this.refreshInterval = refreshInterval;
+        this.fetchTimeout = fetchTimeout;
+
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(2, runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.refreshScheduler = scheduler;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(fetchTimeout)
+                .build();
+        for (String issuer : trustedIssuers) {
+            JwkSetSource source = new JwkSetSource(issuer, jwkSetUri(issuer), httpClient, fetchTimeout,
+                    minRefreshInterval, refreshScheduler);
+            jwkSetSources.put(issuer, source);
+            decoders.put(issuer, createDecoder(source));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+
+        // 啟動時同時下載所有 issuer 的 JWK Set，失敗的 issuer 由排程重試
+        CompletableFuture<?>[] fetches = jwkSetSources.values().stream()
+                .map(source -> CompletableFuture.runAsync(source::refresh, refreshScheduler))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(fetches).get(fetchTimeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Initial JWK Set fetch did not finish, continuing with background refresh", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long intervalMillis = refreshInterval.toMillis();
+        jwkSetSources.values().forEach(source -> refreshScheduler.scheduleWithFixedDelay(
+                source::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        refreshScheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
     @Override
     public Jwt decode(String token) throws JwtException {
+        String digest = digest(token);
+
+        Jwt verified = verifiedTokens.getIfPresent(digest);
+        if (verified != null) {
+            // 快取依 exp 過期只是盡力而為，仍需確認 token 在此刻有效
+            OAuth2TokenValidatorResult result = timestampValidator.validate(verified);
+            if (!result.hasErrors()) {
+                return verified;
+            }
+
+            verifiedTokens.invalidate(digest);
+            throw new JwtValidationException("Jwt expired at " + verified.getExpiresAt(), result.getErrors());
+        }
+
         // 快速解析 JWT 以獲取 issuer，不進行完整的簽名驗證
         String issuer = getIssuerFromToken(token);
 
@@ -29,41 +163,71 @@ public class MultiIssuerJwtDecoder implements JwtDecoder {
             throw new JwtException("Untrusted issuer: " + issuer);
         }
 
-        JwtDecoder decoder = decoders.computeIfAbsent(issuer, this::createDecoderForIssuer);
+        JwtDecoder decoder = decoders.get(issuer);
 
-        return decoder.decode(token);
+        Jwt jwt = decoder.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            verifiedTokens.put(digest, jwt);
+        }
 
+        return jwt;
     }
 
-    private String getIssuerFromToken(String token) {
+    private String digest(String token) {
         try {
-            // (1) 拆分 JWT 的三個部分
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                throw new JwtException("Invalid JWT format: token must have 3 parts.");
-            }
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 
-            // (2) Base64 解碼 payload 部分 (第二部分)
-            String payload = parts[1];
-            byte[] decodedBytes = Base64.getUrlDecoder().decode(payload);
-            String decodedPayload = new String(decodedBytes, StandardCharsets.UTF_8);
+    private String getIssuerFromToken(String token) {
+        // (1) 取出 JWT 的 payload 部分 (第二部分)
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0 || token.indexOf('.', second + 1) >= 0) {
+            throw new JwtException("Invalid JWT format: token must have 3 parts.");
+        }
 
-            // (3) 使用 Jackson 函式庫解析 JSON
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode jsonNode = objectMapper.readTree(decodedPayload);
+        try {
+            // (2) Base64 解碼 payload
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(first + 1, second));
 
-            // (4) 取得 'iss' 聲明
-            String issuer = jsonNode.path("iss").asText();
-            if (issuer.isEmpty()) {
+            // (3) 以串流方式只讀取最上層的 'iss' 聲明，不建立整個 JSON tree
+            String issuer = readIssuer(payload);
+            if (issuer == null || issuer.isEmpty()) {
                 throw new JwtException("JWT has no issuer (iss) claim.");
             }
 
             return issuer;
+        } catch (JwtException e) {
+            throw e;
         } catch (Exception e) {
             throw new JwtException("Failed to get issuer from token.", e);
         }
     }
 
+    private String readIssuer(byte[] payload) throws Exception {
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("iss".equals(name)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+
+                parser.skipChildren();
+            }
+
+            return null;
+        }
+    }
 
     private boolean isTrustedIssuer(String issuer) {
         if (issuer == null) {
@@ -77,20 +241,42 @@ public class MultiIssuerJwtDecoder implements JwtDecoder {
         return false;
     }
 
-    private JwtDecoder createDecoderForIssuer(String issuer) {
-        try {
-            String jwkSetUri;
+    private String jwkSetUri(String issuer) {
+        // 根據 issuer 判斷 JWK Set 的 URL 格式
+        if (issuer.equals("https://test-auth.platform.arplanets.com:9000/pool1")) {
+            return issuer + "/oauth2/jwks";
+        }
 
-            // 根據 issuer 判斷 JWK Set 的 URL 格式
-            if (issuer.equals("https://test-auth.platform.arplanets.com:9000/pool1")) {
-                jwkSetUri = issuer + "/oauth2/jwks";
-            } else {
-                jwkSetUri = issuer + "/.well-known/jwks.json";
-            }
+        return issuer + "/.well-known/jwks.json";
+    }
 
-            return NimbusJwtDecoder.withJwkSetUri(jwkSetUri).build();
-        } catch (Exception e) {
-            throw new JwtException("Failed to create JwtDecoder for issuer: " + issuer, e);
+    private JwtDecoder createDecoder(JwkSetSource source) {
+        // 其餘設定與 withJwkSetUri 相同，只把 key 來源換成記憶體中的 JWK Set，不會在驗證時下載
+        return NimbusJwtDecoder.withJwkSetUri(source.getJwkSetUri())
+                .jwtProcessorCustomizer(processor -> processor.setJWSKeySelector(
+                        new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, source)))
+                .build();
+    }
+
+    /**
+     * 快取到 token 的 exp 為止。
+     */
+    private record TokenExpiry(Clock clock) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            long nanos = Duration.between(clock.instant(), jwt.getExpiresAt()).toNanos();
+            return Math.max(nanos, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
@@ -0,0 +1,92 @@
+package com.arplanets.corexrapi.livesight.security.permission;
+
+import com.arplanets.corexrapi.livesight.cache.AccessDecisionCache;
+import com.arplanets.corexrapi.livesight.cache.AccessDecisionCache.Decision;
+import com.arplanets.corexrapi.livesight.exception.OrderApiException;
+import com.arplanets.corexrapi.livesight.exception.PermissionDeniedException;
+import com.arplanets.corexrapi.livesight.exception.enums.PermissionDeniedErrorCode;
+import com.arplanets.corexrapi.livesight.model.dto.LiveSightDto;
+import com.arplanets.corexrapi.livesight.service.LiveSightService;
+import com.arplanets.corexrapi.livesight.service.OrgService;
+import com.arplanets.corexrapi.livesight.service.ServiceOrgMemberService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 驗證使用者可操作組織下的 Live Sight，依序檢查組織、成員、Live Sight 以及 Live Sight 是否屬於該組織。
+ * 結果由 {@link AccessDecisionCache} 快取，PermissionChecker 與 PlanPermission 共用。
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveSightAccessValidator {
+
+    private final OrgService orgService;
+    private final ServiceOrgMemberService serviceOrgMemberService;
+    private final LiveSightService liveSightService;
+    private final AccessDecisionCache accessDecisionCache;
+
+    /**
+     * @param uuid 使用者 uuid，無法辨識時為 null
+     */
+    public void validate(String orgId, String uuid, String liveSightId) {
+        if (!StringUtils.hasText(uuid)) {
+            // 與原本的檢查順序相同，組織驗證失敗優先
+            validateOrg(orgId);
+            throw new PermissionDeniedException(PermissionDeniedErrorCode._002);
+        }
+
+        if (!StringUtils.hasText(liveSightId)) {
+            validateOrg(orgId);
+            validateMemberInOrg(orgId, uuid);
+            throw new PermissionDeniedException(PermissionDeniedErrorCode._004);
+        }
+
+        Decision decision = accessDecisionCache.get(orgId, uuid, liveSightId, () -> evaluate(orgId, uuid, liveSightId));
+        if (!decision.isAllowed()) {
+            throw new PermissionDeniedException(decision.deniedCode());
+        }
+    }
+
+    private Decision evaluate(String orgId, String uuid, String liveSightId) {
+        try {
+            validateOrg(orgId);
+            validateMemberInOrg(orgId, uuid);
+            LiveSightDto liveSight = validateLiveSight(liveSightId);
+            validateLiveSightInOrg(orgId, liveSight);
+            return Decision.ALLOWED;
+        } catch (PermissionDeniedException e) {
+            return new Decision((PermissionDeniedErrorCode) e.getCode());
+        }
+    }
+
+    private void validateOrg(String orgId) {
+        try {
+            orgService.findByOrgId(orgId);
+        } catch (OrderApiException e) {
+            throw new PermissionDeniedException(PermissionDeniedErrorCode._001);
+        }
+    }
+
+    private void validateMemberInOrg(String orgId, String uuid) {
+        try {
+            serviceOrgMemberService.findByOrgIdAndUuid(orgId, uuid);
+        } catch (OrderApiException e) {
+            throw new PermissionDeniedException(PermissionDeniedErrorCode._003);
+        }
+    }
+
+    private LiveSightDto validateLiveSight(String liveSightId) {
+        try {
+            return liveSightService.getLiveSight(liveSightId);
+        } catch (OrderApiException e) {
+            throw new PermissionDeniedException(PermissionDeniedErrorCode._008);
+        }
+    }
+
+    private void validateLiveSightInOrg(String accessOrgId, LiveSightDto liveSight) {
+        if (!accessOrgId.equals(liveSight.getOrgId())) {
+            throw new PermissionDeniedException(PermissionDeniedErrorCode._005);
+        }
+    }
+}
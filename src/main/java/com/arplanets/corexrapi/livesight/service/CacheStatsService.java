@@ -0,0 +1,10 @@
+package com.arplanets.corexrapi.livesight.service;
+
+import com.arplanets.corexrapi.livesight.model.dto.res.CacheStatsResponse;
+
+import java.util.List;
+
+public interface CacheStatsService {
+
+    List<CacheStatsResponse> listCacheStats();
+}
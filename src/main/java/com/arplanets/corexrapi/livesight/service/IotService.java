@@ -2,6 +2,7 @@ package com.arplanets.corexrapi.livesight.service;
 
 import com.arplanets.corexrapi.livesight.log.LogMessage;
 import com.arplanets.corexrapi.livesight.log.LoggingService;
+import com.arplanets.corexrapi.livesight.model.bo.OrderIotMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +12,8 @@ import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.iotdataplane.IotDataPlaneClient;
 import software.amazon.awssdk.services.iotdataplane.model.PublishRequest;
 
+import java.util.List;
+
 
 
 @Service
@@ -26,6 +29,20 @@ public class IotService {
 
     @Async
     public void sendIotRequest(String topicPath, SdkBytes payload, LogMessage logMessage) {
+        publish(topicPath, payload, logMessage);
+    }
+
+    /**
+     * 批次操作的訊息合併為單一非同步工作依序送出，避免每筆訂單各佔用一個非同步執行緒。
+     */
+    @Async
+    public void sendIotRequests(List<OrderIotMessage> messages) {
+        for (OrderIotMessage message : messages) {
+            publish(message.getTopicPath(), message.getPayload(), message.getLogMessage());
+        }
+    }
+
+    private void publish(String topicPath, SdkBytes payload, LogMessage logMessage) {
         String topic = iotTopic + topicPath;
 
         PublishRequest publishRequest = PublishRequest.builder()
@@ -0,0 +1,21 @@
+package com.arplanets.corexrapi.livesight.service;
+
+import com.arplanets.corexrapi.livesight.model.dto.OrderDto;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 非阻塞版本的單筆訂單操作，參數與 OrderService 相同，結果以 CompletableFuture 回傳。
+ */
+public interface OrderAsyncService {
+
+    CompletableFuture<OrderDto> createOrder(HttpServletRequest request, String productId, String namespace, String authType, String authTypeId, String salt, String planId);
+    CompletableFuture<OrderDto> getOrderStatus(String productId, String orderId, String salt);
+    CompletableFuture<OrderDto> getOrder(String productId, String orgId, String namespace, String orderId);
+    CompletableFuture<OrderDto> redeemOrder(HttpServletRequest request, String productId, String orderId, String redeemCode);
+    CompletableFuture<OrderDto> activateOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, List<String> tags, String staffId);
+    CompletableFuture<OrderDto> voidOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, String staffId);
+    CompletableFuture<OrderDto> returnOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, String staffId);
+}
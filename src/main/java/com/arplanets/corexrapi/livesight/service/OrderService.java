@@ -1,5 +1,7 @@
 package com.arplanets.corexrapi.livesight.service;
 
+import com.arplanets.corexrapi.livesight.model.bo.OrderBulkResult;
+import com.arplanets.corexrapi.livesight.model.bo.OrderLookupResult;
 import com.arplanets.corexrapi.livesight.model.dto.OrderDto;
 import com.arplanets.corexrapi.livesight.model.dto.req.OrderFilterRequest;
 import com.arplanets.corexrapi.livesight.model.dto.req.PageRequest;
@@ -9,18 +11,24 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
     OrderDto createOrder(HttpServletRequest request, String productId, String namespace, String authType, String authTypeId, String salt, String planId);
     OrderDto getOrderStatus(String productId, String orderId, String salt);
     OrderDto getOrder(String productId, String orgId, String namespace, String orderId);
+    List<OrderLookupResult> getOrders(String productId, String orgId, String namespace, List<String> orderIds);
     OrderDto redeemOrder(HttpServletRequest request, String productId, String orderId, String redeemCode);
     OrderDto activateOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, List<String> tags, String staffId);
     OrderDto voidOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, String staffId);
     OrderDto returnOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, String staffId);
+    List<OrderBulkResult> activateOrders(String productId, String orgId, String namespace, List<String> orderIds, List<String> tags, String staffId);
+    List<OrderBulkResult> voidOrders(String productId, String orgId, String namespace, List<String> orderIds, String staffId);
+    List<OrderBulkResult> returnOrders(String productId, String orgId, String namespace, List<String> orderIds, String staffId);
     PageResult<OrderDto> listOrder(String productId, String orgId, String namespace, ZonedDateTime startDate, ZonedDateTime endDate, PageRequest page);
     List<OrderDto> listOrder(String productId, String orgId, String namespace, OrderFilterRequest filters);
+    void exportOrder(String productId, String orgId, String namespace, OrderFilterRequest filters, Consumer<List<OrderDto>> pageConsumer);
     void verifyToken(String accessToken);
 
 
@@ -8,10 +8,13 @@ import com.arplanets.corexrapi.livesight.model.dto.res.PlanBatchUpdateResponse;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface PlanService {
 
     PlanBatchCreateResponse batchCreatePlan(List<PlanCreateRequest> planes, String liveSightId, String user);
     PlanBatchUpdateResponse batchUpdatePlan(List<PlanUpdateRequest> planes, String liveSightId, String user);
     Map<String, PlanDto> findByLiveSightId(String liveSightId);
+    Optional<PlanDto> findById(String planId);
+    Optional<PlanDto> findStandardByLiveSightId(String liveSightId);
 }
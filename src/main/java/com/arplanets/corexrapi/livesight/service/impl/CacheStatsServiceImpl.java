@@ -0,0 +1,56 @@
+package com.arplanets.corexrapi.livesight.service.impl;
+
+import com.arplanets.corexrapi.livesight.model.dto.res.CacheStatsResponse;
+import com.arplanets.corexrapi.livesight.service.CacheStatsService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * CacheManager 中所有 Caffeine 快取的統計，數值自應用程式啟動起累計。
+     */
+    @Override
+    public List<CacheStatsResponse> listCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private CacheStatsResponse toResponse(Cache cache) {
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            return null;
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+
+        return CacheStatsResponse.builder()
+                .cacheName(cache.getName())
+                .estimatedSize(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadSuccessCount(stats.loadSuccessCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .averageLoadMillis(stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1))
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.arplanets.corexrapi.livesight.service.impl;
 
+import com.arplanets.corexrapi.livesight.cache.AccessDecisionCache;
+import com.arplanets.corexrapi.livesight.cache.NegativeResultCache;
 import com.arplanets.corexrapi.livesight.exception.OrderApiException;
 import com.arplanets.corexrapi.livesight.exception.enums.LiveSightErrorCode;
 import com.arplanets.corexrapi.livesight.mapper.LiveSightMapper;
@@ -25,7 +27,9 @@ public class DynamoDbLiveSightServiceImpl implements LiveSightService {
     public static final ZoneId ZONE_ID = ZoneId.of("Asia/Taipei");
     private final LiveSightRepository liveSightRepository;
     private final LiveSightMapper liveSightMapper;
-    private static final String LIVE_SIGHT_CACHE = "liveSightDetails";
+    private final NegativeResultCache negativeResultCache;
+    private final AccessDecisionCache accessDecisionCache;
+    public static final String LIVE_SIGHT_CACHE = "liveSightDetails";
 
     @Override
     public LiveSightDto createLiveSight(String orgId, String uuid) {
@@ -43,6 +47,8 @@ public class DynamoDbLiveSightServiceImpl implements LiveSightService {
                 .build();
 
         liveSightRepository.create(liveSight);
+        negativeResultCache.invalidate(LIVE_SIGHT_CACHE, liveSightId);
+        accessDecisionCache.invalidateLiveSight(liveSightId);
 
         return liveSightMapper.liveSightPoToLiveSightDto(liveSight);
     }
@@ -56,8 +62,13 @@ public class DynamoDbLiveSightServiceImpl implements LiveSightService {
     }
 
     private LiveSightPo findOrThrowByLiveSightId(String liveSightId) {
+        if (negativeResultCache.isMissing(LIVE_SIGHT_CACHE, liveSightId)) {
+            throw new OrderApiException(LiveSightErrorCode._003);
+        }
+
         Optional<LiveSightPo> option = liveSightRepository.findById(liveSightId);
         if (option.isEmpty()) {
+            negativeResultCache.markMissing(LIVE_SIGHT_CACHE, liveSightId);
             throw new OrderApiException(LiveSightErrorCode._003);
         }
         return option.get();
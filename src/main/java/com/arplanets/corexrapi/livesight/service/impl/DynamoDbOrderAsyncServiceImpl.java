@@ -0,0 +1,240 @@
+package com.arplanets.corexrapi.livesight.service.impl;
+
+import com.arplanets.commons.utils.ClientInfoUtil;
+import com.arplanets.corexrapi.livesight.cache.OrderNearCache;
+import com.arplanets.corexrapi.livesight.cache.PlanCache;
+import com.arplanets.corexrapi.livesight.exception.OrderApiException;
+import com.arplanets.corexrapi.livesight.exception.enums.OrderErrorCode;
+import com.arplanets.corexrapi.livesight.log.ErrorContext;
+import com.arplanets.corexrapi.livesight.log.LogMessage;
+import com.arplanets.corexrapi.livesight.log.LoggingService;
+import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
+import com.arplanets.corexrapi.livesight.model.dto.ClientInfo;
+import com.arplanets.corexrapi.livesight.model.dto.OrderDto;
+import com.arplanets.corexrapi.livesight.model.dto.PlanDto;
+import com.arplanets.corexrapi.livesight.model.dto.ResponseContext;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderAsyncRepository;
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
+import com.arplanets.corexrapi.livesight.security.jwt.OrderJwtManager;
+import com.arplanets.corexrapi.livesight.service.IotService;
+import com.arplanets.corexrapi.livesight.service.OrderAsyncService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.arplanets.corexrapi.livesight.service.impl.DynamoDbOrderServiceImpl.ORDER_PREFIX;
+import static com.arplanets.corexrapi.livesight.service.impl.DynamoDbOrderServiceImpl.ZONE_ID;
+
+/**
+ * 非阻塞版本的訂單 service，啟用 order.async.enabled 時使用。
+ * <p>
+ * 需要 request scope 的資料 (Client 資訊、API 日誌訊息) 在 request 執行緒先取得，
+ * 之後的階段在 SDK 的回應執行緒執行，只使用 slf4j 日誌。
+ */
+@Service
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DynamoDbOrderAsyncServiceImpl implements OrderAsyncService {
+
+    private final OrderAsyncRepository orderAsyncRepository;
+    private final OrderJwtManager orderJwtManager;
+    private final OrderMapper orderMapper;
+    private final IotService iotService;
+    private final LoggingService loggingService;
+    private final OrderNearCache orderNearCache;
+    private final OrderFactory orderFactory;
+    private final PlanCache planCache;
+
+    @Override
+    public CompletableFuture<OrderDto> createOrder(HttpServletRequest request, String productId, String namespace, String authType, String authTypeId, String salt, String planId) {
+        // 產生 Order ID
+        String orderId = ORDER_PREFIX + "_" + UUID.randomUUID();
+
+        // 以 Order ID 、 Salt 產生 Verification Code
+        String verificationCode = orderFactory.hashWithSHA256(orderId, salt);
+
+        // 取得 Client 資訊
+        ClientInfo clientInfo = ClientInfoUtil.getClientInfo(request);
+
+        // 產生訂單資料需在 request 執行緒
+        OrderPo order = orderFactory.buildCreatedOrder(orderId, namespace, productId, authType, authTypeId, clientInfo, verificationCode, planId);
+
+        // 取得方案效期設定，於建立時寫入訂單，開通與兌換時不需再查詢方案
+        return getPlan(order)
+                .thenCompose(plan -> {
+                    order.setExpiryPolicy(orderFactory.resolveExpiryPolicy(plan));
+
+                    // 新增訂單資料
+                    return orderAsyncRepository.create(order);
+                })
+                .thenApply(result -> {
+                    // 將訂單資料暫存以做 Audit Log
+                    setResponseContext(request, result);
+
+                    // 回傳訂單資訊
+                    return orderMapper.orderPoToOrderDto(result);
+                });
+    }
+
+    @Override
+    public CompletableFuture<OrderDto> getOrderStatus(String productId, String orderId, String salt) {
+        // 取得訂單資訊，若無拋出錯誤
+        return findCachedOrThrowByOrderId(orderId, OrderProjection.STATUS)
+                .thenApply(result -> {
+                    // 驗證 salt
+                    orderFactory.validateSalt(orderId, salt, result.getVerificationCode());
+
+                    // 驗證 Product ID
+                    orderFactory.validateProductId(productId, result.getProductId());
+
+                    // 回傳訂單資訊
+                    return orderMapper.orderPoToOrderDto(result);
+                });
+    }
+
+    @Override
+    public CompletableFuture<OrderDto> getOrder(String productId, String orgId, String namespace, String orderId) {
+        // 取得訂單資訊，若無拋出錯誤
+        return findCachedOrThrowByOrderId(orderId, OrderProjection.INFO)
+                .thenApply(result -> {
+                    // 驗證訂單是否為該 Live Sight
+                    orderFactory.validateOrderInLiveSight(namespace, result);
+
+                    // 回傳訂單資訊
+                    return orderMapper.orderPoToOrderDto(result);
+                });
+    }
+
+    @Override
+    public CompletableFuture<OrderDto> redeemOrder(HttpServletRequest request, String productId, String orderId, String redeemCode) {
+        // 產生當下時間
+        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
+
+        // 取得 Access Token 所需欄位與建立時的效期設定快照
+        return findOrThrowByOrderId(orderId, OrderProjection.REDEEM)
+                .thenCompose(order -> {
+                    // 取得 expired time，舊訂單沒有快照時才查詢方案
+                    CompletableFuture<ZonedDateTime> expiredAt = order.getExpiryPolicy() != null
+                            ? CompletableFuture.completedFuture(orderFactory.computeExpiredAt(now, order.getExpiryPolicy(), OrderFactory.BACKGROUND_LOG))
+                            : getPlan(order).thenApply(plan -> orderFactory.getExpiredAt(now, plan, OrderFactory.BACKGROUND_LOG));
+
+                    return expiredAt.thenCompose(expire -> {
+                        // 產生 Access Token
+                        String accessToken = orderJwtManager.genAccessToken(order, now, expire);
+
+                        // 修改訂單資料
+                        return updateOrder(orderFactory.buildRedeemedOrder(orderId, productId, redeemCode, accessToken, now, expire));
+                    });
+                })
+                .thenApply(result -> {
+                    // 將訂單資料暫存以做 Audit Log
+                    setResponseContext(request, result);
+
+                    // 回傳訂單資訊
+                    return orderMapper.orderPoToOrderDto(result);
+                });
+    }
+
+    @Override
+    public CompletableFuture<OrderDto> activateOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, List<String> tags, String staffId) {
+        // 產生 Redeem Code
+        String redeemCode = orderFactory.genRedeemCode();
+
+        // IoT 失敗時的日誌訊息需在 request 執行緒產生
+        LogMessage logMessage = loggingService.initApiMessage(orderId);
+
+        // 修改訂單資料
+        return updateOrder(orderFactory.buildActivatedOrder(orderId, namespace, productId, staffId, redeemCode, tags))
+                .thenApply(result -> completeUpdate(request, result, logMessage));
+    }
+
+    @Override
+    public CompletableFuture<OrderDto> voidOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, String staffId) {
+        LogMessage logMessage = loggingService.initApiMessage(orderId);
+
+        // 修改訂單資料
+        return updateOrder(orderFactory.buildVoidedOrder(orderId, namespace, productId, staffId))
+                .thenApply(result -> completeUpdate(request, result, logMessage));
+    }
+
+    @Override
+    public CompletableFuture<OrderDto> returnOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, String staffId) {
+        LogMessage logMessage = loggingService.initApiMessage(orderId);
+
+        // 修改訂單資料
+        return updateOrder(orderFactory.buildReturnedOrder(orderId, namespace, productId, staffId))
+                .thenApply(result -> completeUpdate(request, result, logMessage));
+    }
+
+    /**
+     * 後台狀態變更完成後：非同步將訂單資訊傳到 Iot，並暫存 Audit Log 所需的訂單資料。
+     */
+    private OrderDto completeUpdate(HttpServletRequest request, OrderPo result, LogMessage logMessage) {
+        iotService.sendIotRequest(orderFactory.buildTopicPath(result), orderFactory.buildBackgroundPayload(result), logMessage);
+
+        setResponseContext(request, result);
+
+        return orderMapper.orderPoToOrderDto(result);
+    }
+
+    private void setResponseContext(HttpServletRequest request, OrderPo order) {
+        ResponseContext responseContext = ResponseContext.builder()
+                .order(orderMapper.orderPoToOrderContext(order))
+                .errorContext(new ErrorContext())
+                .build();
+
+        request.setAttribute("responseContext", responseContext);
+    }
+
+    private CompletableFuture<OrderPo> findOrThrowByOrderId(String orderId, OrderProjection projection) {
+        return orderAsyncRepository.findById(orderId, projection)
+                .thenApply(option -> option.orElseThrow(() -> new OrderApiException(OrderErrorCode._004)));
+    }
+
+    /**
+     * 透過本機快取讀取訂單，與同步版本共用同一份快取。
+     */
+    private CompletableFuture<OrderPo> findCachedOrThrowByOrderId(String orderId, OrderProjection projection) {
+        Optional<OrderPo> cached = orderNearCache.getIfPresent(orderId, projection);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        long stamp = orderNearCache.writeStamp(orderId);
+        return findOrThrowByOrderId(orderId, projection)
+                .thenApply(order -> {
+                    orderNearCache.put(orderId, projection, order, stamp);
+                    return order;
+                });
+    }
+
+    private CompletableFuture<OrderPo> updateOrder(OrderPo order) {
+        // 寫入前後都失效，與同步版本相同；寫入後不論成功或條件檢查失敗，本機快取都可能已過時
+        orderNearCache.invalidate(order.getOrderId());
+        return orderAsyncRepository.update(order)
+                .whenComplete((result, error) -> orderNearCache.invalidate(order.getOrderId()));
+    }
+
+    /**
+     * 與 PlanService.findById 共用同一個快取，找不到或不屬於訂單的 Live Sight 時使用 Standard 方案。
+     */
+    private CompletableFuture<PlanDto> getPlan(OrderPo order) {
+        CompletableFuture<Optional<PlanDto>> plan = order.getPlanId() != null
+                ? planCache.getPlanAsync(order.getPlanId())
+                : CompletableFuture.completedFuture(Optional.empty());
+
+        return plan.thenCompose(found -> orderFactory.isOrderPlan(found.orElse(null), order, OrderFactory.BACKGROUND_LOG)
+                ? CompletableFuture.completedFuture(found.get())
+                : planCache.getStandardPlanAsync(order.getServiceTypeId()).thenApply(standard -> standard.orElse(null)));
+    }
+}
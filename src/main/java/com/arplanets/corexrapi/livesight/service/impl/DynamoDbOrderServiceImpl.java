@@ -1,19 +1,22 @@
 package com.arplanets.corexrapi.livesight.service.impl;
 
+import com.arplanets.corexrapi.livesight.cache.OrderNearCache;
+import com.arplanets.corexrapi.livesight.concurrent.BoundedParallelExecutor;
 import com.arplanets.corexrapi.livesight.exception.OrderApiException;
 import com.arplanets.corexrapi.livesight.exception.enums.OrderErrorCode;
 import com.arplanets.corexrapi.livesight.log.ErrorContext;
-import com.arplanets.corexrapi.livesight.log.Logger;
 import com.arplanets.corexrapi.livesight.log.LoggingService;
 import com.arplanets.corexrapi.livesight.model.dto.*;
 import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
-import com.arplanets.corexrapi.livesight.model.bo.OrderIotPayload;
+import com.arplanets.corexrapi.livesight.model.bo.OrderBulkResult;
+import com.arplanets.corexrapi.livesight.model.bo.OrderIotMessage;
+import com.arplanets.corexrapi.livesight.model.bo.OrderLookupResult;
 import com.arplanets.corexrapi.livesight.model.dto.req.OrderFilterRequest;
 import com.arplanets.corexrapi.livesight.model.dto.req.PageRequest;
 import com.arplanets.corexrapi.livesight.model.dto.res.PageResult;
 import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
-import com.arplanets.corexrapi.livesight.model.eunms.PeriodUnit;
 import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
 import com.arplanets.corexrapi.livesight.repository.OrderRepository;
 import com.arplanets.corexrapi.livesight.security.jwt.OrderJwtManager;
 import com.arplanets.corexrapi.livesight.service.IotService;
@@ -22,35 +25,26 @@ import com.arplanets.corexrapi.livesight.service.OrderService;
 import com.arplanets.commons.utils.ClientInfoUtil;
 import com.arplanets.corexrapi.livesight.service.PlanService;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import software.amazon.awssdk.core.SdkBytes;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DynamoDbOrderServiceImpl implements OrderService {
 
-    @Value("${order.ttl.minutes}")
-    private long ttlMinutes;
-    @Value("${order.redeem-code.expiration-minutes}")
-    private long redeemCodeExpirationMinutes;
+    @Value("${order.bulk.parallelism:8}")
+    private int bulkParallelism;
 
     public static final ZoneId ZONE_ID = ZoneId.of("Asia/Taipei");
     public static final String LIVE_SIGHT_NAME = "livesight";
@@ -62,9 +56,11 @@ public class DynamoDbOrderServiceImpl implements OrderService {
     private final OrderJwtManager orderJwtManager;
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final ObjectMapper objectMapper;
     private final IotService iotService;
     private final LoggingService loggingService;
+    private final OrderNearCache orderNearCache;
+    private final BoundedParallelExecutor boundedParallelExecutor;
+    private final OrderFactory orderFactory;
 
     @Override
     public OrderDto createOrder(HttpServletRequest request, String productId, String namespace, String authType, String authTypeId, String salt, String planId) {
@@ -72,13 +68,19 @@ public class DynamoDbOrderServiceImpl implements OrderService {
         String orderId = ORDER_PREFIX + "_" + UUID.randomUUID();
 
         // 以 Order ID 、 Salt 產生 Verification Code
-        String verificationCode = hashWithSHA256(orderId, salt);
+        String verificationCode = orderFactory.hashWithSHA256(orderId, salt);
 
         // 取得 Client 資訊
         ClientInfo clientInfo = ClientInfoUtil.getClientInfo(request);
 
+        // 產生訂單資料
+        OrderPo order = orderFactory.buildCreatedOrder(orderId, namespace, productId, authType, authTypeId, clientInfo, verificationCode, planId);
+
+        // 取得方案效期設定，於建立時寫入訂單，開通與兌換時不需再查詢方案
+        order.setExpiryPolicy(orderFactory.resolveExpiryPolicy(getPlan(order)));
+
         // 新增訂單資料
-        OrderPo result = orderRepository.create(buildCreatedOrder(orderId, namespace, productId, authType, authTypeId, clientInfo, verificationCode, planId));
+        OrderPo result = orderRepository.create(order);
 
         // 將訂單資料暫存以做 Audit Log
         setResponseContext(request, result);
@@ -90,13 +92,13 @@ public class DynamoDbOrderServiceImpl implements OrderService {
     @Override
     public OrderDto getOrderStatus(String productId, String orderId, String salt) {
         // 取得訂單資訊，若無拋出錯誤
-        OrderPo result = findOrThrowByOrderId(orderId);
+        OrderPo result = findCachedOrThrowByOrderId(orderId, OrderProjection.STATUS);
 
         // 驗證 salt
-        validateSalt(orderId, salt, result.getVerificationCode());
+        orderFactory.validateSalt(orderId, salt, result.getVerificationCode());
 
         // 驗證 Product ID
-        validateProductId(productId, result.getProductId());
+        orderFactory.validateProductId(productId, result.getProductId());
 
         // 回傳訂單資訊
         return orderMapper.orderPoToOrderDto(result);
@@ -105,27 +107,58 @@ public class DynamoDbOrderServiceImpl implements OrderService {
     @Override
     public OrderDto getOrder(String productId, String orgId, String namespace, String orderId) {
         // 取得訂單資訊，若無拋出錯誤
-        OrderPo result = findOrThrowByOrderId(orderId);
+        OrderPo result = findCachedOrThrowByOrderId(orderId, OrderProjection.INFO);
 
         // 驗證訂單是否為該 Live Sight
-        validateOrderInLiveSight(namespace, result);
+        orderFactory.validateOrderInLiveSight(namespace, result);
 
         // 回傳訂單資訊
         return orderMapper.orderPoToOrderDto(result);
     }
 
+    @Override
+    public List<OrderLookupResult> getOrders(String productId, String orgId, String namespace, List<String> orderIds) {
+        // 以 BatchGetItem 批次取得訂單，順序與輸入相同
+        List<Optional<OrderPo>> orders = orderRepository.findAllById(orderIds, OrderProjection.INFO);
+
+        List<OrderLookupResult> results = new ArrayList<>(orderIds.size());
+        for (int i = 0; i < orderIds.size(); i++) {
+            String orderId = orderIds.get(i);
+            Optional<OrderPo> order = orders.get(i);
+
+            // 查無訂單
+            if (order.isEmpty()) {
+                results.add(OrderLookupResult.builder().orderId(orderId).errorCode(OrderErrorCode._004).build());
+                continue;
+            }
+
+            // 訂單不屬於該 Live Sight，不回傳內容；錯誤碼與單筆查詢 validateOrderInLiveSight 相同 (_021)，與查無訂單 (_004) 不同
+            if (!namespace.equals(order.get().getNamespace())) {
+                results.add(OrderLookupResult.builder().orderId(orderId).errorCode(OrderErrorCode._021).build());
+                continue;
+            }
+
+            results.add(OrderLookupResult.builder()
+                    .orderId(orderId)
+                    .order(orderMapper.orderPoToOrderDto(order.get()))
+                    .build());
+        }
+
+        return results;
+    }
+
 
 
     @Override
     public OrderDto activateOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, List<String> tags, String staffId) {
         // 產生 Redeem Code
-        String redeemCode = genRedeemCode();
+        String redeemCode = orderFactory.genRedeemCode();
 
         // 修改訂單資料
-        OrderPo result = orderRepository.update(buildActivatedOrder(orderId, namespace, productId, staffId, redeemCode, tags));
+        OrderPo result = updateOrder(orderFactory.buildActivatedOrder(orderId, namespace, productId, staffId, redeemCode, tags));
 
         // 非同步將訂單資訊傳到 Iot
-        iotService.sendIotRequest(buildTopicPath(result), buildPayload(result), loggingService.initApiMessage(result.getOrderId()));
+        iotService.sendIotRequest(orderFactory.buildTopicPath(result), orderFactory.buildPayload(result), loggingService.initApiMessage(result.getOrderId()));
 
         // 將訂單資料暫存以做 Audit Log
         setResponseContext(request, result);
@@ -141,20 +174,19 @@ public class DynamoDbOrderServiceImpl implements OrderService {
         // 產生當下時間
         ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
 
-        // 為了取得 plan 和 tag
-        OrderPo order = findOrThrowByOrderId(orderId);
-
-        // 取得 plan
-        PlanDto plan = getPlan(order);
+        // 取得 Access Token 所需欄位與建立時的效期設定快照
+        OrderPo order = findOrThrowByOrderId(orderId, OrderProjection.REDEEM);
 
-        // 取得 expired time
-        ZonedDateTime expiredAt = getExpiredAt(now, plan);
+        // 取得 expired time，舊訂單沒有快照時才查詢方案
+        ZonedDateTime expiredAt = order.getExpiryPolicy() != null
+                ? orderFactory.computeExpiredAt(now, order.getExpiryPolicy(), OrderFactory.REQUEST_LOG)
+                : orderFactory.getExpiredAt(now, getPlan(order), OrderFactory.REQUEST_LOG);
 
         // 產生 Access Token
         String accessToken = orderJwtManager.genAccessToken(order, now, expiredAt);
 
         // 修改訂單資料
-        OrderPo result = orderRepository.update(buildRedeemedOrder(orderId, productId, redeemCode, accessToken, now, expiredAt));
+        OrderPo result = updateOrder(orderFactory.buildRedeemedOrder(orderId, productId, redeemCode, accessToken, now, expiredAt));
 
         // 將訂單資料暫存以做 Audit Log
         setResponseContext(request, result);
@@ -167,10 +199,10 @@ public class DynamoDbOrderServiceImpl implements OrderService {
     @Override
     public OrderDto voidOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, String staffId) {
         // 修改訂單資料
-        OrderPo result = orderRepository.update(buildVoidedOrder(orderId, namespace, productId, staffId));
+        OrderPo result = updateOrder(orderFactory.buildVoidedOrder(orderId, namespace, productId, staffId));
 
         // 將訂單資訊傳到 Iot
-        iotService.sendIotRequest(buildTopicPath(result), buildPayload(result), loggingService.initApiMessage(result.getOrderId()));
+        iotService.sendIotRequest(orderFactory.buildTopicPath(result), orderFactory.buildPayload(result), loggingService.initApiMessage(result.getOrderId()));
 
         // 將訂單資料暫存以做 Audit Log
         setResponseContext(request, result);
@@ -182,7 +214,7 @@ public class DynamoDbOrderServiceImpl implements OrderService {
     @Override
     public PageResult<OrderDto> listOrder(String productId, String orgId, String namespace, ZonedDateTime startDate, ZonedDateTime endDate, PageRequest page) {
         // 取得 Live Sight ID
-        String liveSightId = extractUuid(namespace);
+        String liveSightId = orderFactory.extractUuid(namespace);
 
         // 取得每頁資料數
         Integer pageSize = Optional.ofNullable(page)
@@ -195,7 +227,7 @@ public class DynamoDbOrderServiceImpl implements OrderService {
                 .orElse(null);
 
         // 取得訂單資料
-        PageResult<OrderPo> orderPoPageResult = orderRepository.pageByServiceTypeId(liveSightId, startDate, endDate, pageSize, lastEvaluatedKey);
+        PageResult<OrderPo> orderPoPageResult = orderRepository.pageByServiceTypeId(liveSightId, startDate, endDate, pageSize, lastEvaluatedKey, OrderProjection.LIST);
 
         // 回傳訂單資訊
         return orderPoPageResult.mapItems(orderMapper::orderPoToOrderDto);
@@ -204,23 +236,36 @@ public class DynamoDbOrderServiceImpl implements OrderService {
     @Override
     public List<OrderDto> listOrder(String productId, String orgId, String namespace, OrderFilterRequest filters) {
         // 取得 Live Sight ID
-        String liveSightId = extractUuid(namespace);
+        String liveSightId = orderFactory.extractUuid(namespace);
 
         // 驗證 Org ID
         validateOrg(orgId, liveSightId);
 
-        List<OrderPo> result = orderRepository.listByServiceTypeId(liveSightId, filters);
+        List<OrderPo> result = orderRepository.listByServiceTypeId(liveSightId, filters, OrderProjection.LIST);
 
         return result.stream().map(orderMapper::orderPoToOrderDto).toList();
     }
 
+    @Override
+    public void exportOrder(String productId, String orgId, String namespace, OrderFilterRequest filters, Consumer<List<OrderDto>> pageConsumer) {
+        // 取得 Live Sight ID
+        String liveSightId = orderFactory.extractUuid(namespace);
+
+        // 驗證 Org ID
+        validateOrg(orgId, liveSightId);
+
+        // 逐頁轉換並交給呼叫端輸出，記憶體只保留單一頁的資料
+        orderRepository.streamByServiceTypeId(liveSightId, filters, OrderProjection.LIST,
+                page -> pageConsumer.accept(page.stream().map(orderMapper::orderPoToOrderDto).toList()));
+    }
+
     @Override
     public OrderDto returnOrder(HttpServletRequest request, String productId, String orgId, String namespace, String orderId, String staffId) {
         // 修改訂單資料
-        OrderPo result = orderRepository.update(buildReturnedOrder(orderId, namespace, productId, staffId));
+        OrderPo result = updateOrder(orderFactory.buildReturnedOrder(orderId, namespace, productId, staffId));
 
         // 將訂單資訊傳到 Iot
-        iotService.sendIotRequest(buildTopicPath(result), buildPayload(result), loggingService.initApiMessage(result.getOrderId()));
+        iotService.sendIotRequest(orderFactory.buildTopicPath(result), orderFactory.buildPayload(result), loggingService.initApiMessage(result.getOrderId()));
 
         // 將訂單資料暫存以做 Audit Log
         setResponseContext(request, result);
@@ -229,19 +274,32 @@ public class DynamoDbOrderServiceImpl implements OrderService {
         return orderMapper.orderPoToOrderDto(result);
     }
 
+    @Override
+    public List<OrderBulkResult> activateOrders(String productId, String orgId, String namespace, List<String> orderIds, List<String> tags, String staffId) {
+        // 每筆訂單各自產生 Redeem Code，查無訂單者由條件式更新回報錯誤
+        return bulkUpdateOrders(orderIds,
+                orderId -> orderFactory.buildActivatedOrder(orderId, namespace, productId, staffId, orderFactory.genRedeemCode(), tags));
+    }
+
+    @Override
+    public List<OrderBulkResult> voidOrders(String productId, String orgId, String namespace, List<String> orderIds, String staffId) {
+        return bulkUpdateOrders(orderIds,
+                orderId -> orderFactory.buildVoidedOrder(orderId, namespace, productId, staffId));
+    }
+
+    @Override
+    public List<OrderBulkResult> returnOrders(String productId, String orgId, String namespace, List<String> orderIds, String staffId) {
+        return bulkUpdateOrders(orderIds,
+                orderId -> orderFactory.buildReturnedOrder(orderId, namespace, productId, staffId));
+    }
+
     @Override
     public void verifyToken(String accessToken) {
         // 驗證 Token
         DecodedJWT jwt = orderJwtManager.verify(accessToken);
 
         String orderId = jwt.getSubject();
-        Optional<OrderPo> option = orderRepository.findById(orderId);
-
-        if (option.isEmpty()) {
-            throw new OrderApiException(OrderErrorCode._004);
-        }
-
-        OrderPo order = option.get();
+        OrderPo order = findOrThrowByOrderId(orderId, OrderProjection.TOKEN_VERIFY);
 
         OrderStatus orderStatus = order.getOrderStatus();
 
@@ -251,39 +309,6 @@ public class DynamoDbOrderServiceImpl implements OrderService {
 
     }
 
-    private String hashWithSHA256(String orderId, String salt) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            String combinedString = orderId + salt;
-            byte[] hashBytes = digest.digest(combinedString.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hashBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not found.", e);
-        }
-    }
-
-    private String extractUuid(String namespace) {
-        if (namespace == null || namespace.isEmpty()) {
-            return null;
-        }
-
-        String[] parts = namespace.split("\\.");
-
-        int livesightIndex = -1;
-        for (int i = 0; i < parts.length; i++) {
-            if (LIVE_SIGHT_NAME.equals(parts[i])) {
-                livesightIndex = i;
-                break;
-            }
-        }
-
-        if (livesightIndex != -1 && livesightIndex + 1 < parts.length) {
-            return parts[livesightIndex + 1];
-        }
-
-        return null;
-    }
-
     private void validateOrg(String orgId, String liveSightId) {
         if (!StringUtils.hasText(liveSightId)) {
             throw new OrderApiException(OrderErrorCode._003);
@@ -306,8 +331,8 @@ public class DynamoDbOrderServiceImpl implements OrderService {
         request.setAttribute("responseContext", responseContext);
     }
 
-    private OrderPo findOrThrowByOrderId(String orderId) {
-        Optional<OrderPo> option = orderRepository.findById(orderId);
+    private OrderPo findOrThrowByOrderId(String orderId, OrderProjection projection) {
+        Optional<OrderPo> option = orderRepository.findById(orderId, projection);
         if (option.isEmpty()) {
             throw new OrderApiException(OrderErrorCode._004);
         }
@@ -315,227 +340,107 @@ public class DynamoDbOrderServiceImpl implements OrderService {
         return option.get();
     }
 
-    private void validateProductId(String inputProductId, String storedProductId) {
-        if (!inputProductId.equals(storedProductId)) {
-            throw new OrderApiException(OrderErrorCode._006);
+    /**
+     * 透過本機快取讀取訂單，僅用於可接受數秒延遲的查詢 (狀態輪詢、後台資訊)。
+     */
+    private OrderPo findCachedOrThrowByOrderId(String orderId, OrderProjection projection) {
+        Optional<OrderPo> option = orderNearCache.get(orderId, projection, () -> orderRepository.findById(orderId, projection));
+        if (option.isEmpty()) {
+            throw new OrderApiException(OrderErrorCode._004);
         }
-    }
-
-    private String genRedeemCode() {
-        // 產生 32 位元組的隨機資料
-        byte[] randomBytes = new byte[32];
-        new SecureRandom().nextBytes(randomBytes);
-        // 使用 URL 安全的 Base64 編碼
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
-    }
-
-    private OrderPo buildCreatedOrder(
-            String orderId,
-            String namespace,
-            String productId,
-            String authType,
-            String authTypeId,
-            ClientInfo clientInfo,
-            String verificationCode,
-            String planId
-    ) {
-
-        Logger.info("產生訂單資料");
-        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
-
-        ZonedDateTime expiredAt = getExpiredAt(now, null);
-
-        return OrderPo.builder()
-                .orderId(orderId)
-                .orderStatus(OrderStatus.PENDING)
-                .namespace(namespace)
-                .productId(productId)
-                .serviceType(LIVE_SIGHT_NAME)
-                .serviceTypeId(extractUuid(namespace))
-                .planId(planId)
-                .authType(authType)
-                .authTypeId(authTypeId)
-                .userBrowser(clientInfo.getBrowserName())
-                .userOs(clientInfo.getOsName())
-                .userDeviceType(clientInfo.getDeviceType())
-                .createdAt(now)
-                .verificationCode(verificationCode)
-                .expiredAt(expiredAt)
-                .updatedAt(now)
-                .ttl(now.plusMinutes(ttlMinutes))
-                .build();
-    }
-
-
-    private OrderPo buildActivatedOrder(String orderId, String namespace, String productId, String staffId, String redeemCode, List<String> tags) {
-        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
-        ZonedDateTime expiredAt = now.plusMinutes(redeemCodeExpirationMinutes);
-
-        return OrderPo.builder()
-                .orderId(orderId)
-                .namespace(namespace)
-                .productId(productId)
-                .orderStatus(OrderStatus.ACTIVATED)
-                .activatedAt(now)
-                .activatedBy(staffId)
-                .redeemCode(redeemCode)
-                .tags(tags)
-                .expiredAt(expiredAt)
-                .updatedAt(now)
-                .build();
-    }
-
-    private OrderPo buildRedeemedOrder(String orderId, String productId, String redeemCode, String accessToken, ZonedDateTime now, ZonedDateTime expire) {
-        return OrderPo.builder()
-                .orderId(orderId)
-                .productId(productId)
-                .orderStatus(OrderStatus.REDEEMED)
-                .redeemCode(redeemCode)
-                .redeemedAt(now)
-                .accessToken(accessToken)
-                .expiredAt(expire)
-                .updatedAt(now)
-                .build();
-    }
-
-    private OrderPo buildVoidedOrder(String orderId, String namespace, String productId, String staffId) {
-        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
-
-        return OrderPo.builder()
-                .orderId(orderId)
-                .namespace(namespace)
-                .productId(productId)
-                .orderStatus(OrderStatus.VOIDED)
-                .voidedAt(now)
-                .voidedBy(staffId)
-                .updatedAt(now)
-                .build();
-    }
 
-    private OrderPo buildReturnedOrder(String orderId, String namespace, String productId, String staffId) {
-        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
-        return OrderPo.builder()
-                .orderId(orderId)
-                .namespace(namespace)
-                .productId(productId)
-                .orderStatus(OrderStatus.COMPLETED)
-                .returnedAt(now)
-                .returnedBy(staffId)
-                .updatedAt(now)
-                .build();
+        return option.get();
     }
 
-    private void validateSalt(String orderId, String salt, String storedVerificationCode) {
-        String currentVerificationCode = hashWithSHA256(orderId, salt);
-        if (!currentVerificationCode.equals(storedVerificationCode)) {
-            throw new OrderApiException(OrderErrorCode._005);
+    private OrderPo updateOrder(OrderPo order) {
+        // 寫入前後都失效：寫入前讓進行中的讀取放棄寫回快取，寫入後清掉寫入期間讀到的舊資料
+        orderNearCache.invalidate(order.getOrderId());
+        try {
+            return orderRepository.update(order);
+        } finally {
+            // 不論成功或條件檢查失敗，本機快取都可能已過時
+            orderNearCache.invalidate(order.getOrderId());
         }
     }
 
-    private String buildTopicPath(OrderPo orderPo) {
-        return getTopicAction(orderPo) + orderPo.getOrderId();
-    }
-
-    private String getTopicAction(OrderPo orderPo) {
-        OrderStatus orderStatus = orderPo.getOrderStatus();
-        return orderStatus == OrderStatus.ACTIVATED ? "active/" : "revoke/";
-     }
-
-
-    private SdkBytes buildPayload(OrderPo orderPo) {
-        OrderIotPayload orderPayload = orderMapper.orderPoToOrderIotPayload(orderPo);
-
-        SdkBytes payload = null;
+    /**
+     * 以有限的平行度執行批次的條件式更新，回傳每筆訂單的結果 (順序與輸入相同)，
+     * 成功的訂單合併為一個非同步工作送出 IoT 通知。
+     */
+    private List<OrderBulkResult> bulkUpdateOrders(List<String> orderIds, Function<String, OrderPo> orderBuilder) {
+        // 重複的訂單 ID 只處理一次，否則第二次必定條件檢查失敗
+        List<String> distinctIds = orderIds.stream().distinct().toList();
+
+        // 並行更新，背景執行緒不使用 request scope 的 Logger
+        // 任何一筆的例外都只記錄在該筆的結果，不中斷其他訂單
+        List<BulkOutcome> outcomes = boundedParallelExecutor.map(distinctIds, bulkParallelism, orderId -> {
+            OrderPo result = null;
+            try {
+                result = updateOrder(orderBuilder.apply(orderId));
+                return new BulkOutcome(result, OrderBulkResult.builder()
+                        .orderId(orderId)
+                        .order(orderMapper.orderPoToOrderDto(result))
+                        .build());
+            } catch (OrderApiException e) {
+                return new BulkOutcome(null, OrderBulkResult.builder()
+                        .orderId(orderId)
+                        .errorCode(e.getCode())
+                        .reason(e.getCode().message())
+                        .build());
+            } catch (Exception e) {
+                log.error("Failed to update order {} in bulk operation", orderId, e);
+                // 已寫入的訂單仍須送出 IoT 通知
+                return new BulkOutcome(result, OrderBulkResult.builder()
+                        .orderId(orderId)
+                        .errorCode(OrderErrorCode._020)
+                        .reason(OrderErrorCode._020.message())
+                        .build());
+            }
+        });
+
+        // 在 request 執行緒產生 IoT 訊息，合併為單一非同步工作送出
+        List<OrderIotMessage> messages = new ArrayList<>(outcomes.size());
+        for (BulkOutcome outcome : outcomes) {
+            OrderPo order = outcome.order();
+            if (order == null) {
+                continue;
+            }
 
-        try {
-            String jsonString = objectMapper.writeValueAsString(orderPayload);
-            payload = SdkBytes.fromUtf8String(jsonString);
-        } catch (JsonProcessingException e) {
-            Logger.error("Failed to convert OrderIotPayload to JSON string.", e);
+            try {
+                messages.add(OrderIotMessage.builder()
+                        .topicPath(orderFactory.buildTopicPath(order))
+                        .payload(orderFactory.buildPayload(order))
+                        .logMessage(loggingService.initApiMessage(order.getOrderId()))
+                        .build());
+            } catch (Exception e) {
+                log.error("Failed to build IoT message for order {} in bulk operation", order.getOrderId(), e);
+            }
         }
 
-        return payload;
-    }
-
-    private void validateOrderInLiveSight(String inputNamespace, OrderPo order) {
-        if (!inputNamespace.equals(order.getNamespace())) {
-            throw new OrderApiException(OrderErrorCode._021);
+        if (!messages.isEmpty()) {
+            iotService.sendIotRequests(messages);
         }
-    }
-
-    private ZonedDateTime alignToPeriodEnd(ZonedDateTime now, PeriodUnit unit) {
-        return switch (unit) {
-            case DAY -> now.with(LocalTime.MAX);
-            case WEEK -> now.with(java.time.temporal.TemporalAdjusters.nextOrSame(java.time.DayOfWeek.SUNDAY))
-                    .with(LocalTime.MAX);
-            case MONTH -> now.with(java.time.temporal.TemporalAdjusters.lastDayOfMonth())
-                    .with(LocalTime.MAX);
-            case YEAR -> now.with(java.time.temporal.TemporalAdjusters.lastDayOfYear())
-                    .with(LocalTime.MAX);
-        };
-    }
-
-    private ZonedDateTime getExpiredAt(ZonedDateTime now, PlanDto plan) {
-        // 產生 Default 過期時間 (當天結束)
-        ZonedDateTime defaultExpire = now.with(LocalTime.MAX).truncatedTo(ChronoUnit.SECONDS);
 
-        if (plan == null) {
-            Logger.info("使用系統 Default 過期時間");
-            return defaultExpire;
-        }
+        // 依原始輸入順序回傳 (含重複的訂單 ID)
+        Map<String, OrderBulkResult> resultById = new HashMap<>();
+        outcomes.forEach(outcome -> resultById.put(outcome.result().getOrderId(), outcome.result()));
 
-        Expiry expiry = plan.getExpiry();
-        if (expiry == null || expiry.getExpireMode() == null) {
-            Logger.info("Live Sight 沒有 plan_id 對應的方案或 Standard 方案，使用系統 Default 過期時間");
-            return defaultExpire;
-        }
+        return orderIds.stream().map(resultById::get).toList();
+    }
 
-        try {
-            return switch (expiry.getExpireMode()) {
-                case RELATIVE -> {
-                    if (expiry.getDuration() == null) {
-                        Logger.info("沒有提供 duration，使用系統 Default 過期時間");
-                        yield defaultExpire;
-                    }
-                    Logger.info("使用 RELATIVE");
-                    yield now.plusMinutes(expiry.getDuration());
-                }
-                case PERIOD_ALIGNED -> {
-                    if (expiry.getPeriodUnit() == null) {
-                        Logger.info("沒有提供 period_unit，使用系統 Default 過期時間");
-                        yield defaultExpire;
-                    }
-                    Logger.info("使用 PERIOD_ALIGNED");
-                    yield alignToPeriodEnd(now, expiry.getPeriodUnit());
-                }
-                case ABSOLUTE -> {
-                    if (expiry.getFixedAt() == null) {
-                        Logger.info("沒有提供 fixed_at，使用系統 Default 過期時間");
-                        yield defaultExpire;
-                    }
-                    Logger.info("使用 ABSOLUTE");
-                    yield expiry.getFixedAt();
-                }
-            };
-        } catch (Exception e) {
-            Logger.error("Calculate expiredAt failed, fallback to EOD. error: " + e.getMessage());
-            Logger.info("系統錯誤，使用系統 Default 過期時間");
-            return defaultExpire;
-        }
+    private record BulkOutcome(OrderPo order, OrderBulkResult result) {
     }
 
+    /**
+     * 以 plan_id 取得訂單方案，找不到或不屬於訂單的 Live Sight 時使用 Standard 方案。
+     */
     private PlanDto getPlan(OrderPo order) {
-        Map<String, PlanDto> plans = planService.findByLiveSightId(order.getServiceTypeId());
-
-        plans.forEach((key, value) -> log.info("key = {}, value = {}", key, value));
-
-        PlanDto plan = plans.get(order.getPlanId());
+        PlanDto plan = order.getPlanId() != null ? planService.findById(order.getPlanId()).orElse(null) : null;
 
-        if (plan == null) {
-            Logger.info("Live Sight 找不到 plan_id 對應的方案，使用 Live Sight 的 Standard 方案");
-            return plans.get("standard");
+        if (orderFactory.isOrderPlan(plan, order, OrderFactory.REQUEST_LOG)) {
+            return plan;
         }
 
-        return plan;
+        return planService.findStandardByLiveSightId(order.getServiceTypeId()).orElse(null);
     }
 }
@@ -1,5 +1,7 @@
 package com.arplanets.corexrapi.livesight.service.impl;
 
+import com.arplanets.corexrapi.livesight.cache.PlanCache;
+import com.arplanets.corexrapi.livesight.concurrent.BoundedParallelExecutor;
 import com.arplanets.corexrapi.livesight.exception.OrderApiException;
 import com.arplanets.corexrapi.livesight.exception.enums.PlanErrorCode;
 import com.arplanets.corexrapi.livesight.mapper.PlanMapper;
@@ -12,16 +14,18 @@ import com.arplanets.corexrapi.livesight.model.dto.res.PlanBatchUpdateFailedResp
 import com.arplanets.corexrapi.livesight.model.dto.res.PlanBatchUpdateResponse;
 import com.arplanets.corexrapi.livesight.model.po.PlanPo;
 import com.arplanets.corexrapi.livesight.repository.PlanRepository;
+import com.arplanets.corexrapi.livesight.repository.PlanWriteFailure;
 import com.arplanets.corexrapi.livesight.service.PlanService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,11 +33,15 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DynamoDbPlanServiceImpl implements PlanService {
 
+    @Value("${plan.batch.fallback-parallelism:8}")
+    private int fallbackParallelism;
+
     public static final ZoneId ZONE_ID = ZoneId.of("Asia/Taipei");
 
     private final PlanRepository planRepository;
     private final PlanMapper planMapper;
-    private static final String PLANS_FROM_LIVE_SIGHT_CACHE = "planFromLiveSight";
+    private final PlanCache planCache;
+    private final BoundedParallelExecutor boundedParallelExecutor;
 
 
     @Override
@@ -50,11 +58,11 @@ public class DynamoDbPlanServiceImpl implements PlanService {
                 .toList();
 
         // 2. 執行大批次交易寫入
-        List<PlanPo> failedInTransaction = planRepository.createWithTransaction(plans);
+        List<PlanWriteFailure> failedInTransaction = planRepository.createWithTransaction(plans);
 
         // 計算初步成功的項目 (總數 - 交易失敗數)
         Set<String> failedIds = failedInTransaction.stream()
-                .map(PlanPo::getPlanId)
+                .map(failure -> failure.plan().getPlanId())
                 .collect(Collectors.toSet());
 
         List<PlanPo> successItems = plans.stream()
@@ -63,28 +71,25 @@ public class DynamoDbPlanServiceImpl implements PlanService {
 
         List<PlanBatchFailure> failedItems = new ArrayList<>();
 
-        // 3. 降級邏輯：針對交易失敗的項目進行單筆寫入，以識別具體錯誤原因
-        for (PlanPo plan : failedInTransaction) {
-            try {
-                planRepository.create(plan);
+        // 3. 降級邏輯：條件檢查失敗的項目直接回報，其餘交易失敗的項目平行單筆寫入
+        List<WriteOutcome> outcomes = writeFailedSingly(failedInTransaction, planRepository::create, "PK/SK 組合已存在 (重複建立)");
+        for (WriteOutcome outcome : outcomes) {
+            PlanPo plan = outcome.plan();
+            if (outcome.reason() == null) {
                 successItems.add(plan);
-            } catch (ConditionalCheckFailedException e) {
+            } else {
                 failedItems.add(
                         PlanBatchFailure.builder()
                                 .planName(plan.getPlanName())
                                 .expiry(plan.getExpiry())
-                                .reason("PK/SK 組合已存在 (重複建立)")
-                                .build());
-            } catch (Exception e) {
-                failedItems.add(
-                        PlanBatchFailure.builder()
-                                .planName(plan.getPlanName())
-                                .expiry(plan.getExpiry())
-                                .reason("寫入失敗: " + e.getMessage())
+                                .reason(outcome.reason())
                                 .build());
             }
         }
 
+        // 同一節點上立即看得到新方案
+        planCache.putCreated(liveSightId, successItems);
+
         // 4. 封裝最終 Response
         return PlanBatchCreateResponse.builder()
                 .liveSightId(liveSightId)
@@ -100,16 +105,14 @@ public class DynamoDbPlanServiceImpl implements PlanService {
     @Override
     public PlanBatchUpdateResponse batchUpdatePlan(List<PlanUpdateRequest> request, String liveSightId, String user) {
 
-
-
         ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
 
         List<PlanPo> plans = request.stream().map(plan -> buildUpdatePlane(plan, liveSightId, user, now)).toList();
 
-        List<PlanPo> failedInTransaction = planRepository.updateWithTransaction(plans);
+        List<PlanWriteFailure> failedInTransaction = planRepository.updateWithTransaction(plans);
 
         Set<String> failedIds = failedInTransaction.stream()
-                .map(PlanPo::getPlanId)
+                .map(failure -> failure.plan().getPlanId())
                 .collect(Collectors.toSet());
 
         List<PlanPo> successItems = plans.stream()
@@ -118,25 +121,21 @@ public class DynamoDbPlanServiceImpl implements PlanService {
 
         List<PlanBatchUpdateFailedResponse> failedItems = new ArrayList<>();
 
-        for (PlanPo plan : failedInTransaction) {
-            try {
-                planRepository.update(plan);
-                successItems.add(plan);
-            } catch (ConditionalCheckFailedException e) {
+        List<WriteOutcome> outcomes = writeFailedSingly(failedInTransaction, planRepository::update, "PK/SK 組合不存在");
+        for (WriteOutcome outcome : outcomes) {
+            if (outcome.reason() == null) {
+                successItems.add(outcome.plan());
+            } else {
                 failedItems.add(
                         PlanBatchUpdateFailedResponse.builder()
-                                .planId(plan.getPlanId())
-                                .reason("PK/SK 組合不存在")
-                                .build());
-            } catch (Exception e) {
-                failedItems.add(
-                        PlanBatchUpdateFailedResponse.builder()
-                                .planId(plan.getPlanId())
-                                .reason("寫入失敗: " + e.getMessage())
+                                .planId(outcome.plan().getPlanId())
+                                .reason(outcome.reason())
                                 .build());
             }
         }
 
+        planCache.putUpdated(liveSightId, successItems);
+
         return PlanBatchUpdateResponse.builder()
                 .liveSightId(liveSightId)
                 .successItems(successItems.stream().map(planMapper::planPoToPlanUpdateResponse).toList())
@@ -148,24 +147,57 @@ public class DynamoDbPlanServiceImpl implements PlanService {
                 .build();
     }
 
-    @Cacheable(value = PLANS_FROM_LIVE_SIGHT_CACHE, key="#liveSightId")
     @Override
     public Map<String, PlanDto> findByLiveSightId(String liveSightId) {
-        List<PlanPo> result = planRepository.listByLiveSightId(liveSightId);
-
-        Map<String, PlanDto> planMap = new HashMap<>(result.size() + 1);
+        return planCache.get(liveSightId);
+    }
 
-        for (PlanPo plan : result) {
-            PlanDto dto = planMapper.planePoToPlaneDto(plan);
+    @Override
+    public Optional<PlanDto> findById(String planId) {
+        return planCache.getPlan(planId);
+    }
 
-            planMap.put(dto.getPlanId(), dto);
+    @Override
+    public Optional<PlanDto> findStandardByLiveSightId(String liveSightId) {
+        return planCache.getStandardPlan(liveSightId);
+    }
 
-            if (Boolean.TRUE.equals(dto.getStandard())) {
-                planMap.put("standard", dto);
+    /**
+     * 交易回報條件檢查失敗的項目重試也不會成功，直接以 conditionFailedReason 回報；
+     * 其餘 (衝突、節流、非預期錯誤) 以有限的平行度單筆寫入。
+     */
+    private List<WriteOutcome> writeFailedSingly(List<PlanWriteFailure> failures, Consumer<PlanPo> writer, String conditionFailedReason) {
+        List<WriteOutcome> outcomes = new ArrayList<>(failures.size());
+        List<PlanPo> retry = new ArrayList<>();
+
+        for (PlanWriteFailure failure : failures) {
+            if (failure.isConditionalCheckFailed()) {
+                outcomes.add(new WriteOutcome(failure.plan(), conditionFailedReason));
+            } else {
+                retry.add(failure.plan());
             }
         }
 
-        return planMap;
+        outcomes.addAll(boundedParallelExecutor.map(retry, fallbackParallelism, plan -> {
+            try {
+                writer.accept(plan);
+                return new WriteOutcome(plan, null);
+            } catch (Exception e) {
+                // 單筆 update 會將條件檢查失敗包成 DataAccessResourceFailureException
+                if (e instanceof ConditionalCheckFailedException || e.getCause() instanceof ConditionalCheckFailedException) {
+                    return new WriteOutcome(plan, conditionFailedReason);
+                }
+                return new WriteOutcome(plan, "寫入失敗: " + e.getMessage());
+            }
+        }));
+
+        return outcomes;
+    }
+
+    /**
+     * 單筆方案的降級寫入結果，reason 為 null 表示寫入成功。
+     */
+    private record WriteOutcome(PlanPo plan, String reason) {
     }
 
     private PlanPo buildCreatePlane(PlanCreateRequest plan, String liveSightId, String user, ZonedDateTime now) {
@@ -194,14 +226,15 @@ public class DynamoDbPlanServiceImpl implements PlanService {
     }
 
     private void validateStandard(String liveSightId, List<PlanCreateRequest> plans) {
-        plans.forEach(plan -> {
-            if (Boolean.TRUE.equals(plan.getStandard())) {
-                Map<String, PlanDto> storedPlans = findByLiveSightId(liveSightId);
+        if (plans.stream().noneMatch(plan -> Boolean.TRUE.equals(plan.getStandard()))) {
+            return;
+        }
 
-                if (storedPlans.containsKey("standard")) {
-                    throw new OrderApiException(PlanErrorCode._001);
-                }
-            }
-        });
+        // 不經過快取，避免其他節點剛建立的一般方案尚未反映在本機快取
+        Map<String, PlanDto> storedPlans = planMapper.planPosToPlanMap(planRepository.listByLiveSightId(liveSightId));
+
+        if (storedPlans.containsKey("standard")) {
+            throw new OrderApiException(PlanErrorCode._001);
+        }
     }
 }
@@ -0,0 +1,377 @@
+package com.arplanets.corexrapi.livesight.service.impl;
+
+import com.arplanets.corexrapi.livesight.exception.OrderApiException;
+import com.arplanets.corexrapi.livesight.exception.enums.OrderErrorCode;
+import com.arplanets.corexrapi.livesight.log.Logger;
+import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
+import com.arplanets.corexrapi.livesight.model.bo.OrderIotPayload;
+import com.arplanets.corexrapi.livesight.model.dto.ClientInfo;
+import com.arplanets.corexrapi.livesight.model.dto.Expiry;
+import com.arplanets.corexrapi.livesight.model.dto.PlanDto;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.eunms.PeriodUnit;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+import static com.arplanets.corexrapi.livesight.service.impl.DynamoDbOrderServiceImpl.LIVE_SIGHT_NAME;
+import static com.arplanets.corexrapi.livesight.service.impl.DynamoDbOrderServiceImpl.ZONE_ID;
+
+/**
+ * 訂單資料的產生與驗證，同步與非同步的訂單 service 共用，不存取資料庫。
+ * <p>
+ * 內容為原本 DynamoDbOrderServiceImpl 的 private 方法；會輸出日誌的方法在 request 執行緒使用 API 日誌 (Logger)，
+ * 非同步回呼需改用 BACKGROUND_LOG 或 buildBackgroundPayload。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderFactory {
+
+    /**
+     * 在 request 執行緒輸出到 API 日誌。
+     */
+    public static final ExpiryLog REQUEST_LOG = new ExpiryLog() {
+        @Override
+        public void info(String message) {
+            Logger.info(message);
+        }
+
+        @Override
+        public void error(String message) {
+            Logger.error(message);
+        }
+    };
+
+    /**
+     * 非同步回呼沒有 request scope，改輸出到應用程式日誌。
+     */
+    public static final ExpiryLog BACKGROUND_LOG = new ExpiryLog() {
+        @Override
+        public void info(String message) {
+            log.info(message);
+        }
+
+        @Override
+        public void error(String message) {
+            log.error(message);
+        }
+    };
+
+    @Value("${order.ttl.minutes}")
+    private long ttlMinutes;
+    @Value("${order.redeem-code.expiration-minutes}")
+    private long redeemCodeExpirationMinutes;
+
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+
+    public String hashWithSHA256(String orderId, String salt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String combinedString = orderId + salt;
+            byte[] hashBytes = digest.digest(combinedString.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hashBytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not found.", e);
+        }
+    }
+
+    public String extractUuid(String namespace) {
+        if (namespace == null || namespace.isEmpty()) {
+            return null;
+        }
+
+        String[] parts = namespace.split("\\.");
+
+        int livesightIndex = -1;
+        for (int i = 0; i < parts.length; i++) {
+            if (LIVE_SIGHT_NAME.equals(parts[i])) {
+                livesightIndex = i;
+                break;
+            }
+        }
+
+        if (livesightIndex != -1 && livesightIndex + 1 < parts.length) {
+            return parts[livesightIndex + 1];
+        }
+
+        return null;
+    }
+
+    public String genRedeemCode() {
+        // 產生 32 位元組的隨機資料
+        byte[] randomBytes = new byte[32];
+        new SecureRandom().nextBytes(randomBytes);
+        // 使用 URL 安全的 Base64 編碼
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    }
+
+    public void validateSalt(String orderId, String salt, String storedVerificationCode) {
+        String currentVerificationCode = hashWithSHA256(orderId, salt);
+        if (!currentVerificationCode.equals(storedVerificationCode)) {
+            throw new OrderApiException(OrderErrorCode._005);
+        }
+    }
+
+    public void validateProductId(String inputProductId, String storedProductId) {
+        if (!inputProductId.equals(storedProductId)) {
+            throw new OrderApiException(OrderErrorCode._006);
+        }
+    }
+
+    public void validateOrderInLiveSight(String inputNamespace, OrderPo order) {
+        if (!inputNamespace.equals(order.getNamespace())) {
+            throw new OrderApiException(OrderErrorCode._021);
+        }
+    }
+
+    /**
+     * 產生新訂單，需在 request 執行緒呼叫。
+     */
+    public OrderPo buildCreatedOrder(
+            String orderId,
+            String namespace,
+            String productId,
+            String authType,
+            String authTypeId,
+            ClientInfo clientInfo,
+            String verificationCode,
+            String planId
+    ) {
+
+        Logger.info("產生訂單資料");
+        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
+
+        ZonedDateTime expiredAt = getExpiredAt(now, null, REQUEST_LOG);
+
+        return OrderPo.builder()
+                .orderId(orderId)
+                .orderStatus(OrderStatus.PENDING)
+                .namespace(namespace)
+                .productId(productId)
+                .serviceType(LIVE_SIGHT_NAME)
+                .serviceTypeId(extractUuid(namespace))
+                .planId(planId)
+                .authType(authType)
+                .authTypeId(authTypeId)
+                .userBrowser(clientInfo.getBrowserName())
+                .userOs(clientInfo.getOsName())
+                .userDeviceType(clientInfo.getDeviceType())
+                .createdAt(now)
+                .verificationCode(verificationCode)
+                .expiredAt(expiredAt)
+                .updatedAt(now)
+                .ttl(now.plusMinutes(ttlMinutes))
+                .build();
+    }
+
+    public OrderPo buildActivatedOrder(String orderId, String namespace, String productId, String staffId, String redeemCode, List<String> tags) {
+        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
+        ZonedDateTime expiredAt = now.plusMinutes(redeemCodeExpirationMinutes);
+
+        return OrderPo.builder()
+                .orderId(orderId)
+                .namespace(namespace)
+                .productId(productId)
+                .orderStatus(OrderStatus.ACTIVATED)
+                .activatedAt(now)
+                .activatedBy(staffId)
+                .redeemCode(redeemCode)
+                .tags(tags)
+                .expiredAt(expiredAt)
+                .updatedAt(now)
+                .build();
+    }
+
+    public OrderPo buildRedeemedOrder(String orderId, String productId, String redeemCode, String accessToken, ZonedDateTime now, ZonedDateTime expire) {
+        return OrderPo.builder()
+                .orderId(orderId)
+                .productId(productId)
+                .orderStatus(OrderStatus.REDEEMED)
+                .redeemCode(redeemCode)
+                .redeemedAt(now)
+                .accessToken(accessToken)
+                .expiredAt(expire)
+                .updatedAt(now)
+                .build();
+    }
+
+    public OrderPo buildVoidedOrder(String orderId, String namespace, String productId, String staffId) {
+        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
+
+        return OrderPo.builder()
+                .orderId(orderId)
+                .namespace(namespace)
+                .productId(productId)
+                .orderStatus(OrderStatus.VOIDED)
+                .voidedAt(now)
+                .voidedBy(staffId)
+                .updatedAt(now)
+                .build();
+    }
+
+    public OrderPo buildReturnedOrder(String orderId, String namespace, String productId, String staffId) {
+        ZonedDateTime now = ZonedDateTime.now(ZONE_ID);
+        return OrderPo.builder()
+                .orderId(orderId)
+                .namespace(namespace)
+                .productId(productId)
+                .orderStatus(OrderStatus.COMPLETED)
+                .returnedAt(now)
+                .returnedBy(staffId)
+                .updatedAt(now)
+                .build();
+    }
+
+    public String buildTopicPath(OrderPo orderPo) {
+        return getTopicAction(orderPo) + orderPo.getOrderId();
+    }
+
+    private String getTopicAction(OrderPo orderPo) {
+        OrderStatus orderStatus = orderPo.getOrderStatus();
+        return orderStatus == OrderStatus.ACTIVATED ? "active/" : "revoke/";
+    }
+
+    /**
+     * 產生 IoT payload，需在 request 執行緒呼叫。
+     */
+    public SdkBytes buildPayload(OrderPo orderPo) {
+        try {
+            return toPayload(orderPo);
+        } catch (JsonProcessingException e) {
+            Logger.error("Failed to convert OrderIotPayload to JSON string.", e);
+            return null;
+        }
+    }
+
+    /**
+     * 產生 IoT payload，供非同步回呼使用；沒有 request scope，錯誤改輸出到應用程式日誌。
+     */
+    public SdkBytes buildBackgroundPayload(OrderPo orderPo) {
+        try {
+            return toPayload(orderPo);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to convert OrderIotPayload to JSON string.", e);
+            return null;
+        }
+    }
+
+    private SdkBytes toPayload(OrderPo orderPo) throws JsonProcessingException {
+        OrderIotPayload orderPayload = orderMapper.orderPoToOrderIotPayload(orderPo);
+        return SdkBytes.fromUtf8String(objectMapper.writeValueAsString(orderPayload));
+    }
+
+    /**
+     * 以 plan_id 取得的方案須屬於訂單的 Live Sight 才是訂單方案，否則呼叫端改用 Live Sight 的 Standard 方案。
+     */
+    public boolean isOrderPlan(PlanDto plan, OrderPo order, ExpiryLog expiryLog) {
+        if (plan == null || !Objects.equals(plan.getLiveSightId(), order.getServiceTypeId())) {
+            expiryLog.info("Live Sight 找不到 plan_id 對應的方案，使用 Live Sight 的 Standard 方案");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * 取得方案的效期設定；沒有方案或方案未設定效期時回傳空的設定，表示使用系統 Default 過期時間。
+     */
+    public Expiry resolveExpiryPolicy(PlanDto plan) {
+        if (plan == null || plan.getExpiry() == null || plan.getExpiry().getExpireMode() == null) {
+            return new Expiry();
+        }
+
+        return plan.getExpiry();
+    }
+
+    public ZonedDateTime getExpiredAt(ZonedDateTime now, PlanDto plan, ExpiryLog expiryLog) {
+        if (plan == null) {
+            expiryLog.info("使用系統 Default 過期時間");
+            return now.with(LocalTime.MAX).truncatedTo(ChronoUnit.SECONDS);
+        }
+
+        return computeExpiredAt(now, plan.getExpiry(), expiryLog);
+    }
+
+    public ZonedDateTime computeExpiredAt(ZonedDateTime now, Expiry expiry, ExpiryLog expiryLog) {
+        // 產生 Default 過期時間 (當天結束)
+        ZonedDateTime defaultExpire = now.with(LocalTime.MAX).truncatedTo(ChronoUnit.SECONDS);
+
+        if (expiry == null || expiry.getExpireMode() == null) {
+            expiryLog.info("Live Sight 沒有 plan_id 對應的方案或 Standard 方案，使用系統 Default 過期時間");
+            return defaultExpire;
+        }
+
+        try {
+            return switch (expiry.getExpireMode()) {
+                case RELATIVE -> {
+                    if (expiry.getDuration() == null) {
+                        expiryLog.info("沒有提供 duration，使用系統 Default 過期時間");
+                        yield defaultExpire;
+                    }
+                    expiryLog.info("使用 RELATIVE");
+                    yield now.plusMinutes(expiry.getDuration());
+                }
+                case PERIOD_ALIGNED -> {
+                    if (expiry.getPeriodUnit() == null) {
+                        expiryLog.info("沒有提供 period_unit，使用系統 Default 過期時間");
+                        yield defaultExpire;
+                    }
+                    expiryLog.info("使用 PERIOD_ALIGNED");
+                    yield alignToPeriodEnd(now, expiry.getPeriodUnit());
+                }
+                case ABSOLUTE -> {
+                    if (expiry.getFixedAt() == null) {
+                        expiryLog.info("沒有提供 fixed_at，使用系統 Default 過期時間");
+                        yield defaultExpire;
+                    }
+                    expiryLog.info("使用 ABSOLUTE");
+                    yield expiry.getFixedAt();
+                }
+            };
+        } catch (Exception e) {
+            expiryLog.error("Calculate expiredAt failed, fallback to EOD. error: " + e.getMessage());
+            expiryLog.info("系統錯誤，使用系統 Default 過期時間");
+            return defaultExpire;
+        }
+    }
+
+    private ZonedDateTime alignToPeriodEnd(ZonedDateTime now, PeriodUnit unit) {
+        return switch (unit) {
+            case DAY -> now.with(LocalTime.MAX);
+            case WEEK -> now.with(java.time.temporal.TemporalAdjusters.nextOrSame(java.time.DayOfWeek.SUNDAY))
+                    .with(LocalTime.MAX);
+            case MONTH -> now.with(java.time.temporal.TemporalAdjusters.lastDayOfMonth())
+                    .with(LocalTime.MAX);
+            case YEAR -> now.with(java.time.temporal.TemporalAdjusters.lastDayOfYear())
+                    .with(LocalTime.MAX);
+        };
+    }
+
+    /**
+     * 效期計算的日誌輸出。
+     */
+    public interface ExpiryLog {
+
+        void info(String message);
+
+        void error(String message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.arplanets.corexrapi.livesight.service.impl;
 
+import com.arplanets.corexrapi.livesight.cache.NegativeResultCache;
 import com.arplanets.corexrapi.livesight.exception.OrderApiException;
 import com.arplanets.corexrapi.livesight.exception.enums.OrgErrorCode;
 import com.arplanets.corexrapi.livesight.mapper.OrgMapper;
@@ -21,14 +22,20 @@ public class OrgServiceImpl implements OrgService {
 
     private final OrgRepository orgRepository;
     private final OrgMapper orgMapper;
-    private static final String ORG_CACHE = "orgDetails";
+    private final NegativeResultCache negativeResultCache;
+    public static final String ORG_CACHE = "orgDetails";
 
     @Cacheable(value = ORG_CACHE, key = "#orgId")
     @Override
     public OrgDto findByOrgId(String orgId) {
+        if (negativeResultCache.isMissing(ORG_CACHE, orgId)) throw new OrderApiException(OrgErrorCode._001);
+
         Optional<Org> option = orgRepository.findByOrgIdAndActiveTrueAndDeletedAtIsNull(orgId);
 
-        if (option.isEmpty()) throw new OrderApiException(OrgErrorCode._001);
+        if (option.isEmpty()) {
+            negativeResultCache.markMissing(ORG_CACHE, orgId);
+            throw new OrderApiException(OrgErrorCode._001);
+        }
 
         return orgMapper.orgPoToOrgDto(option.get());
     }
@@ -1,5 +1,6 @@
 package com.arplanets.corexrapi.livesight.service.impl;
 
+import com.arplanets.corexrapi.livesight.cache.NegativeResultCache;
 import com.arplanets.corexrapi.livesight.exception.OrderApiException;
 import com.arplanets.corexrapi.livesight.exception.enums.ServiceOrgMemberErrorCode;
 import com.arplanets.corexrapi.livesight.mapper.ServiceOrgMemberMapper;
@@ -22,14 +23,21 @@ public class ServiceOrgMemberServiceImpl implements ServiceOrgMemberService {
 
     private final ServiceOrgMemberRepository serviceOrgMemberRepository;
     private final ServiceOrgMemberMapper serviceOrgMemberMapper;
-    private static final String ORG_MEMBER_CACHE = "orgMemberDetails";
+    private final NegativeResultCache negativeResultCache;
+    public static final String ORG_MEMBER_CACHE = "orgMemberDetails";
 
     @Cacheable(value = ORG_MEMBER_CACHE, key = "#orgId + ':' + #uuid")
     @Override
     public ServiceOrgMemberDto findByOrgIdAndUuid(String orgId, String uuid) {
+        String cacheKey = orgId + ":" + uuid;
+        if (negativeResultCache.isMissing(ORG_MEMBER_CACHE, cacheKey)) {
+            throw new OrderApiException(ServiceOrgMemberErrorCode._001);
+        }
+
         Optional<ServiceOrgMember> option = serviceOrgMemberRepository.findByOrgIdAndUuidAndActiveTrueAndDeletedAtIsNull(orgId, uuid);
 
         if (option.isEmpty()) {
+            negativeResultCache.markMissing(ORG_MEMBER_CACHE, cacheKey);
             throw new OrderApiException(ServiceOrgMemberErrorCode._001);
         }
 
@@ -0,0 +1,39 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 執行所有 benchmark，並以 GC profiler 一併輸出每次操作的配置量 (gc.alloc.rate.norm)。
+ * <p>
+ * 參數與 JMH 命令列相同，例如只跑部分 benchmark：{@code Logging.* -f 2}。
+ * 結果另存為 target/jmh-result.json，方便與前一次結果比較。
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = BenchmarkRunner.class.getPackageName() + ".*Benchmark";
+    private static final String RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE);
+
+        // 沒有指定時執行此 package 下所有 benchmark
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(DEFAULT_INCLUDE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import com.arplanets.commons.utils.ClientInfoUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每個建立訂單請求與每筆日誌都會解析的 User-Agent 與來源 IP。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientInfoBenchmark {
+
+    private static final Map<String, String> USER_AGENTS = Map.of(
+            "android", "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Mobile Safari/537.36",
+            "ios", "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.5 Mobile/15E148 Safari/604.1",
+            "windows", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36"
+    );
+
+    @Param({"android", "ios", "windows"})
+    private String device;
+
+    /**
+     * forwarded：經過 ALB，X-Forwarded-For 帶多個 IP；direct：沒有任何代理標頭，需檢查完所有標頭。
+     */
+    @Param({"forwarded", "direct"})
+    private String route;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("POST", "/api/order/create");
+        request.addHeader("User-Agent", USER_AGENTS.get(device));
+        request.setRemoteAddr("10.0.12.34");
+        if ("forwarded".equals(route)) {
+            request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.5");
+        }
+    }
+
+    @Benchmark
+    public Object getClientInfo() {
+        return ClientInfoUtil.getClientInfo(request);
+    }
+
+    @Benchmark
+    public Object getClientIp() {
+        return ClientInfoUtil.getClientIp(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ClientInfoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.OrderItemCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 訂單時間欄位的 ISO 8601 格式化與解析，每筆訂單讀寫都有多個時間欄位。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateTimeConverterBenchmark {
+
+    /**
+     * DateTimeConverter 的輸出在有毫秒時才會帶小數秒，兩種格式都會出現在資料表中。
+     */
+    @Param({"true", "false"})
+    private boolean withMillis;
+
+    private ZonedDateTime utcTime;
+    private String formatted;
+    private String epochSecond;
+
+    @Setup
+    public void setUp() {
+        utcTime = ZonedDateTime.of(2025, 6, 1, 2, 15, 30, withMillis ? 123_000_000 : 0, ZoneId.of("UTC"));
+        formatted = DateTimeConverter.toFormattedString(utcTime);
+        epochSecond = String.valueOf(utcTime.toEpochSecond());
+    }
+
+    @Benchmark
+    public String toFormattedString() {
+        return DateTimeConverter.toFormattedString(utcTime);
+    }
+
+    @Benchmark
+    public ZonedDateTime fromFormattedString() {
+        return DateTimeConverter.fromFormattedString(formatted);
+    }
+
+    /**
+     * OrderItemCodec 的手寫解析器，作為 DateTimeFormatter 解析的比較基準。
+     */
+    @Benchmark
+    public ZonedDateTime orderItemCodecParse() {
+        return OrderItemCodec.parseDateTime(formatted);
+    }
+
+    @Benchmark
+    public ZonedDateTime fromEpochSecondToZonedDateTime() {
+        return DateTimeConverter.fromEpochSecondToZonedDateTime(epochSecond);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DateTimeConverterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.arplanets.corexrapi.livesight.log.ErrorContext;
+import com.arplanets.corexrapi.livesight.log.LogContext;
+import com.arplanets.corexrapi.livesight.log.LogMessage;
+import com.arplanets.corexrapi.livesight.log.LoggingService;
+import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
+import com.arplanets.corexrapi.livesight.model.dto.RequestContext;
+import com.arplanets.corexrapi.livesight.model.dto.ResponseContext;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.OrderItemCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每個請求都會產生的 API 日誌與 Audit Log。
+ * <p>
+ * LoggingService 的 logger 調成 WARN，只量測訊息組裝與 JSON 序列化，不含 console 輸出。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private LogContext logContext;
+    private LoggingService loggingService;
+    private LogMessage logMessage;
+    private Map<String, Object> context;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(LoggingService.class)).setLevel(Level.WARN);
+
+        // 與 Spring Boot 預設相同的 ObjectMapper 設定 (含 JavaTimeModule)
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/order/activate");
+        request.addHeader("User-Agent", "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Mobile Safari/537.36");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.5");
+        request.setAttribute("requestContext", RequestContext.builder()
+                .requestId(UUID.randomUUID().toString())
+                .actionType("order.activate")
+                .build());
+        request.setAttribute("responseContext", ResponseContext.builder()
+                .order(orderMapper.orderPoToOrderContext(OrderItemCodec.decode(OrderItemFixtures.orderItem(new Random(42L),
+                        UUID.randomUUID().toString(), ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneId.of("Asia/Taipei"))))))
+                .errorContext(new ErrorContext())
+                .build());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(200);
+
+        logContext = new LogContext(request, response, objectMapper);
+        loggingService = new LoggingService(logContext, objectMapper);
+        logMessage = logContext.initApiMessage("order_" + UUID.randomUUID());
+        context = Map.of("message", "Send IoT request successfully", "topic", "arplanet/live-sight/order");
+    }
+
+    /**
+     * 以預先產生的訊息呼叫，成本幾乎都在 doLog 的 JSON 序列化。
+     */
+    @Benchmark
+    public void doLog() {
+        loggingService.infoByInitAPiMessage(logMessage, context);
+    }
+
+    @Benchmark
+    public void apiLog() {
+        loggingService.info(context);
+    }
+
+    @Benchmark
+    public LogMessage buildAuditMessage() {
+        return logContext.buildAuditMessage();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.OrderItemCodec;
+import com.arplanets.corexrapi.livesight.security.jwt.OrderJwtManager;
+import com.arplanets.corexrapi.livesight.service.impl.OrderFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 訂單憑證相關的計算：Verification Code、Redeem Code 與 Access Token 的簽發、驗證。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderCredentialBenchmark {
+
+    private static final String ISSUER = "https://corexr.arplanets.com";
+
+    private final OrderFactory orderFactory = new OrderFactory(null, null);
+    private final OrderJwtManager orderJwtManager = new OrderJwtManager();
+
+    private OrderPo order;
+    private String orderId;
+    private String salt;
+    private ZonedDateTime now;
+    private ZonedDateTime expire;
+    private String accessToken;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        orderJwtManager.setKeyPair(generator.generateKeyPair());
+        orderJwtManager.setJwtIssuer(ISSUER);
+        orderJwtManager.setJwtAudience("");
+
+        now = ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneId.of("Asia/Taipei"));
+        expire = now.plusHours(12);
+        order = OrderItemCodec.decode(OrderItemFixtures.orderItem(new Random(42L), UUID.randomUUID().toString(), now));
+        orderId = order.getOrderId();
+        salt = UUID.randomUUID().toString();
+
+        // 驗證用 token 的效期需涵蓋整個 benchmark
+        accessToken = orderJwtManager.genAccessToken(order, ZonedDateTime.now(), ZonedDateTime.now().plusDays(1));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String hashWithSHA256() {
+        return orderFactory.hashWithSHA256(orderId, salt);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String genRedeemCode() {
+        return orderFactory.genRedeemCode();
+    }
+
+    @Benchmark
+    public String genAccessToken() {
+        return orderJwtManager.genAccessToken(order, now, expire);
+    }
+
+    @Benchmark
+    public Object verify() {
+        return orderJwtManager.verify(accessToken);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderCredentialBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
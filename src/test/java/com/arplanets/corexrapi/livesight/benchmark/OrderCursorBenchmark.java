@@ -0,0 +1,226 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.OrderCursorCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 比較二進位分頁 cursor 與原本 Jackson + Base64 cursor 的編解碼成本。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@Slf4j
+public class OrderCursorBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, AttributeValue> key;
+    private String legacyCursor;
+    private String binaryCursor;
+
+    @Setup
+    public void setUp() {
+        ZonedDateTime createdAt = ZonedDateTime.of(2025, 6, 1, 10, 15, 30, 123_456_000, ZoneId.of("Asia/Taipei"));
+
+        key = new HashMap<>();
+        key.put("pk", AttributeValue.builder().s("order_" + UUID.randomUUID()).build());
+        key.put("sk", AttributeValue.builder().s("info").build());
+        key.put("service_type_id", AttributeValue.builder().s(UUID.randomUUID().toString()).build());
+        key.put("created_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(createdAt)).build());
+
+        legacyCursor = legacySerializeKey(key);
+        binaryCursor = OrderCursorCodec.encode(key);
+
+        log.info("legacy cursor length = {}, binary cursor length = {}", legacyCursor.length(), binaryCursor.length());
+    }
+
+    @Benchmark
+    public void legacyEncode(Blackhole blackhole) {
+        blackhole.consume(legacySerializeKey(key));
+    }
+
+    @Benchmark
+    public void binaryEncode(Blackhole blackhole) {
+        blackhole.consume(OrderCursorCodec.encode(key));
+    }
+
+    @Benchmark
+    public void legacyDecode(Blackhole blackhole) {
+        blackhole.consume(legacyDeserializeKey(legacyCursor));
+    }
+
+    @Benchmark
+    public void binaryDecode(Blackhole blackhole) {
+        blackhole.consume(OrderCursorCodec.decode(OrderCursorCodec.decodeBase64(binaryCursor)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderCursorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // ---- 原 AwsDynamoDbSdkOrderRepositoryImpl 的實作，作為比較基準 ----
+
+    private Map<String, AttributeValue> legacyDeserializeKey(String lastEvaluatedKey) {
+        if (!StringUtils.hasText(lastEvaluatedKey)) {
+            return null;
+        }
+        try {
+            byte[] decodedBytes = Base64.getUrlDecoder().decode(lastEvaluatedKey);
+            String jsonKey = new String(decodedBytes, StandardCharsets.UTF_8);
+
+            // 1. 先反序列化為一個簡單的、Jackson 可理解的 Map 結構
+            TypeReference<Map<String, Map<String, Object>>> typeRef = new TypeReference<>() {};
+            Map<String, Map<String, Object>> intermediateMap = objectMapper.readValue(jsonKey, typeRef);
+
+            // 2. 手動將簡單 Map 轉換為 Map<String, AttributeValue>
+            return intermediateMap.entrySet().stream()
+                    .collect(Collectors.toMap(
+                            Map.Entry::getKey,
+                            entry -> deserializeAttributeValue(entry.getValue())
+                    ));
+        } catch (Exception e) {
+            log.error("反序列化 lastEvaluatedKey 失敗: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private AttributeValue deserializeAttributeValue(Map<String, Object> valueMap) {
+        // 根據 DynamoDB JSON 格式，這個 Map 應該只會有一個 key (S, N, L 等)
+        String type = valueMap.keySet().iterator().next();
+        Object value = valueMap.get(type);
+
+        return switch (type) {
+            // --- 基本類型 ---
+            case "S" -> AttributeValue.builder().s((String) value).build();
+            case "N" -> AttributeValue.builder().n((String) value).build();
+            case "B" -> {
+                byte[] decodedBytes = Base64.getDecoder().decode((String) value);
+                yield AttributeValue.builder().b(SdkBytes.fromByteArray(decodedBytes)).build();
+                // 將 Base64 字串解碼回 SdkBytes 物件
+            }
+            case "BOOL" -> AttributeValue.builder().bool((Boolean) value).build();
+            case "NULL" -> AttributeValue.builder().nul((Boolean) value).build();
+
+            // --- 集合類型 (Set) ---
+            case "SS" ->
+                // Jackson 會將 JSON 陣列解析成 List
+                    AttributeValue.builder().ss((List<String>) value).build();
+            case "NS" -> AttributeValue.builder().ns((List<String>) value).build();
+            case "BS" -> {
+                List<SdkBytes> sdkBytesList = ((List<String>) value).stream()
+                        .map(s -> SdkBytes.fromByteArray(Base64.getDecoder().decode(s)))
+                        .collect(Collectors.toList());
+                yield AttributeValue.builder().bs(sdkBytesList).build();
+                // 將 List 中的每一個 Base64 字串都解碼成 SdkBytes
+            }
+
+            // --- 巢狀/遞迴類型 ---
+            case "L" -> {
+                List<AttributeValue> deserializedList = ((List<Map<String, Object>>) value).stream()
+                        .map(this::deserializeAttributeValue)
+                        .collect(Collectors.toList());
+                yield AttributeValue.builder().l(deserializedList).build();
+                // 將 List 中的每一個元素，遞迴地呼叫自己進行轉換
+            }
+            case "M" -> {
+                Map<String, AttributeValue> deserializedMap = ((Map<String, Map<String, Object>>) value).entrySet().stream()
+                        .collect(Collectors.toMap(
+                                Map.Entry::getKey,
+                                entry -> deserializeAttributeValue(entry.getValue())
+                        ));
+                yield AttributeValue.builder().m(deserializedMap).build();
+                // 將 Map 中的每一個 Value，遞迴地呼叫自己進行轉換
+            }
+            default ->
+                    throw new IllegalArgumentException("Unsupported type in lastEvaluatedKey for deserialization: " + type);
+        };
+    }
+
+    private String legacySerializeKey(Map<String, AttributeValue> key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+
+        try {
+            Map<String, Map<String, Object>> serializableKey = key.entrySet().stream()
+                    .collect(Collectors.toMap(
+                            Map.Entry::getKey,
+                            entry -> serializeAttributeValue(entry.getValue())
+                    ));
+
+            String jsonString = objectMapper.writeValueAsString(serializableKey);
+            return Base64.getUrlEncoder().encodeToString(jsonString.getBytes());
+
+        } catch (JsonProcessingException e) {
+            log.error("序列化 DynamoDB key 失敗", e);
+            throw new RuntimeException("無法序列化分頁 key", e);
+        }
+    }
+
+    private Map<String, Object> serializeAttributeValue(AttributeValue val) {
+        // --- 基本類型 ---
+        if (val.s() != null) return Map.of("S", val.s());
+        if (val.n() != null) return Map.of("N", val.n());
+        if (val.b() != null) return Map.of("B", Base64.getEncoder().encodeToString(val.b().asByteArray()));
+        if (val.bool() != null) return Map.of("BOOL", val.bool());
+        if (val.nul() != null && val.nul()) return Map.of("NULL", true);
+
+        // --- 集合類型 (Set) ---
+        // AWS SDK v2 使用 hasSs() 這類方法來檢查集合是否存在且非空
+        if (val.hasSs()) return Map.of("SS", val.ss());
+        if (val.hasNs()) return Map.of("NS", val.ns());
+        if (val.hasBs()) {
+            // 處理二進位集合，需要將其中每個元素都進行 Base64 編碼
+            List<String> base64Strings = val.bs().stream()
+                    .map(sdkBytes -> Base64.getEncoder().encodeToString(sdkBytes.asByteArray()))
+                    .toList();
+            return Map.of("BS", base64Strings);
+        }
+
+        // --- 巢狀/遞迴類型 ---
+        if (val.hasL()) {
+            // 處理列表，遞迴地轉換列表中的每一個 AttributeValue
+            List<Map<String, Object>> serializedList = val.l().stream()
+                    .map(this::serializeAttributeValue) // 對每個元素再次呼叫自己
+                    .toList();
+            return Map.of("L", serializedList);
+        }
+        if (val.hasM()) {
+            // 處理 Map，遞迴地轉換 Map 中的每一個 AttributeValue
+            Map<String, Map<String, Object>> serializedMap = val.m().entrySet().stream()
+                    .collect(Collectors.toMap(
+                            Map.Entry::getKey,
+                            entry -> serializeAttributeValue(entry.getValue()) // 對每個 Value 再次呼叫自己
+                    ));
+            return Map.of("M", serializedMap);
+        }
+
+        throw new IllegalStateException("Unsupported AttributeValue type for serialization: " + val);
+
+    }
+}
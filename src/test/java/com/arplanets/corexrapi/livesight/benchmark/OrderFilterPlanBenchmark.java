@@ -0,0 +1,245 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.model.dto.req.DateRangeRequest;
+import com.arplanets.corexrapi.livesight.model.dto.req.OrderFilterRequest;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.OrderFilterPlan;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.lang.reflect.Field;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 比較 OrderFilterPlan 與原本以反射產生篩選條件的成本。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@Slf4j
+public class OrderFilterPlanBenchmark {
+
+    private OrderFilterRequest filters;
+
+    @Setup
+    public void setUp() {
+        ZonedDateTime now = ZonedDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneId.of("Asia/Taipei"));
+
+        DateRangeRequest createdAt = new DateRangeRequest();
+        createdAt.setStartDate(now.minusDays(30));
+        createdAt.setEndDate(now);
+
+        DateRangeRequest activatedAt = new DateRangeRequest();
+        activatedAt.setStartDate(now.minusDays(7));
+
+        filters = OrderFilterRequest.builder()
+                .userBrowser("Chrome")
+                .orderStatus(OrderStatus.ACTIVATED)
+                .createdAt(createdAt)
+                .activatedAt(activatedAt)
+                .activatedBy("staff-1")
+                .tags(List.of("pr", "vip"))
+                .build();
+    }
+
+    @Benchmark
+    public void legacyReflection(Blackhole blackhole) {
+        blackhole.consume(buildFilterExpression(filters));
+    }
+
+    @Benchmark
+    public void compiledPlan(Blackhole blackhole) {
+        blackhole.consume(OrderFilterPlan.of(OrderFilterRequest.class).bind(filters));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderFilterPlanBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // ---- 原 AwsDynamoDbSdkOrderRepositoryImpl 的實作，作為比較基準 (OrderFilterPlanTest 也以此驗證產生的條件) ----
+
+    public static Map<String, Object> buildFilterExpression(OrderFilterRequest filters) {
+        if (filters == null) {
+            return Map.of("expression", "", "names", Map.of(), "values", Map.of());
+        }
+
+        ExpressionContext context = new ExpressionContext();
+
+        Class<? extends OrderFilterRequest> clazz = filters.getClass();
+
+        for (Field field : clazz.getDeclaredFields()) {
+            try {
+                field.setAccessible(true);
+
+                Object fieldValue = field.get(filters);
+
+                String fieldName = getJsonFieldName(field);
+
+                if ("created_at".equals(fieldName)) continue;
+
+                if (fieldValue instanceof DateRangeRequest range) {
+                    handleDateRange(context, fieldName, range);
+                } else if ("tags".equals(fieldName) && fieldValue instanceof List) {
+                    handleTags(context, fieldName, (List<?>) fieldValue);
+                } else if (fieldValue != null) {
+                    handleSingleValue(context, fieldName, fieldValue);
+                }
+            } catch (IllegalAccessException e) {
+                log.error("無法訪問屬性: {}", e.getMessage());
+            } finally {
+                field.setAccessible(false);
+            }
+        }
+
+        return Map.of(
+                "expression", context.expressionBuilder.toString(),
+                "names", context.expressionAttributeNames,
+                "values", context.expressionAttributeValues
+        );
+
+    }
+
+    private static String getJsonFieldName(Field field) {
+        if (field.isAnnotationPresent(JsonProperty.class)) {
+            String jsonName = field.getAnnotation(JsonProperty.class).value();
+            if (!jsonName.isEmpty()) {
+                return jsonName;
+            }
+        }
+        return field.getName();
+    }
+
+    private static void handleDateRange(ExpressionContext context, String fieldName, DateRangeRequest range) {
+        ZonedDateTime start = range.getStartDate();
+        ZonedDateTime end = range.getEndDate();
+
+        if (start == null && end == null) return;
+
+        String nameAlias = "#" + fieldName + context.index;
+        String startAlias = ":" + fieldName + "Start" + context.index;
+        String endAlias = ":" + fieldName + "End" + context.index;
+
+        String expression;
+
+        if (start != null && end != null) {
+            expression = nameAlias + " BETWEEN " + startAlias + " AND " + endAlias;
+            context.expressionAttributeValues.put(startAlias, AttributeValue.builder().s(DateTimeConverter.toFormattedString(start)).build());
+            context.expressionAttributeValues.put(endAlias, AttributeValue.builder().s(DateTimeConverter.toFormattedString(end)).build());
+        } else if (start != null) {
+            expression = nameAlias + " >= " + startAlias;
+            context.expressionAttributeValues.put(startAlias, AttributeValue.builder().s(DateTimeConverter.toFormattedString(start)).build());
+        } else { // end != null
+            expression = nameAlias + " <= " + endAlias;
+            context.expressionAttributeValues.put(endAlias, AttributeValue.builder().s(DateTimeConverter.toFormattedString(end)).build());
+        }
+
+        if (!context.expressionBuilder.isEmpty()) {
+            context.expressionBuilder.append(" AND ");
+        }
+
+        context.expressionBuilder.append(expression);
+        context.expressionAttributeNames.put(nameAlias, fieldName);
+        context.index++;
+
+    }
+
+    private static void handleTags(ExpressionContext context, String fieldName, List<?> rawList) {
+        if (rawList.isEmpty() || !(rawList.get(0) instanceof String)) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> tagList = (List<String>) rawList;
+
+        String nameAlias = "#" + fieldName + context.index;
+        context.expressionAttributeNames.put(nameAlias, fieldName);
+
+        // 2. 構建 tags 的子表達式
+        StringBuilder tagsSubExpression = new StringBuilder();
+        int innerIndex = 0;
+
+        for (String tag : tagList) {
+            String tagValueAlias = ":" + fieldName + "Val" + context.index + "_" + innerIndex;
+
+            if (!tagsSubExpression.isEmpty()) {
+                tagsSubExpression.append(" AND ");
+            }
+
+            // 語法：contains(#tags5, :tagsVal5_0)
+            tagsSubExpression.append("contains(").append(nameAlias).append(", ").append(tagValueAlias).append(")");
+
+            context.expressionAttributeValues.put(tagValueAlias, AttributeValue.builder().s(tag).build());
+            innerIndex++;
+        }
+
+        // 3. 加入主表達式
+        if (!context.expressionBuilder.isEmpty()) {
+            context.expressionBuilder.append(" AND ");
+        }
+        context.expressionBuilder.append("(").append(tagsSubExpression).append(")");
+
+        context.index++;
+
+    }
+
+    private static void handleSingleValue(ExpressionContext context, String fieldName, Object fieldValue) {
+        if (fieldValue instanceof String s && s.isBlank()) {
+            return;
+        }
+
+        String nameAlias = "#" + fieldName + context.index;
+        String valueAlias = ":" + fieldName + "Val" + context.index;
+        AttributeValue value = null;
+
+        if (fieldValue instanceof String s) {
+            value = AttributeValue.builder().s(s).build();
+        } else if (fieldValue instanceof OrderStatus status) {
+            value = AttributeValue.builder().s(status.name()).build();
+        } else if (fieldValue instanceof Number) {
+            value = AttributeValue.builder().n(fieldValue.toString()).build();
+        } else if (fieldValue instanceof Boolean) {
+            value = AttributeValue.builder().bool((Boolean) fieldValue).build();
+        }
+
+        if (value != null) {
+            String expression = nameAlias + " = " + valueAlias;
+            context.appendCondition(nameAlias, fieldName, expression, value, valueAlias);
+        }
+
+    }
+
+    private static class ExpressionContext {
+        StringBuilder expressionBuilder = new StringBuilder();
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        int index = 0;
+
+        // 封裝 AND 連接和 index 遞增邏輯
+        private void appendCondition(String nameAlias, String fieldName, String expression, AttributeValue value, String valueAlias) {
+            if (!expressionBuilder.isEmpty()) {
+                expressionBuilder.append(" AND ");
+            }
+            expressionBuilder.append(expression);
+            expressionAttributeNames.put(nameAlias, fieldName);
+            expressionAttributeValues.put(valueAlias, value);
+            index++;
+        }
+    }
+}
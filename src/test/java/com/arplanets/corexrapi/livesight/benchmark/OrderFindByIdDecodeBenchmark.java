@@ -0,0 +1,69 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.OrderItemCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findById 單筆解碼：GetItem 依 projection 回傳部分欄位後轉成 OrderPo 的成本。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderFindByIdDecodeBenchmark {
+
+    @Param({"STATUS", "INFO", "REDEEM", "FULL"})
+    private OrderProjection projection;
+
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    public void setUp() {
+        Map<String, AttributeValue> fullItem = OrderItemFixtures.orderItem(new Random(42L), UUID.randomUUID().toString(),
+                ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneId.of("Asia/Taipei")));
+
+        // 模擬 ProjectionExpression 只回傳需要的欄位
+        if (projection.isFull()) {
+            item = fullItem;
+        } else {
+            item = new HashMap<>();
+            for (String attributeName : projection.getAttributeNames()) {
+                AttributeValue value = fullItem.get(attributeName);
+                if (value != null) {
+                    item.put(attributeName, value);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Object legacyMapToOrderPo() {
+        return OrderItemDecodeBenchmark.legacyDecode(item);
+    }
+
+    @Benchmark
+    public Object orderItemCodec() {
+        return OrderItemCodec.decode(item, projection);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderFindByIdDecodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.OrderItemCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 比較 OrderItemCodec 與原本 mapToOrderPo 解碼一頁 (1000 筆) 報表資料的成本。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderItemDecodeBenchmark {
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private List<Map<String, AttributeValue>> page;
+
+    @Setup
+    public void setUp() {
+        page = OrderItemFixtures.reportPage(pageSize, 42L);
+    }
+
+    @Benchmark
+    public void legacyMapToOrderPo(Blackhole blackhole) {
+        for (Map<String, AttributeValue> item : page) {
+            blackhole.consume(legacyDecode(item));
+        }
+    }
+
+    @Benchmark
+    public void orderItemCodec(Blackhole blackhole) {
+        for (Map<String, AttributeValue> item : page) {
+            blackhole.consume(OrderItemCodec.decode(item));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderItemDecodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * 原 AwsDynamoDbSdkOrderRepositoryImpl.mapToOrderPo 的實作，作為比較基準 (OrderItemCodecTest 也以此驗證解碼結果)。
+     */
+    public static OrderPo legacyDecode(Map<String, AttributeValue> item) {
+        return OrderPo.builder()
+                .orderId(Optional.ofNullable(item.get("order_id")).map(AttributeValue::s).orElse(null))
+                .namespace(Optional.ofNullable(item.get("namespace")).map(AttributeValue::s).orElse(null))
+                .productId(Optional.ofNullable(item.get("product_id")).map(AttributeValue::s).orElse(null))
+                .serviceType(Optional.ofNullable(item.get("service_type")).map(AttributeValue::s).orElse(null))
+                .serviceTypeId(Optional.ofNullable(item.get("service_type_id")).map(AttributeValue::s).orElse(null))
+                .planId(Optional.ofNullable(item.get("plan_id")).map(AttributeValue::s).orElse(null))
+                .authType(Optional.ofNullable(item.get("auth_type")).map(AttributeValue::s).orElse(null))
+                .authTypeId(Optional.ofNullable(item.get("auth_type_id")).map(AttributeValue::s).orElse(null))
+                .userBrowser(Optional.ofNullable(item.get("user_browser")).map(AttributeValue::s).orElse(null))
+                .userOs(Optional.ofNullable(item.get("user_OS")).map(AttributeValue::s).orElse(null))
+                .userDeviceType(Optional.ofNullable(item.get("user_device_type")).map(AttributeValue::s).orElse(null))
+                .orderStatus(item.get("order_status") != null ? OrderStatus.toOrderStatus(item.get("order_status").s()) : null)
+                .createdAt(item.get("created_at") != null ? DateTimeConverter.fromFormattedString(item.get("created_at").s()) : null)
+                .verificationCode(item.get("verification_code") != null ? item.get("verification_code").s() : null)
+                .activatedAt(item.get("activated_at") != null ? DateTimeConverter.fromFormattedString(item.get("activated_at").s()) : null)
+                .activatedBy(item.get("activated_by") != null ? item.get("activated_by").s() : null)
+                .redeemCode(item.get("redeem_code") != null ? item.get("redeem_code").s() : null)
+                .tags(item.get("tags") != null ? item.get("tags").l().stream().map(AttributeValue::s).collect(Collectors.toList()) : null)
+                .redeemedAt(item.get("redeemed_at") != null ? DateTimeConverter.fromFormattedString(item.get("redeemed_at").s()) : null)
+                .accessToken(item.get("access_token") != null ? item.get("access_token").s() : null)
+                .voidedAt(item.get("voided_at") != null ? DateTimeConverter.fromFormattedString(item.get("voided_at").s()) : null)
+                .voidedBy(item.get("voided_by") != null ? item.get("voided_by").s() : null)
+                .returnedAt(item.get("returned_at") != null ? DateTimeConverter.fromFormattedString(item.get("returned_at").s()) : null)
+                .returnedBy(item.get("returned_by") != null ? item.get("returned_by").s() : null)
+                .expiredAt(item.get("expired_at") != null ? DateTimeConverter.fromFormattedString(item.get("expired_at").s()) : null)
+                .updatedAt(item.get("updated_at") != null ? DateTimeConverter.fromFormattedString(item.get("updated_at").s()) : null)
+                .ttl(item.get("TTL") != null ? DateTimeConverter.fromEpochSecondToZonedDateTime(item.get("TTL").n()) : null)
+                .build();
+    }
+}
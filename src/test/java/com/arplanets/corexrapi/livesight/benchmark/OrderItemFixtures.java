@@ -0,0 +1,94 @@
+package com.arplanets.corexrapi.livesight.benchmark;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 產生與正式環境欄位相同的訂單 item，供 benchmark 與 OrderItemCodec 的測試使用。
+ */
+public final class OrderItemFixtures {
+
+    private static final ZonedDateTime BASE_TIME = ZonedDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneId.of("Asia/Taipei"));
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderItemFixtures() {
+    }
+
+    /**
+     * 產生一頁報表資料 (與 GSI 查詢 limit(1000) 相同大小)。
+     */
+    public static List<Map<String, AttributeValue>> reportPage(int size, long seed) {
+        Random random = new Random(seed);
+        String serviceTypeId = UUID.randomUUID().toString();
+        List<Map<String, AttributeValue>> items = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            items.add(orderItem(random, serviceTypeId, BASE_TIME.minusSeconds(i * 37L)));
+        }
+
+        return items;
+    }
+
+    public static Map<String, AttributeValue> orderItem(Random random, String serviceTypeId, ZonedDateTime createdAt) {
+        String orderId = "order_" + new UUID(random.nextLong(), random.nextLong());
+        OrderStatus status = STATUSES[random.nextInt(STATUSES.length)];
+        // 部分時間帶毫秒、部分沒有，與 DateTimeConverter 實際輸出一致
+        ZonedDateTime created = random.nextBoolean() ? createdAt.plusNanos(random.nextInt(1000) * 1_000_000L) : createdAt;
+
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("pk", s(orderId));
+        item.put("sk", s("info"));
+        item.put("order_id", s(orderId));
+        item.put("namespace", s("arplanet.live-sight." + serviceTypeId));
+        item.put("product_id", s("corexr"));
+        item.put("service_type", s("live-sight"));
+        item.put("service_type_id", s(serviceTypeId));
+        item.put("plan_id", s("plan_" + random.nextInt(5)));
+        item.put("order_status", s(status.name()));
+        item.put("auth_type", s("cognito"));
+        item.put("auth_type_id", s("cognito-user-" + random.nextInt(100_000)));
+        item.put("user_browser", s("Chrome"));
+        item.put("user_device_type", s("Mobile"));
+        item.put("user_OS", s("Android"));
+        item.put("created_at", s(DateTimeConverter.toFormattedString(created)));
+        item.put("verification_code", s(String.valueOf(100_000 + random.nextInt(900_000))));
+        item.put("expired_at", s(DateTimeConverter.toFormattedString(created.plusDays(1))));
+        item.put("updated_at", s(DateTimeConverter.toFormattedString(created.plusMinutes(5))));
+        item.put("TTL", AttributeValue.builder().n(String.valueOf(created.plusDays(30).toEpochSecond())).build());
+
+        if (status != OrderStatus.PENDING) {
+            item.put("activated_at", s(DateTimeConverter.toFormattedString(created.plusMinutes(1))));
+            item.put("activated_by", s("staff-" + random.nextInt(50)));
+            item.put("redeem_code", s(UUID.randomUUID().toString()));
+            item.put("tags", AttributeValue.builder().l(s("pr"), s("vip")).build());
+        }
+        if (status == OrderStatus.REDEEMED || status == OrderStatus.COMPLETED) {
+            item.put("redeemed_at", s(DateTimeConverter.toFormattedString(created.plusMinutes(2))));
+            item.put("access_token", s("eyJhbGciOiJSUzI1NiJ9." + orderId));
+        }
+        if (status == OrderStatus.VOIDED) {
+            item.put("voided_at", s(DateTimeConverter.toFormattedString(created.plusMinutes(3))));
+            item.put("voided_by", s("staff-" + random.nextInt(50)));
+        }
+        if (status == OrderStatus.COMPLETED) {
+            item.put("returned_at", s(DateTimeConverter.toFormattedString(created.plusMinutes(4))));
+            item.put("returned_by", s("staff-" + random.nextInt(50)));
+        }
+
+        return item;
+    }
+
+    private static AttributeValue s(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+}
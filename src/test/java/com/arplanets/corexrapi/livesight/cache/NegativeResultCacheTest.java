@@ -0,0 +1,41 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.service.impl.DynamoDbLiveSightServiceImpl;
+import com.arplanets.corexrapi.livesight.service.impl.OrgServiceImpl;
+import com.arplanets.corexrapi.livesight.service.impl.ServiceOrgMemberServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 組織與成員由其他系統建立，查無結果使用另外的存活時間。
+ */
+class NegativeResultCacheTest {
+
+    @Test
+    void externalLookupsUseTheirOwnTtl() {
+        // external-ttl-seconds = 0：不快取組織與成員的查無結果
+        NegativeResultCache negativeResultCache = new NegativeResultCache(100, 30, 0);
+
+        negativeResultCache.markMissing(OrgServiceImpl.ORG_CACHE, "org-1");
+        negativeResultCache.markMissing(ServiceOrgMemberServiceImpl.ORG_MEMBER_CACHE, "org-1:user-1");
+        negativeResultCache.markMissing(DynamoDbLiveSightServiceImpl.LIVE_SIGHT_CACHE, "ls-1");
+
+        assertThat(negativeResultCache.isMissing(OrgServiceImpl.ORG_CACHE, "org-1")).isFalse();
+        assertThat(negativeResultCache.isMissing(ServiceOrgMemberServiceImpl.ORG_MEMBER_CACHE, "org-1:user-1")).isFalse();
+        assertThat(negativeResultCache.isMissing(DynamoDbLiveSightServiceImpl.LIVE_SIGHT_CACHE, "ls-1")).isTrue();
+    }
+
+    @Test
+    void liveSightIsInvalidatedOnCreate() {
+        NegativeResultCache negativeResultCache = new NegativeResultCache(100, 30, 5);
+
+        negativeResultCache.markMissing(OrgServiceImpl.ORG_CACHE, "ls-1");
+        negativeResultCache.markMissing(DynamoDbLiveSightServiceImpl.LIVE_SIGHT_CACHE, "ls-1");
+        negativeResultCache.invalidate(DynamoDbLiveSightServiceImpl.LIVE_SIGHT_CACHE, "ls-1");
+
+        assertThat(negativeResultCache.isMissing(DynamoDbLiveSightServiceImpl.LIVE_SIGHT_CACHE, "ls-1")).isFalse();
+        // 不同查詢的相同 key 互不影響
+        assertThat(negativeResultCache.isMissing(OrgServiceImpl.ORG_CACHE, "ls-1")).isTrue();
+    }
+}
@@ -0,0 +1,73 @@
+package com.arplanets.corexrapi.livesight.cache;
+
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 只有 VOIDED 使用較長的存活時間，與 update 同時進行的讀取不可把舊資料放回快取。
+ */
+class OrderNearCacheTest {
+
+    private static final String ORDER_ID = "order-1";
+    private static final OrderProjection PROJECTION = OrderProjection.STATUS;
+
+    // COMPLETED 存活 0 秒、VOIDED 存活 300 秒，藉此區分兩者使用的存活時間
+    private final OrderNearCache nearCache = new OrderNearCache(new CaffeineCacheManager(), 100, 60, 60, 60, 0, 300);
+
+    @Test
+    void completedOrderIsNotKeptAsTerminal() {
+        nearCache.put(ORDER_ID, PROJECTION, order(OrderStatus.COMPLETED), nearCache.writeStamp(ORDER_ID));
+        assertThat(nearCache.getIfPresent(ORDER_ID, PROJECTION)).isEmpty();
+
+        nearCache.put(ORDER_ID, PROJECTION, order(OrderStatus.VOIDED), nearCache.writeStamp(ORDER_ID));
+        assertThat(nearCache.getIfPresent(ORDER_ID, PROJECTION)).map(OrderPo::getOrderStatus).contains(OrderStatus.VOIDED);
+    }
+
+    @Test
+    void loadRacingWithUpdateIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        // 讀到舊資料後、寫回快取前，另一個請求完成了 update
+        Optional<OrderPo> stale = nearCache.get(ORDER_ID, PROJECTION, () -> {
+            loads.incrementAndGet();
+            nearCache.invalidate(ORDER_ID);
+            return Optional.of(order(OrderStatus.ACTIVATED));
+        });
+        assertThat(stale).isPresent();
+        assertThat(nearCache.getIfPresent(ORDER_ID, PROJECTION)).isEmpty();
+
+        nearCache.get(ORDER_ID, PROJECTION, () -> {
+            loads.incrementAndGet();
+            return Optional.of(order(OrderStatus.VOIDED));
+        });
+        assertThat(nearCache.getIfPresent(ORDER_ID, PROJECTION)).map(OrderPo::getOrderStatus).contains(OrderStatus.VOIDED);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void putWithStampTakenBeforeInvalidateIsRejected() {
+        long stamp = nearCache.writeStamp(ORDER_ID);
+        nearCache.invalidate(ORDER_ID);
+
+        nearCache.put(ORDER_ID, PROJECTION, order(OrderStatus.ACTIVATED), stamp);
+        assertThat(nearCache.getIfPresent(ORDER_ID, PROJECTION)).isEmpty();
+
+        nearCache.put(ORDER_ID, PROJECTION, order(OrderStatus.VOIDED), nearCache.writeStamp(ORDER_ID));
+        assertThat(nearCache.getIfPresent(ORDER_ID, PROJECTION)).isPresent();
+    }
+
+    private OrderPo order(OrderStatus status) {
+        return OrderPo.builder()
+                .orderId(ORDER_ID)
+                .orderStatus(status)
+                .build();
+    }
+}
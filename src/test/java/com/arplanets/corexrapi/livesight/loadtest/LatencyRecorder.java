@@ -0,0 +1,124 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 單一 worker 的延遲紀錄，不做同步；壓測結束後再 merge 成整體結果，避免記錄本身互相競爭。
+ * <p>
+ * 百分位數只計算成功的請求，失敗的請求依原因 (HTTP status 或例外類別) 分別計數。
+ */
+public class LatencyRecorder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<LoadTestEndpoint, long[]> latencies = new EnumMap<>(LoadTestEndpoint.class);
+    private final Map<LoadTestEndpoint, Integer> counts = new EnumMap<>(LoadTestEndpoint.class);
+    private final Map<LoadTestEndpoint, Map<String, Integer>> errors = new EnumMap<>(LoadTestEndpoint.class);
+    private int completedFlows;
+    private int failedFlows;
+
+    public void success(LoadTestEndpoint endpoint, long elapsedNanos) {
+        int count = counts.getOrDefault(endpoint, 0);
+        long[] values = latencies.computeIfAbsent(endpoint, key -> new long[INITIAL_CAPACITY]);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+            latencies.put(endpoint, values);
+        }
+
+        values[count] = elapsedNanos;
+        counts.put(endpoint, count + 1);
+    }
+
+    public void error(LoadTestEndpoint endpoint, String reason) {
+        errors.computeIfAbsent(endpoint, key -> new TreeMap<>()).merge(reason, 1, Integer::sum);
+    }
+
+    public void flowCompleted() {
+        completedFlows++;
+    }
+
+    public void flowFailed() {
+        failedFlows++;
+    }
+
+    public int getCompletedFlows() {
+        return completedFlows;
+    }
+
+    public int getFailedFlows() {
+        return failedFlows;
+    }
+
+    public int getRequests() {
+        int requests = 0;
+        for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+            requests += counts.getOrDefault(endpoint, 0) + getErrors(endpoint);
+        }
+        return requests;
+    }
+
+    public int getErrors(LoadTestEndpoint endpoint) {
+        return errors.getOrDefault(endpoint, Map.of()).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public void merge(LatencyRecorder other) {
+        other.latencies.forEach((endpoint, values) -> {
+            for (int i = 0; i < other.counts.get(endpoint); i++) {
+                success(endpoint, values[i]);
+            }
+        });
+        other.errors.forEach((endpoint, reasons) ->
+                reasons.forEach((reason, count) -> errors.computeIfAbsent(endpoint, key -> new TreeMap<>()).merge(reason, count, Integer::sum)));
+        completedFlows += other.completedFlows;
+        failedFlows += other.failedFlows;
+    }
+
+    /**
+     * 單一 API 的統計，延遲單位為毫秒，throughput 以整段量測時間計算。
+     */
+    public Map<String, Object> summarize(LoadTestEndpoint endpoint, long durationNanos) {
+        int count = counts.getOrDefault(endpoint, 0);
+        long[] sorted = Arrays.copyOf(latencies.getOrDefault(endpoint, new long[0]), count);
+        Arrays.sort(sorted);
+
+        int errorCount = getErrors(endpoint);
+        double seconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count + errorCount);
+        summary.put("errors", errorCount);
+        summary.put("error_reasons", errors.getOrDefault(endpoint, Map.of()));
+        summary.put("throughput_rps", round((count + errorCount) / seconds));
+        summary.put("p50_ms", toMillis(percentile(sorted, 50)));
+        summary.put("p95_ms", toMillis(percentile(sorted, 95)));
+        summary.put("p99_ms", toMillis(percentile(sorted, 99)));
+        summary.put("max_ms", toMillis(count == 0 ? 0 : sorted[count - 1]));
+        summary.put("mean_ms", toMillis(count == 0 ? 0 : (long) Arrays.stream(sorted).average().orElse(0)));
+        return summary;
+    }
+
+    /**
+     * nearest-rank 百分位數。
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    private static double toMillis(long nanos) {
+        return round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 訂單生命週期中量測的 API，依流程順序排列。
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LoadTestEndpoint {
+
+    CREATE("create", "/live-sight/api/order/create", false),
+    FETCH_STATUS("fetch_status", "/live-sight/api/order/fetch_status", false),
+    ACTIVATE("activate", "/live-sight/mg/api/order/activate", true),
+    REDEEM("redeem", "/live-sight/api/order/redeem", false),
+    TOKEN_VERIFY("token_verify", "/live-sight/api/auth/token_verify", false),
+    RETURN("return", "/live-sight/mg/api/order/return", true);
+
+    private final String reportName;
+    private final String path;
+    // mg API 需帶管理者 token
+    private final boolean admin;
+}
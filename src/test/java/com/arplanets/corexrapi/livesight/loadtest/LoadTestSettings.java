@@ -0,0 +1,37 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 壓測參數，與應用程式設定相同來源 (application-loadtest.properties、--key=value、-Dkey=value)。
+ *
+ * @param concurrency      同時執行流程的 worker 數
+ * @param flows            量測的流程數
+ * @param warmupFlows      量測前的暖機流程數，不列入報告
+ * @param fetchStatusPolls 開通前 fetch_status 的輪詢次數
+ * @param report           JSON 報告輸出位置
+ */
+public record LoadTestSettings(int concurrency, int flows, int warmupFlows, int fetchStatusPolls, Path report) {
+
+    public static LoadTestSettings from(Environment environment) {
+        return new LoadTestSettings(
+                environment.getProperty("loadtest.concurrency", Integer.class, 16),
+                environment.getProperty("loadtest.flows", Integer.class, 2000),
+                environment.getProperty("loadtest.warmup-flows", Integer.class, 200),
+                environment.getProperty("loadtest.fetch-status-polls", Integer.class, 3),
+                Path.of(environment.getProperty("loadtest.report", "target/loadtest-report.json")));
+    }
+
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("flows", flows);
+        report.put("warmup_flows", warmupFlows);
+        report.put("fetch_status_polls", fetchStatusPolls);
+        return report;
+    }
+}
@@ -0,0 +1,34 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * loadtest profile：以本機替身取代 AwsConfig 的 SQS、IoT Data Plane 與 CloudWatch Logs client。
+ * AwsConfig 的 client 仍會建立 (只建立不連線)，注入時以 @Primary 的替身為準。
+ * DynamoDB 由 inmemory profile 的 InMemoryDynamoDbConfig 取代。
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestStandInConfig {
+
+    @Bean
+    @Primary
+    public LocalSqsClient localSqsClient() {
+        return new LocalSqsClient();
+    }
+
+    @Bean
+    @Primary
+    public LocalIotDataPlaneClient localIotDataPlaneClient() {
+        return new LocalIotDataPlaneClient();
+    }
+
+    @Bean
+    @Primary
+    public LocalCloudWatchLogsAsyncClient localCloudWatchLogsAsyncClient() {
+        return new LocalCloudWatchLogsAsyncClient();
+    }
+}
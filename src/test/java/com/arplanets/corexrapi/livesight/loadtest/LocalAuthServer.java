@@ -0,0 +1,140 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本機授權服務替身，取代管理者登入的 issuer 與 Casbin 權限服務：
+ * <ul>
+ *     <li>{@value #JWKS_PATH}：MultiIssuerJwtDecoder 驗證 mg API token 用的 JWK Set</li>
+ *     <li>{@value #PERMISSION_PATH}：APIExecuteFilter 查詢的 Casbin 權限，對管理者開放所有 API</li>
+ * </ul>
+ */
+public class LocalAuthServer implements AutoCloseable {
+
+    static final String JWKS_PATH = "/.well-known/jwks.json";
+    static final String PERMISSION_PATH = "/permissions/info";
+
+    private static final String KEY_ID = "loadtest";
+    private static final String ROLE = "loadtest-admin-role";
+    private static final Duration TOKEN_TTL = Duration.ofDays(1);
+
+    private final HttpServer server;
+    private final KeyPair keyPair;
+    private final byte[] jwkSet;
+    private final byte[] permissionInfo;
+    private final LongAdder jwksRequests = new LongAdder();
+    private final LongAdder permissionRequests = new LongAdder();
+
+    public LocalAuthServer(String adminUuid, ObjectMapper objectMapper) throws IOException, NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        jwkSet = new JWKSet(new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .keyID(KEY_ID)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.RS256)
+                .build())
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+
+        // 與 CasbinFactory 的 model 對應：p = sub,obj,act,dom,eft；g = user, role
+        permissionInfo = objectMapper.writeValueAsBytes(Map.of(
+                "success", true,
+                "message", "ok",
+                "data", Map.of(
+                        "casbin_csv_p", List.of(List.of("p", ROLE, "arn:arplanet:execute-api:arplanet:/*", "execute-api:*", "arplanet", "allow")),
+                        "casbin_csv_g", List.of(List.of("g", adminUuid, ROLE)),
+                        "profile", Map.of())));
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "local-auth-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext(JWKS_PATH, exchange -> {
+            jwksRequests.increment();
+            respond(exchange, jwkSet);
+        });
+        server.createContext(PERMISSION_PATH, exchange -> {
+            permissionRequests.increment();
+            respond(exchange, permissionInfo);
+        });
+        server.start();
+    }
+
+    /**
+     * token 的 iss，同時也是 JWK Set 的位置 (issuer + {@value #JWKS_PATH})。
+     */
+    public String getIssuer() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public String getPermissionUri() {
+        return getIssuer() + PERMISSION_PATH;
+    }
+
+    /**
+     * 簽發 mg API 用的管理者 token，PermissionChecker 以 username 查詢組織成員。
+     */
+    public String signAdminToken(String uuid) {
+        Instant now = Instant.now();
+
+        return JWT.create()
+                .withKeyId(KEY_ID)
+                .withIssuer(getIssuer())
+                .withSubject(uuid)
+                .withClaim("username", uuid)
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(TOKEN_TTL))
+                .sign(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate()));
+    }
+
+    public long getJwksRequests() {
+        return jwksRequests.sum();
+    }
+
+    public long getPermissionRequests() {
+        return permissionRequests.sum();
+    }
+
+    private void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,42 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsAsyncClient;
+import software.amazon.awssdk.services.cloudwatchlogs.model.CreateLogStreamRequest;
+import software.amazon.awssdk.services.cloudwatchlogs.model.CreateLogStreamResponse;
+import software.amazon.awssdk.services.cloudwatchlogs.model.PutLogEventsRequest;
+import software.amazon.awssdk.services.cloudwatchlogs.model.PutLogEventsResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CloudWatch Logs 替身，Log Stream 一律建立成功，log event 只計數不保存。
+ */
+public class LocalCloudWatchLogsAsyncClient implements CloudWatchLogsAsyncClient {
+
+    private final LongAdder logEvents = new LongAdder();
+
+    @Override
+    public CompletableFuture<CreateLogStreamResponse> createLogStream(CreateLogStreamRequest request) {
+        return CompletableFuture.completedFuture(CreateLogStreamResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<PutLogEventsResponse> putLogEvents(PutLogEventsRequest request) {
+        logEvents.add(request.logEvents().size());
+        return CompletableFuture.completedFuture(PutLogEventsResponse.builder().build());
+    }
+
+    public long getLogEvents() {
+        return logEvents.sum();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
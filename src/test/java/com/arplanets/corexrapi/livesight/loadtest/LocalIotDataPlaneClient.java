@@ -0,0 +1,34 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import software.amazon.awssdk.services.iotdataplane.IotDataPlaneClient;
+import software.amazon.awssdk.services.iotdataplane.model.PublishRequest;
+import software.amazon.awssdk.services.iotdataplane.model.PublishResponse;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * IoT Data Plane 替身，只接收 IotService 的 publish 並計數。
+ */
+public class LocalIotDataPlaneClient implements IotDataPlaneClient {
+
+    private final LongAdder publishedMessages = new LongAdder();
+
+    @Override
+    public PublishResponse publish(PublishRequest request) {
+        publishedMessages.increment();
+        return PublishResponse.builder().build();
+    }
+
+    public long getPublishedMessages() {
+        return publishedMessages.sum();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
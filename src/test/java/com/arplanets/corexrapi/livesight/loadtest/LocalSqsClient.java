@@ -0,0 +1,47 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQS 替身，只接收 AuditLogProducer 的批次送出並計數。
+ */
+public class LocalSqsClient implements SqsClient {
+
+    private final LongAdder sentMessages = new LongAdder();
+
+    @Override
+    public SendMessageBatchResponse sendMessageBatch(SendMessageBatchRequest request) {
+        sentMessages.add(request.entries().size());
+
+        List<SendMessageBatchResultEntry> successful = request.entries().stream()
+                .map(entry -> SendMessageBatchResultEntry.builder()
+                        .id(entry.id())
+                        .messageId(UUID.randomUUID().toString())
+                        .build())
+                .toList();
+
+        return SendMessageBatchResponse.builder()
+                .successful(successful)
+                .build();
+    }
+
+    public long getSentMessages() {
+        return sentMessages.sum();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,188 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 以 HTTP 執行一次完整的訂單生命週期，與前台、管理後台實際的呼叫順序相同：
+ * create → fetch_status 輪詢 → activate → fetch_status 取得 redeem code → redeem → token_verify → return。
+ * <p>
+ * 任一步驟失敗即中止該次流程，後續步驟不再送出。
+ */
+public class OrderLifecycleClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String adminToken;
+
+    public OrderLifecycleClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, String adminToken) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.adminToken = adminToken;
+    }
+
+    /**
+     * 壓測資料：由管理 API 建立 Live Sight 與方案，流程中的訂單都建立在此方案下。
+     */
+    public record Fixture(String productId, String orgId, String liveSightId, String planId) {
+
+        public String namespace() {
+            return productId + ".livesight." + liveSightId;
+        }
+    }
+
+    public Fixture createFixture(String productId, String orgId) throws IOException, InterruptedException {
+        // 建立 Live Sight
+        JsonNode liveSight = post("/live-sight/mg/api/live-sight/create", Map.of("org_id", orgId), true);
+        String liveSightId = liveSight.path("service_type_id").asText();
+
+        // 建立一般票與一張限時方案，訂單使用限時方案
+        Map<String, Object> standardPlan = Map.of(
+                "plan_name", "一般票",
+                "expiry", Map.of("expire_mode", "RELATIVE", "duration", 1440),
+                "standard", true);
+        Map<String, Object> timedPlan = Map.of(
+                "plan_name", "壓測票",
+                "expiry", Map.of("expire_mode", "RELATIVE", "duration", 120),
+                "standard", false);
+
+        JsonNode plans = post("/live-sight/mg/api/plan/create", Map.of(
+                "org_id", orgId,
+                "live_sight_id", liveSightId,
+                "plans", List.of(standardPlan, timedPlan)), true);
+
+        for (JsonNode plan : plans.path("success_items")) {
+            if (!plan.path("standard").asBoolean()) {
+                return new Fixture(productId, orgId, liveSightId, plan.path("plan_id").asText());
+            }
+        }
+
+        throw new IllegalStateException("Failed to create load test plan: " + plans);
+    }
+
+    /**
+     * @return 流程是否全部成功
+     */
+    public boolean run(Fixture fixture, int fetchStatusPolls, int sequence, LatencyRecorder recorder) throws InterruptedException {
+        String salt = UUID.randomUUID().toString();
+
+        // 建立訂單
+        Map<String, Object> createRequest = new LinkedHashMap<>();
+        createRequest.put("product_id", fixture.productId());
+        createRequest.put("namespace", fixture.namespace());
+        createRequest.put("auth_type", "aws.cognito");
+        createRequest.put("auth_type_id", "loadtest-user-" + sequence);
+        createRequest.put("salt", salt);
+        createRequest.put("plan_id", fixture.planId());
+        JsonNode created = call(LoadTestEndpoint.CREATE, createRequest, recorder);
+        if (created == null) {
+            return false;
+        }
+
+        String orderId = created.path("order_id").asText();
+        Map<String, Object> statusRequest = Map.of("product_id", fixture.productId(), "order_id", orderId, "salt", salt);
+
+        // 前台等待櫃台開通時的輪詢
+        for (int i = 0; i < fetchStatusPolls; i++) {
+            if (call(LoadTestEndpoint.FETCH_STATUS, statusRequest, recorder) == null) {
+                return false;
+            }
+        }
+
+        // 管理後台開通
+        Map<String, Object> mgRequest = Map.of(
+                "product_id", fixture.productId(),
+                "namespace", fixture.namespace(),
+                "org_id", fixture.orgId(),
+                "order_id", orderId);
+        if (call(LoadTestEndpoint.ACTIVATE, mgRequest, recorder) == null) {
+            return false;
+        }
+
+        // 開通後的輪詢取得 Redeem Code
+        JsonNode status = call(LoadTestEndpoint.FETCH_STATUS, statusRequest, recorder);
+        if (status == null) {
+            return false;
+        }
+        String redeemCode = status.path("redeem_code").asText(null);
+        if (redeemCode == null) {
+            recorder.error(LoadTestEndpoint.FETCH_STATUS, "missing_redeem_code");
+            return false;
+        }
+
+        // 兌換取得 Access Token
+        JsonNode redeemed = call(LoadTestEndpoint.REDEEM,
+                Map.of("product_id", fixture.productId(), "order_id", orderId, "redeem_code", redeemCode), recorder);
+        if (redeemed == null) {
+            return false;
+        }
+
+        // 驗證 Access Token
+        JsonNode verified = call(LoadTestEndpoint.TOKEN_VERIFY,
+                Map.of("access_token", redeemed.path("access_token").asText()), recorder);
+        if (verified == null) {
+            return false;
+        }
+        if (!verified.path("is_valid").asBoolean()) {
+            recorder.error(LoadTestEndpoint.TOKEN_VERIFY, "invalid_token");
+            return false;
+        }
+
+        // 管理後台完成訂單
+        return call(LoadTestEndpoint.RETURN, mgRequest, recorder) != null;
+    }
+
+    private JsonNode call(LoadTestEndpoint endpoint, Object body, LatencyRecorder recorder) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = send(endpoint.getPath(), body, endpoint.isAdmin());
+            long elapsed = System.nanoTime() - start;
+
+            if (response.statusCode() / 100 != 2) {
+                recorder.error(endpoint, String.valueOf(response.statusCode()));
+                return null;
+            }
+
+            recorder.success(endpoint, elapsed);
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            recorder.error(endpoint, e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private JsonNode post(String path, Object body, boolean admin) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(path, body, admin);
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " failed with " + response.statusCode() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<byte[]> send(String path, Object body, boolean admin) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+
+        if (admin) {
+            builder.header("Authorization", "Bearer " + adminToken);
+        }
+
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,227 @@
+package com.arplanets.corexrapi.livesight.loadtest;
+
+import com.arplanets.corexrapi.CoreXRApiApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 訂單生命週期的端對端壓測。
+ * <p>
+ * 以 inmemory、loadtest profile 啟動完整應用程式，外部依賴全部換成本機替身：
+ * DynamoDB (InMemoryDynamoDbConfig)、SQS / IoT Data Plane / CloudWatch Logs (LoadTestStandInConfig)、
+ * 管理者 JWT issuer 與 Casbin 權限服務 (LocalAuthServer)、組織資料庫 (H2)。
+ * 結果輸出為 JSON 報告 (預設 target/loadtest-report.json)，同一台機器上可直接與前一版比較。
+ * <p>
+ * 參數可用 --key=value 傳入，例如 {@code --loadtest.concurrency=64 --loadtest.flows=10000 --inmemory.dynamodb.latency-ms=5}。
+ */
+public class OrderLifecycleLoadTest {
+
+    // 與 loadtest/schema.sql 預先建立的組織、成員相同
+    private static final String ORG_ID = "loadtest";
+    private static final String ADMIN_UUID = "loadtest-admin";
+    private static final String PRODUCT_ID = "corexr";
+
+    public static void main(String[] args) throws Exception {
+        // 壓測不需要 devtools 的 restart classloader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (LocalAuthServer authServer = new LocalAuthServer(ADMIN_UUID, objectMapper)) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(CoreXRApiApplication.class)
+                    .profiles("inmemory", "loadtest")
+                    .properties(runtimeProperties(authServer))
+                    .run(args);
+
+            try {
+                run(context, authServer, objectMapper);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, LocalAuthServer authServer, ObjectMapper objectMapper) throws Exception {
+        Environment environment = context.getEnvironment();
+        LoadTestSettings settings = LoadTestSettings.from(environment);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        OrderLifecycleClient client = new OrderLifecycleClient(httpClient, objectMapper,
+                "http://localhost:" + port, authServer.signAdminToken(ADMIN_UUID));
+
+        // 建立壓測用的 Live Sight 與方案
+        OrderLifecycleClient.Fixture fixture = client.createFixture(PRODUCT_ID, ORG_ID);
+
+        // 暖機 (JIT、連線、快取)，結果不列入報告
+        execute(client, fixture, settings, settings.warmupFlows(), 0);
+
+        long start = System.nanoTime();
+        LatencyRecorder result = execute(client, fixture, settings, settings.flows(), settings.warmupFlows());
+        long durationNanos = System.nanoTime() - start;
+
+        Map<String, Object> report = buildReport(context, authServer, settings, result, durationNanos);
+
+        Path reportPath = settings.report().toAbsolutePath();
+        Files.createDirectories(reportPath.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), report);
+
+        printSummary(result, durationNanos);
+        System.out.println("Report written to " + reportPath);
+    }
+
+    /**
+     * 以固定數量的 worker 執行指定流程數，每個 worker 各自記錄後再合併。
+     */
+    private static LatencyRecorder execute(OrderLifecycleClient client, OrderLifecycleClient.Fixture fixture,
+                                           LoadTestSettings settings, int flows, int sequenceOffset) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        AtomicInteger next = new AtomicInteger();
+
+        try {
+            List<Future<LatencyRecorder>> futures = new ArrayList<>();
+            for (int i = 0; i < settings.concurrency(); i++) {
+                futures.add(workers.submit(() -> {
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    int sequence;
+                    while ((sequence = next.getAndIncrement()) < flows) {
+                        if (client.run(fixture, settings.fetchStatusPolls(), sequenceOffset + sequence, recorder)) {
+                            recorder.flowCompleted();
+                        } else {
+                            recorder.flowFailed();
+                        }
+                    }
+                    return recorder;
+                }));
+            }
+
+            LatencyRecorder merged = new LatencyRecorder();
+            for (Future<LatencyRecorder> future : futures) {
+                merged.merge(future.get());
+            }
+            return merged;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static Map<String, Object> buildReport(ConfigurableApplicationContext context, LocalAuthServer authServer,
+                                                   LoadTestSettings settings, LatencyRecorder result, long durationNanos) {
+        Environment environment = context.getEnvironment();
+        double seconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generated_at", OffsetDateTime.now().toString());
+
+        Map<String, Object> runtime = new LinkedHashMap<>();
+        runtime.put("java_version", System.getProperty("java.version"));
+        runtime.put("available_processors", Runtime.getRuntime().availableProcessors());
+        runtime.put("inmemory_dynamodb_latency_ms", environment.getProperty("inmemory.dynamodb.latency-ms", Long.class, 0L));
+        runtime.put("inmemory_dynamodb_throttle_rate", environment.getProperty("inmemory.dynamodb.throttle-rate", Double.class, 0.0));
+        report.put("runtime", runtime);
+
+        report.put("settings", settings.toReport());
+        report.put("duration_ms", TimeUnit.NANOSECONDS.toMillis(durationNanos));
+
+        Map<String, Object> flows = new LinkedHashMap<>();
+        flows.put("completed", result.getCompletedFlows());
+        flows.put("failed", result.getFailedFlows());
+        flows.put("throughput_per_second", LatencyRecorder.round(result.getCompletedFlows() / seconds));
+        report.put("flows", flows);
+
+        Map<String, Object> requests = new LinkedHashMap<>();
+        requests.put("total", result.getRequests());
+        requests.put("throughput_rps", LatencyRecorder.round(result.getRequests() / seconds));
+        report.put("requests", requests);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+            endpoints.put(endpoint.getReportName(), result.summarize(endpoint, durationNanos));
+        }
+        report.put("endpoints", endpoints);
+
+        // 外部呼叫次數 (含暖機)，用來確認副作用仍有送出
+        Map<String, Object> standIns = new LinkedHashMap<>();
+        standIns.put("sqs_messages", context.getBean(LocalSqsClient.class).getSentMessages());
+        standIns.put("iot_publishes", context.getBean(LocalIotDataPlaneClient.class).getPublishedMessages());
+        standIns.put("cloudwatch_log_events", context.getBean(LocalCloudWatchLogsAsyncClient.class).getLogEvents());
+        standIns.put("jwks_requests", authServer.getJwksRequests());
+        standIns.put("permission_requests", authServer.getPermissionRequests());
+        report.put("stand_ins", standIns);
+
+        return report;
+    }
+
+    private static void printSummary(LatencyRecorder result, long durationNanos) {
+        System.out.printf("%nflows: completed=%d failed=%d duration=%dms%n",
+                result.getCompletedFlows(), result.getFailedFlows(), TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        System.out.printf("%-14s %10s %8s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "rps", "p50(ms)", "p95(ms)", "p99(ms)");
+
+        for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+            Map<String, Object> summary = result.summarize(endpoint, durationNanos);
+            System.out.printf("%-14s %10s %8s %10s %10s %10s %10s%n", endpoint.getReportName(),
+                    summary.get("requests"), summary.get("errors"), summary.get("throughput_rps"),
+                    summary.get("p50_ms"), summary.get("p95_ms"), summary.get("p99_ms"));
+        }
+    }
+
+    /**
+     * 依執行期才確定的值 (金鑰檔、本機授權服務位址) 產生設定，其餘設定在 application-loadtest.properties。
+     */
+    private static Map<String, Object> runtimeProperties(LocalAuthServer authServer) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        // OrderJwtManager 讀取 PKCS#8 DER；ticket 的 JwtConfig 讀取 PEM
+        Path keyDirectory = Files.createTempDirectory("corexrapi-loadtest");
+        keyDirectory.toFile().deleteOnExit();
+        Path orderPrivateKey = writeKey(keyDirectory.resolve("order-private-key.der"), keyPair.getPrivate().getEncoded());
+        Path servicePrivateKey = writeKey(keyDirectory.resolve("service-private-key.pem"), pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        Path servicePublicKey = writeKey(keyDirectory.resolve("service-public-key.pem"), pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("order.access-token.private-key.path", orderPrivateKey.toUri().toString());
+        properties.put("order.access-token.trusted-issuers", authServer.getIssuer());
+        properties.put("jwt.service.private-key-path", servicePrivateKey.toUri().toString());
+        properties.put("jwt.service.public-key-path", servicePublicKey.toUri().toString());
+        properties.put("arp.security.api.user-permission.uri", authServer.getPermissionUri());
+        return properties;
+    }
+
+    private static Path writeKey(Path path, byte[] content) throws Exception {
+        Files.write(path, content);
+        path.toFile().deleteOnExit();
+        return path;
+    }
+
+    private static byte[] pem(String type, byte[] encoded) {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(encoded);
+        return ("-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n").getBytes();
+    }
+}
@@ -0,0 +1,169 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.model.dto.res.PageResult;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.impl.inmemory.InMemoryDynamoDbConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 二進位 cursor 需還原成完全相同的分頁 key，舊版 JSON cursor 仍可使用，損壞的 cursor 不可被誤讀。
+ */
+class OrderCursorCodecTest {
+
+    private static final ZonedDateTime CREATED_AT = ZonedDateTime.of(2025, 6, 1, 10, 15, 30, 123_000_000, ZoneId.of("Asia/Taipei"));
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    void keysRoundTrip() {
+        String uuid = UUID.randomUUID().toString();
+        List<Map<String, AttributeValue>> keys = List.of(
+                key("order_" + uuid, "info", uuid, DateTimeConverter.toFormattedString(CREATED_AT)),
+                key("order_" + uuid, "info", uuid, DateTimeConverter.toFormattedString(CREATED_AT.withNano(0))),
+                key("order_" + uuid, "info", uuid, DateTimeConverter.toFormattedString(CREATED_AT.withNano(123_456_789))),
+                key("order_" + uuid, "info", uuid, DateTimeConverter.toFormattedString(CREATED_AT.withYear(1960))),
+                // 無法以數值還原成相同字串的值，以原字串保存
+                key("order_" + uuid.toUpperCase(), "detail", uuid.toUpperCase(), "2025-06-01T02:15:30Z"),
+                key("order-legacy-id", "info", "ls-1", "2025-06-01T10:15:30.100+08:00"),
+                key("訂單_1", null, null, null),
+                key(null, null, uuid, DateTimeConverter.toFormattedString(CREATED_AT)),
+                Map.of());
+
+        for (Map<String, AttributeValue> key : keys) {
+            String cursor = OrderCursorCodec.encode(key);
+            byte[] bytes = OrderCursorCodec.decodeBase64(cursor);
+
+            assertThat(cursor).doesNotContain("=", "+", "/");
+            assertThat(OrderCursorCodec.isBinary(bytes)).isTrue();
+            assertThat(OrderCursorCodec.decode(bytes)).as(key.toString()).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void unexpectedKeysAreLeftToLegacyFormat() {
+        Map<String, AttributeValue> extraAttribute = new HashMap<>(key("order_1", "info", "ls-1", null));
+        extraAttribute.put("order_status", AttributeValue.builder().s("PENDING").build());
+
+        Map<String, AttributeValue> numberValue = new HashMap<>(key("order_1", "info", "ls-1", null));
+        numberValue.put("created_at", AttributeValue.builder().n("1").build());
+
+        assertThat(OrderCursorCodec.encode(extraAttribute)).isNull();
+        assertThat(OrderCursorCodec.encode(numberValue)).isNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        String uuid = UUID.randomUUID().toString();
+        byte[] bytes = OrderCursorCodec.decodeBase64(OrderCursorCodec.encode(
+                key("order-legacy-id", "detail", uuid, DateTimeConverter.toFormattedString(CREATED_AT))));
+
+        // 任何截斷都必須失敗，不能還原成較短的 key
+        for (int length = 1; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThatThrownBy(() -> OrderCursorCodec.decode(truncated))
+                    .as("length %d", length)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        byte[] trailing = Arrays.copyOf(bytes, bytes.length + 1);
+        assertThatThrownBy(() -> OrderCursorCodec.decode(trailing)).hasMessageContaining("trailing");
+
+        byte[] version = bytes.clone();
+        version[0] = 2;
+        assertThatThrownBy(() -> OrderCursorCodec.decode(version)).hasMessageContaining("version");
+
+        byte[] varint = new byte[12];
+        Arrays.fill(varint, (byte) 0xFF);
+        varint[0] = OrderCursorCodec.VERSION;
+        varint[1] = 1;
+        assertThatThrownBy(() -> OrderCursorCodec.decode(varint)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> OrderCursorCodec.decode(new byte[0])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void repositoryAcceptsBinaryAndLegacyCursors() throws Exception {
+        AwsDynamoDbSdkOrderRepositoryImpl repository = new AwsDynamoDbSdkOrderRepositoryImpl(
+                InMemoryDynamoDbConfig.createClient("order", "plan", "live-sight"), objectMapper, null, null);
+        ReflectionTestUtils.setField(repository, "tableName", "order");
+
+        String serviceTypeId = UUID.randomUUID().toString();
+        for (int i = 0; i < 5; i++) {
+            ZonedDateTime createdAt = CREATED_AT.minusMinutes(i);
+            repository.create(OrderPo.builder()
+                    .orderId("order_" + UUID.randomUUID())
+                    .namespace("product.livesight." + serviceTypeId)
+                    .productId("product")
+                    .serviceType("livesight")
+                    .serviceTypeId(serviceTypeId)
+                    .authType("aws.cognito")
+                    .authTypeId("user-" + i)
+                    .orderStatus(OrderStatus.PENDING)
+                    .createdAt(createdAt)
+                    .expiredAt(createdAt.plusDays(1))
+                    .updatedAt(createdAt)
+                    .ttl(createdAt.plusDays(30))
+                    .build());
+        }
+
+        PageResult<OrderPo> first = repository.pageByServiceTypeId(serviceTypeId, null, null, 2, null);
+        String cursor = first.getLastEvaluatedKey();
+        assertThat(OrderCursorCodec.isBinary(OrderCursorCodec.decodeBase64(cursor))).isTrue();
+
+        PageResult<OrderPo> second = repository.pageByServiceTypeId(serviceTypeId, null, null, 2, cursor);
+        assertThat(second.getItems()).extracting(OrderPo::getAuthTypeId).containsExactly("user-2", "user-3");
+
+        // 舊版 cursor：Base64 URL 編碼的 DynamoDB JSON
+        String legacyCursor = legacyCursor(OrderCursorCodec.decode(OrderCursorCodec.decodeBase64(cursor)));
+        assertThat(repository.pageByServiceTypeId(serviceTypeId, null, null, 2, legacyCursor).getItems())
+                .isEqualTo(second.getItems());
+
+        // 損壞的 cursor 不會被誤讀成其他位置，而是從第一頁開始
+        String truncated = cursor.substring(0, cursor.length() - 4);
+        assertThat(repository.pageByServiceTypeId(serviceTypeId, null, null, 2, truncated).getItems())
+                .isEqualTo(first.getItems());
+    }
+
+    private String legacyCursor(Map<String, AttributeValue> key) throws Exception {
+        Map<String, Map<String, Object>> json = key.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> Map.of("S", entry.getValue().s())));
+        return Base64.getUrlEncoder().encodeToString(objectMapper.writeValueAsString(json).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, AttributeValue> key(String pk, String sk, String serviceTypeId, String createdAt) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        if (pk != null) {
+            key.put("pk", AttributeValue.builder().s(pk).build());
+        }
+        if (sk != null) {
+            key.put("sk", AttributeValue.builder().s(sk).build());
+        }
+        if (serviceTypeId != null) {
+            key.put("service_type_id", AttributeValue.builder().s(serviceTypeId).build());
+        }
+        if (createdAt != null) {
+            key.put("created_at", AttributeValue.builder().s(createdAt).build());
+        }
+        return key;
+    }
+}
@@ -0,0 +1,165 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.commons.utils.DateTimeConverter;
+import com.arplanets.corexrapi.livesight.benchmark.OrderItemDecodeBenchmark;
+import com.arplanets.corexrapi.livesight.benchmark.OrderItemFixtures;
+import com.arplanets.corexrapi.livesight.model.dto.Expiry;
+import com.arplanets.corexrapi.livesight.model.eunms.ExpireMode;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderProjection;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderItemCodec 的編碼與解碼結果需與原本 AwsDynamoDbSdkOrderRepositoryImpl 的對照寫法完全相同。
+ */
+class OrderItemCodecTest {
+
+    private static final ZoneOffset TAIPEI = ZoneOffset.ofHours(8);
+
+    @Test
+    void decodeMatchesLegacyMapper() {
+        for (Map<String, AttributeValue> item : OrderItemFixtures.reportPage(500, 7L)) {
+            assertThat(OrderItemCodec.decode(item)).isEqualTo(OrderItemDecodeBenchmark.legacyDecode(item));
+        }
+    }
+
+    @Test
+    void encodeMatchesLegacyCreateItem() {
+        OrderPo withPlan = createdOrder("plan-1");
+        OrderPo withoutPlan = createdOrder(null);
+
+        assertThat(OrderItemCodec.encode(withPlan)).isEqualTo(legacyEncode(withPlan));
+        assertThat(OrderItemCodec.encode(withoutPlan)).isEqualTo(legacyEncode(withoutPlan)).doesNotContainKey("plan_id");
+    }
+
+    @Test
+    void encodedOrderDecodesToSameOrder() {
+        OrderPo order = createdOrder("plan-1");
+
+        assertThat(OrderItemCodec.decode(OrderItemCodec.encode(order))).isEqualTo(order);
+    }
+
+    @Test
+    void encodeWritesExpiryPolicySnapshot() {
+        OrderPo relative = createdOrder("plan-1");
+        relative.setExpiryPolicy(Expiry.builder().expireMode(ExpireMode.RELATIVE).duration(90L).build());
+
+        // 沒有方案效期設定時寫入空的 Map，兌換時使用系統 Default 過期時間而不再查詢方案
+        OrderPo systemDefault = createdOrder(null);
+        systemDefault.setExpiryPolicy(new Expiry());
+
+        assertThat(OrderItemCodec.decode(OrderItemCodec.encode(relative))).isEqualTo(relative);
+        assertThat(OrderItemCodec.encode(systemDefault).get("expiry_policy").m()).isEmpty();
+        assertThat(OrderItemCodec.decode(OrderItemCodec.encode(systemDefault)).getExpiryPolicy()).isEqualTo(new Expiry());
+    }
+
+    @Test
+    void projectionDecodesOnlyProjectedAttributes() {
+        Map<String, AttributeValue> item = OrderItemFixtures.reportPage(1, 11L).get(0);
+
+        for (OrderProjection projection : OrderProjection.values()) {
+            if (projection.isFull()) {
+                assertThat(OrderItemCodec.projection(projection)).isNull();
+                assertThat(OrderItemCodec.decode(item, projection)).isEqualTo(OrderItemCodec.decode(item));
+                continue;
+            }
+
+            assertThat(OrderItemCodec.projection(projection).names().values())
+                    .containsExactlyInAnyOrderElementsOf(projection.getAttributeNames());
+
+            Map<String, AttributeValue> projected = item.entrySet().stream()
+                    .filter(entry -> projection.getAttributeNames().contains(entry.getKey()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+            // 即使 item 含有其他欄位，也只解碼 projection 內的欄位
+            assertThat(OrderItemCodec.decode(item, projection)).isEqualTo(OrderItemDecodeBenchmark.legacyDecode(projected));
+        }
+    }
+
+    @Test
+    void parseDateTimeMatchesDateTimeConverter() {
+        List<String> values = List.of(
+                "2025-01-01T10:00:00+08:00",
+                "2025-01-01T10:00:00.1+08:00",
+                "2025-01-01T10:00:00.123+08:00",
+                "2025-01-01T10:00:00.123456789+08:00",
+                "2025-01-01T02:00:00Z",
+                "2025-01-01T02:00:00.5-05:30",
+                "2024-02-29T23:59:59.999+14:00",
+                // 以下交給 DateTimeConverter 處理
+                "2025-01-01T10:00+08:00",
+                "2025-01-01T10:00:00.+08:00",
+                "2025-02-30T10:00:00+08:00",
+                "2025-01-01T10:00:00+0800",
+                "not a date");
+
+        for (String value : values) {
+            assertThat(OrderItemCodec.parseDateTime(value)).as(value).isEqualTo(DateTimeConverter.fromFormattedString(value));
+        }
+    }
+
+    private OrderPo createdOrder(String planId) {
+        ZonedDateTime createdAt = ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 123_000_000, TAIPEI);
+
+        return OrderPo.builder()
+                .orderId("order_0f8fad5b-d9cb-469f-a165-70867728950e")
+                .namespace("arplanet.live-sight.ls-1")
+                .productId("corexr")
+                .serviceType("live-sight")
+                .serviceTypeId("ls-1")
+                .planId(planId)
+                .orderStatus(OrderStatus.PENDING)
+                .authType("cognito")
+                .authTypeId("user-1")
+                .userBrowser("Chrome")
+                .userDeviceType("Mobile")
+                .userOs("Android")
+                .createdAt(createdAt)
+                .verificationCode("123456")
+                .expiredAt(createdAt.plusDays(1))
+                .updatedAt(createdAt)
+                .ttl(createdAt.plusDays(30).withNano(0).withZoneSameInstant(ZoneId.of("Asia/Taipei")))
+                .build();
+    }
+
+    /**
+     * 原 AwsDynamoDbSdkOrderRepositoryImpl.create 組成 item 的寫法。
+     */
+    private static Map<String, AttributeValue> legacyEncode(OrderPo order) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("pk", AttributeValue.builder().s(order.getOrderId()).build());
+        item.put("sk", AttributeValue.builder().s("info").build());
+        item.put("order_id", AttributeValue.builder().s(order.getOrderId()).build());
+        item.put("namespace", AttributeValue.builder().s(order.getNamespace()).build());
+        item.put("product_id", AttributeValue.builder().s(order.getProductId()).build());
+        item.put("service_type", AttributeValue.builder().s(order.getServiceType()).build());
+        item.put("service_type_id", AttributeValue.builder().s(order.getServiceTypeId()).build());
+        if (order.getPlanId() != null) {
+            item.put("plan_id", AttributeValue.builder().s(order.getPlanId()).build());
+        }
+        item.put("order_status", AttributeValue.builder().s(order.getOrderStatus().name()).build());
+        item.put("auth_type", AttributeValue.builder().s(order.getAuthType()).build());
+        item.put("auth_type_id", AttributeValue.builder().s(order.getAuthTypeId()).build());
+        item.put("user_browser", AttributeValue.builder().s(order.getUserBrowser()).build());
+        item.put("user_device_type", AttributeValue.builder().s(order.getUserDeviceType()).build());
+        item.put("user_OS", AttributeValue.builder().s(order.getUserOs()).build());
+        item.put("created_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(order.getCreatedAt())).build());
+        item.put("verification_code", AttributeValue.builder().s(order.getVerificationCode()).build());
+        item.put("expired_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(order.getExpiredAt())).build());
+        item.put("updated_at", AttributeValue.builder().s(DateTimeConverter.toFormattedString(order.getUpdatedAt())).build());
+        item.put("TTL", AttributeValue.builder().n(String.valueOf(order.getTtl().toEpochSecond())).build());
+        return item;
+    }
+}
@@ -0,0 +1,157 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.corexrapi.livesight.mapper.OrderMapper;
+import com.arplanets.corexrapi.livesight.mapper.OrderMapperImpl;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderReturnResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.OrderVoidResponse;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.impl.inmemory.InMemoryDynamoDbConfig;
+import com.arplanets.corexrapi.livesight.service.impl.OrderFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.arplanets.corexrapi.livesight.service.impl.DynamoDbOrderServiceImpl.ZONE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 作廢與退貨只更新少數欄位，回應與 IoT payload 仍須帶出未更新的訂單欄位。
+ */
+class OrderTransitionUpdateTest {
+
+    private static final String TABLE_NAME = "order";
+    private static final String ORDER_ID = "order-1";
+    private static final String NAMESPACE = "product.livesight.ls-1";
+    private static final String PRODUCT_ID = "product";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private final OrderFactory orderFactory = new OrderFactory(orderMapper, objectMapper);
+
+    private AwsDynamoDbSdkOrderRepositoryImpl orderRepository;
+    private OrderPo stored;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = new AwsDynamoDbSdkOrderRepositoryImpl(
+                InMemoryDynamoDbConfig.createClient(TABLE_NAME, "plan", "live-sight"), objectMapper, null, null);
+        ReflectionTestUtils.setField(orderRepository, "tableName", TABLE_NAME);
+
+        ZonedDateTime now = ZonedDateTime.now(ZONE_ID).truncatedTo(ChronoUnit.MILLIS);
+        orderRepository.create(OrderPo.builder()
+                .orderId(ORDER_ID)
+                .namespace(NAMESPACE)
+                .productId(PRODUCT_ID)
+                .serviceType("livesight")
+                .serviceTypeId("ls-1")
+                .authType("aws.cognito")
+                .authTypeId("user-1")
+                .orderStatus(OrderStatus.PENDING)
+                .createdAt(now.minusHours(2))
+                .expiredAt(now.plusHours(1))
+                .updatedAt(now.minusHours(2))
+                .ttl(now.plusDays(1))
+                .build());
+
+        // tags 與 redeem_code 在開通時寫入
+        stored = orderRepository.update(OrderPo.builder()
+                .orderId(ORDER_ID)
+                .namespace(NAMESPACE)
+                .productId(PRODUCT_ID)
+                .orderStatus(OrderStatus.ACTIVATED)
+                .activatedAt(now.minusHours(1))
+                .activatedBy("staff-1")
+                .redeemCode("123456")
+                .tags(List.of("vip", "group"))
+                .expiredAt(now.plusMinutes(30))
+                .updatedAt(now.minusHours(1))
+                .build());
+    }
+
+    @Test
+    void activateOverwritesExpiredAtWithRedeemCodeWindow() {
+        ReflectionTestUtils.setField(orderFactory, "redeemCodeExpirationMinutes", 15L);
+
+        ZonedDateTime now = ZonedDateTime.now(ZONE_ID).truncatedTo(ChronoUnit.MILLIS);
+        orderRepository.create(OrderPo.builder()
+                .orderId("order-2")
+                .namespace(NAMESPACE)
+                .productId(PRODUCT_ID)
+                .serviceType("livesight")
+                .serviceTypeId("ls-1")
+                .authType("aws.cognito")
+                .authTypeId("user-1")
+                .orderStatus(OrderStatus.PENDING)
+                .createdAt(now)
+                .expiredAt(now.plusHours(8))
+                .updatedAt(now)
+                .ttl(now.plusDays(1))
+                .build());
+
+        OrderPo requested = orderFactory.buildActivatedOrder("order-2", NAMESPACE, PRODUCT_ID, "staff-1", "654321", List.of("vip"));
+        OrderPo result = orderRepository.update(requested);
+
+        // 開通後的過期時間為 Redeem Code 有效期限，而非建立時的過期時間
+        assertThat(result.getExpiredAt()).isEqualTo(requested.getExpiredAt());
+        assertThat(orderRepository.findById("order-2").orElseThrow().getExpiredAt()).isEqualTo(requested.getExpiredAt());
+    }
+
+    @Test
+    void voidReturnsUnchangedFields() throws Exception {
+        OrderPo result = orderRepository.update(orderFactory.buildVoidedOrder(ORDER_ID, NAMESPACE, PRODUCT_ID, "staff-1"));
+
+        OrderVoidResponse response = orderMapper.orderDtoToOrderVoidResponse(orderMapper.orderPoToOrderDto(result));
+        assertThat(response.getOrderId()).isEqualTo(ORDER_ID);
+        assertThat(response.getOrderStatus()).isEqualTo(OrderStatus.VOIDED);
+        assertThat(response.getAuthTypeId()).isEqualTo(stored.getAuthTypeId());
+        assertThat(response.getCreatedAt()).isEqualTo(stored.getCreatedAt());
+        assertThat(response.getExpiredAt()).isEqualTo(stored.getExpiredAt());
+        assertThat(response.getTags()).isEqualTo(stored.getTags());
+
+        assertPayloadHasUnchangedFields(result, OrderStatus.VOIDED);
+    }
+
+    @Test
+    void returnReturnsUnchangedFields() throws Exception {
+        orderRepository.update(OrderPo.builder()
+                .orderId(ORDER_ID)
+                .productId(PRODUCT_ID)
+                .orderStatus(OrderStatus.REDEEMED)
+                .redeemCode(stored.getRedeemCode())
+                .redeemedAt(ZonedDateTime.now(ZONE_ID))
+                .updatedAt(ZonedDateTime.now(ZONE_ID))
+                .build());
+
+        OrderPo result = orderRepository.update(orderFactory.buildReturnedOrder(ORDER_ID, NAMESPACE, PRODUCT_ID, "staff-1"));
+
+        OrderReturnResponse response = orderMapper.orderDtoToOrderReturnResponse(orderMapper.orderPoToOrderDto(result));
+        assertThat(response.getOrderId()).isEqualTo(ORDER_ID);
+        assertThat(response.getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(response.getAuthTypeId()).isEqualTo(stored.getAuthTypeId());
+        assertThat(response.getCreatedAt()).isEqualTo(stored.getCreatedAt());
+        assertThat(response.getExpiredAt()).isEqualTo(stored.getExpiredAt());
+        assertThat(response.getTags()).isEqualTo(stored.getTags());
+
+        assertPayloadHasUnchangedFields(result, OrderStatus.COMPLETED);
+    }
+
+    private void assertPayloadHasUnchangedFields(OrderPo result, OrderStatus expectedStatus) throws Exception {
+        JsonNode payload = objectMapper.readTree(orderFactory.buildPayload(result).asUtf8String());
+
+        assertThat(payload.path("order_id").asText()).isEqualTo(ORDER_ID);
+        assertThat(payload.path("order_status").asText()).isEqualTo(expectedStatus.name());
+        assertThat(payload.path("auth_type_id").asText()).isEqualTo(stored.getAuthTypeId());
+        assertThat(payload.path("redeem_code").asText()).isEqualTo(stored.getRedeemCode());
+        assertThat(payload.hasNonNull("created_at")).isTrue();
+        assertThat(payload.hasNonNull("expired_at")).isTrue();
+        assertThat(payload.path("tags")).hasSize(stored.getTags().size());
+    }
+}
@@ -0,0 +1,144 @@
+package com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk;
+
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.TimeSlicedQueryExecutor.TimeSlice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 片段之間不重疊也不遺漏，並行查詢後的輸出順序與單一由新到舊的查詢相同。
+ */
+class TimeSlicedQueryExecutorTest {
+
+    private static final ZonedDateTime END = ZonedDateTime.of(2025, 6, 1, 12, 0, 0, 500_000_000, ZoneId.of("Asia/Taipei"));
+
+    private TimeSlicedQueryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new TimeSlicedQueryExecutor(4);
+        ReflectionTestUtils.setField(executor, "sliceCount", 8);
+        ReflectionTestUtils.setField(executor, "concurrency", 3);
+        ReflectionTestUtils.setField(executor, "prefetchPages", 1);
+        ReflectionTestUtils.setField(executor, "minSliceSeconds", 3600L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void slicesCoverRangeWithoutGapsOrOverlap() {
+        ZonedDateTime start = END.minusDays(3).plusNanos(123);
+
+        List<TimeSlice> slices = executor.split(start, END);
+
+        assertThat(slices).hasSize(8);
+        assertThat(slices.get(0).endDate()).isEqualTo(END);
+        assertThat(slices.get(slices.size() - 1).startDate()).isEqualTo(start);
+        for (int i = 0; i < slices.size() - 1; i++) {
+            TimeSlice newer = slices.get(i);
+            TimeSlice older = slices.get(i + 1);
+            assertThat(newer.startDate()).isAfter(newer.endDate().minusDays(1)).isBefore(newer.endDate());
+            // created_at BETWEEN 為閉區間，相鄰片段以 1ns 銜接
+            assertThat(older.endDate()).isEqualTo(newer.startDate().minusNanos(1));
+        }
+
+        // 切點本身與切點前 1ns 各自只落在一個片段
+        for (TimeSlice slice : slices) {
+            assertThat(countContaining(slices, slice.startDate())).isEqualTo(1);
+            assertThat(countContaining(slices, slice.startDate().minusNanos(1)))
+                    .isEqualTo(slice.startDate().equals(start) ? 0 : 1);
+        }
+    }
+
+    @Test
+    void shortOrOpenRangeIsSingleSlice() {
+        assertThat(executor.split(END.minusMinutes(90), END)).containsExactly(new TimeSlice(END.minusMinutes(90), END));
+        assertThat(executor.split(null, END)).containsExactly(new TimeSlice(null, END));
+        assertThat(executor.split(END.minusDays(1), null)).containsExactly(new TimeSlice(END.minusDays(1), null));
+        assertThat(executor.split(END, END.minusDays(1))).hasSize(1);
+
+        // 2 小時的區間受 min-slice-seconds 限制只切成 2 段
+        assertThat(executor.split(END.minusHours(2), END)).hasSize(2);
+    }
+
+    @Test
+    void pagesAreMergedInSliceOrder() {
+        List<TimeSlice> slices = executor.split(END.minusDays(3), END);
+
+        List<OrderPo> sequential = new ArrayList<>();
+        slices.forEach(slice -> emitPages(slice, sequential::addAll, false));
+        assertThat(sequential).extracting(OrderPo::getCreatedAt).isSortedAccordingTo(Comparator.reverseOrder());
+
+        for (int run = 0; run < 20; run++) {
+            List<OrderPo> merged = Collections.synchronizedList(new ArrayList<>());
+            executor.execute(slices, (slice, consumer) -> emitPages(slice, consumer, true), merged::addAll);
+
+            assertThat(merged).containsExactlyElementsOf(sequential);
+        }
+    }
+
+    @Test
+    void backgroundSliceErrorIsRethrown() {
+        List<TimeSlice> slices = executor.split(END.minusDays(3), END);
+        TimeSlice failing = slices.get(2);
+
+        assertThatThrownBy(() -> executor.execute(slices, (slice, consumer) -> {
+            if (slice.equals(failing)) {
+                throw new IllegalStateException("slice failed");
+            }
+            emitPages(slice, consumer, false);
+        }, page -> {
+        })).isInstanceOf(IllegalStateException.class).hasMessage("slice failed");
+    }
+
+    /**
+     * 每個片段輸出 3 頁，每頁 5 筆由新到舊的訂單；並行時每頁隨機延遲，讓片段完成的順序與片段順序不同。
+     */
+    private void emitPages(TimeSlice slice, Consumer<List<OrderPo>> consumer, boolean jitter) {
+        Duration step = Duration.between(slice.startDate(), slice.endDate()).dividedBy(16);
+        int index = 0;
+        for (int page = 0; page < 3; page++) {
+            List<OrderPo> orders = new ArrayList<>();
+            for (int i = 0; i < 5; i++, index++) {
+                ZonedDateTime createdAt = slice.endDate().minus(step.multipliedBy(index));
+                orders.add(OrderPo.builder().orderId("order-" + createdAt.toInstant()).createdAt(createdAt).build());
+            }
+            if (jitter) {
+                sleep(ThreadLocalRandom.current().nextInt(3));
+            }
+            consumer.accept(orders);
+        }
+    }
+
+    private long countContaining(List<TimeSlice> slices, ZonedDateTime time) {
+        return slices.stream()
+                .filter(slice -> !time.isBefore(slice.startDate()) && !time.isAfter(slice.endDate()))
+                .count();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,647 @@
+package com.arplanets.corexrapi.livesight.repository.impl.inmemory;
+
+import com.arplanets.corexrapi.livesight.repository.impl.inmemory.InMemoryExpressions.*;
+import com.arplanets.corexrapi.livesight.repository.impl.inmemory.InMemoryTable.IndexEntry;
+import com.arplanets.corexrapi.livesight.repository.impl.inmemory.InMemoryTable.PrimaryKey;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 以記憶體模擬 DynamoDB 的資料操作，供 inmemory profile 離線壓測使用。
+ * <p>
+ * 模擬的行為：
+ * <ul>
+ *     <li>PutItem / UpdateItem / DeleteItem 的條件式與 ReturnValues、ReturnValuesOnConditionCheckFailure</li>
+ *     <li>Query / Scan 的 Limit、1MB 分頁與 LastEvaluatedKey (達到 Limit 時即使沒有下一筆也會回傳)</li>
+ *     <li>GSI 依 sort key 排序，同值時依主鍵排序，缺少 GSI key 的 item 不會出現在 GSI</li>
+ *     <li>BatchGetItem 的 100 筆上限與 16MB 回應上限 (超過的 key 放入 UnprocessedKeys)</li>
+ *     <li>TransactWriteItems 全有或全無，失敗時回傳每個動作的 CancellationReason</li>
+ * </ul>
+ * 單筆寫入之間可並行，交易執行時獨占所有資料表。
+ */
+final class InMemoryDynamoDb {
+
+    static final int MAX_PAGE_BYTES = 1024 * 1024;
+    private static final int MAX_BATCH_GET_KEYS = 100;
+    private static final int MAX_BATCH_GET_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_TRANSACT_ITEMS = 100;
+
+    private final Map<String, InMemoryTable> tables = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock transactionLock = new ReentrantReadWriteLock();
+    private final int pageBytes;
+
+    InMemoryDynamoDb(int pageBytes) {
+        this.pageBytes = pageBytes;
+    }
+
+    void createTable(String tableName, String hashKey, String rangeKey, List<InMemoryTable.IndexDefinition> indexes) {
+        tables.put(tableName, new InMemoryTable(tableName, hashKey, rangeKey, indexes));
+    }
+
+    GetItemResponse getItem(GetItemRequest request) {
+        InMemoryTable table = table(request.tableName());
+        Map<String, AttributeValue> item = table.get(table.primaryKey(request.key()));
+
+        GetItemResponse.Builder response = GetItemResponse.builder();
+        if (item != null) {
+            response.item(InMemoryExpressions.project(request.projectionExpression(), request.expressionAttributeNames(), item));
+        }
+        return response.build();
+    }
+
+    PutItemResponse putItem(PutItemRequest request) {
+        InMemoryTable table = table(request.tableName());
+        PrimaryKey key = table.primaryKey(request.item());
+        AtomicReference<Map<String, AttributeValue>> old = new AtomicReference<>();
+
+        withItemLock(() -> table.mutate(key, current -> {
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(), request.expressionAttributeValues(),
+                    current, request.returnValuesOnConditionCheckFailure());
+            old.set(current);
+            return request.item();
+        }));
+
+        PutItemResponse.Builder response = PutItemResponse.builder();
+        if (request.returnValues() == ReturnValue.ALL_OLD && old.get() != null) {
+            response.attributes(old.get());
+        }
+        return response.build();
+    }
+
+    UpdateItemResponse updateItem(UpdateItemRequest request) {
+        InMemoryTable table = table(request.tableName());
+        PrimaryKey key = table.primaryKey(request.key());
+        AtomicReference<Map<String, AttributeValue>> old = new AtomicReference<>();
+        AtomicReference<Set<String>> updatedNames = new AtomicReference<>();
+
+        Map<String, AttributeValue> updated = withItemLock(() -> table.mutate(key, current -> {
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(), request.expressionAttributeValues(),
+                    current, request.returnValuesOnConditionCheckFailure());
+            old.set(current);
+
+            UpdateResult result = update(table, key, request.updateExpression(), request.expressionAttributeNames(),
+                    request.expressionAttributeValues(), current);
+            updatedNames.set(result.updatedNames());
+            return result.item();
+        }));
+
+        UpdateItemResponse.Builder response = UpdateItemResponse.builder();
+        Map<String, AttributeValue> attributes = returnValues(request.returnValues(), old.get(), updated, updatedNames.get());
+        if (attributes != null) {
+            response.attributes(attributes);
+        }
+        return response.build();
+    }
+
+    DeleteItemResponse deleteItem(DeleteItemRequest request) {
+        InMemoryTable table = table(request.tableName());
+        PrimaryKey key = table.primaryKey(request.key());
+        AtomicReference<Map<String, AttributeValue>> old = new AtomicReference<>();
+
+        withItemLock(() -> table.mutate(key, current -> {
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(), request.expressionAttributeValues(),
+                    current, request.returnValuesOnConditionCheckFailure());
+            old.set(current);
+            return null;
+        }));
+
+        DeleteItemResponse.Builder response = DeleteItemResponse.builder();
+        if (request.returnValues() == ReturnValue.ALL_OLD && old.get() != null) {
+            response.attributes(old.get());
+        }
+        return response.build();
+    }
+
+    QueryResponse query(QueryRequest request) {
+        InMemoryTable table = table(request.tableName());
+        Map<String, String> names = request.expressionAttributeNames();
+        Map<String, AttributeValue> values = request.expressionAttributeValues();
+        boolean forward = request.scanIndexForward() == null || request.scanIndexForward();
+
+        Node keyCondition = InMemoryExpressions.parseCondition(request.keyConditionExpression());
+        Iterator<PrimaryKey> candidates;
+        List<String> keyNames = new ArrayList<>(List.of(table.hashKey()));
+        if (table.rangeKey() != null) {
+            keyNames.add(table.rangeKey());
+        }
+
+        if (request.indexName() != null) {
+            InMemoryTable.Index index = table.index(request.indexName());
+            keyNames.add(index.hashKey());
+            keyNames.add(index.rangeKey());
+            candidates = indexCandidates(table, index, keyCondition, names, values, request.exclusiveStartKey(), forward);
+        } else {
+            candidates = tableCandidates(table, keyCondition, names, values, request.exclusiveStartKey(), forward);
+        }
+
+        Page page = readPage(table, candidates, keyCondition, request.filterExpression(), names, values,
+                request.projectionExpression(), request.limit(), keyNames);
+
+        QueryResponse.Builder response = QueryResponse.builder()
+                .items(page.items())
+                .count(page.items().size())
+                .scannedCount(page.scannedCount());
+        if (page.lastEvaluatedKey() != null) {
+            response.lastEvaluatedKey(page.lastEvaluatedKey());
+        }
+        return response.build();
+    }
+
+    ScanResponse scan(ScanRequest request) {
+        InMemoryTable table = table(request.tableName());
+        if (request.indexName() != null) {
+            throw new UnsupportedOperationException("Scanning a secondary index is not supported");
+        }
+
+        PrimaryKey startKey = hasItems(request.exclusiveStartKey()) ? table.primaryKey(request.exclusiveStartKey()) : null;
+        Iterator<PrimaryKey> candidates = table.scanFrom(startKey);
+
+        // 平行 scan：依 partition key 的雜湊分段
+        if (request.totalSegments() != null) {
+            int totalSegments = request.totalSegments();
+            int segment = request.segment();
+            candidates = filter(candidates, key -> Math.floorMod(key.hash().hashCode(), totalSegments) == segment);
+        }
+
+        List<String> keyNames = table.rangeKey() != null ? List.of(table.hashKey(), table.rangeKey()) : List.of(table.hashKey());
+        Page page = readPage(table, candidates, null, request.filterExpression(), request.expressionAttributeNames(),
+                request.expressionAttributeValues(), request.projectionExpression(), request.limit(), keyNames);
+
+        ScanResponse.Builder response = ScanResponse.builder()
+                .items(page.items())
+                .count(page.items().size())
+                .scannedCount(page.scannedCount());
+        if (page.lastEvaluatedKey() != null) {
+            response.lastEvaluatedKey(page.lastEvaluatedKey());
+        }
+        return response.build();
+    }
+
+    BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+        int keyCount = request.requestItems().values().stream().mapToInt(keys -> keys.keys().size()).sum();
+        if (keyCount > MAX_BATCH_GET_KEYS) {
+            throw InMemoryDynamoDbErrors.validation("Too many items requested for the BatchGetItem call");
+        }
+
+        Map<String, List<Map<String, AttributeValue>>> responses = new HashMap<>();
+        Map<String, KeysAndAttributes> unprocessed = new HashMap<>();
+        long bytes = 0;
+
+        for (Map.Entry<String, KeysAndAttributes> entry : request.requestItems().entrySet()) {
+            InMemoryTable table = table(entry.getKey());
+            KeysAndAttributes keysAndAttributes = entry.getValue();
+            List<Map<String, AttributeValue>> found = new ArrayList<>();
+            List<Map<String, AttributeValue>> remaining = new ArrayList<>();
+
+            for (Map<String, AttributeValue> key : keysAndAttributes.keys()) {
+                // 超過回應大小上限的 key 留給呼叫端重試
+                if (bytes >= MAX_BATCH_GET_BYTES) {
+                    remaining.add(key);
+                    continue;
+                }
+
+                Map<String, AttributeValue> item = table.get(table.primaryKey(key));
+                if (item != null) {
+                    bytes += itemSize(item);
+                    found.add(InMemoryExpressions.project(keysAndAttributes.projectionExpression(),
+                            keysAndAttributes.expressionAttributeNames(), item));
+                }
+            }
+
+            responses.put(entry.getKey(), found);
+            if (!remaining.isEmpty()) {
+                unprocessed.put(entry.getKey(), keysAndAttributes.toBuilder().keys(remaining).build());
+            }
+        }
+
+        return BatchGetItemResponse.builder()
+                .responses(responses)
+                .unprocessedKeys(unprocessed)
+                .build();
+    }
+
+    TransactWriteItemsResponse transactWriteItems(TransactWriteItemsRequest request) {
+        List<TransactWriteItem> actions = request.transactItems();
+        if (actions.size() > MAX_TRANSACT_ITEMS) {
+            throw InMemoryDynamoDbErrors.validation("Member must have length less than or equal to " + MAX_TRANSACT_ITEMS);
+        }
+
+        List<TransactAction> resolved = new ArrayList<>(actions.size());
+        Set<String> touched = new HashSet<>();
+        for (TransactWriteItem action : actions) {
+            TransactAction transactAction = TransactAction.of(this, action);
+            if (!touched.add(transactAction.table().name() + "\u0000" + transactAction.key())) {
+                throw InMemoryDynamoDbErrors.validation("Transaction request cannot include multiple operations on one item");
+            }
+            resolved.add(transactAction);
+        }
+
+        transactionLock.writeLock().lock();
+        try {
+            // 先檢查所有條件，任何一個失敗則整批取消且不寫入
+            List<CancellationReason> reasons = new ArrayList<>(resolved.size());
+            boolean cancelled = false;
+            for (TransactAction action : resolved) {
+                Map<String, AttributeValue> current = action.table().get(action.key());
+                if (InMemoryExpressions.matches(action.conditionExpression(), action.names(), action.values(), current)) {
+                    reasons.add(CancellationReason.builder().code("None").build());
+                } else {
+                    cancelled = true;
+                    CancellationReason.Builder reason = CancellationReason.builder()
+                            .code("ConditionalCheckFailed")
+                            .message("The conditional request failed");
+                    if (action.returnOldItem() && current != null) {
+                        reason.item(current);
+                    }
+                    reasons.add(reason.build());
+                }
+            }
+            if (cancelled) {
+                throw InMemoryDynamoDbErrors.transactionCanceled(reasons);
+            }
+
+            for (TransactAction action : resolved) {
+                action.apply();
+            }
+        } finally {
+            transactionLock.writeLock().unlock();
+        }
+
+        return TransactWriteItemsResponse.builder().build();
+    }
+
+    /**
+     * 估算 item 大小 (屬性名稱加上值的 UTF-8 長度)，與 DynamoDB 計算讀取量的方式相近。
+     */
+    static int itemSize(Map<String, AttributeValue> item) {
+        int size = 0;
+        for (Map.Entry<String, AttributeValue> entry : item.entrySet()) {
+            size += utf8Length(entry.getKey()) + valueSize(entry.getValue());
+        }
+        return size;
+    }
+
+    private static int valueSize(AttributeValue value) {
+        if (value.s() != null) {
+            return utf8Length(value.s());
+        }
+        if (value.n() != null) {
+            return (value.n().length() + 1) / 2 + 1;
+        }
+        if (value.b() != null) {
+            return value.b().asByteArrayUnsafe().length;
+        }
+        if (value.bool() != null || value.nul() != null) {
+            return 1;
+        }
+        if (value.hasSs()) {
+            return value.ss().stream().mapToInt(InMemoryDynamoDb::utf8Length).sum();
+        }
+        if (value.hasNs()) {
+            return value.ns().stream().mapToInt(n -> (n.length() + 1) / 2 + 1).sum();
+        }
+        if (value.hasBs()) {
+            return value.bs().stream().mapToInt(b -> b.asByteArrayUnsafe().length).sum();
+        }
+        if (value.hasL()) {
+            return 3 + value.l().stream().mapToInt(element -> 1 + valueSize(element)).sum();
+        }
+        if (value.hasM()) {
+            return 3 + value.m().entrySet().stream().mapToInt(e -> 1 + utf8Length(e.getKey()) + valueSize(e.getValue())).sum();
+        }
+        return 0;
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    InMemoryTable table(String tableName) {
+        InMemoryTable table = tables.get(tableName);
+        if (table == null) {
+            throw InMemoryDynamoDbErrors.resourceNotFound(tableName);
+        }
+        return table;
+    }
+
+    private Page readPage(InMemoryTable table, Iterator<PrimaryKey> candidates, Node keyCondition, String filterExpression,
+                          Map<String, String> names, Map<String, AttributeValue> values, String projectionExpression,
+                          Integer limit, List<String> keyNames) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        Map<String, AttributeValue> lastEvaluated = null;
+        int scanned = 0;
+        long bytes = 0;
+        boolean stopped = false;
+
+        while (candidates.hasNext()) {
+            Map<String, AttributeValue> item = table.get(candidates.next());
+            if (item == null) {
+                continue;
+            }
+            if (keyCondition != null && !keyCondition.test(InMemoryExpressions.context(names, values, item))) {
+                continue;
+            }
+
+            // Limit 與 1MB 上限皆以 filter 前讀取的資料計算
+            scanned++;
+            bytes += itemSize(item);
+            lastEvaluated = item;
+
+            if (InMemoryExpressions.matches(filterExpression, names, values, item)) {
+                items.add(InMemoryExpressions.project(projectionExpression, names, item));
+            }
+
+            if ((limit != null && scanned >= limit) || bytes >= pageBytes) {
+                stopped = true;
+                break;
+            }
+        }
+
+        Map<String, AttributeValue> lastEvaluatedKey = null;
+        if (stopped) {
+            lastEvaluatedKey = new HashMap<>();
+            for (String keyName : keyNames) {
+                AttributeValue value = lastEvaluated.get(keyName);
+                if (value != null) {
+                    lastEvaluatedKey.put(keyName, value);
+                }
+            }
+        }
+
+        return new Page(items, scanned, lastEvaluatedKey);
+    }
+
+    /**
+     * 由 key condition 取出 GSI partition 與 sort key 範圍，只列舉範圍內的 entry。
+     */
+    private Iterator<PrimaryKey> indexCandidates(InMemoryTable table, InMemoryTable.Index index, Node keyCondition,
+                                                 Map<String, String> names, Map<String, AttributeValue> values,
+                                                 Map<String, AttributeValue> exclusiveStartKey, boolean forward) {
+        KeyRange keyRange = KeyRange.of(keyCondition, index.hashKey(), index.rangeKey(), names, values);
+        NavigableMap<IndexEntry, PrimaryKey> view = keyRange.apply(index.partition(keyRange.hash()));
+
+        if (hasItems(exclusiveStartKey)) {
+            IndexEntry start = index.entryOf(table.primaryKey(exclusiveStartKey), exclusiveStartKey);
+            view = forward ? view.tailMap(start, false) : view.headMap(start, false);
+        }
+
+        return (forward ? view : view.descendingMap()).values().iterator();
+    }
+
+    private Iterator<PrimaryKey> tableCandidates(InMemoryTable table, Node keyCondition, Map<String, String> names,
+                                                 Map<String, AttributeValue> values, Map<String, AttributeValue> exclusiveStartKey,
+                                                 boolean forward) {
+        KeyRange keyRange = KeyRange.of(keyCondition, table.hashKey(), table.rangeKey(), names, values);
+
+        List<PrimaryKey> keys = new ArrayList<>();
+        Iterator<PrimaryKey> iterator = table.scanFrom(new PrimaryKey(keyRange.hash(), ""));
+        Map<String, AttributeValue> first = table.get(new PrimaryKey(keyRange.hash(), ""));
+        if (first != null) {
+            keys.add(new PrimaryKey(keyRange.hash(), ""));
+        }
+        while (iterator.hasNext()) {
+            PrimaryKey key = iterator.next();
+            if (!key.hash().equals(keyRange.hash())) {
+                break;
+            }
+            keys.add(key);
+        }
+        if (!forward) {
+            Collections.reverse(keys);
+        }
+
+        if (hasItems(exclusiveStartKey)) {
+            PrimaryKey start = table.primaryKey(exclusiveStartKey);
+            keys = keys.stream()
+                    .filter(key -> forward ? key.compareTo(start) > 0 : key.compareTo(start) < 0)
+                    .toList();
+        }
+
+        return keys.iterator();
+    }
+
+    private static UpdateResult update(InMemoryTable table, PrimaryKey key, String updateExpression, Map<String, String> names,
+                                       Map<String, AttributeValue> values, Map<String, AttributeValue> current) {
+        // item 不存在時 UpdateItem 會以 key 建立新 item
+        Map<String, AttributeValue> base = current != null ? current : table.keyAttributes(key);
+        if (updateExpression == null || updateExpression.isBlank()) {
+            return new UpdateResult(base, Set.of());
+        }
+
+        UpdateResult result = InMemoryExpressions.applyUpdate(updateExpression, names, values, base);
+        if (result.updatedNames().contains(table.hashKey()) || result.updatedNames().contains(table.rangeKey())) {
+            throw InMemoryDynamoDbErrors.validation("Cannot update attribute " + table.hashKey() + ". This attribute is part of the key");
+        }
+        return result;
+    }
+
+    private static void checkCondition(String conditionExpression, Map<String, String> names, Map<String, AttributeValue> values,
+                                       Map<String, AttributeValue> current, ReturnValuesOnConditionCheckFailure returnOnFailure) {
+        if (!InMemoryExpressions.matches(conditionExpression, names, values, current)) {
+            throw InMemoryDynamoDbErrors.conditionalCheckFailed(
+                    returnOnFailure == ReturnValuesOnConditionCheckFailure.ALL_OLD ? current : null);
+        }
+    }
+
+    private static Map<String, AttributeValue> returnValues(ReturnValue returnValue, Map<String, AttributeValue> old,
+                                                            Map<String, AttributeValue> updated, Set<String> updatedNames) {
+        if (returnValue == null) {
+            return null;
+        }
+
+        return switch (returnValue) {
+            case ALL_OLD -> old;
+            case ALL_NEW -> updated;
+            case UPDATED_OLD -> old != null ? pick(old, updatedNames) : null;
+            case UPDATED_NEW -> pick(updated, updatedNames);
+            default -> null;
+        };
+    }
+
+    private static Map<String, AttributeValue> pick(Map<String, AttributeValue> item, Set<String> names) {
+        Map<String, AttributeValue> picked = new HashMap<>();
+        for (String name : names) {
+            AttributeValue value = item.get(name);
+            if (value != null) {
+                picked.put(name, value);
+            }
+        }
+        return picked;
+    }
+
+    private <T> T withItemLock(java.util.function.Supplier<T> operation) {
+        transactionLock.readLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            transactionLock.readLock().unlock();
+        }
+    }
+
+    private static boolean hasItems(Map<String, AttributeValue> map) {
+        return map != null && !map.isEmpty();
+    }
+
+    private static Iterator<PrimaryKey> filter(Iterator<PrimaryKey> source, java.util.function.Predicate<PrimaryKey> predicate) {
+        return new Iterator<>() {
+            private PrimaryKey next = advance();
+
+            private PrimaryKey advance() {
+                while (source.hasNext()) {
+                    PrimaryKey candidate = source.next();
+                    if (predicate.test(candidate)) {
+                        return candidate;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public PrimaryKey next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                PrimaryKey current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    private record Page(List<Map<String, AttributeValue>> items, int scannedCount, Map<String, AttributeValue> lastEvaluatedKey) {
+    }
+
+    /**
+     * key condition 解析出的 partition 值與 sort key 範圍。
+     */
+    private record KeyRange(String hash, String low, boolean lowInclusive, String high, boolean highInclusive) {
+
+        static KeyRange of(Node keyCondition, String hashKey, String rangeKey, Map<String, String> names, Map<String, AttributeValue> values) {
+            Context context = InMemoryExpressions.context(names, values, null);
+            List<Node> nodes = keyCondition instanceof And and ? and.nodes() : List.of(keyCondition);
+
+            String hash = null;
+            String low = null;
+            String high = null;
+            boolean lowInclusive = true;
+            boolean highInclusive = true;
+
+            for (Node node : nodes) {
+                if (node instanceof Comparison comparison && comparison.left() instanceof PathOperand path) {
+                    String name = context.resolveName(path.path());
+                    String value = comparison.right().resolve(context).s();
+                    if (name.equals(hashKey) && "=".equals(comparison.operator())) {
+                        hash = value;
+                    } else if (name.equals(rangeKey)) {
+                        switch (comparison.operator()) {
+                            case "=" -> {
+                                low = value;
+                                high = value;
+                            }
+                            case "<" -> {
+                                high = value;
+                                highInclusive = false;
+                            }
+                            case "<=" -> high = value;
+                            case ">" -> {
+                                low = value;
+                                lowInclusive = false;
+                            }
+                            case ">=" -> low = value;
+                            default -> throw InMemoryDynamoDbErrors.validation("Unsupported operator in key condition: " + comparison.operator());
+                        }
+                    } else {
+                        throw InMemoryDynamoDbErrors.validation("Query condition missed key schema element: " + name);
+                    }
+                } else if (node instanceof Between between && between.operand() instanceof PathOperand path
+                        && context.resolveName(path.path()).equals(rangeKey)) {
+                    low = between.low().resolve(context).s();
+                    high = between.high().resolve(context).s();
+                } else if (node instanceof Function function && "begins_with".equals(function.name())) {
+                    // 由 key condition 本身再逐筆確認前綴
+                    low = function.arguments().get(1).resolve(context).s();
+                } else {
+                    throw InMemoryDynamoDbErrors.validation("Invalid KeyConditionExpression");
+                }
+            }
+
+            if (hash == null) {
+                throw InMemoryDynamoDbErrors.validation("Query condition missed key schema element: " + hashKey);
+            }
+            return new KeyRange(hash, low, lowInclusive, high, highInclusive);
+        }
+
+        NavigableMap<IndexEntry, PrimaryKey> apply(NavigableMap<IndexEntry, PrimaryKey> partition) {
+            NavigableMap<IndexEntry, PrimaryKey> view = partition;
+            if (low != null) {
+                view = view.tailMap(lowInclusive ? IndexEntry.lowerBound(low) : IndexEntry.upperBound(low), false);
+            }
+            if (high != null) {
+                view = view.headMap(highInclusive ? IndexEntry.upperBound(high) : IndexEntry.lowerBound(high), false);
+            }
+            return view;
+        }
+    }
+
+    /**
+     * 交易中的單一動作，條件檢查與寫入分開執行。
+     */
+    private record TransactAction(InMemoryTable table, PrimaryKey key, String conditionExpression,
+                                  Map<String, String> names, Map<String, AttributeValue> values,
+                                  boolean returnOldItem, TransactWriteItem action) {
+
+        static TransactAction of(InMemoryDynamoDb db, TransactWriteItem action) {
+            if (action.put() != null) {
+                Put put = action.put();
+                InMemoryTable table = db.table(put.tableName());
+                return new TransactAction(table, table.primaryKey(put.item()), put.conditionExpression(),
+                        put.expressionAttributeNames(), put.expressionAttributeValues(),
+                        put.returnValuesOnConditionCheckFailure() == ReturnValuesOnConditionCheckFailure.ALL_OLD, action);
+            }
+            if (action.update() != null) {
+                Update update = action.update();
+                InMemoryTable table = db.table(update.tableName());
+                return new TransactAction(table, table.primaryKey(update.key()), update.conditionExpression(),
+                        update.expressionAttributeNames(), update.expressionAttributeValues(),
+                        update.returnValuesOnConditionCheckFailure() == ReturnValuesOnConditionCheckFailure.ALL_OLD, action);
+            }
+            if (action.delete() != null) {
+                Delete delete = action.delete();
+                InMemoryTable table = db.table(delete.tableName());
+                return new TransactAction(table, table.primaryKey(delete.key()), delete.conditionExpression(),
+                        delete.expressionAttributeNames(), delete.expressionAttributeValues(),
+                        delete.returnValuesOnConditionCheckFailure() == ReturnValuesOnConditionCheckFailure.ALL_OLD, action);
+            }
+            if (action.conditionCheck() != null) {
+                ConditionCheck check = action.conditionCheck();
+                InMemoryTable table = db.table(check.tableName());
+                return new TransactAction(table, table.primaryKey(check.key()), check.conditionExpression(),
+                        check.expressionAttributeNames(), check.expressionAttributeValues(),
+                        check.returnValuesOnConditionCheckFailure() == ReturnValuesOnConditionCheckFailure.ALL_OLD, action);
+            }
+            throw InMemoryDynamoDbErrors.validation("TransactWriteItem must specify exactly one action");
+        }
+
+        void apply() {
+            if (action.put() != null) {
+                table.mutate(key, current -> action.put().item());
+            } else if (action.update() != null) {
+                Update update = action.update();
+                table.mutate(key, current -> update(table, key, update.updateExpression(),
+                        update.expressionAttributeNames(), update.expressionAttributeValues(), current).item());
+            } else if (action.delete() != null) {
+                table.mutate(key, current -> null);
+            }
+        }
+    }
+}
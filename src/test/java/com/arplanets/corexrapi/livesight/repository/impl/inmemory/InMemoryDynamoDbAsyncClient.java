@@ -0,0 +1,99 @@
+package com.arplanets.corexrapi.livesight.repository.impl.inmemory;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 與 InMemoryDynamoDbClient 共用同一份資料的非同步 client。
+ * <p>
+ * 延遲以 delayedExecutor 排程而不佔用執行緒，回應在 executor 執行緒完成，與 SDK 在回應執行緒完成 future 的行為相同。
+ */
+public class InMemoryDynamoDbAsyncClient implements DynamoDbAsyncClient {
+
+    private final InMemoryDynamoDb dynamoDb;
+    private final InMemoryDynamoDbFaults faults;
+    private final ExecutorService executor;
+
+    InMemoryDynamoDbAsyncClient(InMemoryDynamoDb dynamoDb, InMemoryDynamoDbFaults faults, int threads) {
+        this.dynamoDb = dynamoDb;
+        this.faults = faults;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "inmemory-dynamodb-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public CompletableFuture<GetItemResponse> getItem(GetItemRequest request) {
+        return call(() -> dynamoDb.getItem(request));
+    }
+
+    @Override
+    public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+        return call(() -> dynamoDb.putItem(request));
+    }
+
+    @Override
+    public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+        return call(() -> dynamoDb.updateItem(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteItemResponse> deleteItem(DeleteItemRequest request) {
+        return call(() -> dynamoDb.deleteItem(request));
+    }
+
+    @Override
+    public CompletableFuture<QueryResponse> query(QueryRequest request) {
+        return call(() -> dynamoDb.query(request));
+    }
+
+    @Override
+    public CompletableFuture<ScanResponse> scan(ScanRequest request) {
+        return call(() -> dynamoDb.scan(request));
+    }
+
+    @Override
+    public CompletableFuture<BatchGetItemResponse> batchGetItem(BatchGetItemRequest request) {
+        return call(() -> dynamoDb.batchGetItem(request));
+    }
+
+    @Override
+    public CompletableFuture<TransactWriteItemsResponse> transactWriteItems(TransactWriteItemsRequest request) {
+        return call(() -> dynamoDb.transactWriteItems(request));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> operation) {
+        long latency = faults.nextLatencyMs();
+        Executor target = latency > 0 ? CompletableFuture.delayedExecutor(latency, TimeUnit.MILLISECONDS, executor) : executor;
+
+        // 與 SDK 相同，錯誤以失敗的 future 回傳而不是直接拋出
+        return CompletableFuture.supplyAsync(() -> {
+            faults.maybeThrottle();
+            return operation.get();
+        }, target);
+    }
+}
@@ -0,0 +1,75 @@
+package com.arplanets.corexrapi.livesight.repository.impl.inmemory;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.function.Supplier;
+
+/**
+ * 以記憶體資料實作的同步 DynamoDbClient，repository 不需修改即可在 inmemory profile 下執行。
+ * 未實作的操作沿用介面預設行為 (拋出 UnsupportedOperationException)。
+ */
+public class InMemoryDynamoDbClient implements DynamoDbClient {
+
+    private final InMemoryDynamoDb dynamoDb;
+    private final InMemoryDynamoDbFaults faults;
+
+    InMemoryDynamoDbClient(InMemoryDynamoDb dynamoDb, InMemoryDynamoDbFaults faults) {
+        this.dynamoDb = dynamoDb;
+        this.faults = faults;
+    }
+
+    @Override
+    public GetItemResponse getItem(GetItemRequest request) {
+        return call(() -> dynamoDb.getItem(request));
+    }
+
+    @Override
+    public PutItemResponse putItem(PutItemRequest request) {
+        return call(() -> dynamoDb.putItem(request));
+    }
+
+    @Override
+    public UpdateItemResponse updateItem(UpdateItemRequest request) {
+        return call(() -> dynamoDb.updateItem(request));
+    }
+
+    @Override
+    public DeleteItemResponse deleteItem(DeleteItemRequest request) {
+        return call(() -> dynamoDb.deleteItem(request));
+    }
+
+    @Override
+    public QueryResponse query(QueryRequest request) {
+        return call(() -> dynamoDb.query(request));
+    }
+
+    @Override
+    public ScanResponse scan(ScanRequest request) {
+        return call(() -> dynamoDb.scan(request));
+    }
+
+    @Override
+    public BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+        return call(() -> dynamoDb.batchGetItem(request));
+    }
+
+    @Override
+    public TransactWriteItemsResponse transactWriteItems(TransactWriteItemsRequest request) {
+        return call(() -> dynamoDb.transactWriteItems(request));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private <T> T call(Supplier<T> operation) {
+        faults.beforeCall();
+        return operation.get();
+    }
+}
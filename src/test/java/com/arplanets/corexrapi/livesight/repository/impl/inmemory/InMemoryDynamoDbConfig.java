@@ -0,0 +1,95 @@
+package com.arplanets.corexrapi.livesight.repository.impl.inmemory;
+
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.PlanItemCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.List;
+
+/**
+ * inmemory profile：以記憶體模擬 DynamoDB，取代 AwsConfig 的 DynamoDB client，
+ * 所有 DynamoDB repository (同步與非同步) 不需修改即可離線壓測。
+ * 只放在測試程式碼中，不會打包進正式 jar；單元測試可用 {@link #createClient} 直接建立 client。
+ */
+@Configuration
+@Profile("inmemory")
+@Slf4j
+public class InMemoryDynamoDbConfig {
+
+    private static final String PK_ATTRIBUTE_NAME = "pk";
+    private static final String SK_ATTRIBUTE_NAME = "sk";
+
+    @Value("${aws.live.sight.authorization.table.name}")
+    private String orderTableName;
+
+    @Value("${aws.plan.table.name}")
+    private String planTableName;
+
+    @Value("${aws.live.sight.table.name}")
+    private String liveSightTableName;
+
+    @Value("${inmemory.dynamodb.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${inmemory.dynamodb.latency-jitter-ms:0}")
+    private long latencyJitterMs;
+
+    @Value("${inmemory.dynamodb.throttle-rate:0}")
+    private double throttleRate;
+
+    @Value("${inmemory.dynamodb.page-size-bytes:" + InMemoryDynamoDb.MAX_PAGE_BYTES + "}")
+    private int pageSizeBytes;
+
+    @Value("${inmemory.dynamodb.async-threads:4}")
+    private int asyncThreads;
+
+    /**
+     * 建立沒有延遲與錯誤注入的 client，供單元測試直接使用。
+     */
+    public static InMemoryDynamoDbClient createClient(String orderTableName, String planTableName, String liveSightTableName) {
+        InMemoryDynamoDb dynamoDb = createDynamoDb(InMemoryDynamoDb.MAX_PAGE_BYTES, orderTableName, planTableName, liveSightTableName);
+        return new InMemoryDynamoDbClient(dynamoDb, new InMemoryDynamoDbFaults(0, 0, 0));
+    }
+
+    @Bean
+    InMemoryDynamoDb inMemoryDynamoDb() {
+        InMemoryDynamoDb dynamoDb = createDynamoDb(pageSizeBytes, orderTableName, planTableName, liveSightTableName);
+
+        log.info("Start In-Memory DynamoDB (latency={}ms, jitter={}ms, throttleRate={}, pageSize={} bytes)",
+                latencyMs, latencyJitterMs, throttleRate, pageSizeBytes);
+        return dynamoDb;
+    }
+
+    private static InMemoryDynamoDb createDynamoDb(int pageSizeBytes, String orderTableName, String planTableName,
+                                                   String liveSightTableName) {
+        InMemoryDynamoDb dynamoDb = new InMemoryDynamoDb(pageSizeBytes);
+
+        // 與正式環境相同的 key schema 與 GSI
+        dynamoDb.createTable(orderTableName, PK_ATTRIBUTE_NAME, SK_ATTRIBUTE_NAME,
+                List.of(new InMemoryTable.IndexDefinition("service_type_id-created_at-index", "service_type_id", "created_at")));
+        dynamoDb.createTable(planTableName, PK_ATTRIBUTE_NAME, SK_ATTRIBUTE_NAME,
+                List.of(new InMemoryTable.IndexDefinition(PlanItemCodec.LIVE_SIGHT_INDEX_NAME, "live_sight_id", "created_at")));
+        dynamoDb.createTable(liveSightTableName, PK_ATTRIBUTE_NAME, SK_ATTRIBUTE_NAME, List.of());
+        return dynamoDb;
+    }
+
+    @Bean
+    InMemoryDynamoDbFaults inMemoryDynamoDbFaults() {
+        return new InMemoryDynamoDbFaults(latencyMs, latencyJitterMs, throttleRate);
+    }
+
+    @Bean
+    public DynamoDbClient dynamoDbClient(InMemoryDynamoDb inMemoryDynamoDb, InMemoryDynamoDbFaults inMemoryDynamoDbFaults) {
+        return new InMemoryDynamoDbClient(inMemoryDynamoDb, inMemoryDynamoDbFaults);
+    }
+
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient(InMemoryDynamoDb inMemoryDynamoDb, InMemoryDynamoDbFaults inMemoryDynamoDbFaults) {
+        return new InMemoryDynamoDbAsyncClient(inMemoryDynamoDb, inMemoryDynamoDbFaults, asyncThreads);
+    }
+}
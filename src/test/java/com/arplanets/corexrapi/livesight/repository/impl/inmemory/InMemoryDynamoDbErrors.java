@@ -0,0 +1,77 @@
+package com.arplanets.corexrapi.livesight.repository.impl.inmemory;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 產生與 DynamoDB 服務端相同型別、錯誤代碼的例外。
+ */
+final class InMemoryDynamoDbErrors {
+
+    private static final String SERVICE_NAME = "DynamoDb";
+
+    private InMemoryDynamoDbErrors() {
+    }
+
+    static DynamoDbException validation(String message) {
+        return (DynamoDbException) DynamoDbException.builder()
+                .message(message)
+                .statusCode(400)
+                .awsErrorDetails(details("ValidationException", message))
+                .build();
+    }
+
+    static ResourceNotFoundException resourceNotFound(String tableName) {
+        String message = "Requested resource not found: Table: " + tableName + " not found";
+        return ResourceNotFoundException.builder()
+                .message(message)
+                .statusCode(400)
+                .awsErrorDetails(details("ResourceNotFoundException", message))
+                .build();
+    }
+
+    static ConditionalCheckFailedException conditionalCheckFailed(Map<String, AttributeValue> oldItem) {
+        String message = "The conditional request failed";
+        ConditionalCheckFailedException.Builder builder = ConditionalCheckFailedException.builder()
+                .message(message)
+                .statusCode(400)
+                .awsErrorDetails(details("ConditionalCheckFailedException", message));
+        if (oldItem != null) {
+            builder.item(oldItem);
+        }
+        return builder.build();
+    }
+
+    static TransactionCanceledException transactionCanceled(List<CancellationReason> reasons) {
+        String message = reasons.stream()
+                .map(CancellationReason::code)
+                .collect(Collectors.joining(", ", "Transaction cancelled, please refer cancellation reasons for specific reasons [", "]"));
+        return TransactionCanceledException.builder()
+                .message(message)
+                .statusCode(400)
+                .awsErrorDetails(details("TransactionCanceledException", message))
+                .cancellationReasons(reasons)
+                .build();
+    }
+
+    static ProvisionedThroughputExceededException throttled() {
+        String message = "The level of configured provisioned throughput for the table was exceeded. Consider increasing your provisioning level with the UpdateTable API.";
+        return ProvisionedThroughputExceededException.builder()
+                .message(message)
+                .statusCode(400)
+                .awsErrorDetails(details("ProvisionedThroughputExceededException", message))
+                .build();
+    }
+
+    private static AwsErrorDetails details(String errorCode, String message) {
+        return AwsErrorDetails.builder()
+                .serviceName(SERVICE_NAME)
+                .errorCode(errorCode)
+                .errorMessage(message)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.arplanets.corexrapi.livesight.repository.impl.inmemory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模擬網路延遲與節流 (ProvisionedThroughputExceededException)。
+ * <p>
+ * 真實 SDK client 會先自行重試節流錯誤，這裡不模擬 SDK 重試，節流錯誤直接交給 repository 處理，
+ * 方便觀察上層的錯誤處理路徑。
+ */
+final class InMemoryDynamoDbFaults {
+
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double throttleRate;
+
+    InMemoryDynamoDbFaults(long latencyMs, long latencyJitterMs, double throttleRate) {
+        this.latencyMs = Math.max(0, latencyMs);
+        this.latencyJitterMs = Math.max(0, latencyJitterMs);
+        this.throttleRate = Math.max(0, Math.min(1, throttleRate));
+    }
+
+    /**
+     * 本次呼叫的延遲毫秒數 (基本延遲加上 0 ~ jitter 的隨機值)。
+     */
+    long nextLatencyMs() {
+        return latencyJitterMs > 0
+                ? latencyMs + ThreadLocalRandom.current().nextLong(latencyJitterMs + 1)
+                : latencyMs;
+    }
+
+    /**
+     * 依設定的機率拋出節流錯誤。
+     */
+    void maybeThrottle() {
+        if (throttleRate > 0 && ThreadLocalRandom.current().nextDouble() < throttleRate) {
+            throw InMemoryDynamoDbErrors.throttled();
+        }
+    }
+
+    /**
+     * 同步 client 使用：阻塞目前執行緒模擬延遲，再判斷是否節流。
+     */
+    void beforeCall() {
+        long latency = nextLatencyMs();
+        if (latency > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        maybeThrottle();
+    }
+}
@@ -0,0 +1,590 @@
+package com.arplanets.corexrapi.livesight.repository.impl.inmemory;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DynamoDB 表達式 (condition / filter / key condition / update / projection) 的解析與求值。
+ * <p>
+ * 只支援本專案實際會產生的語法：頂層屬性 (含 #別名)、比較運算子、BETWEEN、IN、AND / OR / NOT、
+ * attribute_exists、attribute_not_exists、contains、begins_with，以及 SET / REMOVE 更新子句。
+ * 解析結果依表達式字串快取，因為 repository 產生的表達式大多是預先產生的固定字串。
+ */
+final class InMemoryExpressions {
+
+    private static final int MAX_CACHED_EXPRESSIONS = 4096;
+
+    private static final Map<String, Node> CONDITIONS = new ConcurrentHashMap<>();
+    private static final Map<String, List<UpdateAction>> UPDATES = new ConcurrentHashMap<>();
+    private static final Map<String, List<String>> PROJECTIONS = new ConcurrentHashMap<>();
+
+    private InMemoryExpressions() {
+    }
+
+    /**
+     * 判斷 item 是否符合條件，item 為 null 時表示不存在。
+     */
+    static boolean matches(String expression, Map<String, String> names, Map<String, AttributeValue> values, Map<String, AttributeValue> item) {
+        if (expression == null || expression.isBlank()) {
+            return true;
+        }
+        return parseCondition(expression).test(context(names, values, item));
+    }
+
+    static Context context(Map<String, String> names, Map<String, AttributeValue> values, Map<String, AttributeValue> item) {
+        return new Context(names, values, item != null ? item : Map.of());
+    }
+
+    static Node parseCondition(String expression) {
+        Node node = CONDITIONS.get(expression);
+        if (node == null) {
+            node = new Parser(expression).parseCondition();
+            if (CONDITIONS.size() < MAX_CACHED_EXPRESSIONS) {
+                CONDITIONS.putIfAbsent(expression, node);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * 套用更新表達式，回傳新的 item 與本次更新的屬性名稱。
+     */
+    static UpdateResult applyUpdate(String expression, Map<String, String> names, Map<String, AttributeValue> values, Map<String, AttributeValue> item) {
+        List<UpdateAction> actions = UPDATES.get(expression);
+        if (actions == null) {
+            actions = new Parser(expression).parseUpdate();
+            if (UPDATES.size() < MAX_CACHED_EXPRESSIONS) {
+                UPDATES.putIfAbsent(expression, actions);
+            }
+        }
+
+        Context context = new Context(names, values, item);
+        Map<String, AttributeValue> updated = new HashMap<>(item);
+        Set<String> updatedNames = new LinkedHashSet<>();
+
+        for (UpdateAction action : actions) {
+            String name = context.resolveName(action.path());
+            if (action.value() == null) {
+                updated.remove(name);
+            } else {
+                AttributeValue value = action.value().resolve(context);
+                if (value == null) {
+                    throw InMemoryDynamoDbErrors.validation("The provided expression refers to an attribute that does not exist in the item");
+                }
+                updated.put(name, value);
+            }
+            updatedNames.add(name);
+        }
+
+        return new UpdateResult(updated, updatedNames);
+    }
+
+    /**
+     * 只保留 projection 內的頂層屬性。
+     */
+    static Map<String, AttributeValue> project(String expression, Map<String, String> names, Map<String, AttributeValue> item) {
+        if (expression == null || expression.isBlank()) {
+            return item;
+        }
+
+        List<String> paths = PROJECTIONS.computeIfAbsent(expression, InMemoryExpressions::splitProjection);
+        Context context = new Context(names, Map.of(), item);
+        Map<String, AttributeValue> projected = new HashMap<>(paths.size() * 2);
+        for (String path : paths) {
+            String name = context.resolveName(path);
+            AttributeValue value = item.get(name);
+            if (value != null) {
+                projected.put(name, value);
+            }
+        }
+        return projected;
+    }
+
+    private static List<String> splitProjection(String expression) {
+        List<String> paths = new ArrayList<>();
+        for (String part : expression.split(",")) {
+            String path = part.trim();
+            if (!path.isEmpty()) {
+                paths.add(path);
+            }
+        }
+        return List.copyOf(paths);
+    }
+
+    /**
+     * 依 DynamoDB 的排序規則比較兩個同型別的值：S 依 UTF-8 位元組、N 依數值、B 依無號位元組。
+     * 型別不同時回傳 null。
+     */
+    static Integer compare(AttributeValue a, AttributeValue b) {
+        if (a.s() != null && b.s() != null) {
+            return compareUtf8(a.s(), b.s());
+        }
+        if (a.n() != null && b.n() != null) {
+            return new BigDecimal(a.n()).compareTo(new BigDecimal(b.n()));
+        }
+        if (a.b() != null && b.b() != null) {
+            return Arrays.compareUnsigned(a.b().asByteArray(), b.b().asByteArray());
+        }
+        return null;
+    }
+
+    /**
+     * 依 code point 比較，結果與 UTF-8 位元組順序相同。
+     */
+    static int compareUtf8(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    static boolean equalValues(AttributeValue a, AttributeValue b) {
+        Integer compared = compare(a, b);
+        return compared != null ? compared == 0 : a.equals(b);
+    }
+
+    record UpdateResult(Map<String, AttributeValue> item, Set<String> updatedNames) {
+    }
+
+    private record UpdateAction(String path, Operand value) {
+    }
+
+    static final class Context {
+
+        private final Map<String, String> names;
+        private final Map<String, AttributeValue> values;
+        private final Map<String, AttributeValue> item;
+
+        private Context(Map<String, String> names, Map<String, AttributeValue> values, Map<String, AttributeValue> item) {
+            this.names = names != null ? names : Map.of();
+            this.values = values != null ? values : Map.of();
+            this.item = item;
+        }
+
+        String resolveName(String path) {
+            if (path.indexOf('.') >= 0 || path.indexOf('[') >= 0) {
+                throw new UnsupportedOperationException("Nested document paths are not supported: " + path);
+            }
+            if (path.startsWith("#")) {
+                String name = names.get(path);
+                if (name == null) {
+                    throw InMemoryDynamoDbErrors.validation("An expression attribute name used in the document path is not defined; attribute name: " + path);
+                }
+                return name;
+            }
+            return path;
+        }
+
+        AttributeValue attribute(String path) {
+            return item.get(resolveName(path));
+        }
+
+        AttributeValue value(String token) {
+            AttributeValue value = values.get(token);
+            if (value == null) {
+                throw InMemoryDynamoDbErrors.validation("An expression attribute value used in expression is not defined; attribute value: " + token);
+            }
+            return value;
+        }
+    }
+
+    sealed interface Node permits And, Or, Not, Comparison, Between, In, Function {
+        boolean test(Context context);
+    }
+
+    record And(List<Node> nodes) implements Node {
+        @Override
+        public boolean test(Context context) {
+            for (Node node : nodes) {
+                if (!node.test(context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    record Or(List<Node> nodes) implements Node {
+        @Override
+        public boolean test(Context context) {
+            for (Node node : nodes) {
+                if (node.test(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    record Not(Node node) implements Node {
+        @Override
+        public boolean test(Context context) {
+            return !node.test(context);
+        }
+    }
+
+    record Comparison(Operand left, String operator, Operand right) implements Node {
+        @Override
+        public boolean test(Context context) {
+            AttributeValue a = left.resolve(context);
+            AttributeValue b = right.resolve(context);
+
+            // 屬性不存在時只有 <> 成立
+            if (a == null || b == null) {
+                return "<>".equals(operator);
+            }
+
+            if ("=".equals(operator)) {
+                return equalValues(a, b);
+            }
+            if ("<>".equals(operator)) {
+                return !equalValues(a, b);
+            }
+
+            Integer compared = compare(a, b);
+            if (compared == null) {
+                return false;
+            }
+            return switch (operator) {
+                case "<" -> compared < 0;
+                case "<=" -> compared <= 0;
+                case ">" -> compared > 0;
+                case ">=" -> compared >= 0;
+                default -> throw new IllegalStateException("Unexpected operator: " + operator);
+            };
+        }
+    }
+
+    record Between(Operand operand, Operand low, Operand high) implements Node {
+        @Override
+        public boolean test(Context context) {
+            AttributeValue value = operand.resolve(context);
+            AttributeValue lo = low.resolve(context);
+            AttributeValue hi = high.resolve(context);
+            if (value == null || lo == null || hi == null) {
+                return false;
+            }
+            Integer lower = compare(value, lo);
+            Integer upper = compare(value, hi);
+            return lower != null && upper != null && lower >= 0 && upper <= 0;
+        }
+    }
+
+    record In(Operand operand, List<Operand> candidates) implements Node {
+        @Override
+        public boolean test(Context context) {
+            AttributeValue value = operand.resolve(context);
+            if (value == null) {
+                return false;
+            }
+            for (Operand candidate : candidates) {
+                AttributeValue other = candidate.resolve(context);
+                if (other != null && equalValues(value, other)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    record Function(String name, List<Operand> arguments) implements Node {
+        @Override
+        public boolean test(Context context) {
+            AttributeValue target = arguments.get(0).resolve(context);
+
+            return switch (name) {
+                case "attribute_exists" -> target != null;
+                case "attribute_not_exists" -> target == null;
+                case "begins_with" -> {
+                    AttributeValue prefix = arguments.get(1).resolve(context);
+                    yield target != null && prefix != null && target.s() != null && prefix.s() != null
+                            && target.s().startsWith(prefix.s());
+                }
+                case "contains" -> {
+                    AttributeValue operand = arguments.get(1).resolve(context);
+                    yield target != null && operand != null && contains(target, operand);
+                }
+                default -> throw new UnsupportedOperationException("Unsupported function: " + name);
+            };
+        }
+
+        private static boolean contains(AttributeValue target, AttributeValue operand) {
+            if (target.s() != null) {
+                return operand.s() != null && target.s().contains(operand.s());
+            }
+            if (target.hasSs()) {
+                return operand.s() != null && target.ss().contains(operand.s());
+            }
+            if (target.hasNs()) {
+                return operand.n() != null && target.ns().stream().anyMatch(n -> new BigDecimal(n).compareTo(new BigDecimal(operand.n())) == 0);
+            }
+            if (target.hasBs()) {
+                SdkBytes bytes = operand.b();
+                return bytes != null && target.bs().contains(bytes);
+            }
+            if (target.hasL()) {
+                return target.l().stream().anyMatch(element -> equalValues(element, operand));
+            }
+            return false;
+        }
+    }
+
+    sealed interface Operand permits PathOperand, ValueOperand, IfNotExists {
+        AttributeValue resolve(Context context);
+    }
+
+    record PathOperand(String path) implements Operand {
+        @Override
+        public AttributeValue resolve(Context context) {
+            return context.attribute(path);
+        }
+    }
+
+    record ValueOperand(String token) implements Operand {
+        @Override
+        public AttributeValue resolve(Context context) {
+            return context.value(token);
+        }
+    }
+
+    record IfNotExists(String path, Operand fallback) implements Operand {
+        @Override
+        public AttributeValue resolve(Context context) {
+            AttributeValue current = context.attribute(path);
+            return current != null ? current : fallback.resolve(context);
+        }
+    }
+
+    /**
+     * 遞迴下降解析器，優先順序：OR < AND < NOT < 比較式。
+     */
+    private static final class Parser {
+
+        private final String expression;
+        private final List<String> tokens;
+        private int position;
+
+        private Parser(String expression) {
+            this.expression = expression;
+            this.tokens = tokenize(expression);
+        }
+
+        private Node parseCondition() {
+            Node node = parseOr();
+            if (position != tokens.size()) {
+                throw syntaxError("unexpected token '" + tokens.get(position) + "'");
+            }
+            return node;
+        }
+
+        private List<UpdateAction> parseUpdate() {
+            List<UpdateAction> actions = new ArrayList<>();
+
+            while (position < tokens.size()) {
+                String clause = next().toUpperCase(Locale.ROOT);
+                switch (clause) {
+                    case "SET" -> {
+                        do {
+                            String path = next();
+                            expect("=");
+                            actions.add(new UpdateAction(path, parseUpdateValue()));
+                        } while (accept(","));
+                    }
+                    case "REMOVE" -> {
+                        do {
+                            actions.add(new UpdateAction(next(), null));
+                        } while (accept(","));
+                    }
+                    default -> throw new UnsupportedOperationException("Unsupported update clause: " + clause);
+                }
+            }
+
+            return List.copyOf(actions);
+        }
+
+        private Operand parseUpdateValue() {
+            String token = next();
+            if ("if_not_exists".equalsIgnoreCase(token) && accept("(")) {
+                String path = next();
+                expect(",");
+                Operand fallback = parseOperand(next());
+                expect(")");
+                return new IfNotExists(path, fallback);
+            }
+            Operand operand = parseOperand(token);
+            if (peek("+") || peek("-")) {
+                throw new UnsupportedOperationException("Arithmetic update expressions are not supported: " + expression);
+            }
+            return operand;
+        }
+
+        private Node parseOr() {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(parseAnd());
+            while (acceptKeyword("OR")) {
+                nodes.add(parseAnd());
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new Or(List.copyOf(nodes));
+        }
+
+        private Node parseAnd() {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(parseNot());
+            while (acceptKeyword("AND")) {
+                nodes.add(parseNot());
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new And(List.copyOf(nodes));
+        }
+
+        private Node parseNot() {
+            if (acceptKeyword("NOT")) {
+                return new Not(parseNot());
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            if (accept("(")) {
+                Node node = parseOr();
+                expect(")");
+                return node;
+            }
+
+            String token = next();
+
+            // 函式
+            if (peek("(")) {
+                String name = token.toLowerCase(Locale.ROOT);
+                expect("(");
+                List<Operand> arguments = new ArrayList<>();
+                do {
+                    arguments.add(parseOperand(next()));
+                } while (accept(","));
+                expect(")");
+                return new Function(name, List.copyOf(arguments));
+            }
+
+            Operand left = parseOperand(token);
+
+            if (acceptKeyword("BETWEEN")) {
+                Operand low = parseOperand(next());
+                if (!acceptKeyword("AND")) {
+                    throw syntaxError("BETWEEN requires AND");
+                }
+                Operand high = parseOperand(next());
+                return new Between(left, low, high);
+            }
+
+            if (acceptKeyword("IN")) {
+                expect("(");
+                List<Operand> candidates = new ArrayList<>();
+                do {
+                    candidates.add(parseOperand(next()));
+                } while (accept(","));
+                expect(")");
+                return new In(left, List.copyOf(candidates));
+            }
+
+            String operator = next();
+            if (!Set.of("=", "<>", "<", "<=", ">", ">=").contains(operator)) {
+                throw syntaxError("unexpected operator '" + operator + "'");
+            }
+            return new Comparison(left, operator, parseOperand(next()));
+        }
+
+        private Operand parseOperand(String token) {
+            if (token.startsWith(":")) {
+                return new ValueOperand(token);
+            }
+            if (!Character.isLetterOrDigit(token.charAt(0)) && token.charAt(0) != '#' && token.charAt(0) != '_') {
+                throw syntaxError("unexpected token '" + token + "'");
+            }
+            return new PathOperand(token);
+        }
+
+        private String next() {
+            if (position >= tokens.size()) {
+                throw syntaxError("unexpected end of expression");
+            }
+            return tokens.get(position++);
+        }
+
+        private boolean peek(String token) {
+            return position < tokens.size() && tokens.get(position).equals(token);
+        }
+
+        private boolean accept(String token) {
+            if (peek(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw syntaxError("expected '" + token + "'");
+            }
+        }
+
+        private RuntimeException syntaxError(String message) {
+            return InMemoryDynamoDbErrors.validation("Invalid expression: " + message + "; expression: " + expression);
+        }
+
+        private static List<String> tokenize(String expression) {
+            List<String> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < expression.length()) {
+                char c = expression.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(' || c == ')' || c == ',' || c == '=' || c == '+' || c == '-') {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else if (c == '<' || c == '>') {
+                    if (i + 1 < expression.length() && (expression.charAt(i + 1) == '=' || (c == '<' && expression.charAt(i + 1) == '>'))) {
+                        tokens.add(expression.substring(i, i + 2));
+                        i += 2;
+                    } else {
+                        tokens.add(String.valueOf(c));
+                        i++;
+                    }
+                } else {
+                    int start = i;
+                    while (i < expression.length() && isWordChar(expression.charAt(i))) {
+                        i++;
+                    }
+                    if (start == i) {
+                        throw InMemoryDynamoDbErrors.validation("Invalid expression: unexpected character '" + c + "'; expression: " + expression);
+                    }
+                    tokens.add(expression.substring(start, i));
+                }
+            }
+            return tokens;
+        }
+
+        private static boolean isWordChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '#' || c == ':' || c == '.' || c == '[' || c == ']';
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.arplanets.corexrapi.livesight.repository.impl.inmemory;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * 單一資料表的記憶體儲存。
+ * <p>
+ * 主鍵與 GSI 皆以 String (S) 型別的 partition / sort key 組成；單筆寫入以 ConcurrentHashMap.compute 保證原子性，
+ * GSI 在同一次 compute 內更新，讀取時永遠是最新資料 (比真實 GSI 的最終一致性更嚴格)。
+ * scan 依主鍵排序，讓 ExclusiveStartKey 分頁有穩定的順序。
+ */
+final class InMemoryTable {
+
+    private final String name;
+    private final String hashKey;
+    private final String rangeKey;
+    private final Map<String, Index> indexes;
+    private final ConcurrentHashMap<PrimaryKey, Map<String, AttributeValue>> items = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<PrimaryKey> scanOrder = new ConcurrentSkipListSet<>();
+
+    InMemoryTable(String name, String hashKey, String rangeKey, List<IndexDefinition> indexDefinitions) {
+        this.name = name;
+        this.hashKey = hashKey;
+        this.rangeKey = rangeKey;
+
+        Map<String, Index> indexMap = new HashMap<>();
+        for (IndexDefinition definition : indexDefinitions) {
+            indexMap.put(definition.name(), new Index(definition));
+        }
+        this.indexes = Map.copyOf(indexMap);
+    }
+
+    String name() {
+        return name;
+    }
+
+    String hashKey() {
+        return hashKey;
+    }
+
+    String rangeKey() {
+        return rangeKey;
+    }
+
+    Index index(String indexName) {
+        Index index = indexes.get(indexName);
+        if (index == null) {
+            throw InMemoryDynamoDbErrors.validation("The table does not have the specified index: " + indexName);
+        }
+        return index;
+    }
+
+    /**
+     * 由 key 屬性取得主鍵，缺少或型別不符時與 DynamoDB 一樣回傳 ValidationException。
+     */
+    PrimaryKey primaryKey(Map<String, AttributeValue> key) {
+        String hash = keyString(key, hashKey);
+        String range = rangeKey != null ? keyString(key, rangeKey) : null;
+        if (hash == null || (rangeKey != null && range == null)) {
+            throw InMemoryDynamoDbErrors.validation("The provided key element does not match the schema");
+        }
+        return new PrimaryKey(hash, range);
+    }
+
+    Map<String, AttributeValue> keyAttributes(PrimaryKey key) {
+        Map<String, AttributeValue> attributes = new HashMap<>(4);
+        attributes.put(hashKey, AttributeValue.builder().s(key.hash()).build());
+        if (rangeKey != null) {
+            attributes.put(rangeKey, AttributeValue.builder().s(key.range()).build());
+        }
+        return attributes;
+    }
+
+    Map<String, AttributeValue> get(PrimaryKey key) {
+        return items.get(key);
+    }
+
+    /**
+     * 原子地以 mutation 計算新的 item 並同步更新 GSI，mutation 回傳 null 表示刪除。
+     * mutation 拋出的例外會原樣往外拋，資料不變。
+     */
+    Map<String, AttributeValue> mutate(PrimaryKey key, Function<Map<String, AttributeValue>, Map<String, AttributeValue>> mutation) {
+        return items.compute(key, (k, current) -> {
+            Map<String, AttributeValue> next = mutation.apply(current);
+            if (next == current) {
+                return current;
+            }
+
+            for (Index index : indexes.values()) {
+                index.remove(k, current);
+                index.add(k, next);
+            }
+
+            if (next == null) {
+                scanOrder.remove(k);
+                return null;
+            }
+
+            scanOrder.add(k);
+            return Map.copyOf(next);
+        });
+    }
+
+    /**
+     * 依主鍵順序，由 exclusiveStartKey 之後開始列舉。
+     */
+    Iterator<PrimaryKey> scanFrom(PrimaryKey exclusiveStartKey) {
+        return exclusiveStartKey != null
+                ? scanOrder.tailSet(exclusiveStartKey, false).iterator()
+                : scanOrder.iterator();
+    }
+
+    private static String keyString(Map<String, AttributeValue> key, String attributeName) {
+        AttributeValue value = key.get(attributeName);
+        return value != null ? value.s() : null;
+    }
+
+    record IndexDefinition(String name, String hashKey, String rangeKey) {
+    }
+
+    record PrimaryKey(String hash, String range) implements Comparable<PrimaryKey> {
+        @Override
+        public int compareTo(PrimaryKey other) {
+            int compared = InMemoryExpressions.compareUtf8(hash, other.hash);
+            if (compared != 0 || range == null || other.range == null) {
+                return compared;
+            }
+            return InMemoryExpressions.compareUtf8(range, other.range);
+        }
+    }
+
+    /**
+     * GSI 內同一 partition 的排序鍵：先依 sort key 值，再依主鍵；bias 用來表示範圍查詢的上下界。
+     */
+    record IndexEntry(String range, PrimaryKey key, int bias) implements Comparable<IndexEntry> {
+
+        static IndexEntry lowerBound(String range) {
+            return new IndexEntry(range, null, -1);
+        }
+
+        static IndexEntry upperBound(String range) {
+            return new IndexEntry(range, null, 1);
+        }
+
+        @Override
+        public int compareTo(IndexEntry other) {
+            int compared = InMemoryExpressions.compareUtf8(range, other.range);
+            if (compared != 0) {
+                return compared;
+            }
+            if (bias != 0 || other.bias != 0) {
+                return Integer.compare(bias, other.bias);
+            }
+            return key.compareTo(other.key);
+        }
+    }
+
+    static final class Index {
+
+        private final IndexDefinition definition;
+        private final ConcurrentHashMap<String, ConcurrentSkipListMap<IndexEntry, PrimaryKey>> partitions = new ConcurrentHashMap<>();
+
+        private Index(IndexDefinition definition) {
+            this.definition = definition;
+        }
+
+        String hashKey() {
+            return definition.hashKey();
+        }
+
+        String rangeKey() {
+            return definition.rangeKey();
+        }
+
+        /**
+         * 取得某個 partition 的排序內容，不存在時回傳空 map。
+         */
+        NavigableMap<IndexEntry, PrimaryKey> partition(String hash) {
+            NavigableMap<IndexEntry, PrimaryKey> partition = partitions.get(hash);
+            return partition != null ? partition : Collections.emptyNavigableMap();
+        }
+
+        IndexEntry entryOf(PrimaryKey key, Map<String, AttributeValue> item) {
+            return new IndexEntry(keyString(item, definition.rangeKey()), key, 0);
+        }
+
+        private void add(PrimaryKey key, Map<String, AttributeValue> item) {
+            if (item == null) {
+                return;
+            }
+
+            // 缺少 GSI key 屬性的 item 不會出現在 GSI (sparse index)
+            String hash = keyString(item, definition.hashKey());
+            String range = keyString(item, definition.rangeKey());
+            if (hash == null || range == null) {
+                return;
+            }
+            partitions.computeIfAbsent(hash, h -> new ConcurrentSkipListMap<>())
+                    .put(new IndexEntry(range, key, 0), key);
+        }
+
+        private void remove(PrimaryKey key, Map<String, AttributeValue> item) {
+            if (item == null) {
+                return;
+            }
+
+            String hash = keyString(item, definition.hashKey());
+            String range = keyString(item, definition.rangeKey());
+            if (hash == null || range == null) {
+                return;
+            }
+            ConcurrentSkipListMap<IndexEntry, PrimaryKey> partition = partitions.get(hash);
+            if (partition != null) {
+                partition.remove(new IndexEntry(range, key, 0));
+            }
+        }
+    }
+}
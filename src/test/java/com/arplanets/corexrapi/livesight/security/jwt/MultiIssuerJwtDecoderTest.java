@@ -0,0 +1,261 @@
+package com.arplanets.corexrapi.livesight.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * 以本機 JWKS 端點驗證 JWK Set 的啟動下載、背景更新、key rotation 與快取 token 的 exp 檢查。
+ */
+class MultiIssuerJwtDecoderTest {
+
+    private static final Duration LONG = Duration.ofHours(1);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(2);
+
+    private static KeyPair currentKey;
+    private static KeyPair rotatedKey;
+
+    private final AtomicReference<byte[]> jwkSet = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+    private final MutableClock clock = new MutableClock(Instant.now());
+
+    private HttpServer server;
+    private MultiIssuerJwtDecoder decoder;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        currentKey = generator.generateKeyPair();
+        rotatedKey = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        publish("key-1", currentKey);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/.well-known/jwks.json", this::respond);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (decoder != null) {
+            decoder.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void startFetchesJwkSetBeforeFirstRequest() {
+        decoder = startDecoder(LONG, LONG);
+
+        assertThat(jwksRequests).hasValue(1);
+
+        Jwt jwt = decoder.decode(sign("key-1", currentKey, Duration.ofMinutes(10)));
+        assertThat(jwt.getSubject()).isEqualTo("user-1");
+        assertThat(jwksRequests).hasValue(1);
+    }
+
+    @Test
+    void jwkSetIsRefreshedInBackground() {
+        decoder = startDecoder(Duration.ofMillis(100), LONG);
+
+        await(() -> jwksRequests.get() >= 3);
+    }
+
+    @Test
+    void unknownKidTriggersBackgroundRefresh() {
+        decoder = startDecoder(LONG, Duration.ZERO);
+        publish("key-2", rotatedKey);
+        String token = sign("key-2", rotatedKey, Duration.ofMinutes(10));
+
+        // 請求執行緒不等待下載，本次失敗並在背景更新
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+
+        await(() -> decodes(token));
+        assertThat(jwksRequests).hasValue(2);
+    }
+
+    @Test
+    void unknownKidRefreshIsThrottledByMinRefreshInterval() throws InterruptedException {
+        decoder = startDecoder(LONG, LONG);
+        publish("key-2", rotatedKey);
+
+        for (int i = 0; i < 5; i++) {
+            String token = sign("key-2", rotatedKey, Duration.ofMinutes(10));
+            assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+        }
+
+        Thread.sleep(200);
+        assertThat(jwksRequests).hasValue(1);
+    }
+
+    @Test
+    void failedRefreshKeepsLastGoodJwkSet() {
+        decoder = startDecoder(Duration.ofMillis(100), LONG);
+
+        status.set(500);
+        int before = jwksRequests.get();
+        await(() -> jwksRequests.get() >= before + 2);
+
+        assertThat(decodes(sign("key-1", currentKey, Duration.ofMinutes(10)))).isTrue();
+
+        // 內容沒有任何 key 時同樣保留原本的 JWK Set
+        status.set(200);
+        jwkSet.set(new JWKSet().toString().getBytes(StandardCharsets.UTF_8));
+        int emptyBefore = jwksRequests.get();
+        await(() -> jwksRequests.get() >= emptyBefore + 2);
+
+        assertThat(decodes(sign("key-1", currentKey, Duration.ofMinutes(10)))).isTrue();
+    }
+
+    @Test
+    void cachedTokenIsRejectedAfterExpiry() {
+        decoder = startDecoder(LONG, LONG);
+        String token = sign("key-1", currentKey, Duration.ofMinutes(5));
+
+        Jwt first = decoder.decode(token);
+        assertThat(decoder.decode(token)).isSameAs(first);
+
+        // 超過 exp 與 60 秒的時間誤差
+        clock.advance(Duration.ofMinutes(7));
+
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtValidationException.class);
+    }
+
+    private MultiIssuerJwtDecoder startDecoder(Duration refreshInterval, Duration minRefreshInterval) {
+        MultiIssuerJwtDecoder started = new MultiIssuerJwtDecoder(List.of(issuer()), 100,
+                refreshInterval, minRefreshInterval, FETCH_TIMEOUT, clock);
+        started.start();
+        return started;
+    }
+
+    private boolean decodes(String token) {
+        try {
+            decoder.decode(token);
+            return true;
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    private void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    private String issuer() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private String sign(String keyId, KeyPair keyPair, Duration ttl) {
+        Instant now = Instant.now();
+
+        // jti 讓每個 token 的內容不同，不會命中已驗證的快取
+        return JWT.create()
+                .withKeyId(keyId)
+                .withIssuer(issuer())
+                .withSubject("user-1")
+                .withJWTId(UUID.randomUUID().toString())
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(ttl))
+                .sign(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate()));
+    }
+
+    private void publish(String keyId, KeyPair keyPair) {
+        jwkSet.set(new JWKSet(new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .keyID(keyId)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.RS256)
+                .build())
+                .toString()
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        jwksRequests.incrementAndGet();
+        byte[] body = jwkSet.get();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status.get(), body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private final AtomicReference<Instant> now;
+
+        MutableClock(Instant now) {
+            this.now = new AtomicReference<>(now);
+        }
+
+        void advance(Duration duration) {
+            now.updateAndGet(instant -> instant.plus(duration));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.arplanets.corexrapi.livesight.security.permission;
+
+import com.arplanets.corexrapi.livesight.cache.AccessDecisionCache;
+import com.arplanets.corexrapi.livesight.exception.OrderApiException;
+import com.arplanets.corexrapi.livesight.exception.PermissionDeniedException;
+import com.arplanets.corexrapi.livesight.exception.enums.LiveSightErrorCode;
+import com.arplanets.corexrapi.livesight.exception.enums.PermissionDeniedErrorCode;
+import com.arplanets.corexrapi.livesight.exception.enums.ServiceOrgMemberErrorCode;
+import com.arplanets.corexrapi.livesight.model.dto.LiveSightDto;
+import com.arplanets.corexrapi.livesight.service.LiveSightService;
+import com.arplanets.corexrapi.livesight.service.OrgService;
+import com.arplanets.corexrapi.livesight.service.ServiceOrgMemberService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class LiveSightAccessValidatorTest {
+
+    private static final String ORG_ID = "org-1";
+    private static final String UUID = "user-1";
+    private static final String LIVE_SIGHT_ID = "ls-1";
+
+    private OrgService orgService;
+    private ServiceOrgMemberService serviceOrgMemberService;
+    private LiveSightService liveSightService;
+    private AccessDecisionCache accessDecisionCache;
+    private LiveSightAccessValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        orgService = mock(OrgService.class);
+        serviceOrgMemberService = mock(ServiceOrgMemberService.class);
+        liveSightService = mock(LiveSightService.class);
+        accessDecisionCache = new AccessDecisionCache(new CaffeineCacheManager(), 100, 60, 5);
+        validator = new LiveSightAccessValidator(orgService, serviceOrgMemberService, liveSightService, accessDecisionCache);
+    }
+
+    @Test
+    void allowedDecisionIsCached() {
+        when(liveSightService.getLiveSight(LIVE_SIGHT_ID)).thenReturn(liveSight(ORG_ID));
+
+        validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID);
+        validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID);
+
+        verify(orgService, times(1)).findByOrgId(ORG_ID);
+        verify(serviceOrgMemberService, times(1)).findByOrgIdAndUuid(ORG_ID, UUID);
+        verify(liveSightService, times(1)).getLiveSight(LIVE_SIGHT_ID);
+    }
+
+    @Test
+    void deniedDecisionIsCachedWithItsCode() {
+        when(serviceOrgMemberService.findByOrgIdAndUuid(ORG_ID, UUID))
+                .thenThrow(new OrderApiException(ServiceOrgMemberErrorCode._001));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID))
+                    .isInstanceOfSatisfying(PermissionDeniedException.class,
+                            e -> assertThat(e.getCode()).isEqualTo(PermissionDeniedErrorCode._003));
+        }
+
+        verify(serviceOrgMemberService, times(1)).findByOrgIdAndUuid(ORG_ID, UUID);
+        verifyNoInteractions(liveSightService);
+    }
+
+    @Test
+    void newlyAddedMemberIsNotLockedOut() {
+        // external-ttl-seconds = 0：不快取查無組織與非組織成員的拒絕
+        validator = new LiveSightAccessValidator(orgService, serviceOrgMemberService, liveSightService,
+                new AccessDecisionCache(new CaffeineCacheManager(), 100, 60, 0));
+        when(liveSightService.getLiveSight(LIVE_SIGHT_ID)).thenReturn(liveSight(ORG_ID));
+        when(serviceOrgMemberService.findByOrgIdAndUuid(ORG_ID, UUID))
+                .thenThrow(new OrderApiException(ServiceOrgMemberErrorCode._001))
+                .thenReturn(null);
+
+        assertThatThrownBy(() -> validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID))
+                .isInstanceOfSatisfying(PermissionDeniedException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(PermissionDeniedErrorCode._003));
+
+        // 成員由其他系統加入，下一次檢查即可通過
+        assertThatCode(() -> validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID)).doesNotThrowAnyException();
+        verify(serviceOrgMemberService, times(2)).findByOrgIdAndUuid(ORG_ID, UUID);
+    }
+
+    @Test
+    void otherDenialsKeepDecisionTtl() {
+        validator = new LiveSightAccessValidator(orgService, serviceOrgMemberService, liveSightService,
+                new AccessDecisionCache(new CaffeineCacheManager(), 100, 60, 0));
+        when(liveSightService.getLiveSight(LIVE_SIGHT_ID)).thenReturn(liveSight("org-2"));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID))
+                    .isInstanceOfSatisfying(PermissionDeniedException.class,
+                            e -> assertThat(e.getCode()).isEqualTo(PermissionDeniedErrorCode._005));
+        }
+
+        verify(liveSightService, times(1)).getLiveSight(LIVE_SIGHT_ID);
+    }
+
+    @Test
+    void liveSightInAnotherOrgIsDenied() {
+        when(liveSightService.getLiveSight(LIVE_SIGHT_ID)).thenReturn(liveSight("org-2"));
+
+        assertThatThrownBy(() -> validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID))
+                .isInstanceOfSatisfying(PermissionDeniedException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(PermissionDeniedErrorCode._005));
+    }
+
+    @Test
+    void invalidateLiveSightDropsCachedDenial() {
+        when(liveSightService.getLiveSight(LIVE_SIGHT_ID))
+                .thenThrow(new OrderApiException(LiveSightErrorCode._003))
+                .thenReturn(liveSight(ORG_ID));
+
+        assertThatThrownBy(() -> validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID))
+                .isInstanceOfSatisfying(PermissionDeniedException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(PermissionDeniedErrorCode._008));
+
+        // Live Sight 建立時移除快取，下一次檢查重新查詢
+        accessDecisionCache.invalidateLiveSight(LIVE_SIGHT_ID);
+
+        assertThatCode(() -> validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID)).doesNotThrowAnyException();
+        verify(liveSightService, times(2)).getLiveSight(LIVE_SIGHT_ID);
+    }
+
+    @Test
+    void invalidateLiveSightKeepsOtherLiveSights() {
+        when(liveSightService.getLiveSight(anyString())).thenReturn(liveSight(ORG_ID));
+
+        validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID);
+        validator.validate(ORG_ID, UUID, "ls-2");
+
+        accessDecisionCache.invalidateLiveSight(LIVE_SIGHT_ID);
+
+        validator.validate(ORG_ID, UUID, LIVE_SIGHT_ID);
+        validator.validate(ORG_ID, UUID, "ls-2");
+
+        verify(liveSightService, times(2)).getLiveSight(LIVE_SIGHT_ID);
+        verify(liveSightService, times(1)).getLiveSight("ls-2");
+    }
+
+    private LiveSightDto liveSight(String orgId) {
+        return LiveSightDto.builder()
+                .liveSightId(LIVE_SIGHT_ID)
+                .orgId(orgId)
+                .build();
+    }
+}
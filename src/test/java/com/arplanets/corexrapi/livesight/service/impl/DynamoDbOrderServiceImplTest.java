@@ -0,0 +1,162 @@
+package com.arplanets.corexrapi.livesight.service.impl;
+
+import com.arplanets.corexrapi.livesight.cache.OrderNearCache;
+import com.arplanets.corexrapi.livesight.concurrent.BoundedParallelExecutor;
+import com.arplanets.corexrapi.livesight.exception.OrderApiException;
+import com.arplanets.corexrapi.livesight.exception.enums.OrderErrorCode;
+import com.arplanets.corexrapi.livesight.log.LoggingService;
+import com.arplanets.corexrapi.livesight.mapper.OrderMapperImpl;
+import com.arplanets.corexrapi.livesight.model.bo.OrderBulkResult;
+import com.arplanets.corexrapi.livesight.model.bo.OrderIotMessage;
+import com.arplanets.corexrapi.livesight.model.eunms.OrderStatus;
+import com.arplanets.corexrapi.livesight.model.po.OrderPo;
+import com.arplanets.corexrapi.livesight.repository.OrderRepository;
+import com.arplanets.corexrapi.livesight.security.jwt.OrderJwtManager;
+import com.arplanets.corexrapi.livesight.service.IotService;
+import com.arplanets.corexrapi.livesight.service.LiveSightService;
+import com.arplanets.corexrapi.livesight.service.PlanService;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 批次更新中任何一筆失敗都只影響該筆，成功的訂單仍須送出 IoT 通知。
+ */
+class DynamoDbOrderServiceImplTest {
+
+    private static final String PRODUCT_ID = "product";
+    private static final String ORG_ID = "org-1";
+    private static final String NAMESPACE = "product.livesight.ls-1";
+
+    private final BoundedParallelExecutor boundedParallelExecutor = new BoundedParallelExecutor(4);
+
+    private OrderRepository orderRepository;
+    private PlanService planService;
+    private IotService iotService;
+    private OrderFactory orderFactory;
+    private DynamoDbOrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        planService = mock(PlanService.class);
+        iotService = mock(IotService.class);
+
+        OrderMapperImpl orderMapper = new OrderMapperImpl();
+        orderFactory = new OrderFactory(orderMapper, JsonMapper.builder().findAndAddModules().build());
+        orderService = new DynamoDbOrderServiceImpl(
+                mock(LiveSightService.class),
+                planService,
+                mock(OrderJwtManager.class),
+                orderRepository,
+                orderMapper,
+                iotService,
+                mock(LoggingService.class),
+                mock(OrderNearCache.class),
+                boundedParallelExecutor,
+                orderFactory);
+        ReflectionTestUtils.setField(orderService, "bulkParallelism", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        boundedParallelExecutor.shutdown();
+    }
+
+    @Test
+    void activateIsSingleConditionalUpdate() {
+        when(orderRepository.update(any())).thenAnswer(invocation -> activated(invocation.getArgument(0)));
+
+        orderService.activateOrder(new MockHttpServletRequest(), PRODUCT_ID, ORG_ID, NAMESPACE, "order-1", List.of("vip"), "staff-1");
+        orderService.activateOrders(PRODUCT_ID, ORG_ID, NAMESPACE, List.of("order-2", "order-3"), List.of("vip"), "staff-1");
+
+        // 效期設定已在建立時寫入，開通不讀取訂單也不查詢方案
+        verify(orderRepository, times(3)).update(any());
+        verify(orderRepository, never()).findById(any(), any());
+        verify(orderRepository, never()).findAllById(any(), any());
+        verifyNoInteractions(planService);
+    }
+
+    @Test
+    void bulkVoidRecordsEveryFailureAndNotifiesSuccesses() {
+        when(orderRepository.update(any())).thenAnswer(invocation -> {
+            OrderPo order = invocation.getArgument(0);
+            return switch (order.getOrderId()) {
+                case "order-conflict" -> throw new OrderApiException(OrderErrorCode._025);
+                case "order-throttled" -> throw new DataAccessResourceFailureException("throttled");
+                case "order-bug" -> throw new IllegalStateException("unexpected");
+                default -> voided(order.getOrderId());
+            };
+        });
+
+        List<OrderBulkResult> results = orderService.voidOrders(PRODUCT_ID, ORG_ID, NAMESPACE,
+                List.of("order-1", "order-conflict", "order-throttled", "order-bug", "order-2"), "staff-1");
+
+        assertThat(results).extracting(OrderBulkResult::getOrderId)
+                .containsExactly("order-1", "order-conflict", "order-throttled", "order-bug", "order-2");
+        assertThat(results.get(0).getOrder()).isNotNull();
+        assertThat(results.get(1).getErrorCode()).isEqualTo(OrderErrorCode._025);
+        assertThat(results.get(2).getOrder()).isNull();
+        assertThat(results.get(2).getErrorCode()).isEqualTo(OrderErrorCode._020);
+        assertThat(results.get(2).getReason()).isEqualTo(OrderErrorCode._020.message());
+        assertThat(results.get(3).getOrder()).isNull();
+        assertThat(results.get(3).getErrorCode()).isEqualTo(OrderErrorCode._020);
+        assertThat(results.get(3).getReason()).isEqualTo(OrderErrorCode._020.message());
+        assertThat(results.get(4).getOrder()).isNotNull();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OrderIotMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(iotService).sendIotRequests(messages.capture());
+        assertThat(messages.getValue()).extracting(OrderIotMessage::getTopicPath)
+                .containsExactlyInAnyOrder(
+                        orderFactory.buildTopicPath(voided("order-1")),
+                        orderFactory.buildTopicPath(voided("order-2")));
+    }
+
+    @Test
+    void bulkVoidSendsNothingWhenAllFail() {
+        when(orderRepository.update(any())).thenThrow(new IllegalStateException("unexpected"));
+
+        List<OrderBulkResult> results = orderService.voidOrders(PRODUCT_ID, ORG_ID, NAMESPACE,
+                List.of("order-1", "order-2"), "staff-1");
+
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.getOrder()).isNull();
+            assertThat(result.getErrorCode()).isEqualTo(OrderErrorCode._020);
+        });
+        verify(iotService, never()).sendIotRequests(any());
+    }
+
+    private OrderPo activated(OrderPo update) {
+        return OrderPo.builder()
+                .orderId(update.getOrderId())
+                .namespace(NAMESPACE)
+                .productId(PRODUCT_ID)
+                .authTypeId("user-1")
+                .orderStatus(OrderStatus.ACTIVATED)
+                .redeemCode(update.getRedeemCode())
+                .tags(update.getTags())
+                .build();
+    }
+
+    private OrderPo voided(String orderId) {
+        return OrderPo.builder()
+                .orderId(orderId)
+                .namespace(NAMESPACE)
+                .productId(PRODUCT_ID)
+                .authTypeId("user-1")
+                .orderStatus(OrderStatus.VOIDED)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.arplanets.corexrapi.livesight.service.impl;
+
+import com.arplanets.corexrapi.livesight.cache.PlanCache;
+import com.arplanets.corexrapi.livesight.concurrent.BoundedParallelExecutor;
+import com.arplanets.corexrapi.livesight.mapper.PlanMapperImpl;
+import com.arplanets.corexrapi.livesight.model.dto.Expiry;
+import com.arplanets.corexrapi.livesight.model.dto.req.PlanUpdateRequest;
+import com.arplanets.corexrapi.livesight.model.dto.res.PlanBatchUpdateFailedResponse;
+import com.arplanets.corexrapi.livesight.model.dto.res.PlanBatchUpdateResponse;
+import com.arplanets.corexrapi.livesight.model.eunms.ExpireMode;
+import com.arplanets.corexrapi.livesight.model.po.PlanPo;
+import com.arplanets.corexrapi.livesight.repository.impl.dynamodbsdk.AwsDynamoDbSdkPlanRepositoryImpl;
+import com.arplanets.corexrapi.livesight.repository.impl.inmemory.InMemoryDynamoDbConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static com.arplanets.corexrapi.livesight.service.impl.DynamoDbPlanServiceImpl.ZONE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 交易因衝突取消時，方案改以單筆 update 寫入。
+ */
+class DynamoDbPlanServiceImplTest {
+
+    private static final String TABLE_NAME = "plan";
+    private static final String LIVE_SIGHT_ID = "ls-1";
+
+    private final BoundedParallelExecutor boundedParallelExecutor = new BoundedParallelExecutor(4);
+
+    private AwsDynamoDbSdkPlanRepositoryImpl planRepository;
+    private DynamoDbPlanServiceImpl planService;
+
+    @BeforeEach
+    void setUp() {
+        DynamoDbClient client = new ConflictingTransactionClient(
+                InMemoryDynamoDbConfig.createClient("order", TABLE_NAME, "live-sight"));
+
+        planRepository = new AwsDynamoDbSdkPlanRepositoryImpl(client);
+        ReflectionTestUtils.setField(planRepository, "tableName", TABLE_NAME);
+        ReflectionTestUtils.setField(planRepository, "liveSightIndexEnabled", true);
+
+        planService = new DynamoDbPlanServiceImpl(planRepository, new PlanMapperImpl(), mock(PlanCache.class), boundedParallelExecutor);
+        ReflectionTestUtils.setField(planService, "fallbackParallelism", 4);
+
+        ZonedDateTime createdAt = ZonedDateTime.now(ZONE_ID).minusDays(1);
+        for (String planId : List.of("plan-1", "plan-2")) {
+            planRepository.create(PlanPo.builder()
+                    .planId(planId)
+                    .planName("原方案")
+                    .liveSightId(LIVE_SIGHT_ID)
+                    .expiry(Expiry.builder().expireMode(ExpireMode.RELATIVE).duration(60L).build())
+                    .standard(false)
+                    .createdBy("creator")
+                    .createdAt(createdAt)
+                    .updatedBy("creator")
+                    .updatedAt(createdAt)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        boundedParallelExecutor.shutdown();
+    }
+
+    @Test
+    void batchUpdateFallsBackToSingleUpdates() {
+        Expiry expiry = Expiry.builder().expireMode(ExpireMode.RELATIVE).duration(120L).build();
+
+        PlanBatchUpdateResponse response = planService.batchUpdatePlan(List.of(
+                new PlanUpdateRequest("plan-1", "新名稱", expiry),
+                new PlanUpdateRequest("plan-2", "只改名稱", null),
+                new PlanUpdateRequest("plan-missing", "不存在", null)), LIVE_SIGHT_ID, "editor");
+
+        assertThat(response.getSuccessCount()).isEqualTo(2);
+        assertThat(response.getFailedItems())
+                .extracting(PlanBatchUpdateFailedResponse::getPlanId, PlanBatchUpdateFailedResponse::getReason)
+                .containsExactly(tuple("plan-missing", "PK/SK 組合不存在"));
+
+        PlanPo plan1 = planRepository.findById("plan-1").orElseThrow();
+        assertThat(plan1.getPlanName()).isEqualTo("新名稱");
+        assertThat(plan1.getExpiry().getDuration()).isEqualTo(120L);
+        assertThat(plan1.getUpdatedBy()).isEqualTo("editor");
+
+        PlanPo plan2 = planRepository.findById("plan-2").orElseThrow();
+        assertThat(plan2.getPlanName()).isEqualTo("只改名稱");
+        assertThat(plan2.getExpiry().getDuration()).isEqualTo(60L);
+    }
+
+    /**
+     * 所有交易都以 TransactionConflict 取消，其餘操作交給 In-Memory DynamoDB。
+     */
+    private static class ConflictingTransactionClient implements DynamoDbClient {
+
+        private final DynamoDbClient delegate;
+
+        ConflictingTransactionClient(DynamoDbClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public TransactWriteItemsResponse transactWriteItems(TransactWriteItemsRequest request) {
+            CancellationReason conflict = CancellationReason.builder()
+                    .code("TransactionConflict")
+                    .message("Transaction is ongoing for the item")
+                    .build();
+
+            throw TransactionCanceledException.builder()
+                    .message("Transaction cancelled")
+                    .cancellationReasons(Collections.nCopies(request.transactItems().size(), conflict))
+                    .build();
+        }
+
+        @Override
+        public PutItemResponse putItem(PutItemRequest request) {
+            return delegate.putItem(request);
+        }
+
+        @Override
+        public UpdateItemResponse updateItem(UpdateItemRequest request) {
+            return delegate.updateItem(request);
+        }
+
+        @Override
+        public GetItemResponse getItem(GetItemRequest request) {
+            return delegate.getItem(request);
+        }
+
+        @Override
+        public String serviceName() {
+            return delegate.serviceName();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
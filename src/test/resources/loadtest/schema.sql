@@ -0,0 +1,65 @@
+-- 壓測用 H2 schema (MySQL mode)，欄位與 JPA entity 對應以通過 hibernate validate
+-- 每個新連線都會執行，因此只建立不存在的資料表並以 MERGE 寫入資料
+
+CREATE TABLE IF NOT EXISTS service_org (
+    id          BIGINT PRIMARY KEY,
+    org_id      VARCHAR(255),
+    name        VARCHAR(255),
+    is_active   BOOLEAN,
+    schedule_id BIGINT,
+    creator_id  VARCHAR(255),
+    note        VARCHAR(255),
+    arn         VARCHAR(255),
+    created_at  TIMESTAMP,
+    updated_at  TIMESTAMP,
+    deleted_at  TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS service_org_member (
+    id         BIGINT PRIMARY KEY,
+    org_id     VARCHAR(255),
+    uuid       VARCHAR(255),
+    nickname   VARCHAR(255),
+    is_active  BOOLEAN,
+    arn        VARCHAR(255),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    deleted_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS service_users (
+    uid        BIGINT AUTO_INCREMENT PRIMARY KEY,
+    auth_id    VARCHAR(255),
+    product_id VARCHAR(255),
+    auth_type  VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS service_user_tickets (
+    ticket_objid BIGINT PRIMARY KEY,
+    ticket_id    BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS service_interaction_modules (
+    module_id          BIGINT PRIMARY KEY,
+    module_content_url VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS service_interaction_modules_bind (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    interaction_id BIGINT NOT NULL,
+    module_id      BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS service_interaction_triggers (
+    interaction_trigger_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    trigger_type           VARCHAR(255),
+    trigger_type_id        VARCHAR(255),
+    interaction_id         BIGINT NOT NULL
+);
+
+-- 與 OrderLifecycleLoadTest 的 ORG_ID、ADMIN_UUID 相同
+MERGE INTO service_org (id, org_id, name, is_active, created_at, updated_at)
+    KEY (id) VALUES (1, 'loadtest', 'Load Test', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+MERGE INTO service_org_member (id, org_id, uuid, nickname, is_active, created_at, updated_at)
+    KEY (id) VALUES (1, 'loadtest', 'loadtest-admin', 'Load Test Admin', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);